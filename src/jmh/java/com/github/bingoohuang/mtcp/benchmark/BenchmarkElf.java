@@ -0,0 +1,35 @@
+package com.github.bingoohuang.mtcp.benchmark;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.mocks.StubDataSource;
+import com.github.bingoohuang.mtcp.util.UtilityElf;
+import lombok.val;
+
+final class BenchmarkElf {
+    private BenchmarkElf() {
+        // utility class
+    }
+
+    /**
+     * Create a pool of stub connections, filled up front so that no benchmark measures connection creation.
+     *
+     * @param poolName    the pool name
+     * @param maxPoolSize the fixed size of the pool
+     * @return the started pool
+     */
+    static LightDataSource newStubDataSource(final String poolName, final int maxPoolSize) {
+        val config = new LightConfig();
+        config.setPoolName(poolName);
+        config.setDataSourceClassName(StubDataSource.class.getName());
+        config.setMinIdle(maxPoolSize);
+        config.setMaxPoolSize(maxPoolSize);
+        config.setConnectionTimeout(8000);
+
+        val dataSource = new LightDataSource(config);
+        while (dataSource.getLightPoolMXBean().getIdleConnections() < maxPoolSize) {
+            UtilityElf.quietlySleep(10);
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.bingoohuang.mtcp.benchmark;
+
+import com.github.bingoohuang.mtcp.BorrowCacheMode;
+import com.github.bingoohuang.mtcp.BorrowOrder;
+import com.github.bingoohuang.mtcp.util.BagEntry;
+import com.github.bingoohuang.mtcp.util.ConcurrentBag;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConcurrentBag#borrow(long, TimeUnit)} and {@link ConcurrentBag#requite(BagEntry)} on their own, by
+ * borrow order, borrow cache mode and number of borrowing threads, for a bag of 16 entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentBagBench {
+    private static final int SIZE = 16;
+
+    @Param({"THREAD_AFFINITY", "LIFO"})
+    public BorrowOrder borrowOrder;
+
+    @Param({"AUTO", "STRIPED"})
+    public BorrowCacheMode borrowCacheMode;
+
+    private ConcurrentBag<BagEntry> bag;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bag = new ConcurrentBag<>(new OrderedListener(borrowOrder), false, null, SIZE, borrowCacheMode);
+        for (int i = 0; i < SIZE; i++) {
+            bag.add(new BagEntry());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        bag.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BagEntry cycle1Thread() throws InterruptedException {
+        return cycle();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BagEntry cycle8Threads() throws InterruptedException {
+        return cycle();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public BagEntry cycle32Threads() throws InterruptedException {
+        return cycle();
+    }
+
+    private BagEntry cycle() throws InterruptedException {
+        final BagEntry bagEntry = bag.borrow(8, TimeUnit.SECONDS);
+        bag.requite(bagEntry);
+        return bagEntry;
+    }
+
+    private static class OrderedListener implements ConcurrentBag.BagStateListener {
+        private final BorrowOrder borrowOrder;
+
+        OrderedListener(final BorrowOrder borrowOrder) {
+            this.borrowOrder = borrowOrder;
+        }
+
+        @Override
+        public void addBagItem(final int waiting) {
+            // the bag has a fixed size
+        }
+
+        @Override
+        public BorrowOrder getBorrowOrder() {
+            return borrowOrder;
+        }
+    }
+}
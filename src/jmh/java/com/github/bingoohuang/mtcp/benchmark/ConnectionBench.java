@@ -0,0 +1,59 @@
+package com.github.bingoohuang.mtcp.benchmark;
+
+import com.github.bingoohuang.mtcp.LightDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code getConnection()} and {@code close()} cycle of the pool, on stub connections, by pool size and
+ * number of borrowing threads.  With more threads than connections, the borrowers wait on each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConnectionBench {
+    @Param({"8", "32"})
+    public int maxPoolSize;
+
+    private LightDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSource = BenchmarkElf.newStubDataSource("connection-bench", maxPoolSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Connection cycle1Thread() throws SQLException {
+        return cycle();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Connection cycle8Threads() throws SQLException {
+        return cycle();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Connection cycle32Threads() throws SQLException {
+        return cycle();
+    }
+
+    private Connection cycle() throws SQLException {
+        final Connection connection = dataSource.getConnection();
+        connection.close();
+        return connection;
+    }
+}
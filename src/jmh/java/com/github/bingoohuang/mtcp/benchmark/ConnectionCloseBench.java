@@ -0,0 +1,55 @@
+package com.github.bingoohuang.mtcp.benchmark;
+
+import com.github.bingoohuang.mtcp.LightDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProxyConnection.close()} after the borrower left the connection dirty: a transaction to roll back,
+ * statements left open, and read-only, auto-commit and isolation settings to reset.  The clean cycle is the
+ * baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConnectionCloseBench {
+    private LightDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSource = BenchmarkElf.newStubDataSource("connection-close-bench", 8);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Connection closeClean() throws SQLException {
+        final Connection connection = dataSource.getConnection();
+        connection.close();
+        return connection;
+    }
+
+    @Benchmark
+    public Connection closeDirty() throws SQLException {
+        final Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.setReadOnly(true);
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+
+        // left open for close() to close
+        final Statement statement = connection.createStatement();
+        statement.execute("UPDATE test SET value = 1");
+        connection.close();
+        return connection;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.bingoohuang.mtcp.benchmark;
+
+import com.github.bingoohuang.mtcp.LightDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statement and result set proxies the {@code ProxyFactory} wraps around the stub driver objects, each
+ * created and closed on a connection the benchmark thread holds throughout.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StatementBench {
+    @State(Scope.Benchmark)
+    public static class Pool {
+        LightDataSource dataSource;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            dataSource = BenchmarkElf.newStubDataSource("statement-bench", 8);
+        }
+
+        @TearDown(Level.Trial)
+        public void teardown() {
+            dataSource.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Borrowed {
+        Connection connection;
+
+        @Setup(Level.Iteration)
+        public void setup(final Pool pool) throws SQLException {
+            connection = pool.dataSource.getConnection();
+        }
+
+        @TearDown(Level.Iteration)
+        public void teardown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public Statement createStatement(final Borrowed borrowed) throws SQLException {
+        final Statement statement = borrowed.connection.createStatement();
+        statement.close();
+        return statement;
+    }
+
+    @Benchmark
+    public PreparedStatement prepareStatement(final Borrowed borrowed) throws SQLException {
+        final PreparedStatement statement = borrowed.connection.prepareStatement("SELECT 1");
+        statement.close();
+        return statement;
+    }
+
+    @Benchmark
+    public ResultSet executeQuery(final Borrowed borrowed) throws SQLException {
+        try (PreparedStatement statement = borrowed.connection.prepareStatement("SELECT 1")) {
+            final ResultSet resultSet = statement.executeQuery();
+            resultSet.close();
+            return resultSet;
+        }
+    }
+}
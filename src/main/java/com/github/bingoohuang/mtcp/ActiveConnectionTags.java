@@ -0,0 +1,33 @@
+package com.github.bingoohuang.mtcp;
+
+/**
+ * A batch of active connection tag events, delivered to
+ * {@link BatchTenantEnvironmentAware#tagActiveConnections(ActiveConnectionTags)}.
+ * <p>
+ * The batch is a view over a reused buffer and is only valid during that call, copy out whatever
+ * must outlive it.
+ */
+public interface ActiveConnectionTags {
+    /**
+     * @return the number of events in the batch
+     */
+    int size();
+
+    /**
+     * @param index the index of the event, from 0 to {@link #size()} - 1
+     * @return the sequence of the borrowed connection
+     */
+    int getConnectionSeq(int index);
+
+    /**
+     * @param index the index of the event, from 0 to {@link #size()} - 1
+     * @return the tenant of the borrower, may be null
+     */
+    String getTenantId(int index);
+
+    /**
+     * @param index the index of the event, from 0 to {@link #size()} - 1
+     * @return the wall clock time of the borrow, in milliseconds since the epoch
+     */
+    long getTimestamp(int index);
+}
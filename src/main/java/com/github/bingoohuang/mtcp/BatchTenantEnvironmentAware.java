@@ -0,0 +1,19 @@
+package com.github.bingoohuang.mtcp;
+
+/**
+ * A {@link TenantEnvironmentAware} that receives active connection tags in batches, off the borrow path.
+ * <p>
+ * When {@link LightConfig#setActiveConnectionTagBufferSize(int)} is greater than 0, each borrow only
+ * records its tag in a bounded ring buffer, and a single drainer thread of the pool calls
+ * {@link #tagActiveConnections(ActiveConnectionTags)} with everything recorded since the previous call.
+ * Events that do not fit in the buffer are dropped and counted, the borrow never blocks on the sink.
+ * With a buffer size of 0, {@link #tagActiveConnection(int)} is called on every borrow as usual.
+ */
+public interface BatchTenantEnvironmentAware extends TenantEnvironmentAware {
+    /**
+     * Record a batch of active connection tags.  Called from the single drainer thread of the pool.
+     *
+     * @param tags the batch, only valid during this call
+     */
+    void tagActiveConnections(ActiveConnectionTags tags);
+}
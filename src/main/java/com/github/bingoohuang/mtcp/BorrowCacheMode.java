@@ -0,0 +1,32 @@
+package com.github.bingoohuang.mtcp;
+
+/**
+ * Where the pool remembers the connections a thread returned, so that its next borrow can take one
+ * of them without scanning the pool, see {@link LightConfig#setBorrowCacheMode(BorrowCacheMode)}.
+ */
+public enum BorrowCacheMode {
+    /**
+     * A thread-local list for platform threads, weakly referenced when the pool is loaded by a class
+     * loader other than the system class loader, and a {@link #STRIPED} cache for virtual threads.
+     */
+    AUTO,
+
+    /**
+     * A thread-local list holding the connections strongly.  Best for a fixed set of long-lived
+     * request threads.
+     */
+    THREAD_LOCAL,
+
+    /**
+     * A thread-local list holding the connections through weak references, so that thread-locals left
+     * behind on pooled threads do not pin the class loader of a redeployed application.
+     */
+    WEAK_THREAD_LOCAL,
+
+    /**
+     * A small cache shared by all threads and striped by processor count.  Best when each thread
+     * borrows once and dies, as with a virtual thread per request, where a thread-local list only
+     * adds allocation and thread-local map churn.
+     */
+    STRIPED
+}
@@ -0,0 +1,33 @@
+package com.github.bingoohuang.mtcp;
+
+/**
+ * The order in which the pool hands out its free connections, see
+ * {@link LightConfig#setBorrowOrder(BorrowOrder)}.  Threads waiting for a connection are always served
+ * first come, first served, whatever the order.
+ */
+public enum BorrowOrder {
+    /**
+     * A connection the borrowing thread returned recently first, then, with tenant affinity, one bound to
+     * the tenant of the borrower, then any free connection.  Cheapest, but under light load the threads
+     * spread their borrows over every connection, so none stays idle long enough to be retired.
+     */
+    THREAD_AFFINITY,
+
+    /**
+     * A connection already bound to the tenant of the borrower first, to spare a tenant switch, then any
+     * free connection, as with tenant affinity even if it was not configured.
+     */
+    TENANT_AFFINITY,
+
+    /**
+     * The most recently returned connection first.  Hot connections stay hot and the surplus stays idle,
+     * so the pool shrinks to its working set once the idle timeout passes.
+     */
+    LIFO,
+
+    /**
+     * The least recently returned connection first, spreading the use, and the wear, evenly over every
+     * connection of the pool.
+     */
+    FIFO
+}
@@ -2,6 +2,7 @@ package com.github.bingoohuang.mtcp;
 
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.github.bingoohuang.mtcp.metrics.MetricsTrackerFactory;
+import com.github.bingoohuang.mtcp.pool.PoolRuntime;
 import com.github.bingoohuang.mtcp.util.PropertyElf;
 import com.github.bingoohuang.mtcp.util.UtilityElf;
 import lombok.Getter;
@@ -19,6 +20,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.security.AccessControlException;
 import java.sql.Connection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
@@ -52,6 +56,10 @@ public class LightConfig implements LightConfigMXBean {
     @Getter private volatile int minIdle;
     @Setter @Getter private volatile String username;
     @Setter @Getter private volatile String password;
+    @Getter private volatile int maxConnectionsPerTenant;
+    @Getter private volatile String tenantWeights;
+    @Getter private volatile BorrowOrder borrowOrder;
+    private volatile Map<String, Integer> tenantWeightMap = Collections.emptyMap();
 
     @Getter private String tenantEnvironmentAwareClassName;
     @Setter @Getter private TenantEnvironmentAware tenantEnvironmentAware;
@@ -59,6 +67,12 @@ public class LightConfig implements LightConfigMXBean {
     // Properties NOT changeable at runtime
     //
     @Getter private long initializationFailTimeout;
+    @Getter private long keepaliveTime;
+    @Getter private int keepaliveParallelism;
+    @Getter private int connectionCreationParallelism;
+    @Getter private long warmStartTimeout;
+    @Getter private String warmStartTenants;
+    @Getter private boolean isAdaptivePoolSizing;
     @Getter private String catalog;
     @Getter private String connectionInitSql;
     @Getter private String connectionTestQuery;
@@ -73,10 +87,23 @@ public class LightConfig implements LightConfigMXBean {
     @Getter private boolean isReadOnly;
     private boolean isIsolateInternalQueries;
     @Getter private boolean isRegisterMbeans;
+    @Getter private boolean isRecycleProxies;
+    @Getter private boolean isTenantAffinity;
+    @Getter private boolean isLazyTenantSwitch;
+    @Getter private TenantSwitchStrategy tenantSwitchStrategy;
+    @Getter private BorrowCacheMode borrowCacheMode;
+    @Getter private String tenantSwitchSql;
+    @Getter private String tenantResetSql;
+    @Getter private int hotTenantCount;
+    @Getter private int hotTenantIdleConnections;
+    @Getter private int activeConnectionTagBufferSize;
+    @Getter private int preparedStatementCacheSize;
+    @Getter private int preparedStatementCacheMaxTotal;
     @Getter private DataSource dataSource;
     @Getter private Properties dataSourceProperties;
     @Getter private ThreadFactory threadFactory;
     @Getter private ScheduledExecutorService scheduledExecutor;
+    @Getter private PoolRuntime poolRuntime;
     private MetricsTrackerFactory metricsTrackerFactory;
     @Getter private Object metricRegistry;
     @Getter private Object healthCheckRegistry;
@@ -99,6 +126,12 @@ public class LightConfig implements LightConfigMXBean {
         idleTimeout = IDLE_TIMEOUT;
         initializationFailTimeout = 1;
         isAutoCommit = true;
+        hotTenantIdleConnections = 1;
+        keepaliveParallelism = 2;
+        connectionCreationParallelism = 1;
+        tenantSwitchStrategy = TenantSwitchStrategy.CALLBACK;
+        borrowCacheMode = BorrowCacheMode.AUTO;
+        borrowOrder = BorrowOrder.THREAD_AFFINITY;
 
         String systemProp = System.getProperty("lightcp.configurationFile");
         if (systemProp != null) {
@@ -185,6 +218,48 @@ public class LightConfig implements LightConfigMXBean {
         this.minIdle = minIdle;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMaxConnectionsPerTenant(int maxConnectionsPerTenant) {
+        if (maxConnectionsPerTenant < 0) {
+            throw new IllegalArgumentException("maxConnectionsPerTenant cannot be negative");
+        }
+        this.maxConnectionsPerTenant = maxConnectionsPerTenant;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTenantWeights(String tenantWeights) {
+        this.tenantWeightMap = parseTenantWeights(tenantWeights);
+        this.tenantWeights = tenantWeights;
+    }
+
+    /**
+     * Get the weight of the specified tenant as configured by {@link #setTenantWeights(String)}.
+     *
+     * @param tenantId the tenant id
+     * @return the configured weight, or 1 if the tenant has none
+     */
+    public int getTenantWeight(String tenantId) {
+        val weight = tenantId != null ? tenantWeightMap.get(tenantId) : null;
+        return weight != null ? weight : 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBorrowOrder(BorrowOrder borrowOrder) {
+        if (borrowOrder == null) {
+            throw new IllegalArgumentException("borrowOrder cannot be null");
+        }
+        this.borrowOrder = borrowOrder;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -529,6 +604,299 @@ public class LightConfig implements LightConfigMXBean {
         this.isReadOnly = readOnly;
     }
 
+    /**
+     * Configures whether borrowing prefers an idle connection that is already bound to the
+     * tenant returned by {@link TenantEnvironmentAware#getTenantId()}, falling back to any idle
+     * connection only when there is none.  This avoids most
+     * {@link TenantEnvironmentAware#switchTenantDatabase(Connection)} round trips when many
+     * tenants share the pool.  Defaults to {@code false}.
+     *
+     * @param tenantAffinity {@code true} to prefer connections bound to the borrower's tenant
+     */
+    public void setTenantAffinity(boolean tenantAffinity) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.isTenantAffinity = tenantAffinity;
+    }
+
+    /**
+     * Configures whether the tenant switch of a borrowed connection is deferred until the first
+     * {@code createStatement}, {@code prepareStatement} or {@code prepareCall}, instead of being done at
+     * borrow time.  Borrows that never run SQL then pay no switch at all.  Note that
+     * {@link Connection#getMetaData()} and other calls that do not create a statement run against the
+     * tenant the connection was last switched to.  Defaults to {@code false}.
+     *
+     * @param lazyTenantSwitch {@code true} to defer the tenant switch to the first statement
+     */
+    public void setLazyTenantSwitch(boolean lazyTenantSwitch) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.isLazyTenantSwitch = lazyTenantSwitch;
+    }
+
+    /**
+     * Set how the pool switches a borrowed connection to the tenant of the borrower.  The built-in
+     * {@link TenantSwitchStrategy#CATALOG} and {@link TenantSwitchStrategy#SCHEMA} strategies use the tenant id as
+     * the catalog or schema name, and a catalog or schema changed by the application is reset to the tenant of the
+     * connection rather than to {@link #getCatalog()} or {@link #getSchema()} when it is returned to the pool.
+     * {@link TenantSwitchStrategy#SQL} executes {@link #setTenantSwitchSql(String)}.  Defaults to
+     * {@link TenantSwitchStrategy#CALLBACK}, which leaves the switch to the {@link TenantEnvironmentAware}.
+     *
+     * @param tenantSwitchStrategy the tenant switch strategy
+     */
+    public void setTenantSwitchStrategy(TenantSwitchStrategy tenantSwitchStrategy) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.tenantSwitchStrategy = tenantSwitchStrategy;
+    }
+
+    /**
+     * Set the SQL used by {@link TenantSwitchStrategy#SQL} to switch a connection to a tenant.  It must take the
+     * tenant id as its single parameter, for example {@code SELECT set_config('search_path', ?, false)} or
+     * {@code SET @tenant_id = ?}.  It is prepared once per connection and reused for every switch.  It is never
+     * executed without a tenant, see {@link #setTenantResetSql(String)}.
+     *
+     * @param tenantSwitchSql the parameterized tenant switch SQL
+     */
+    public void setTenantSwitchSql(String tenantSwitchSql) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.tenantSwitchSql = tenantSwitchSql;
+    }
+
+    /**
+     * Set the SQL used by {@link TenantSwitchStrategy#SQL} to reset a connection switched to a tenant before a
+     * borrower without a tenant gets it, for example {@code SELECT set_config('search_path', 'public', false)} or
+     * {@code SET @tenant_id = NULL}.  Without it, such a borrower never gets a connection switched to a tenant:
+     * the connection is closed and the borrower gets one that was never switched, opened if needed.
+     *
+     * @param tenantResetSql the tenant reset SQL, without parameters
+     */
+    public void setTenantResetSql(String tenantResetSql) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.tenantResetSql = tenantResetSql;
+    }
+
+    /**
+     * Set where the pool caches the connections a thread returned for its next borrow.  Use
+     * {@link BorrowCacheMode#STRIPED} when every request runs on a new thread, such as a virtual thread per
+     * request, where a thread-local cache is never hit.  Defaults to {@link BorrowCacheMode#AUTO}, which
+     * uses a thread-local cache for platform threads and a striped cache for virtual threads.  This replaces
+     * the {@code com.github.bingoohuang.mtcp.useWeakReferences} system property, which is still honored by
+     * {@link BorrowCacheMode#AUTO}.
+     *
+     * @param borrowCacheMode the borrow cache mode
+     */
+    public void setBorrowCacheMode(BorrowCacheMode borrowCacheMode) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.borrowCacheMode = borrowCacheMode;
+    }
+
+    /**
+     * Set the number of most frequently borrowing tenants the pool keeps idle connections pre-switched for.
+     * Every housekeeping cycle, a thread of the pool, or a worker of the {@link PoolRuntime} if one is configured,
+     * re-binds idle connections of other tenants to each hot tenant in the background, and the housekeeper
+     * retires idle connections of cold tenants first.  Requires the {@link TenantEnvironmentAware} to
+     * implement {@link TenantEnvironmentAware#switchTenantDatabase(Connection, String)} or
+     * {@link TenantEnvironmentAware#getSwitchTenantSql(String)}.  Defaults to 0, which disables it.
+     *
+     * @param hotTenantCount the number of hot tenants, or 0
+     */
+    public void setHotTenantCount(int hotTenantCount) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (hotTenantCount < 0) {
+            throw new IllegalArgumentException("hotTenantCount cannot be negative");
+        }
+        this.hotTenantCount = hotTenantCount;
+    }
+
+    /**
+     * Set the number of idle connections to keep pre-switched for each hot tenant, see
+     * {@link #setHotTenantCount(int)}.  Defaults to 1.
+     *
+     * @param hotTenantIdleConnections the number of idle connections per hot tenant
+     */
+    public void setHotTenantIdleConnections(int hotTenantIdleConnections) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (hotTenantIdleConnections < 1) {
+            throw new IllegalArgumentException("hotTenantIdleConnections cannot be less than 1");
+        }
+        this.hotTenantIdleConnections = hotTenantIdleConnections;
+    }
+
+    /**
+     * Set the capacity of the ring buffer that decouples active connection tags from the borrow path.
+     * When greater than 0 and the {@link TenantEnvironmentAware} is a {@link BatchTenantEnvironmentAware},
+     * tags are delivered in batches by a drainer thread, or on the workers of the {@link PoolRuntime} if one is
+     * configured, and tags that do not fit are dropped and counted
+     * in {@link LightPoolMXBean#getActiveConnectionTagOverflowCount()}.  Defaults to 0, which calls
+     * {@link TenantEnvironmentAware#tagActiveConnection(int)} synchronously on every borrow.
+     *
+     * @param activeConnectionTagBufferSize the buffer capacity, rounded up to a power of two, or 0
+     */
+    public void setActiveConnectionTagBufferSize(int activeConnectionTagBufferSize) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (activeConnectionTagBufferSize < 0) {
+            throw new IllegalArgumentException("activeConnectionTagBufferSize cannot be negative");
+        }
+        this.activeConnectionTagBufferSize = activeConnectionTagBufferSize;
+    }
+
+    /**
+     * Set how often idle connections are validated in the background, in milliseconds.  A connection that was
+     * validated within this time is handed out without validating it again, instead of being validated inline
+     * once it was idle for more than the alive bypass window of 500ms.  Connections due for validation are
+     * reserved and validated by up to {@link #setKeepaliveParallelism(int)} threads at once, the workers of the
+     * {@link PoolRuntime} if one is configured.  Must be at least
+     * 30000ms and less than maxLifetime.  Defaults to 0, which disables keepalive.
+     *
+     * @param keepaliveTimeMs the interval in milliseconds, or 0
+     */
+    public void setKeepaliveTime(long keepaliveTimeMs) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (keepaliveTimeMs < 0) {
+            throw new IllegalArgumentException("keepaliveTime cannot be negative");
+        }
+        this.keepaliveTime = keepaliveTimeMs;
+    }
+
+    /**
+     * Set the maximum number of idle connections validated at once by the background keepalive, each of them
+     * unavailable to borrowers while it is being validated.  Defaults to 2.
+     *
+     * @param keepaliveParallelism the maximum number of concurrent keepalive validations
+     */
+    public void setKeepaliveParallelism(int keepaliveParallelism) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (keepaliveParallelism < 1) {
+            throw new IllegalArgumentException("keepaliveParallelism cannot be less than 1");
+        }
+        this.keepaliveParallelism = keepaliveParallelism;
+    }
+
+    /**
+     * Set the maximum number of connections the pool opens at once, to refill faster after a cold start or a
+     * failover when opening a connection takes long.  The pool ramps up to it: it opens one connection at a time
+     * at first, and one more at once after each connection it opened, back to one after a connection failed,
+     * so that a database that is down or overloaded sees one login attempt at a time.
+     * Defaults to 1, opening connections one at a time.
+     *
+     * @param connectionCreationParallelism the maximum number of connections opened at once
+     */
+    public void setConnectionCreationParallelism(int connectionCreationParallelism) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (connectionCreationParallelism < 1) {
+            throw new IllegalArgumentException("connectionCreationParallelism cannot be less than 1");
+        }
+        this.connectionCreationParallelism = connectionCreationParallelism;
+    }
+
+    /**
+     * Set the maximum number of milliseconds the pool start blocks to open minimumIdle connections, opened in
+     * parallel as configured by {@link #setConnectionCreationParallelism(int)}, so that the first borrowers after
+     * a deploy find them ready.  The pool starts anyway once the timeout passed, and opens the missing connections
+     * in the background.  Defaults to 0, which starts the pool with at most the connection opened by the
+     * initialization check.
+     *
+     * @param warmStartTimeoutMs the maximum number of milliseconds to wait for minimumIdle connections, or 0
+     */
+    public void setWarmStartTimeout(long warmStartTimeoutMs) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (warmStartTimeoutMs < 0) {
+            throw new IllegalArgumentException("warmStartTimeout cannot be negative");
+        }
+        this.warmStartTimeout = warmStartTimeoutMs;
+    }
+
+    /**
+     * Set the tenants to switch an idle connection to during the warm start, see
+     * {@link #setWarmStartTimeout(long)}, one connection per tenant as long as there are connections left.
+     * Requires the {@link TenantEnvironmentAware} to implement
+     * {@link TenantEnvironmentAware#switchTenantDatabase(Connection, String)} or
+     * {@link TenantEnvironmentAware#getSwitchTenantSql(String)}.
+     *
+     * @param warmStartTenants a comma separated list of tenant ids
+     */
+    public void setWarmStartTenants(String warmStartTenants) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.warmStartTenants = warmStartTenants;
+    }
+
+    /**
+     * Set whether the pool sizes itself to its load, once per housekeeping cycle, between minimumIdle and
+     * maximumPoolSize, which then only bound the size.  Requires minimumIdle to be set below maximumPoolSize.
+     * The size and the decisions that changed it are exposed by {@link LightPoolMXBean}.  Defaults to false.
+     *
+     * @param isAdaptivePoolSizing true to size the pool to its load
+     */
+    public void setAdaptivePoolSizing(boolean isAdaptivePoolSizing) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.isAdaptivePoolSizing = isAdaptivePoolSizing;
+    }
+
+    /**
+     * Set the number of prepared statements each connection keeps open for reuse.  A statement the application
+     * closes goes back to the cache of its connection, and a later {@code prepareStatement} call with the same SQL
+     * and the same result set type, concurrency, holdability and generated keys arguments reuses it, least
+     * recently used statements being closed first.  The cache of a connection is closed whenever the connection
+     * switches tenants or its catalog or schema changes.  Statement settings other than the parameters, like the
+     * query timeout, carry over to the next use.  Defaults to 0, which disables the cache.
+     *
+     * @param preparedStatementCacheSize the maximum number of cached statements per connection, or 0
+     */
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (preparedStatementCacheSize < 0) {
+            throw new IllegalArgumentException("preparedStatementCacheSize cannot be negative");
+        }
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+    }
+
+    /**
+     * Set the maximum number of prepared statements cached by all connections of the pool together, see
+     * {@link #setPreparedStatementCacheSize(int)}.  A connection over the limit closes its own least recently used
+     * statement to cache another one.  Defaults to 0, which only bounds the cache of each connection.
+     *
+     * @param preparedStatementCacheMaxTotal the maximum number of cached statements in the pool, or 0
+     */
+    public void setPreparedStatementCacheMaxTotal(int preparedStatementCacheMaxTotal) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        if (preparedStatementCacheMaxTotal < 0) {
+            throw new IllegalArgumentException("preparedStatementCacheMaxTotal cannot be negative");
+        }
+        this.preparedStatementCacheMaxTotal = preparedStatementCacheMaxTotal;
+    }
+
     /**
      * Configures whether LightCP self-registers the {@link LightConfigMXBean} and {@link LightPoolMXBean} in JMX.
      *
@@ -541,6 +909,23 @@ public class LightConfig implements LightConfigMXBean {
         this.isRegisterMbeans = register;
     }
 
+    /**
+     * Configures whether proxies are recycled instead of allocated: each pool entry reissues its connection proxy on
+     * every borrow, and the proxies of the statements and result sets the application closes are reissued for the
+     * next statements and result sets of the same borrow.  Every borrow and every reissue carries its own stamp,
+     * checked on every call, so a connection used after it was closed, a statement or result set used while closed
+     * or after its connection was closed, and a result set used after its statement was reissued all fail with an
+     * {@link java.sql.SQLException} rather than reach what the proxy was reissued for.  Defaults to {@code false}.
+     *
+     * @param recycleProxies {@code true} to recycle proxies, {@code false} to allocate them on every borrow
+     */
+    public void setRecycleProxies(boolean recycleProxies) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.isRecycleProxies = recycleProxies;
+    }
+
 
     /**
      * Set the name of the connection pool.  This is primarily used for the MBean
@@ -590,6 +975,20 @@ public class LightConfig implements LightConfigMXBean {
         this.scheduledExecutor = executor;
     }
 
+    /**
+     * Set the {@link PoolRuntime} whose scheduler and worker threads the pool shares with other pools, instead of
+     * starting threads of its own.  A {@link #setScheduledExecutor(ScheduledExecutorService)} still takes precedence
+     * for housekeeping.
+     *
+     * @param poolRuntime the shared PoolRuntime, or null for threads of the pool's own
+     */
+    public void setPoolRuntime(PoolRuntime poolRuntime) {
+        if (sealed)
+            throw new IllegalStateException("The configuration of the pool is sealed once started.  Use LightConfigMXBean for runtime changes.");
+
+        this.poolRuntime = poolRuntime;
+    }
+
     public String getTransactionIsolation() {
         return transactionIsolationName;
     }
@@ -682,6 +1081,8 @@ public class LightConfig implements LightConfigMXBean {
         // treat empty property as null
         catalog = UtilityElf.getNullIfEmpty(catalog);
         connectionInitSql = UtilityElf.getNullIfEmpty(connectionInitSql);
+        tenantSwitchSql = UtilityElf.getNullIfEmpty(tenantSwitchSql);
+        tenantResetSql = UtilityElf.getNullIfEmpty(tenantResetSql);
         connectionTestQuery = UtilityElf.getNullIfEmpty(connectionTestQuery);
         transactionIsolationName = UtilityElf.getNullIfEmpty(transactionIsolationName);
         dataSourceClassName = UtilityElf.getNullIfEmpty(dataSourceClassName);
@@ -713,6 +1114,17 @@ public class LightConfig implements LightConfigMXBean {
             throw new IllegalArgumentException("dataSource or dataSourceClassName or jdbcUrl is required.");
         }
 
+        if (borrowCacheMode == null) {
+            borrowCacheMode = BorrowCacheMode.AUTO;
+        }
+
+        if (tenantSwitchStrategy == null) {
+            tenantSwitchStrategy = TenantSwitchStrategy.CALLBACK;
+        } else if (tenantSwitchStrategy == TenantSwitchStrategy.SQL && tenantSwitchSql == null) {
+            log.error("{} - tenantSwitchSql is required with tenantSwitchStrategy SQL.", poolName);
+            throw new IllegalArgumentException("tenantSwitchSql is required with tenantSwitchStrategy SQL.");
+        }
+
         validateNumerics();
 
         if (log.isDebugEnabled() || unitTest) {
@@ -736,6 +1148,13 @@ public class LightConfig implements LightConfigMXBean {
             idleTimeout = IDLE_TIMEOUT;
         }
 
+        if (keepaliveTime > 0 && !unitTest) {
+            if (keepaliveTime < SECONDS.toMillis(30) || (keepaliveTime >= maxLifetime && maxLifetime > 0)) {
+                log.warn("{} - keepaliveTime is less than 30000ms or not less than maxLifetime, disabling it.", poolName);
+                keepaliveTime = 0;
+            }
+        }
+
         if (leakDetectionThreshold > 0 && !unitTest) {
             if (leakDetectionThreshold < SECONDS.toMillis(2) || (leakDetectionThreshold > maxLifetime && maxLifetime > 0)) {
                 log.warn("{} - leakDetectionThreshold is less than 2000ms or more than maxLifetime, disabling it.", poolName);
@@ -762,6 +1181,33 @@ public class LightConfig implements LightConfigMXBean {
         }
     }
 
+    private static Map<String, Integer> parseTenantWeights(String tenantWeights) {
+        tenantWeights = UtilityElf.getNullIfEmpty(tenantWeights);
+        if (tenantWeights == null) {
+            return Collections.emptyMap();
+        }
+
+        val weights = new HashMap<String, Integer>();
+        for (val pair : tenantWeights.split(",")) {
+            val equals = pair.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("tenantWeights must be a comma separated list of tenantId=weight, got " + pair.trim());
+            }
+
+            try {
+                val weight = Integer.parseInt(pair.substring(equals + 1).trim());
+                if (weight < 1) {
+                    throw new IllegalArgumentException("tenantWeights cannot contain a weight less than 1, got " + pair.trim());
+                }
+                weights.put(pair.substring(0, equals).trim(), weight);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("tenantWeights contains an invalid weight, got " + pair.trim(), e);
+            }
+        }
+
+        return Collections.unmodifiableMap(weights);
+    }
+
     @SuppressWarnings("StatementWithEmptyBody")
     private void logConfiguration() {
         log.debug("{} - configuration:", poolName);
@@ -112,6 +112,58 @@ public interface LightConfigMXBean {
      */
     void setMinIdle(int minIdle);
 
+    /**
+     * The property controls the maximum number of connections a single tenant may have in use at the same time.
+     * A tenant at its limit waits for one of its own connections to be returned, even if other connections are
+     * idle, so that one hot tenant cannot starve the others.
+     *
+     * @return the maximum number of in-use connections per tenant, 0 for unlimited
+     */
+    int getMaxConnectionsPerTenant();
+
+    /**
+     * Set the maximum number of connections a single tenant may have in use at the same time. Lowering it at
+     * runtime does not revoke connections already in use, the tenant simply waits until it is back under the
+     * limit.  Quotas and weights can only be changed at runtime in a pool started with either of them set, a
+     * pool started without them does not track the connections in use per tenant.
+     *
+     * @param maxConnectionsPerTenant the maximum number of in-use connections per tenant, 0 for unlimited
+     */
+    void setMaxConnectionsPerTenant(int maxConnectionsPerTenant);
+
+    /**
+     * The property controls the relative share of returned connections each tenant gets while threads of
+     * several tenants are waiting, as a comma separated list such as {@code "tenantA=4,tenantB=2"}.
+     * Tenants not listed have a weight of 1.
+     *
+     * @return the tenant weights, or null if every tenant has a weight of 1
+     */
+    String getTenantWeights();
+
+    /**
+     * Set the relative share of returned connections each tenant gets while threads of several tenants are
+     * waiting.
+     *
+     * @param tenantWeights a comma separated list of {@code tenantId=weight}, or null to weigh tenants equally
+     */
+    void setTenantWeights(String tenantWeights);
+
+    /**
+     * The property controls the order in which free connections are borrowed.
+     *
+     * @return the borrow order
+     */
+    BorrowOrder getBorrowOrder();
+
+    /**
+     * Set the order in which free connections are borrowed.  {@link BorrowOrder#LIFO} lets a pool that is
+     * mostly idle shrink to the connections it actually uses, {@link BorrowOrder#FIFO} spreads the use evenly
+     * over all connections.  The change applies to the next borrow.
+     *
+     * @param borrowOrder the borrow order
+     */
+    void setBorrowOrder(BorrowOrder borrowOrder);
+
     /**
      * The property controls the maximum number of connections that LightCP will keep in the pool,
      * including both idle and in-use connections.
@@ -14,5 +14,97 @@ public interface LightPoolMXBean {
 
     int getThreadsAwaitingConnection();
 
+    /**
+     * Get the number of tenant switches, of the borrows that had to switch the connection to the borrower's
+     * tenant and of the idle connections pre-switched by the warm start or the hot tenant pre-warming.
+     *
+     * @return the number of tenant switches since the pool started
+     */
+    long getTenantSwitchCount();
+
+    /**
+     * Get the number of borrows that got a connection already bound to the borrower's tenant.
+     *
+     * @return the number of tenant affinity hits since the pool started
+     */
+    long getTenantAffinityHitCount();
+
+    /**
+     * Get the fraction of tenant-aware borrows that avoided a tenant switch, that is
+     * {@code hits / (hits + switches)}, or 0 if no tenant-aware borrow happened yet.  The switches include the
+     * pre-switches, so pre-switching only raises the ratio if it saves more switches than it makes.
+     *
+     * @return the tenant switch avoidance ratio between 0 and 1
+     */
+    double getTenantSwitchAvoidanceRatio();
+
+    /**
+     * Get the number of active connection tags dropped because the asynchronous tag buffer was full.
+     *
+     * @return the number of dropped tags, always 0 when tags are delivered synchronously
+     */
+    long getActiveConnectionTagOverflowCount();
+
+    /**
+     * Get the number of idle connections pre-switched to a hot tenant in the background.
+     *
+     * @return the number of background tenant switches since the pool started
+     */
+    long getTenantPrewarmCount();
+
+    /**
+     * Get the number of {@code prepareStatement} calls served from the prepared statement cache of a connection.
+     *
+     * @return the number of statement cache hits since the pool started, always 0 when the cache is disabled
+     */
+    long getPreparedStatementCacheHitCount();
+
+    /**
+     * Get the number of {@code prepareStatement} calls that had to prepare the statement with the driver while
+     * the prepared statement cache is enabled.
+     *
+     * @return the number of statement cache misses since the pool started
+     */
+    long getPreparedStatementCacheMissCount();
+
+    /**
+     * Get the number of prepared statements cached by all connections of the pool.
+     *
+     * @return the number of cached statements
+     */
+    int getCachedPreparedStatementCount();
+
+    /**
+     * Get the number of CASes borrowers lost to each other while scanning the pool for an idle connection.
+     *
+     * @return the number of failed CASes since the pool started
+     */
+    long getBorrowCasFailureCount();
+
+    /**
+     * Get the average number of CASes lost per borrow that had to scan the pool, that is the
+     * {@link #getBorrowCasFailureCount()} divided by the number of scanning borrows, or 0 if no borrow scanned yet.
+     * It stays near 0 while borrowers do not contend for the same connections.
+     *
+     * @return the failed CASes per scanning borrow
+     */
+    double getBorrowContention();
+
+    /**
+     * Get the number of connections the pool may open, which adaptive pool sizing adjusts between minimumIdle
+     * and maximumPoolSize.
+     *
+     * @return the effective maximum pool size, maximumPoolSize when adaptive pool sizing is disabled
+     */
+    int getEffectiveMaxPoolSize();
+
+    /**
+     * Get the last decisions of adaptive pool sizing that changed the size of the pool, with the load they were
+     * based on.
+     *
+     * @return the decisions, oldest first, empty when adaptive pool sizing is disabled
+     */
+    String[] getPoolSizeDecisions();
+
     void softEvictConnections();
 }
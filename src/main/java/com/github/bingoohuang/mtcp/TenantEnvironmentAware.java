@@ -6,4 +6,30 @@ public interface TenantEnvironmentAware {
     String getTenantId();
     void tagActiveConnection(int connectionSeq);
     void switchTenantDatabase(Connection connection);
+
+    /**
+     * Switch the connection to the specified tenant, without relying on the tenant of the calling thread.
+     * The pool uses it to pre-switch idle connections to hot tenants in the background, see
+     * {@link LightConfig#setHotTenantCount(int)}.  Implementations that also provide
+     * {@link #getSwitchTenantSql(String)} need not implement it.
+     *
+     * @param connection the connection to switch
+     * @param tenantId   the tenant to switch to
+     * @throws UnsupportedOperationException if switching to an explicit tenant is not supported
+     */
+    default void switchTenantDatabase(Connection connection, String tenantId) {
+        throw new UnsupportedOperationException("switchTenantDatabase(Connection, String)");
+    }
+
+    /**
+     * Get the SQL that switches a connection to the specified tenant, for tenants whose switch is a single
+     * statement such as {@code USE tenant_db} or {@code SET search_path TO tenant_schema}.  When not null,
+     * the pool executes it itself instead of calling {@link #switchTenantDatabase(Connection)}.
+     *
+     * @param tenantId the tenant to switch to
+     * @return the switch SQL, or null to call {@link #switchTenantDatabase(Connection)}
+     */
+    default String getSwitchTenantSql(String tenantId) {
+        return null;
+    }
 }
@@ -0,0 +1,394 @@
+package com.github.bingoohuang.mtcp;
+
+import com.github.bingoohuang.mtcp.pool.PoolInitializationException;
+import com.github.bingoohuang.mtcp.util.ClockSource;
+import com.github.bingoohuang.mtcp.util.UtilityElf;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A DataSource for tenants that live on different database servers.  Every {@link #getConnection()} asks the
+ * {@link TenantEnvironmentAware} of the template configuration for the tenant, maps it to a server with the
+ * {@link TenantServerResolver}, and borrows from the {@link LightDataSource} of that server, which is created
+ * on first use.  Routing is a lock-free map lookup; only the first borrow of a server pays for starting its pool.
+ * <p>
+ * A pool that has no connection in use and has not been borrowed from for the idle pool timeout is closed, and
+ * started again on its next use.
+ */
+@Slf4j
+public class TenantRoutingDataSource implements DataSource, Closeable {
+    private static final long IDLE_POOL_TIMEOUT = MINUTES.toMillis(10);
+
+    private final LightConfig template;
+    private final TenantServerResolver resolver;
+    private final TenantEnvironmentAware tenantEnvAware;
+    private final String poolName;
+    private final long idlePoolTimeoutMs;
+    private final long accessGranularityMs;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final AtomicInteger poolSeq = new AtomicInteger();
+    private final AtomicBoolean isShutdown = new AtomicBoolean();
+    private final ScheduledExecutorService idlePoolReaper;
+
+    /**
+     * Construct a TenantRoutingDataSource that closes pools idle for 10 minutes.
+     *
+     * @param template the configuration copied for the pool of every server
+     * @param resolver the mapping from tenants to servers
+     */
+    public TenantRoutingDataSource(LightConfig template, TenantServerResolver resolver) {
+        this(template, resolver, IDLE_POOL_TIMEOUT);
+    }
+
+    /**
+     * Construct a TenantRoutingDataSource.  The {@link LightConfig} is copied for every server when its pool is
+     * started, so later changes to it only affect pools started afterwards.
+     *
+     * @param template          the configuration copied for the pool of every server, which must have a
+     *                          {@link TenantEnvironmentAware}
+     * @param resolver          the mapping from tenants to servers
+     * @param idlePoolTimeoutMs the time after which an unused pool is closed, or 0 to never close pools
+     */
+    public TenantRoutingDataSource(LightConfig template, TenantServerResolver resolver, long idlePoolTimeoutMs) {
+        if (template.getTenantEnvironmentAware() == null) {
+            throw new IllegalArgumentException("tenantEnvironmentAware is required to route tenants.");
+        }
+        if (idlePoolTimeoutMs < 0) {
+            throw new IllegalArgumentException("idlePoolTimeoutMs cannot be negative");
+        }
+
+        this.template = template;
+        this.resolver = resolver;
+        this.tenantEnvAware = template.getTenantEnvironmentAware();
+        this.poolName = template.getPoolName() != null ? template.getPoolName() : "TenantRouting";
+        this.idlePoolTimeoutMs = idlePoolTimeoutMs;
+        // the last access time is only written when it moved by this much, so a hot route does not contend on it
+        this.accessGranularityMs = Math.max(1L, idlePoolTimeoutMs / 10);
+
+        if (idlePoolTimeoutMs > 0) {
+            val threadFactory = new UtilityElf.DefaultThreadFactory(poolName + " idle pool reaper", true);
+            val executor = new ScheduledThreadPoolExecutor(1, threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor.setRemoveOnCancelPolicy(true);
+            val period = Math.max(10L, idlePoolTimeoutMs / 2);
+            executor.scheduleWithFixedDelay(this::closeIdlePools, period, period, MILLISECONDS);
+            this.idlePoolReaper = executor;
+        } else {
+            this.idlePoolReaper = null;
+        }
+    }
+
+    // ***********************************************************************
+    //                          DataSource methods
+    // ***********************************************************************
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        val tenantId = tenantEnvAware.getTenantId();
+        val serverKey = resolver.getServerKey(tenantId);
+        if (serverKey == null) {
+            throw new SQLException(poolName + " - No database server for tenant " + tenantId);
+        }
+
+        for (; ; ) {
+            if (isClosed()) {
+                throw new SQLException("TenantRoutingDataSource " + this + " has been closed.");
+            }
+
+            Route route = routes.get(serverKey);
+            if (route == null) {
+                route = routes.computeIfAbsent(serverKey, Route::new);
+            }
+
+            if (route.enter()) {
+                try {
+                    return route.getDataSource().getConnection();
+                } finally {
+                    route.exit();
+                }
+            }
+
+            // raced with closeIdlePools(), retry against the live route
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+
+        throw new SQLException("TenantRoutingDataSource is not an instance of " + iface);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    // ***********************************************************************
+    //                        LightCP-specific methods
+    // ***********************************************************************
+
+    /**
+     * Get the number of servers with a started pool.
+     *
+     * @return the number of started pools
+     */
+    public int getPoolCount() {
+        int count = 0;
+        for (val route : routes.values()) {
+            if (route.dataSource != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the {@code LightPoolMXBean} of the pool of the specified server.
+     *
+     * @param serverKey the server key
+     * @return the {@code LightPoolMXBean} instance, or {@code null} if the pool of the server is not started
+     */
+    public LightPoolMXBean getLightPoolMXBean(String serverKey) {
+        val route = routes.get(serverKey);
+        val dataSource = route != null ? route.dataSource : null;
+        return dataSource != null ? dataSource.getLightPoolMXBean() : null;
+    }
+
+    /**
+     * Shutdown the DataSource and the pools of all servers.
+     */
+    @Override
+    public void close() {
+        if (isShutdown.getAndSet(true)) {
+            return;
+        }
+
+        if (idlePoolReaper != null) {
+            // let an idle pool being closed finish closing, rather than interrupting its shutdown
+            idlePoolReaper.shutdown();
+            try {
+                idlePoolReaper.awaitTermination(10L, SECONDS);
+            } catch (InterruptedException e) {
+                log.warn("{} - Interrupted during closing", poolName, e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        for (val route : routes.values()) {
+            route.close();
+        }
+        routes.clear();
+    }
+
+    /**
+     * Determine whether the TenantRoutingDataSource has been closed.
+     *
+     * @return true if the TenantRoutingDataSource has been closed, false otherwise
+     */
+    public boolean isClosed() {
+        return isShutdown.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "TenantRoutingDataSource (" + poolName + ")";
+    }
+
+    // ***********************************************************************
+    //                          Private methods
+    // ***********************************************************************
+
+    private LightDataSource startPool(final String serverKey) throws SQLException {
+        val config = new LightConfig();
+        template.copyStateTo(config);
+        config.setPoolName(poolName + "-" + poolSeq.incrementAndGet());
+        resolver.configure(serverKey, config);
+
+        try {
+            return new LightDataSource(config);
+        } catch (PoolInitializationException pie) {
+            if (pie.getCause() instanceof SQLException) {
+                throw (SQLException) pie.getCause();
+            } else {
+                throw pie;
+            }
+        }
+    }
+
+    private void closeIdlePools() {
+        for (val route : routes.values()) {
+            if (!route.isIdle()) {
+                continue;
+            }
+
+            // retire first, so a concurrent getConnection() either is seen here or sees the flag
+            route.retired = true;
+            if (route.users.get() == 0 && route.isIdle()) {
+                routes.remove(route.serverKey, route);
+                log.info("{} - Closing idle pool of server {}", poolName, route.serverKey);
+                route.close();
+            } else {
+                route.retired = false;
+            }
+        }
+    }
+
+    /**
+     * The pool of one server, with the bookkeeping needed to close it safely when idle.
+     */
+    private final class Route {
+        private final String serverKey;
+        private final AtomicInteger users = new AtomicInteger();
+        private volatile boolean retired;
+        private volatile boolean closed;
+        private volatile long lastAccessed;
+        private volatile LightDataSource dataSource;
+
+        Route(String serverKey) {
+            this.serverKey = serverKey;
+            this.lastAccessed = ClockSource.currentTime();
+        }
+
+        boolean enter() {
+            users.incrementAndGet();
+            if (retired) {
+                users.decrementAndGet();
+                return false;
+            }
+
+            val now = ClockSource.currentTime();
+            if (ClockSource.elapsedMillis(lastAccessed, now) >= accessGranularityMs) {
+                lastAccessed = now;
+            }
+            return true;
+        }
+
+        void exit() {
+            users.decrementAndGet();
+        }
+
+        LightDataSource getDataSource() throws SQLException {
+            // See http://en.wikipedia.org/wiki/Double-checked_locking#Usage_in_Java
+            LightDataSource result = dataSource;
+            if (result == null) {
+                synchronized (this) {
+                    // a route created by a borrower racing close() is not closed by it, so it must not start a pool
+                    if (closed || isShutdown.get()) {
+                        closed = true;
+                        routes.remove(serverKey, this);
+                        throw new SQLException("TenantRoutingDataSource " + TenantRoutingDataSource.this + " has been closed.");
+                    }
+
+                    result = dataSource;
+                    if (result == null) {
+                        dataSource = result = startPool(serverKey);
+                    }
+                }
+            }
+            return result;
+        }
+
+        boolean isIdle() {
+            if (ClockSource.elapsedMillis(lastAccessed) < idlePoolTimeoutMs) {
+                return false;
+            }
+
+            val current = dataSource;
+            return current == null || current.getLightPoolMXBean().getActiveConnections() == 0;
+        }
+
+        void close() {
+            LightDataSource current;
+            synchronized (this) {
+                closed = true;
+                current = dataSource;
+                dataSource = null;
+            }
+
+            if (current != null) {
+                current.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.bingoohuang.mtcp;
+
+/**
+ * Maps tenants to the database servers that host them, for a {@link TenantRoutingDataSource}.
+ */
+public interface TenantServerResolver {
+    /**
+     * Get the key of the database server that hosts the tenant.  Tenants with the same key share one pool.
+     * It is called on every {@code getConnection}, so it should be a cheap lookup.
+     *
+     * @param tenantId the tenant id, may be null
+     * @return the server key, or null if no server hosts the tenant
+     */
+    String getServerKey(String tenantId);
+
+    /**
+     * Configure the pool of the specified server.  The configuration is a copy of the template passed to the
+     * {@link TenantRoutingDataSource}, and by default the server key is used as its JDBC URL.
+     *
+     * @param serverKey the server key returned by {@link #getServerKey(String)}
+     * @param config    the configuration of the pool of the server
+     */
+    default void configure(String serverKey, LightConfig config) {
+        config.setJdbcUrl(serverKey);
+    }
+}
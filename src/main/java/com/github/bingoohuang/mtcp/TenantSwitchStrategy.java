@@ -0,0 +1,29 @@
+package com.github.bingoohuang.mtcp;
+
+/**
+ * How the pool switches a borrowed connection to the tenant of the borrower, see
+ * {@link LightConfig#setTenantSwitchStrategy(TenantSwitchStrategy)}.
+ */
+public enum TenantSwitchStrategy {
+    /**
+     * Execute {@link TenantEnvironmentAware#getSwitchTenantSql(String)}, or call back into
+     * {@link TenantEnvironmentAware#switchTenantDatabase(java.sql.Connection)}.
+     */
+    CALLBACK,
+
+    /**
+     * Call {@link java.sql.Connection#setCatalog(String)} with the tenant id.
+     */
+    CATALOG,
+
+    /**
+     * Call {@link java.sql.Connection#setSchema(String)} with the tenant id.
+     */
+    SCHEMA,
+
+    /**
+     * Execute {@link LightConfig#getTenantSwitchSql()} with the tenant id bound to its single parameter.  The
+     * statement is prepared once per connection and reused for every switch.
+     */
+    SQL
+}
@@ -16,6 +16,64 @@ public interface MetricsTracker extends AutoCloseable {
     default void recordConnectionTimeout() {
     }
 
+    /**
+     * Record a batch of connections opened in parallel, from the moment the pool started opening the first of
+     * them until it had no more connection being opened.  Each connection of the batch is also recorded on its
+     * own by {@link #recordConnectionCreatedMillis(long)}.
+     *
+     * @param connections          the number of connections opened
+     * @param elapsedCreatedMillis the time spent opening the batch
+     */
+    default void recordConnectionBatchCreatedMillis(final int connections, final long elapsedCreatedMillis) {
+    }
+
+    /**
+     * Record the time the pool took to start, until it was ready for the first borrower, including the warm start
+     * configured by {@link com.github.bingoohuang.mtcp.LightConfig#setWarmStartTimeout(long)}.
+     *
+     * @param elapsedStartMillis the time spent starting the pool
+     */
+    default void recordPoolStartedMillis(final long elapsedStartMillis) {
+    }
+
+    /**
+     * Record the time spent in {@code TenantEnvironmentAware.switchTenantDatabase} when a borrowed
+     * connection was bound to a different tenant.
+     *
+     * @param tenantId           the tenant the connection was switched to
+     * @param elapsedSwitchNanos the time spent switching
+     */
+    default void recordTenantSwitchNanos(final String tenantId, final long elapsedSwitchNanos) {
+    }
+
+    /**
+     * Record a borrow that got a connection already bound to the borrower's tenant, so no switch was needed.
+     *
+     * @param tenantId the tenant of the borrower
+     */
+    default void recordTenantAffinityHit(final String tenantId) {
+    }
+
+    /**
+     * Record the acquire time of a connection, like {@link #recordConnectionAcquiredNanos(long)}, broken
+     * down by tenant.
+     *
+     * @param tenantId             the tenant of the borrower
+     * @param elapsedAcquiredNanos the time spent acquiring the connection
+     */
+    default void recordTenantConnectionAcquiredNanos(final String tenantId, final long elapsedAcquiredNanos) {
+    }
+
+    /**
+     * Record the usage time of a connection, like {@link #recordConnectionUsageMillis(long)}, broken
+     * down by tenant.
+     *
+     * @param tenantId              the tenant the connection was bound to
+     * @param elapsedBorrowedMillis the time the connection was borrowed
+     */
+    default void recordTenantConnectionUsageMillis(final String tenantId, final long elapsedBorrowedMillis) {
+    }
+
     @Override
     default void close() {
     }
@@ -0,0 +1,56 @@
+package com.github.bingoohuang.mtcp.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps tenant ids to metric tag values, capping the number of distinct tags so that a pool shared
+ * by thousands of tenants cannot blow up the metric registry.  The first {@code maxTenantTags}
+ * tenants seen keep their own tag, every later tenant is reported as {@value #OTHER_TENANTS}.
+ * <p>
+ * The cap defaults to 100 and can be changed with the system property
+ * {@code com.github.bingoohuang.mtcp.metrics.maxTenantTags}, where 0 reports every tenant as
+ * {@value #OTHER_TENANTS}.
+ */
+public final class TenantTagLimiter {
+    public static final String NO_TENANT = "none";
+    public static final String OTHER_TENANTS = "other";
+
+    private static final int MAX_TENANT_TAGS = Integer.getInteger("com.github.bingoohuang.mtcp.metrics.maxTenantTags", 100);
+
+    private final int maxTenantTags;
+    private final Map<String, String> tags = new ConcurrentHashMap<>();
+    private final AtomicInteger tagCount = new AtomicInteger();
+
+    public TenantTagLimiter() {
+        this(MAX_TENANT_TAGS);
+    }
+
+    public TenantTagLimiter(final int maxTenantTags) {
+        this.maxTenantTags = maxTenantTags;
+    }
+
+    /**
+     * Get the tag value to report the tenant under.
+     *
+     * @param tenantId the tenant id, may be null
+     * @return the tenant id, {@value #NO_TENANT} for null, or {@value #OTHER_TENANTS} once the cap is reached
+     */
+    public String tag(final String tenantId) {
+        if (tenantId == null) {
+            return NO_TENANT;
+        }
+
+        final String tag = tags.get(tenantId);
+        if (tag != null) {
+            return tag;
+        }
+
+        if (tagCount.get() >= maxTenantTags) {
+            return OTHER_TENANTS;
+        }
+
+        return tags.computeIfAbsent(tenantId, k -> tagCount.incrementAndGet() <= maxTenantTags ? k : OTHER_TENANTS);
+    }
+}
@@ -3,27 +3,40 @@ package com.github.bingoohuang.mtcp.metrics.dropwizard;
 import com.codahale.metrics.*;
 import com.github.bingoohuang.mtcp.metrics.MetricsTracker;
 import com.github.bingoohuang.mtcp.metrics.PoolStats;
+import com.github.bingoohuang.mtcp.metrics.TenantTagLimiter;
 import lombok.Getter;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public final class CodaHaleMetricsTracker implements MetricsTracker {
     private final String poolName;
     @Getter private final Timer connectionObtainTimer;
     @Getter private final Histogram connectionUsage;
     @Getter private final Histogram connectionCreation;
+    @Getter private final Histogram connectionBatchCreation;
+    @Getter private final Histogram poolStartup;
     private final Meter connectionTimeoutMeter;
     private final MetricRegistry registry;
+    private final TenantTagLimiter tenantTags = new TenantTagLimiter();
+    private final Map<String, Metric> tenantMetrics = new ConcurrentHashMap<>();
 
     private static final String METRIC_CATEGORY = "pool";
     private static final String METRIC_NAME_WAIT = "Wait";
     private static final String METRIC_NAME_USAGE = "Usage";
     private static final String METRIC_NAME_CONNECT = "ConnectionCreation";
+    private static final String METRIC_NAME_CONNECT_BATCH = "ConnectionBatchCreation";
+    private static final String METRIC_NAME_STARTUP = "Startup";
     private static final String METRIC_NAME_TIMEOUT_RATE = "ConnectionTimeoutRate";
     private static final String METRIC_NAME_TOTAL_CONNECTIONS = "TotalConnections";
     private static final String METRIC_NAME_IDLE_CONNECTIONS = "IdleConnections";
     private static final String METRIC_NAME_ACTIVE_CONNECTIONS = "ActiveConnections";
     private static final String METRIC_NAME_PENDING_CONNECTIONS = "PendingConnections";
+    private static final String METRIC_TENANT = "tenant";
+    private static final String METRIC_NAME_TENANT_SWITCH = "TenantSwitch";
+    private static final String METRIC_NAME_TENANT_AFFINITY_HIT = "TenantAffinityHit";
 
     public CodaHaleMetricsTracker(final String poolName, final PoolStats poolStats, final MetricRegistry registry) {
         this.poolName = poolName;
@@ -31,6 +44,8 @@ public final class CodaHaleMetricsTracker implements MetricsTracker {
         this.connectionObtainTimer = registry.timer(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_WAIT));
         this.connectionUsage = registry.histogram(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_USAGE));
         this.connectionCreation = registry.histogram(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_CONNECT));
+        this.connectionBatchCreation = registry.histogram(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_CONNECT_BATCH));
+        this.poolStartup = registry.histogram(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STARTUP));
         this.connectionTimeoutMeter = registry.meter(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TIMEOUT_RATE));
 
         registry.register(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TOTAL_CONNECTIONS),
@@ -54,11 +69,14 @@ public final class CodaHaleMetricsTracker implements MetricsTracker {
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_WAIT));
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_USAGE));
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_CONNECT));
+        registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_CONNECT_BATCH));
+        registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_STARTUP));
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TIMEOUT_RATE));
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_TOTAL_CONNECTIONS));
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_IDLE_CONNECTIONS));
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_ACTIVE_CONNECTIONS));
         registry.remove(MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_NAME_PENDING_CONNECTIONS));
+        tenantMetrics.keySet().forEach(registry::remove);
     }
 
     /**
@@ -86,4 +104,40 @@ public final class CodaHaleMetricsTracker implements MetricsTracker {
     public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
         connectionCreation.update(connectionCreatedMillis);
     }
+
+    @Override
+    public void recordConnectionBatchCreatedMillis(final int connections, final long elapsedCreatedMillis) {
+        connectionBatchCreation.update(elapsedCreatedMillis);
+    }
+
+    @Override
+    public void recordPoolStartedMillis(final long elapsedStartMillis) {
+        poolStartup.update(elapsedStartMillis);
+    }
+
+    @Override
+    public void recordTenantSwitchNanos(final String tenantId, final long elapsedSwitchNanos) {
+        tenantMetric(tenantId, METRIC_NAME_TENANT_SWITCH, registry::timer).update(elapsedSwitchNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTenantAffinityHit(final String tenantId) {
+        tenantMetric(tenantId, METRIC_NAME_TENANT_AFFINITY_HIT, registry::meter).mark();
+    }
+
+    @Override
+    public void recordTenantConnectionAcquiredNanos(final String tenantId, final long elapsedAcquiredNanos) {
+        tenantMetric(tenantId, METRIC_NAME_WAIT, registry::timer).update(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTenantConnectionUsageMillis(final String tenantId, final long elapsedBorrowedMillis) {
+        tenantMetric(tenantId, METRIC_NAME_USAGE, registry::histogram).update(elapsedBorrowedMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M extends Metric> M tenantMetric(final String tenantId, final String metricName, final Function<String, M> factory) {
+        final String name = MetricRegistry.name(poolName, METRIC_CATEGORY, METRIC_TENANT, tenantTags.tag(tenantId), metricName);
+        return (M) tenantMetrics.computeIfAbsent(name, factory::apply);
+    }
 }
@@ -2,11 +2,14 @@ package com.github.bingoohuang.mtcp.metrics.micrometer;
 
 import com.github.bingoohuang.mtcp.metrics.MetricsTracker;
 import com.github.bingoohuang.mtcp.metrics.PoolStats;
+import com.github.bingoohuang.mtcp.metrics.TenantTagLimiter;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class MicrometerMetricsTracker implements MetricsTracker {
@@ -14,6 +17,8 @@ public class MicrometerMetricsTracker implements MetricsTracker {
     private static final String METRIC_NAME_WAIT = "lightcp.connections.acquire";
     private static final String METRIC_NAME_USAGE = "lightcp.connections.usage";
     private static final String METRIC_NAME_CONNECT = "lightcp.connections.creation";
+    private static final String METRIC_NAME_CONNECT_BATCH = "lightcp.connections.creation.batch";
+    private static final String METRIC_NAME_STARTUP = "lightcp.startup";
 
     private static final String METRIC_NAME_TIMEOUT_RATE = "lightcp.connections.timeout";
     private static final String METRIC_NAME_TOTAL_CONNECTIONS = "lightcp.connections";
@@ -21,10 +26,18 @@ public class MicrometerMetricsTracker implements MetricsTracker {
     private static final String METRIC_NAME_ACTIVE_CONNECTIONS = "lightcp.connections.active";
     private static final String METRIC_NAME_PENDING_CONNECTIONS = "lightcp.connections.pending";
 
+    private static final String METRIC_TENANT = "tenant";
+    private static final String METRIC_NAME_TENANT_SWITCH = "lightcp.tenant.switch";
+    private static final String METRIC_NAME_TENANT_AFFINITY_HIT = "lightcp.tenant.affinity.hit";
+    private static final String METRIC_NAME_TENANT_WAIT = "lightcp.tenant.connections.acquire";
+    private static final String METRIC_NAME_TENANT_USAGE = "lightcp.tenant.connections.usage";
+
     private final Timer connectionObtainTimer;
     private final Counter connectionTimeoutCounter;
     private final Timer connectionUsage;
     private final Timer connectionCreation;
+    private final Timer connectionBatchCreation;
+    private final Timer poolStartup;
     @SuppressWarnings({"FieldCanBeLocal", "unused"})
     private final Gauge totalConnectionGauge;
     @SuppressWarnings({"FieldCanBeLocal", "unused"})
@@ -36,8 +49,18 @@ public class MicrometerMetricsTracker implements MetricsTracker {
     @SuppressWarnings({"FieldCanBeLocal", "unused"})
     private final PoolStats poolStats;
 
+    private final String poolName;
+    private final MeterRegistry meterRegistry;
+    private final TenantTagLimiter tenantTags = new TenantTagLimiter();
+    private final Map<String, Timer> tenantSwitchTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> tenantAffinityHitCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> tenantObtainTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> tenantUsageTimers = new ConcurrentHashMap<>();
+
     MicrometerMetricsTracker(final String poolName, final PoolStats poolStats, final MeterRegistry meterRegistry) {
         this.poolStats = poolStats;
+        this.poolName = poolName;
+        this.meterRegistry = meterRegistry;
 
         this.connectionObtainTimer = Timer.builder(METRIC_NAME_WAIT)
                 .description("Connection acquire time")
@@ -51,6 +74,17 @@ public class MicrometerMetricsTracker implements MetricsTracker {
                 .tags(METRIC_CATEGORY, poolName)
                 .register(meterRegistry);
 
+        this.connectionBatchCreation = Timer.builder(METRIC_NAME_CONNECT_BATCH)
+                .description("Connection batch creation time")
+                .publishPercentiles(0.95)
+                .tags(METRIC_CATEGORY, poolName)
+                .register(meterRegistry);
+
+        this.poolStartup = Timer.builder(METRIC_NAME_STARTUP)
+                .description("Pool startup time")
+                .tags(METRIC_CATEGORY, poolName)
+                .register(meterRegistry);
+
         this.connectionUsage = Timer.builder(METRIC_NAME_USAGE)
                 .description("Connection usage time")
                 .publishPercentiles(0.95)
@@ -109,4 +143,48 @@ public class MicrometerMetricsTracker implements MetricsTracker {
     public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
         connectionCreation.record(connectionCreatedMillis, TimeUnit.MILLISECONDS);
     }
+
+    @Override
+    public void recordConnectionBatchCreatedMillis(final int connections, final long elapsedCreatedMillis) {
+        connectionBatchCreation.record(elapsedCreatedMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordPoolStartedMillis(final long elapsedStartMillis) {
+        poolStartup.record(elapsedStartMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordTenantSwitchNanos(final String tenantId, final long elapsedSwitchNanos) {
+        tenantTimer(tenantSwitchTimers, METRIC_NAME_TENANT_SWITCH, "Tenant switch time", tenantId)
+                .record(elapsedSwitchNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTenantAffinityHit(final String tenantId) {
+        tenantAffinityHitCounters.computeIfAbsent(tenantTags.tag(tenantId), tag -> Counter.builder(METRIC_NAME_TENANT_AFFINITY_HIT)
+                .description("Borrows that needed no tenant switch")
+                .tags(METRIC_CATEGORY, poolName, METRIC_TENANT, tag)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    @Override
+    public void recordTenantConnectionAcquiredNanos(final String tenantId, final long elapsedAcquiredNanos) {
+        tenantTimer(tenantObtainTimers, METRIC_NAME_TENANT_WAIT, "Connection acquire time per tenant", tenantId)
+                .record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTenantConnectionUsageMillis(final String tenantId, final long elapsedBorrowedMillis) {
+        tenantTimer(tenantUsageTimers, METRIC_NAME_TENANT_USAGE, "Connection usage time per tenant", tenantId)
+                .record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Timer tenantTimer(final Map<String, Timer> timers, final String name, final String description, final String tenantId) {
+        return timers.computeIfAbsent(tenantTags.tag(tenantId), tag -> Timer.builder(name)
+                .description(description)
+                .tags(METRIC_CATEGORY, poolName, METRIC_TENANT, tag)
+                .register(meterRegistry));
+    }
 }
@@ -1,7 +1,9 @@
 package com.github.bingoohuang.mtcp.metrics.prometheus;
 
 import com.github.bingoohuang.mtcp.metrics.MetricsTracker;
+import com.github.bingoohuang.mtcp.metrics.TenantTagLimiter;
 import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
 import io.prometheus.client.Summary;
 
 import java.util.concurrent.TimeUnit;
@@ -22,7 +24,33 @@ class PrometheusMetricsTracker implements MetricsTracker {
     private static final Summary ELAPSED_CREATION_SUMMARY =
             registerSummary("lightcp_connection_creation_millis", "Connection creation (ms)");
 
+    private static final Summary ELAPSED_BATCH_CREATION_SUMMARY =
+            registerSummary("lightcp_connection_batch_creation_millis", "Connection batch creation (ms)");
+
+    private static final Gauge STARTUP_GAUGE = Gauge.build()
+            .name("lightcp_startup_millis")
+            .labelNames("pool")
+            .help("Pool startup time (ms)")
+            .register();
+
+    private static final Summary TENANT_SWITCH_SUMMARY =
+            registerTenantSummary("lightcp_tenant_switch_nanos", "Tenant switch time (ns)");
+
+    private static final Counter TENANT_AFFINITY_HIT_COUNTER = Counter.build()
+            .name("lightcp_tenant_affinity_hit_total")
+            .labelNames("pool", "tenant")
+            .help("Borrows that needed no tenant switch")
+            .register();
+
+    private static final Summary TENANT_ACQUIRED_SUMMARY =
+            registerTenantSummary("lightcp_tenant_connection_acquired_nanos", "Connection acquired time per tenant (ns)");
+
+    private static final Summary TENANT_BORROWED_SUMMARY =
+            registerTenantSummary("lightcp_tenant_connection_usage_millis", "Connection usage per tenant (ms)");
+
     private final Counter.Child connectionTimeoutCounterChild;
+    private final String poolName;
+    private final TenantTagLimiter tenantTags = new TenantTagLimiter();
 
     private static Summary registerSummary(String name, String help) {
         return Summary.build()
@@ -37,15 +65,29 @@ class PrometheusMetricsTracker implements MetricsTracker {
                 .register();
     }
 
+    /**
+     * Per-tenant summaries only track count and sum, quantiles for every tenant would be too expensive.
+     */
+    private static Summary registerTenantSummary(String name, String help) {
+        return Summary.build()
+                .name(name)
+                .labelNames("pool", "tenant")
+                .help(help)
+                .register();
+    }
+
     private final Summary.Child elapsedAcquiredSummaryChild;
     private final Summary.Child elapsedBorrowedSummaryChild;
     private final Summary.Child elapsedCreationSummaryChild;
+    private final Summary.Child elapsedBatchCreationSummaryChild;
 
     PrometheusMetricsTracker(String poolName) {
+        this.poolName = poolName;
         this.connectionTimeoutCounterChild = CONNECTION_TIMEOUT_COUNTER.labels(poolName);
         this.elapsedAcquiredSummaryChild = ELAPSED_ACQUIRED_SUMMARY.labels(poolName);
         this.elapsedBorrowedSummaryChild = ELAPSED_BORROWED_SUMMARY.labels(poolName);
         this.elapsedCreationSummaryChild = ELAPSED_CREATION_SUMMARY.labels(poolName);
+        this.elapsedBatchCreationSummaryChild = ELAPSED_BATCH_CREATION_SUMMARY.labels(poolName);
     }
 
     @Override
@@ -63,8 +105,38 @@ class PrometheusMetricsTracker implements MetricsTracker {
         elapsedCreationSummaryChild.observe(connectionCreatedMillis);
     }
 
+    @Override
+    public void recordConnectionBatchCreatedMillis(int connections, long elapsedCreatedMillis) {
+        elapsedBatchCreationSummaryChild.observe(elapsedCreatedMillis);
+    }
+
+    @Override
+    public void recordPoolStartedMillis(long elapsedStartMillis) {
+        STARTUP_GAUGE.labels(poolName).set(elapsedStartMillis);
+    }
+
     @Override
     public void recordConnectionTimeout() {
         connectionTimeoutCounterChild.inc();
     }
+
+    @Override
+    public void recordTenantSwitchNanos(String tenantId, long elapsedSwitchNanos) {
+        TENANT_SWITCH_SUMMARY.labels(poolName, tenantTags.tag(tenantId)).observe(elapsedSwitchNanos);
+    }
+
+    @Override
+    public void recordTenantAffinityHit(String tenantId) {
+        TENANT_AFFINITY_HIT_COUNTER.labels(poolName, tenantTags.tag(tenantId)).inc();
+    }
+
+    @Override
+    public void recordTenantConnectionAcquiredNanos(String tenantId, long elapsedAcquiredNanos) {
+        TENANT_ACQUIRED_SUMMARY.labels(poolName, tenantTags.tag(tenantId)).observe(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordTenantConnectionUsageMillis(String tenantId, long elapsedBorrowedMillis) {
+        TENANT_BORROWED_SUMMARY.labels(poolName, tenantTags.tag(tenantId)).observe(elapsedBorrowedMillis);
+    }
 }
@@ -0,0 +1,321 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * The connection handed to one borrow of a {@link ProxyConnection} that its {@link PoolEntry} recycles across
+ * borrows.  It captures the generation of the proxy as its borrow stamp when it is issued, and every call checks
+ * the stamp, so that a reference kept after closing the connection fails fast instead of reaching the borrow that
+ * the recycled proxy was reissued to.
+ */
+final class BorrowedConnection implements Connection {
+    private static final String CLOSED_MESSAGE = "Connection is closed";
+
+    private final ProxyConnection proxy;
+    private final int stamp;
+
+    BorrowedConnection(final ProxyConnection proxy, final int stamp) {
+        this.proxy = proxy;
+        this.stamp = stamp;
+    }
+
+    private boolean isStale() {
+        return stamp != proxy.generation;
+    }
+
+    private ProxyConnection checkOpen() throws SQLException {
+        if (isStale()) {
+            throw new SQLException(CLOSED_MESSAGE);
+        }
+        return proxy;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + '@' + System.identityHashCode(this) + " of " + proxy;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        // the borrow ended already, closing it again must leave the current borrow alone
+        if (!isStale()) {
+            proxy.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return isStale() || proxy.isClosed();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return !isStale() && proxy.isValid(timeout);
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        if (!isStale()) {
+            proxy.abort(executor);
+        }
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        if (isStale()) {
+            throw new SQLClientInfoException(CLOSED_MESSAGE, null);
+        }
+        proxy.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        if (isStale()) {
+            throw new SQLClientInfoException(CLOSED_MESSAGE, null);
+        }
+        proxy.setClientInfo(properties);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return checkOpen().unwrap(iface);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return checkOpen().createStatement();
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return checkOpen().prepareStatement(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return checkOpen().prepareCall(sql);
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return checkOpen().nativeSQL(sql);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        checkOpen().setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return checkOpen().getAutoCommit();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen().commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen().rollback();
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return checkOpen().getMetaData();
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen().setReadOnly(readOnly);
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return checkOpen().isReadOnly();
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        checkOpen().setCatalog(catalog);
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return checkOpen().getCatalog();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        checkOpen().setTransactionIsolation(level);
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return checkOpen().getTransactionIsolation();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return checkOpen().getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        checkOpen().clearWarnings();
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int concurrency) throws SQLException {
+        return checkOpen().createStatement(resultSetType, concurrency);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int concurrency) throws SQLException {
+        return checkOpen().prepareStatement(sql, resultSetType, concurrency);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int concurrency) throws SQLException {
+        return checkOpen().prepareCall(sql, resultSetType, concurrency);
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return checkOpen().getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        checkOpen().setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        checkOpen().setHoldability(holdability);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return checkOpen().getHoldability();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return checkOpen().setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return checkOpen().setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        checkOpen().rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        checkOpen().releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int concurrency, int holdability) throws SQLException {
+        return checkOpen().createStatement(resultSetType, concurrency, holdability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int concurrency, int holdability) throws SQLException {
+        return checkOpen().prepareStatement(sql, resultSetType, concurrency, holdability);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int concurrency, int holdability) throws SQLException {
+        return checkOpen().prepareCall(sql, resultSetType, concurrency, holdability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return checkOpen().prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return checkOpen().prepareStatement(sql, columnIndexes);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return checkOpen().prepareStatement(sql, columnNames);
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return checkOpen().createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return checkOpen().createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return checkOpen().createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return checkOpen().createSQLXML();
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return checkOpen().getClientInfo(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return checkOpen().getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return checkOpen().createArrayOf(typeName, elements);
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return checkOpen().createStruct(typeName, attributes);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        checkOpen().setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return checkOpen().getSchema();
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        checkOpen().setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return checkOpen().getNetworkTimeout();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return checkOpen().isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.util.ClockSource;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Bounds the number of connections a pool opens at once.  Like a TCP slow start, the gate lets one creator in
+ * at first and one more after each connection opened, which doubles the creators let in with every round of
+ * connections up to the parallelism, and falls back to one as soon as a connection failed, so that a database
+ * that is down or overloaded sees a single login attempt at a time.
+ * <p>
+ * The connections opened from the moment a creator enters the idle gate until no creator is in or waiting at
+ * the gate make up a batch, whose size and elapsed time are reported to the listener.  With a parallelism of 1
+ * the creators run one after the other on a single thread, so each connection is a batch of its own.
+ */
+final class ConnectionCreationGate {
+    private final int parallelism;
+    private final BatchListener listener;
+
+    private int window = 1;
+    private int inFlight;
+    private int waiting;
+    private boolean isBatchOpen;
+    private int batchCreated;
+    private long batchStart;
+
+    interface BatchListener {
+        void batchCreated(int connections, long elapsedMillis);
+    }
+
+    /**
+     * Construct a ConnectionCreationGate.
+     *
+     * @param parallelism the maximum number of connections opened at once
+     * @param listener    the listener of the batches opened
+     */
+    ConnectionCreationGate(final int parallelism, final BatchListener listener) {
+        this.parallelism = parallelism;
+        this.listener = listener;
+    }
+
+    /**
+     * Wait until the creator may open a connection, or the connection is no longer needed.
+     *
+     * @param isNeeded whether another connection is needed, given the number of connections being opened
+     * @return true if the creator entered the gate and must leave it by {@link #created(Runnable)} or
+     * {@link #abandoned()}, false if the connection is no longer needed
+     */
+    boolean enter(final IntPredicate isNeeded) {
+        final int connections;
+        final long elapsedMillis;
+        synchronized (this) {
+            waiting++;
+            try {
+                while (isNeeded.test(inFlight)) {
+                    if (inFlight < window) {
+                        inFlight++;
+                        if (!isBatchOpen) {
+                            isBatchOpen = true;
+                            batchStart = ClockSource.currentTime();
+                            batchCreated = 0;
+                        }
+                        return true;
+                    }
+
+                    // bounded, so that a need that disappeared without a creator leaving is noticed
+                    wait(100L);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting--;
+            }
+
+            if (!isBatchEnded()) {
+                return false;
+            }
+            connections = batchCreated;
+            elapsedMillis = ClockSource.elapsedMillis(batchStart);
+        }
+
+        listener.batchCreated(connections, elapsedMillis);
+        return false;
+    }
+
+    /**
+     * Get the number of connections being opened by the creators other than the calling one, which is in the gate.
+     *
+     * @return the number of other connections being opened
+     */
+    synchronized int othersInFlight() {
+        return inFlight - 1;
+    }
+
+    /**
+     * Let one creator at a time in, after a connection failed to open.
+     */
+    synchronized void failed() {
+        window = 1;
+    }
+
+    /**
+     * Leave the gate with a connection opened.  The connection is added to the pool while the creators waiting
+     * at the gate cannot count it twice, both as being opened and as added.
+     *
+     * @param add adds the connection to the pool
+     */
+    void created(final Runnable add) {
+        final int connections;
+        final long elapsedMillis;
+        synchronized (this) {
+            try {
+                add.run();
+                window = Math.min(parallelism, window + 1);
+                batchCreated++;
+            } finally {
+                inFlight--;
+                notifyAll();
+            }
+            if (!isBatchEnded()) {
+                return;
+            }
+            connections = batchCreated;
+            elapsedMillis = ClockSource.elapsedMillis(batchStart);
+        }
+
+        listener.batchCreated(connections, elapsedMillis);
+    }
+
+    /**
+     * Leave the gate without a connection opened, because it is no longer needed.
+     */
+    void abandoned() {
+        final int connections;
+        final long elapsedMillis;
+        synchronized (this) {
+            inFlight--;
+            notifyAll();
+            if (!isBatchEnded()) {
+                return;
+            }
+            connections = batchCreated;
+            elapsedMillis = ClockSource.elapsedMillis(batchStart);
+        }
+
+        listener.batchCreated(connections, elapsedMillis);
+    }
+
+    /**
+     * Close the batch if no creator is in or waiting at the gate anymore.
+     *
+     * @return true if a batch with at least one connection opened ended
+     */
+    private boolean isBatchEnded() {
+        if (!isBatchOpen || inFlight > 0 || waiting > 0) {
+            return false;
+        }
+        isBatchOpen = false;
+        return batchCreated > 0;
+    }
+}
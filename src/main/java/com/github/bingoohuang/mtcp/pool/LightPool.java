@@ -2,16 +2,22 @@ package com.github.bingoohuang.mtcp.pool;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
+import com.github.bingoohuang.mtcp.BatchTenantEnvironmentAware;
+import com.github.bingoohuang.mtcp.BorrowOrder;
 import com.github.bingoohuang.mtcp.LightConfig;
 import com.github.bingoohuang.mtcp.LightDataSource;
 import com.github.bingoohuang.mtcp.LightPoolMXBean;
+import com.github.bingoohuang.mtcp.TenantSwitchStrategy;
 import com.github.bingoohuang.mtcp.metrics.MetricsTrackerFactory;
 import com.github.bingoohuang.mtcp.metrics.PoolStats;
 import com.github.bingoohuang.mtcp.metrics.dropwizard.CodahaleHealthChecker;
 import com.github.bingoohuang.mtcp.metrics.dropwizard.CodahaleMetricsTrackerFactory;
 import com.github.bingoohuang.mtcp.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import com.github.bingoohuang.mtcp.util.ActiveConnectionTagSink;
 import com.github.bingoohuang.mtcp.util.ClockSource;
 import com.github.bingoohuang.mtcp.util.ConcurrentBag;
+import com.github.bingoohuang.mtcp.util.TenantFairQueue;
+import com.github.bingoohuang.mtcp.util.TenantHeavyHitters;
 import com.github.bingoohuang.mtcp.util.UtilityElf;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +27,13 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLTransientConnectionException;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import static com.github.bingoohuang.mtcp.util.UtilityElf.createFixedThreadPoolExecutor;
 import static com.github.bingoohuang.mtcp.util.UtilityElf.createThreadPoolExecutor;
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -36,27 +46,48 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * @author Brett Wooldridge
  */
 @Slf4j
-public final class LightPool extends PoolBase implements LightPoolMXBean, ConcurrentBag.BagStateListener {
+public final class LightPool extends PoolBase implements LightPoolMXBean, ConcurrentBag.BagStateListener, TenantFairQueue.TenantLimits {
     public static final int POOL_NORMAL = 0;
     public static final int POOL_SHUTDOWN = 2;
     public volatile int poolState;
 
     private final long ALIVE_BYPASS_WINDOW_MS = Long.getLong("com.github.bingoohuang.mtcp.aliveBypassWindowMs", MILLISECONDS.toMillis(500));
     private final long HOUSEKEEPING_PERIOD_MS = Long.getLong("com.github.bingoohuang.mtcp.housekeeping.periodMs", SECONDS.toMillis(30));
+    private final int HOT_TENANT_SAMPLE_INTERVAL = Integer.getInteger("com.github.bingoohuang.mtcp.hotTenants.sampleInterval", 4);
 
     private static final String EVICTED_CONNECTION_MESSAGE = "(connection was evicted)";
     private static final String DEAD_CONNECTION_MESSAGE = "(connection is dead)";
+    private static final String UNRESETTABLE_TENANT_MESSAGE = "(connection switched to a tenant, borrowed without one)";
 
     private final PoolEntryCreator POOL_ENTRY_CREATOR = new PoolEntryCreator(null /*logging prefix*/);
     private final PoolEntryCreator POST_FILL_POOL_ENTRY_CREATOR = new PoolEntryCreator("After adding ");
+    private final HotTenantPrewarmer HOT_TENANT_PREWARMER = new HotTenantPrewarmer();
+    private final KeepaliveValidator KEEPALIVE_VALIDATOR = new KeepaliveValidator();
     private final Collection<Runnable> addConnectionQueue;
-    private final ThreadPoolExecutor addConnectionExecutor;
-    private final ThreadPoolExecutor closeConnectionExecutor;
+    private final ExecutorService addConnectionExecutor;
+    private final ConnectionCreationGate creationGate;
+    private final ExecutorService closeConnectionExecutor;
     private final ConcurrentBag<PoolEntry> connectionBag;
     private final ProxyLeakTaskFactory leakTaskFactory;
     private final ScheduledExecutorService houseKeepingExecutorService;
     private ScheduledFuture<?> houseKeeperTask;
 
+    private final long keepaliveTime;
+    private final ExecutorService keepaliveExecutor;
+    private final ExecutorService prewarmExecutor;
+    private final AtomicInteger keepaliveValidators = new AtomicInteger();
+    private ScheduledFuture<?> keepaliveTask;
+
+    // notified by the connection creators, for the warm start to wait for minimumIdle connections
+    private final Object connectionAdded = new Object();
+
+    private final LongAdder tenantSwitches = new LongAdder();
+    private final LongAdder tenantAffinityHits = new LongAdder();
+    private final ActiveConnectionTagSink tagSink;
+    private final TenantHeavyHitters hotTenants;
+    private final LongAdder tenantPrewarms = new LongAdder();
+    private final PoolSizeController sizeController;
+
     /**
      * Construct a LightPool with the specified configuration.
      *
@@ -64,10 +95,21 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
      */
     public LightPool(final LightConfig config) {
         super(config);
+        val startTime = ClockSource.currentTime();
+        if (config.getPoolRuntime() != null) {
+            config.getPoolRuntime().attach();
+        }
 
-        this.connectionBag = new ConcurrentBag<>(this);
+        // without quotas or weights, borrowers skip the per-tenant permits and the fair queue altogether
+        val isTenantFair = config.getTenantEnvironmentAware() != null
+                && (config.getMaxConnectionsPerTenant() > 0 || UtilityElf.getNullIfEmpty(config.getTenantWeights()) != null);
+        this.connectionBag = new ConcurrentBag<>(this, config.isTenantAffinity(), isTenantFair ? this : null, config.getMaxPoolSize(),
+                config.getBorrowCacheMode());
 
         this.houseKeepingExecutorService = initializeHouseKeepingExecutorService();
+        this.hotTenants = config.getHotTenantCount() > 0 && config.getTenantEnvironmentAware() != null
+                ? new TenantHeavyHitters(config.getHotTenantCount(), HOT_TENANT_SAMPLE_INTERVAL) : null;
+        this.sizeController = config.isAdaptivePoolSizing() ? new PoolSizeController(config.getMaxPoolSize()) : null;
 
         checkFailFast(config);
 
@@ -83,15 +125,55 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
 
         val threadFactory = config.getThreadFactory();
 
-        final LinkedBlockingQueue<Runnable> addConnectionQueue = new LinkedBlockingQueue<>(config.getMaxPoolSize());
-        this.addConnectionQueue = unmodifiableCollection(addConnectionQueue);
-        this.addConnectionExecutor = createThreadPoolExecutor(addConnectionQueue, poolName + " connection adder", threadFactory, new ThreadPoolExecutor.DiscardPolicy());
-        this.closeConnectionExecutor = createThreadPoolExecutor(config.getMaxPoolSize(), poolName + " connection closer", threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        val creationParallelism = Math.min(config.getConnectionCreationParallelism(), config.getMaxPoolSize());
+        this.creationGate = new ConnectionCreationGate(creationParallelism, this::recordConnectionBatchCreated);
+
+        val poolRuntime = config.getPoolRuntime();
+        if (poolRuntime != null) {
+            val connectionAdder = poolRuntime.newConnectionAdder(config.getMaxPoolSize(), creationParallelism);
+            this.addConnectionQueue = connectionAdder.getQueue();
+            this.addConnectionExecutor = connectionAdder;
+            this.closeConnectionExecutor = poolRuntime.newConnectionCloser(config.getMaxPoolSize());
+        } else {
+            final LinkedBlockingQueue<Runnable> addConnectionQueue = new LinkedBlockingQueue<>(config.getMaxPoolSize());
+            this.addConnectionQueue = unmodifiableCollection(addConnectionQueue);
+            this.addConnectionExecutor = createFixedThreadPoolExecutor(creationParallelism, addConnectionQueue, poolName + " connection adder", threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+            this.closeConnectionExecutor = createThreadPoolExecutor(config.getMaxPoolSize(), poolName + " connection closer", threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        // neither on the connection adder, whose queue counts the connections pending creation, nor on the
+        // housekeeper, which the tenant switches would hold up
+        if (hotTenants == null) {
+            this.prewarmExecutor = null;
+        } else {
+            this.prewarmExecutor = poolRuntime != null
+                    ? poolRuntime.newMaintenanceLane(1, 1)
+                    : createThreadPoolExecutor(1, poolName + " tenant prewarmer", threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+        }
 
         this.leakTaskFactory = new ProxyLeakTaskFactory(config.getLeakDetectionThreshold(), houseKeepingExecutorService);
+        this.tagSink = initializeTagSink();
 
         this.houseKeeperTask = houseKeepingExecutorService.scheduleWithFixedDelay(
                 new HouseKeeper(), 100L, HOUSEKEEPING_PERIOD_MS, MILLISECONDS);
+
+        this.keepaliveTime = config.getKeepaliveTime();
+        if (keepaliveTime > 0) {
+            // the keepalive task starts no more validators than the parallelism, so they all fit in the lane
+            this.keepaliveExecutor = poolRuntime != null
+                    ? poolRuntime.newMaintenanceLane(config.getKeepaliveParallelism(), config.getKeepaliveParallelism())
+                    : createFixedThreadPoolExecutor(config.getKeepaliveParallelism(), poolName + " keepalive", threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+            this.keepaliveTask = houseKeepingExecutorService.scheduleWithFixedDelay(
+                    new KeepaliveTask(), keepaliveTime / 4, keepaliveTime / 4, MILLISECONDS);
+        } else {
+            this.keepaliveExecutor = null;
+        }
+
+        if (config.getWarmStartTimeout() > 0) {
+            warmStart(startTime);
+        }
+
+        metricsTracker.recordPoolStarted(ClockSource.elapsedMillis(startTime));
     }
 
     /**
@@ -113,32 +195,46 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
      */
     public Connection getConnection(final long hardTimeout) throws SQLException {
         val startTime = ClockSource.currentTime();
+        val tenantEnvAware = config.getTenantEnvironmentAware();
+        val tenantId = tenantEnvAware != null ? tenantEnvAware.getTenantId() : null;
+        if (hotTenants != null && tenantId != null) {
+            hotTenants.record(tenantId);
+        }
 
         try {
             long timeout = hardTimeout;
             do {
-                val poolEntry = connectionBag.borrow(timeout, MILLISECONDS);
+                val poolEntry = connectionBag.borrow(tenantId, timeout, MILLISECONDS);
                 if (poolEntry == null) {
                     break; // We timed out... break and throw exception
                 }
 
                 val now = ClockSource.currentTime();
-                if (poolEntry.isMarkedEvicted() || isEntryDead(poolEntry, now)) {
-                    val reason = poolEntry.isMarkedEvicted() ? EVICTED_CONNECTION_MESSAGE : DEAD_CONNECTION_MESSAGE;
+                val reason = poolEntry.isMarkedEvicted() ? EVICTED_CONNECTION_MESSAGE
+                        : isEntryDead(poolEntry, now) ? DEAD_CONNECTION_MESSAGE
+                        : isTenantUnresettable(poolEntry, tenantId) ? UNRESETTABLE_TENANT_MESSAGE : null;
+                if (reason != null) {
                     closeConnection(poolEntry, reason);
                     timeout = hardTimeout - ClockSource.elapsedMillis(startTime);
                 } else {
-                    metricsTracker.recordBorrowStats(poolEntry, startTime);
+                    metricsTracker.recordBorrowStats(poolEntry, tenantId, startTime);
+                    if (sizeController != null) {
+                        poolEntry.lastBorrowed = now;
+                        sizeController.recordAcquire(ClockSource.elapsedNanos(startTime, now));
+                    }
 
                     val leakTask = leakTaskFactory.schedule(poolEntry);
                     val proxyConnection = poolEntry.createProxyConnection(leakTask, now);
-                    markTenantCode(poolEntry);
+                    markTenantCode(poolEntry, proxyConnection, tenantId);
 
-                    return proxyConnection;
+                    return proxyConnection.getBorrowedConnection();
                 }
             } while (timeout > 0L);
 
             metricsTracker.recordBorrowTimeoutStats(startTime);
+            if (sizeController != null) {
+                sizeController.recordTimeout();
+            }
             throw createTimeoutException(startTime);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -146,22 +242,158 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
         }
     }
 
-    private void markTenantCode(PoolEntry entry) {
+    /**
+     * Whether the connection of the entry is switched to a tenant that a borrower without one cannot have reset,
+     * as the switch SQL takes a tenant and no tenant reset SQL is configured.
+     */
+    private boolean isTenantUnresettable(final PoolEntry entry, final String tid) {
+        return tid == null && entry.getTenantId() != null
+                && config.getTenantSwitchStrategy() == TenantSwitchStrategy.SQL && config.getTenantResetSql() == null;
+    }
+
+    private void markTenantCode(PoolEntry entry, ProxyConnection proxyConnection, String tid) throws SQLException {
         val tenantEnvAware = config.getTenantEnvironmentAware();
         if (tenantEnvAware == null) return;
 
-        tenantEnvAware.tagActiveConnection(entry.getConnectionSeq());
+        if (tagSink != null) {
+            tagSink.tag(entry.getConnectionSeq(), tid);
+        } else {
+            tenantEnvAware.tagActiveConnection(entry.getConnectionSeq());
+        }
+
+        if (UtilityElf.objectEquals(tid, entry.getTenantId())) {
+            tenantAffinityHits.increment();
+            metricsTracker.recordTenantAffinityHit(tid);
+            return;
+        }
 
-        val tid = tenantEnvAware.getTenantId();
-        if (UtilityElf.objectEquals(tid, entry.getTenantId())) return;
+        if (config.isLazyTenantSwitch()) {
+            proxyConnection.deferTenantSwitch(tid);
+            return;
+        }
 
-        entry.setTenantId(tid);
-        tenantEnvAware.switchTenantDatabase(entry.connection);
+        try {
+            switchTenant(entry, tid);
+        } catch (SQLException e) {
+            proxyConnection.cancelLeakTask();
+            closeConnection(entry, "(tenant switch failed)");
+            throw e;
+        }
+    }
+
+    /**
+     * Switch the connection of the entry to the specified tenant by the configured {@link TenantSwitchStrategy}.
+     * The entry is only bound to the tenant once the switch succeeded.
+     * <p>
+     * A deferred switch runs at the first statement, when the thread may carry another tenant than at the borrow.
+     * The connection is then switched to the tenant of the borrow if the callback accepts an explicit tenant,
+     * otherwise to the tenant of the thread, and bound to the tenant it was actually switched to.
+     *
+     * @param entry the entry whose connection to switch
+     * @param tid   the tenant to switch to
+     * @throws SQLException thrown if the switch fails
+     */
+    @Override
+    void switchTenant(final PoolEntry entry, final String tid) throws SQLException {
+        tenantSwitches.increment();
+
+        val switchStart = ClockSource.currentTime();
+        String switchedTid = tid;
+        val contextTid = config.getTenantEnvironmentAware().getTenantId();
+        if (UtilityElf.objectEquals(tid, contextTid)) {
+            executeTenantSwitch(entry, tid, true);
+        } else {
+            try {
+                executeTenantSwitch(entry, tid, false);
+            } catch (UnsupportedOperationException e) {
+                switchedTid = contextTid;
+                executeTenantSwitch(entry, contextTid, true);
+            }
+        }
+
+        entry.setTenantId(switchedTid);
+        metricsTracker.recordTenantSwitch(switchedTid, switchStart);
+    }
+
+    /**
+     * Switch the connection of the entry by the configured {@link TenantSwitchStrategy}.  Without a tenant, the
+     * catalog and schema strategies restore the configured catalog or schema, if any, and the SQL strategy
+     * executes the tenant reset SQL.
+     *
+     * @param entry       the entry whose connection to switch
+     * @param tid         the tenant to switch to
+     * @param fromContext true if the calling thread carries the tenant, false to pass it explicitly
+     * @throws SQLException thrown if the switch fails
+     */
+    private void executeTenantSwitch(final PoolEntry entry, final String tid, final boolean fromContext) throws SQLException {
+        entry.invalidateStatementCache();
+
+        val connection = entry.connection;
+        switch (config.getTenantSwitchStrategy()) {
+            case CATALOG:
+                val catalog = tid != null ? tid : config.getCatalog();
+                if (catalog != null) {
+                    connection.setCatalog(catalog);
+                }
+                break;
+            case SCHEMA:
+                val schema = tid != null ? tid : config.getSchema();
+                if (schema != null) {
+                    connection.setSchema(schema);
+                }
+                break;
+            case SQL:
+                if (tid == null) {
+                    // without a reset SQL, the borrow closes a switched connection rather than hand it out here
+                    try (val statement = connection.createStatement()) {
+                        statement.execute(config.getTenantResetSql());
+                    }
+                } else {
+                    val statement = entry.getTenantSwitchStatement(config.getTenantSwitchSql());
+                    statement.setString(1, tid);
+                    statement.execute();
+                }
+                break;
+            default:
+                executeTenantSwitchCallback(connection, tid, fromContext);
+        }
+    }
+
+    /**
+     * Execute the switch SQL of the {@link com.github.bingoohuang.mtcp.TenantEnvironmentAware}, or call back
+     * into it.
+     *
+     * @param connection  the connection to switch
+     * @param tid         the tenant to switch to
+     * @param fromContext true if the calling thread carries the tenant, false to pass it explicitly
+     * @throws SQLException thrown if the switch SQL fails
+     */
+    private void executeTenantSwitchCallback(final Connection connection, final String tid, final boolean fromContext) throws SQLException {
+        val tenantEnvAware = config.getTenantEnvironmentAware();
+        val switchSql = tenantEnvAware.getSwitchTenantSql(tid);
+        if (switchSql != null) {
+            try (val statement = connection.createStatement()) {
+                statement.execute(switchSql);
+            }
+        } else if (fromContext) {
+            tenantEnvAware.switchTenantDatabase(connection);
+        } else {
+            tenantEnvAware.switchTenantDatabase(connection, tid);
+        }
     }
 
     private boolean isEntryDead(PoolEntry poolEntry, long now) {
         val elapsedMillis = ClockSource.elapsedMillis(poolEntry.lastAccessed, now);
-        return elapsedMillis > ALIVE_BYPASS_WINDOW_MS && !isConnectionAlive(poolEntry.connection);
+        if (elapsedMillis <= ALIVE_BYPASS_WINDOW_MS || (keepaliveTime > 0 && ClockSource.elapsedMillis(poolEntry.lastValidated, now) <= keepaliveTime)) {
+            return false;
+        }
+
+        if (!isConnectionAlive(poolEntry.connection)) {
+            return true;
+        }
+
+        poolEntry.lastValidated = now;
+        return false;
     }
 
     /**
@@ -185,11 +417,29 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
                 houseKeeperTask = null;
             }
 
+            if (keepaliveTask != null) {
+                keepaliveTask.cancel(false);
+                keepaliveTask = null;
+                keepaliveExecutor.shutdown();
+            }
+
+            if (prewarmExecutor != null) {
+                prewarmExecutor.shutdownNow();
+            }
+
             softEvictConnections();
 
             addConnectionExecutor.shutdown();
             addConnectionExecutor.awaitTermination(getLoginTimeout(), SECONDS);
 
+            if (keepaliveExecutor != null) {
+                keepaliveExecutor.awaitTermination(10L, SECONDS);
+            }
+
+            if (prewarmExecutor != null) {
+                prewarmExecutor.awaitTermination(10L, SECONDS);
+            }
+
             destroyHouseKeepingExecutorService();
 
             connectionBag.close();
@@ -215,6 +465,12 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
         } finally {
             logPoolState("After shutdown ");
             unregisterMBeans();
+            if (config.getPoolRuntime() != null && addConnectionExecutor != null) {
+                config.getPoolRuntime().detach();
+            }
+            if (tagSink != null) {
+                tagSink.close();
+            }
             metricsTracker.close();
         }
     }
@@ -292,6 +548,34 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BorrowOrder getBorrowOrder() {
+        return config.getBorrowOrder();
+    }
+
+    // ***********************************************************************
+    //                        TenantLimits callback
+    // ***********************************************************************
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMaxInUse(final String tenantId) {
+        return config.getMaxConnectionsPerTenant();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWeight(final String tenantId) {
+        return config.getTenantWeight(tenantId);
+    }
+
     // ***********************************************************************
     //                        LightPoolMBean methods
     // ***********************************************************************
@@ -328,6 +612,106 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
         return connectionBag.getWaitingThreadCount();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTenantSwitchCount() {
+        return tenantSwitches.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTenantAffinityHitCount() {
+        return tenantAffinityHits.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getTenantSwitchAvoidanceRatio() {
+        val hits = tenantAffinityHits.sum();
+        val total = hits + tenantSwitches.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getActiveConnectionTagOverflowCount() {
+        return tagSink != null ? tagSink.getOverflowCount() : 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getTenantPrewarmCount() {
+        return tenantPrewarms.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPreparedStatementCacheHitCount() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPreparedStatementCacheMissCount() {
+        return statementCacheMisses.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCachedPreparedStatementCount() {
+        return cachedStatements.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBorrowCasFailureCount() {
+        return connectionBag.getBorrowCasFailureCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getBorrowContention() {
+        val scans = connectionBag.getSharedScanCount();
+        return scans == 0 ? 0.0 : (double) connectionBag.getBorrowCasFailureCount() / scans;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getEffectiveMaxPoolSize() {
+        // maximumPoolSize may have been lowered through the LightConfigMXBean since the last adjustment
+        return sizeController != null ? Math.min(sizeController.getSize(), config.getMaxPoolSize()) : config.getMaxPoolSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getPoolSizeDecisions() {
+        return sizeController != null ? sizeController.getDecisions() : new String[0];
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -361,6 +745,9 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
     @Override
     void recycle(final PoolEntry poolEntry) {
         metricsTracker.recordConnectionUsage(poolEntry);
+        if (sizeController != null) {
+            sizeController.recordUsage(poolEntry.getMillisSinceBorrowed());
+        }
 
         connectionBag.requite(poolEntry);
     }
@@ -400,7 +787,11 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
      */
     private PoolEntry createPoolEntry() {
         try {
+            val startTime = ClockSource.currentTime();
             val poolEntry = newPoolEntry();
+            if (sizeController != null) {
+                sizeController.recordCreation(ClockSource.elapsedMillis(startTime));
+            }
 
             val maxLifetime = config.getMaxLifetime();
             if (maxLifetime > 0) {
@@ -429,7 +820,7 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
      * Fill pool up from current idle connections (as they are perceived at the point of execution) to minimumIdle connections.
      */
     private synchronized void fillPool() {
-        int a = config.getMaxPoolSize() - getTotalConnections();
+        int a = getEffectiveMaxPoolSize() - getTotalConnections();
         int b = config.getMinIdle() - getIdleConnections();
 
         for (int i = 0, ii = Math.min(a, b) - addConnectionQueue.size(); i < ii; i++) {
@@ -437,6 +828,144 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
         }
     }
 
+    /**
+     * Block until minimumIdle connections were opened, then switch an idle connection to each of the warm start
+     * tenants, as long as the warm start timeout did not pass.
+     *
+     * @param startTime the time the pool started
+     */
+    private void warmStart(final long startTime) {
+        val timeout = config.getWarmStartTimeout();
+        fillPool();
+        synchronized (connectionAdded) {
+            long remaining;
+            while (getTotalConnections() < config.getMinIdle() && (remaining = timeout - ClockSource.elapsedMillis(startTime)) > 0) {
+                try {
+                    connectionAdded.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        if (getTotalConnections() < config.getMinIdle()) {
+            log.warn("{} - Warm start timed out after {}ms with {} of {} connections, opening the others in the background.",
+                    poolName, ClockSource.elapsedMillis(startTime), getTotalConnections(), config.getMinIdle());
+            return;
+        }
+
+        val tenants = UtilityElf.getNullIfEmpty(config.getWarmStartTenants());
+        if (tenants == null || config.getTenantEnvironmentAware() == null) {
+            return;
+        }
+
+        for (val tenant : tenants.split(",")) {
+            val tenantId = tenant.trim();
+            if (tenantId.isEmpty()) {
+                continue;
+            }
+
+            if (ClockSource.elapsedMillis(startTime) >= timeout) {
+                log.warn("{} - Warm start timed out before switching a connection to tenant {}.", poolName, tenantId);
+                return;
+            }
+
+            val entry = reserveUnswitchedEntry();
+            if (entry == null) {
+                log.warn("{} - Warm start ran out of idle connections before switching one to tenant {}.", poolName, tenantId);
+                return;
+            }
+
+            try {
+                switchReservedEntry(entry, tenantId, "(warm start tenant switch failed)");
+            } catch (UnsupportedOperationException e) {
+                log.info("{} - Warm start tenants ignored, the TenantEnvironmentAware cannot switch to an explicit tenant.", poolName);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Switch a reserved idle entry to the tenant, passed explicitly to the {@link TenantSwitchStrategy}, and put it
+     * back in the pool, or close it if the switch failed.
+     *
+     * @param entry         the reserved entry
+     * @param tenantId      the tenant to switch to
+     * @param closureReason the reason to log if the entry is closed
+     * @return true if the entry was switched, false if it was closed
+     * @throws UnsupportedOperationException if the TenantEnvironmentAware cannot switch to an explicit tenant, the
+     *                                       entry is then put back as it was
+     */
+    private boolean switchReservedEntry(final PoolEntry entry, final String tenantId, final String closureReason) {
+        val switchStart = ClockSource.currentTime();
+        try {
+            executeTenantSwitch(entry, tenantId, false);
+        } catch (UnsupportedOperationException e) {
+            connectionBag.unreserve(entry);
+            throw e;
+        } catch (Exception e) {
+            tenantSwitches.increment();
+            log.debug("{} - Failed to pre-switch connection {} to tenant {}", poolName, entry, tenantId, e);
+            closeConnection(entry, closureReason);
+            return false;
+        }
+
+        tenantSwitches.increment();
+        entry.setTenantId(tenantId);
+        metricsTracker.recordTenantSwitch(tenantId, switchStart);
+        connectionBag.unreserve(entry);
+        return true;
+    }
+
+    private PoolEntry reserveUnswitchedEntry() {
+        for (val entry : connectionBag.valuesFree()) {
+            if (entry.getTenantId() == null && connectionBag.reserve(entry)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Resize the pool to the load of the last housekeeping cycle, closing idle connections above the new size.
+     *
+     * @param cycleMillis the length of the last housekeeping cycle
+     */
+    private void adjustPoolSize(final long cycleMillis) {
+        val minSize = Math.max(1, config.getMinIdle());
+        val decision = sizeController.adjust(cycleMillis, getThreadsAwaitingConnection(), minSize, Math.max(minSize, config.getMaxPoolSize()));
+        if (decision == null) {
+            return;
+        }
+
+        log.info("{} - Adaptive pool sizing: {}", poolName, decision);
+        int excess = getTotalConnections() - getEffectiveMaxPoolSize();
+        for (val entry : connectionBag.valuesFree()) {
+            if (excess <= 0) {
+                break;
+            }
+            if (connectionBag.reserve(entry)) {
+                closeConnection(entry, "(pool size reduced by adaptive sizing)");
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * Record a batch of connections created in parallel, see {@link ConnectionCreationGate}.
+     *
+     * @param connections   the number of connections created
+     * @param elapsedMillis the time spent creating them
+     */
+    private void recordConnectionBatchCreated(final int connections, final long elapsedMillis) {
+        log.debug("{} - Added {} connections in {}ms", poolName, connections, elapsedMillis);
+        if (metricsTracker != null) {
+            metricsTracker.recordConnectionBatchCreated(connections, elapsedMillis);
+        }
+    }
+
     /**
      * Attempt to abort or close active connections.
      *
@@ -507,6 +1036,9 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
     private void throwPoolInitializationException(Throwable t) {
         log.error("{} - Exception during pool initialization.", poolName, t);
         destroyHouseKeepingExecutorService();
+        if (config.getPoolRuntime() != null) {
+            config.getPoolRuntime().detach();
+        }
         throw new PoolInitializationException(t);
     }
 
@@ -535,13 +1067,15 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
 
     /**
      * Create/initialize the Housekeeping service {@link ScheduledExecutorService}.  If the user specified an Executor
-     * to be used in the {@link LightConfig}, then we use that.  If no Executor was specified (typical), then create
-     * an Executor and configure it.
+     * to be used in the {@link LightConfig}, then we use that, else the scheduler of the {@link PoolRuntime}, if any.
+     * If neither was specified (typical), then create an Executor and configure it.
      *
      * @return either the user specified {@link ScheduledExecutorService}, or the one we created
      */
     private ScheduledExecutorService initializeHouseKeepingExecutorService() {
-        if (config.getScheduledExecutor() == null) {
+        if (config.getScheduledExecutor() == null && config.getPoolRuntime() != null) {
+            return config.getPoolRuntime().getScheduler();
+        } else if (config.getScheduledExecutor() == null) {
             val threadFactory = Optional.ofNullable(config.getThreadFactory())
                     .orElse(new UtilityElf.DefaultThreadFactory(poolName + " housekeeper", true));
             val executor = new ScheduledThreadPoolExecutor(1, threadFactory, new ThreadPoolExecutor.DiscardPolicy());
@@ -553,11 +1087,34 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
         }
     }
 
+    /**
+     * Create the asynchronous sink of active connection tags, if the tenant environment takes batches
+     * and a tag buffer is configured.
+     *
+     * @return the sink, or null to tag connections synchronously on borrow
+     */
+    private ActiveConnectionTagSink initializeTagSink() {
+        val tenantEnvAware = config.getTenantEnvironmentAware();
+        if (!(tenantEnvAware instanceof BatchTenantEnvironmentAware) || config.getActiveConnectionTagBufferSize() <= 0) {
+            return null;
+        }
+
+        val poolRuntime = config.getPoolRuntime();
+        if (poolRuntime != null) {
+            return new ActiveConnectionTagSink((BatchTenantEnvironmentAware) tenantEnvAware, config.getActiveConnectionTagBufferSize(),
+                    poolRuntime.getScheduler(), poolRuntime.newMaintenanceLane(1, 1));
+        }
+
+        val threadFactory = Optional.ofNullable(config.getThreadFactory())
+                .orElse(new UtilityElf.DefaultThreadFactory(poolName + " tag sink", true));
+        return new ActiveConnectionTagSink((BatchTenantEnvironmentAware) tenantEnvAware, config.getActiveConnectionTagBufferSize(), threadFactory);
+    }
+
     /**
      * Destroy (/shutdown) the Housekeeping service Executor, if it was the one that we created.
      */
     private void destroyHouseKeepingExecutorService() {
-        if (config.getScheduledExecutor() == null) {
+        if (config.getScheduledExecutor() == null && config.getPoolRuntime() == null) {
             houseKeepingExecutorService.shutdownNow();
         }
     }
@@ -627,11 +1184,19 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
 
         @Override
         public Boolean call() {
+            if (!creationGate.enter(this::shouldCreateAnotherConnection)) {
+                // Pool is suspended or shutdown or at max size
+                return Boolean.FALSE;
+            }
+
             long sleepBackoff = 250L;
-            while (poolState == POOL_NORMAL && shouldCreateAnotherConnection()) {
+            while (shouldCreateAnotherConnection(creationGate.othersInFlight())) {
                 val poolEntry = createPoolEntry();
                 if (poolEntry != null) {
-                    connectionBag.add(poolEntry);
+                    creationGate.created(() -> connectionBag.add(poolEntry));
+                    synchronized (connectionAdded) {
+                        connectionAdded.notifyAll();
+                    }
                     log.debug("{} - Added connection {}", poolName, poolEntry.connection);
                     if (loggingPrefix != null) {
                         logPoolState(loggingPrefix);
@@ -639,11 +1204,13 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
                     return Boolean.TRUE;
                 }
 
-                // failed to get connection from db, sleep and retry
+                // failed to get connection from db, sleep and retry, the other creators wait for us
+                creationGate.failed();
                 UtilityElf.quietlySleep(sleepBackoff);
                 sleepBackoff = Math.min(SECONDS.toMillis(10), Math.min(connectionTimeout, (long) (sleepBackoff * 1.5)));
             }
             // Pool is suspended or shutdown or at max size
+            creationGate.abandoned();
             return Boolean.FALSE;
         }
 
@@ -651,14 +1218,141 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
          * We only create connections if we need another idle connection or have threads still waiting
          * for a new connection.  Otherwise we bail out of the request to create.
          *
+         * @param inFlight the number of connections being created by the other creators
          * @return true if we should create a connection, false if the need has disappeared
          */
-        private boolean shouldCreateAnotherConnection() {
-            return getTotalConnections() < config.getMaxPoolSize() &&
-                    (connectionBag.getWaitingThreadCount() > 0 || getIdleConnections() < config.getMinIdle());
+        private boolean shouldCreateAnotherConnection(final int inFlight) {
+            return poolState == POOL_NORMAL && getTotalConnections() + inFlight < getEffectiveMaxPoolSize() &&
+                    (connectionBag.getWaitingThreadCount() > inFlight || getIdleConnections() + inFlight < config.getMinIdle());
+        }
+    }
+
+    /**
+     * Re-binds idle connections of cold tenants to the hot tenants that are short of idle connections,
+     * running in the background so that the switches never delay a borrow.
+     */
+    private final class HotTenantPrewarmer implements Runnable {
+        private volatile boolean isSupported = true;
+
+        @Override
+        public void run() {
+            if (!isSupported || poolState != POOL_NORMAL) {
+                return;
+            }
+
+            val hot = hotTenants.getHotTenants();
+            for (val tenantId : hot) {
+                long idle = connectionBag.valuesFree().stream().filter(e -> tenantId.equals(e.getTenantId())).count();
+                while (idle < config.getHotTenantIdleConnections() && poolState == POOL_NORMAL) {
+                    val entry = reserveColdEntry();
+                    if (entry == null) {
+                        return;
+                    }
+
+                    try {
+                        if (switchReservedEntry(entry, tenantId, "(tenant pre-warming failed)")) {
+                            tenantPrewarms.increment();
+                            idle++;
+                        }
+                    } catch (UnsupportedOperationException e) {
+                        log.info("{} - Hot tenant pre-warming disabled, the TenantEnvironmentAware cannot switch to an explicit tenant.", poolName);
+                        isSupported = false;
+                        return;
+                    }
+                }
+            }
+        }
+
+        private PoolEntry reserveColdEntry() {
+            for (val entry : connectionBag.valuesFree()) {
+                if (!hotTenants.isHot(entry.getTenantId()) && connectionBag.reserve(entry)) {
+                    return entry;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Starts keepalive validators, up to the configured parallelism, when idle connections are due for validation.
+     * A connection is due once half of keepaliveTime passed since its last validation, and the task runs every
+     * quarter of keepaliveTime, so that it is validated again before borrowers stop trusting the previous
+     * validation.
+     */
+    private final class KeepaliveTask implements Runnable {
+        @Override
+        public void run() {
+            try {
+                val now = ClockSource.currentTime();
+                long due = connectionBag.valuesFree().stream().filter(entry -> isKeepaliveDue(entry, now)).count();
+                while (due-- > 0 && keepaliveValidators.get() < config.getKeepaliveParallelism() && poolState == POOL_NORMAL) {
+                    // only this task starts validators, so the count cannot pass the parallelism
+                    keepaliveValidators.incrementAndGet();
+                    keepaliveExecutor.execute(KEEPALIVE_VALIDATOR);
+                }
+            } catch (Exception e) {
+                log.error("Unexpected exception in keepalive task", e);
+            }
+        }
+    }
+
+    /**
+     * Reserves idle connections due for validation one at a time and validates them, until none is due.  A
+     * reserved connection is skipped by borrowers, and a dead one is closed and replaced before any borrower
+     * gets it.
+     */
+    private final class KeepaliveValidator implements Runnable {
+        @Override
+        public void run() {
+            try {
+                PoolEntry entry;
+                while (poolState == POOL_NORMAL && (entry = reserveKeepaliveDueEntry()) != null) {
+                    if (entry.isMarkedEvicted()) {
+                        closeConnection(entry, EVICTED_CONNECTION_MESSAGE);
+                    } else {
+                        validate(entry);
+                    }
+                }
+            } finally {
+                keepaliveValidators.decrementAndGet();
+            }
+        }
+
+        /**
+         * Validate a reserved connection, and give it back to the pool if it is alive.  Otherwise, or if the
+         * validation throws, it is closed, so that it does not stay reserved forever.
+         */
+        private void validate(final PoolEntry entry) {
+            boolean isAlive = false;
+            try {
+                isAlive = isConnectionAlive(entry.connection);
+            } finally {
+                if (isAlive) {
+                    entry.lastValidated = ClockSource.currentTime();
+                    connectionBag.unreserve(entry);
+                } else {
+                    closeConnection(entry, DEAD_CONNECTION_MESSAGE);
+                }
+            }
+        }
+
+        private PoolEntry reserveKeepaliveDueEntry() {
+            val now = ClockSource.currentTime();
+            for (val entry : connectionBag.valuesFree()) {
+                if (isKeepaliveDue(entry, now) && connectionBag.reserve(entry)) {
+                    return entry;
+                }
+            }
+
+            return null;
         }
     }
 
+    private boolean isKeepaliveDue(final PoolEntry entry, final long now) {
+        return ClockSource.elapsedMillis(entry.lastValidated, now) > keepaliveTime / 2;
+    }
+
     /**
      * The house keeping task to retire and maintain minimum idle connections.
      */
@@ -689,14 +1383,23 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
                             poolName, ClockSource.elapsedDisplayString(previous, now));
                 }
 
+                val cycleMillis = ClockSource.elapsedMillis(previous, now);
                 previous = now;
 
+                if (sizeController != null) {
+                    adjustPoolSize(cycleMillis);
+                }
+
                 String afterPrefix = "Pool ";
                 if (idleTimeout > 0L && config.getMinIdle() < config.getMaxPoolSize()) {
                     logPoolState("Before cleanup ");
                     afterPrefix = "After cleanup  ";
 
                     val notInUse = connectionBag.valuesFree();
+                    if (hotTenants != null) {
+                        // retire connections bound to cold tenants first, so that hot tenants stay warm
+                        notInUse.sort(Comparator.comparing(entry -> hotTenants.isHot(entry.getTenantId())));
+                    }
                     int toRemove = notInUse.size() - config.getMinIdle();
                     for (val entry : notInUse) {
                         if (toRemove > 0 && ClockSource.elapsedMillis(entry.lastAccessed, now) > idleTimeout && connectionBag.reserve(entry)) {
@@ -708,7 +1411,17 @@ public final class LightPool extends PoolBase implements LightPoolMXBean, Concur
 
                 logPoolState(afterPrefix);
 
+                val reclaimed = connectionBag.reclaimColdTenants();
+                if (reclaimed > 0) {
+                    log.debug("{} - Reclaimed {} cold tenant slots from the free index", poolName, reclaimed);
+                }
+
                 fillPool(); // Try to maintain minimum connections
+
+                if (hotTenants != null) {
+                    prewarmExecutor.execute(HOT_TENANT_PREWARMER);
+                    hotTenants.decay();
+                }
             } catch (Exception e) {
                 log.error("Unexpected exception in housekeeping task", e);
             }
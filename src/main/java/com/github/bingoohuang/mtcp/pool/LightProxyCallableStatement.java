@@ -28,6 +28,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNull(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNull(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -36,6 +37,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBoolean(int var1, boolean var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBoolean(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -44,6 +46,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setByte(int var1, byte var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setByte(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -52,6 +55,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setShort(int var1, short var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setShort(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -60,6 +64,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setInt(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setInt(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -68,6 +73,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setLong(int var1, long var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setLong(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -76,6 +82,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setFloat(int var1, float var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setFloat(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -84,6 +91,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setDouble(int var1, double var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setDouble(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -92,6 +100,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBigDecimal(int var1, BigDecimal var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -100,6 +109,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setString(int var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -108,6 +118,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBytes(int var1, byte[] var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBytes(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -116,6 +127,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setDate(int var1, Date var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -124,6 +136,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTime(int var1, Time var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -132,6 +145,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTimestamp(int var1, Timestamp var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -140,6 +154,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setAsciiStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setAsciiStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -148,6 +163,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setUnicodeStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setUnicodeStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -156,6 +172,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBinaryStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBinaryStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -164,6 +181,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void clearParameters() throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).clearParameters();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -172,6 +190,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(int var1, Object var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -180,6 +199,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(int var1, Object var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -196,6 +216,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void addBatch() throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).addBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -204,6 +225,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setCharacterStream(int var1, Reader var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setCharacterStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -212,6 +234,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setRef(int var1, Ref var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setRef(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -220,6 +243,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBlob(int var1, Blob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -228,6 +252,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setClob(int var1, Clob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -236,6 +261,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setArray(int var1, Array var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setArray(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -244,6 +270,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public ResultSetMetaData getMetaData() throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getMetaData();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -252,6 +279,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setDate(int var1, Date var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setDate(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -260,6 +288,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTime(int var1, Time var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTime(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -268,6 +297,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTimestamp(int var1, Timestamp var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTimestamp(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -276,6 +306,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNull(int var1, int var2, String var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNull(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -284,6 +315,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setURL(int var1, URL var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setURL(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -292,6 +324,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public ParameterMetaData getParameterMetaData() throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getParameterMetaData();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -300,6 +333,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setRowId(int var1, RowId var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setRowId(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -308,6 +342,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNString(int var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -316,6 +351,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNCharacterStream(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -324,6 +360,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNClob(int var1, NClob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -332,6 +369,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setClob(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -340,6 +378,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBlob(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBlob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -348,6 +387,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNClob(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -356,6 +396,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setSQLXML(int var1, SQLXML var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setSQLXML(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -364,6 +405,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(int var1, Object var2, int var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -372,6 +414,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setAsciiStream(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setAsciiStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -380,6 +423,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBinaryStream(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBinaryStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -388,6 +432,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setCharacterStream(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -396,6 +441,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setAsciiStream(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setAsciiStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -404,6 +450,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBinaryStream(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBinaryStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -412,6 +459,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setCharacterStream(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -420,6 +468,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNCharacterStream(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -428,6 +477,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setClob(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -436,6 +486,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBlob(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -444,6 +495,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNClob(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -452,6 +504,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(int var1, Object var2, SQLType var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -460,6 +513,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(int var1, Object var2, SQLType var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -468,6 +522,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long executeLargeUpdate() throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).executeLargeUpdate();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -492,6 +547,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getMaxFieldSize() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMaxFieldSize();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -500,7 +556,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setMaxFieldSize(int var1) throws SQLException {
         try {
-            super.delegate.setMaxFieldSize(var1);
+            super.setMaxFieldSize(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -508,6 +564,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getMaxRows() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMaxRows();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -516,7 +573,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setMaxRows(int var1) throws SQLException {
         try {
-            super.delegate.setMaxRows(var1);
+            super.setMaxRows(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -524,6 +581,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setEscapeProcessing(boolean var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setEscapeProcessing(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -532,6 +590,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getQueryTimeout() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getQueryTimeout();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -540,7 +599,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setQueryTimeout(int var1) throws SQLException {
         try {
-            super.delegate.setQueryTimeout(var1);
+            super.setQueryTimeout(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -548,6 +607,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void cancel() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.cancel();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -556,6 +616,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public SQLWarning getWarnings() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -564,6 +625,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void clearWarnings() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.clearWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -572,6 +634,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setCursorName(String var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setCursorName(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -596,6 +659,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getUpdateCount() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getUpdateCount();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -604,6 +668,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean getMoreResults() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMoreResults();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -612,7 +677,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setFetchDirection(int var1) throws SQLException {
         try {
-            super.delegate.setFetchDirection(var1);
+            super.setFetchDirection(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -620,6 +685,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getFetchDirection() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchDirection();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -628,7 +694,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setFetchSize(int var1) throws SQLException {
         try {
-            super.delegate.setFetchSize(var1);
+            super.setFetchSize(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -636,6 +702,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getFetchSize() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchSize();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -644,6 +711,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getResultSetConcurrency() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetConcurrency();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -652,6 +720,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getResultSetType() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetType();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -660,6 +729,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void addBatch(String var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.addBatch(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -668,6 +738,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void clearBatch() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.clearBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -692,6 +763,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean getMoreResults(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMoreResults(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -756,6 +828,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getResultSetHoldability() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetHoldability();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -772,6 +845,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setPoolable(boolean var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setPoolable(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -780,6 +854,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean isPoolable() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isPoolable();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -788,6 +863,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void closeOnCompletion() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.closeOnCompletion();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -796,6 +872,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean isCloseOnCompletion() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isCloseOnCompletion();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -804,6 +881,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long getLargeUpdateCount() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLargeUpdateCount();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -812,7 +890,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setLargeMaxRows(long var1) throws SQLException {
         try {
-            super.delegate.setLargeMaxRows(var1);
+            super.setLargeMaxRows(var1);
         } catch (SQLException var4) {
             throw this.checkException(var4);
         }
@@ -820,6 +898,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long getLargeMaxRows() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLargeMaxRows();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -828,6 +907,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long[] executeLargeBatch() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -836,6 +916,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long executeLargeUpdate(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -844,6 +925,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long executeLargeUpdate(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -852,6 +934,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long executeLargeUpdate(String var1, int[] var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -860,6 +943,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long executeLargeUpdate(String var1, String[] var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -868,6 +952,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -876,6 +961,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(int var1, int var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -884,6 +970,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean wasNull() throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).wasNull();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -892,6 +979,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public String getString(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -900,6 +988,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean getBoolean(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBoolean(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -908,6 +997,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public byte getByte(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getByte(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -916,6 +1006,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public short getShort(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getShort(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -924,6 +1015,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getInt(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getInt(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -932,6 +1024,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long getLong(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getLong(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -940,6 +1033,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public float getFloat(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getFloat(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -948,6 +1042,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public double getDouble(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getDouble(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -956,6 +1051,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public BigDecimal getBigDecimal(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -964,6 +1060,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public byte[] getBytes(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBytes(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -972,6 +1069,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Date getDate(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getDate(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -980,6 +1078,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Time getTime(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTime(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -988,6 +1087,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Timestamp getTimestamp(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTimestamp(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -996,6 +1096,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Object getObject(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getObject(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1004,6 +1105,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public BigDecimal getBigDecimal(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBigDecimal(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1012,6 +1114,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Object getObject(int var1, Map var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1020,6 +1123,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Ref getRef(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getRef(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1028,6 +1132,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Blob getBlob(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBlob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1036,6 +1141,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Clob getClob(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1044,6 +1150,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Array getArray(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getArray(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1052,6 +1159,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Date getDate(int var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1060,6 +1168,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Time getTime(int var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1068,6 +1177,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Timestamp getTimestamp(int var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1076,6 +1186,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(int var1, int var2, String var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1084,6 +1195,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1092,6 +1204,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(String var1, int var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1100,6 +1213,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(String var1, int var2, String var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1108,6 +1222,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public URL getURL(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getURL(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1116,6 +1231,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setURL(String var1, URL var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setURL(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1124,6 +1240,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNull(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNull(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1132,6 +1249,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBoolean(String var1, boolean var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBoolean(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1140,6 +1258,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setByte(String var1, byte var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setByte(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1148,6 +1267,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setShort(String var1, short var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setShort(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1156,6 +1276,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setInt(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setInt(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1164,6 +1285,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setLong(String var1, long var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setLong(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1172,6 +1294,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setFloat(String var1, float var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setFloat(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1180,6 +1303,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setDouble(String var1, double var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setDouble(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1188,6 +1312,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBigDecimal(String var1, BigDecimal var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1196,6 +1321,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setString(String var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1204,6 +1330,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBytes(String var1, byte[] var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBytes(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1212,6 +1339,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setDate(String var1, Date var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1220,6 +1348,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTime(String var1, Time var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1228,6 +1357,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTimestamp(String var1, Timestamp var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1236,6 +1366,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setAsciiStream(String var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setAsciiStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1244,6 +1375,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBinaryStream(String var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBinaryStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1252,6 +1384,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(String var1, Object var2, int var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1260,6 +1393,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(String var1, Object var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1268,6 +1402,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(String var1, Object var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1276,6 +1411,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setCharacterStream(String var1, Reader var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setCharacterStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1284,6 +1420,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setDate(String var1, Date var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setDate(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1292,6 +1429,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTime(String var1, Time var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTime(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1300,6 +1438,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setTimestamp(String var1, Timestamp var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setTimestamp(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1308,6 +1447,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNull(String var1, int var2, String var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNull(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1316,6 +1456,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public String getString(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1324,6 +1465,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean getBoolean(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBoolean(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1332,6 +1474,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public byte getByte(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getByte(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1340,6 +1483,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public short getShort(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getShort(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1348,6 +1492,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public int getInt(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getInt(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1356,6 +1501,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public long getLong(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getLong(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1364,6 +1510,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public float getFloat(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getFloat(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1372,6 +1519,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public double getDouble(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getDouble(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1380,6 +1528,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public byte[] getBytes(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBytes(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1388,6 +1537,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Date getDate(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getDate(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1396,6 +1546,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Time getTime(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTime(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1404,6 +1555,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Timestamp getTimestamp(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTimestamp(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1412,6 +1564,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Object getObject(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getObject(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1420,6 +1573,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public BigDecimal getBigDecimal(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBigDecimal(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1428,6 +1582,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Object getObject(String var1, Map var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1436,6 +1591,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Ref getRef(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getRef(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1444,6 +1600,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Blob getBlob(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getBlob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1452,6 +1609,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Clob getClob(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1460,6 +1618,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Array getArray(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getArray(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1468,6 +1627,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Date getDate(String var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1476,6 +1636,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Time getTime(String var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1484,6 +1645,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Timestamp getTimestamp(String var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1492,6 +1654,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public URL getURL(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getURL(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1500,6 +1663,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public RowId getRowId(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getRowId(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1508,6 +1672,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public RowId getRowId(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getRowId(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1516,6 +1681,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setRowId(String var1, RowId var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setRowId(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1524,6 +1690,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNString(String var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1532,6 +1699,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNCharacterStream(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1540,6 +1708,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNClob(String var1, NClob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1548,6 +1717,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setClob(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1556,6 +1726,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBlob(String var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBlob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1564,6 +1735,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNClob(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1572,6 +1744,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public NClob getNClob(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getNClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1580,6 +1753,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public NClob getNClob(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getNClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1588,6 +1762,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setSQLXML(String var1, SQLXML var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setSQLXML(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1596,6 +1771,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public SQLXML getSQLXML(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getSQLXML(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1604,6 +1780,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public SQLXML getSQLXML(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getSQLXML(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1612,6 +1789,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public String getNString(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getNString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1620,6 +1798,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public String getNString(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getNString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1628,6 +1807,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Reader getNCharacterStream(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getNCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1636,6 +1816,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Reader getNCharacterStream(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getNCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1644,6 +1825,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Reader getCharacterStream(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1652,6 +1834,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Reader getCharacterStream(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1660,6 +1843,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBlob(String var1, Blob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1668,6 +1852,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setClob(String var1, Clob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1676,6 +1861,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setAsciiStream(String var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setAsciiStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1684,6 +1870,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBinaryStream(String var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBinaryStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1692,6 +1879,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setCharacterStream(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1700,6 +1888,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setAsciiStream(String var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setAsciiStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1708,6 +1897,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBinaryStream(String var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBinaryStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1716,6 +1906,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setCharacterStream(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1724,6 +1915,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNCharacterStream(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1732,6 +1924,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setClob(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1740,6 +1933,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setBlob(String var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1748,6 +1942,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setNClob(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1756,6 +1951,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Object getObject(int var1, Class var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1764,6 +1960,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public Object getObject(String var1, Class var2) throws SQLException {
         try {
+            this.checkOpen();
             return ((CallableStatement) super.delegate).getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1772,6 +1969,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(String var1, Object var2, SQLType var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1780,6 +1978,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void setObject(String var1, Object var2, SQLType var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).setObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1788,6 +1987,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(int var1, SQLType var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1796,6 +1996,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(int var1, SQLType var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1804,6 +2005,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(int var1, SQLType var2, String var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1812,6 +2014,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(String var1, SQLType var2) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1820,6 +2023,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(String var1, SQLType var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1828,6 +2032,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public void registerOutParameter(String var1, SQLType var2, String var3) throws SQLException {
         try {
+            this.checkOpen();
             ((CallableStatement) super.delegate).registerOutParameter(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1836,6 +2041,7 @@ public class LightProxyCallableStatement extends ProxyPreparedStatement implemen
 
     public boolean isWrapperFor(Class var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isWrapperFor(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -27,6 +27,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNull(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNull(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -35,6 +36,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBoolean(int var1, boolean var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBoolean(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -43,6 +45,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setByte(int var1, byte var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setByte(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -51,6 +54,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setShort(int var1, short var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setShort(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -59,6 +63,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setInt(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setInt(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -67,6 +72,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setLong(int var1, long var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setLong(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -75,6 +81,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setFloat(int var1, float var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setFloat(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -83,6 +90,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setDouble(int var1, double var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setDouble(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -91,6 +99,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBigDecimal(int var1, BigDecimal var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -99,6 +108,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setString(int var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -107,6 +117,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBytes(int var1, byte[] var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBytes(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -115,6 +126,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setDate(int var1, Date var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -123,6 +135,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setTime(int var1, Time var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -131,6 +144,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setTimestamp(int var1, Timestamp var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -139,6 +153,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setAsciiStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setAsciiStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -147,6 +162,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setUnicodeStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setUnicodeStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -155,6 +171,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBinaryStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBinaryStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -163,6 +180,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void clearParameters() throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).clearParameters();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -171,6 +189,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setObject(int var1, Object var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -179,6 +198,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setObject(int var1, Object var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -195,6 +215,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void addBatch() throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).addBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -203,6 +224,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setCharacterStream(int var1, Reader var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setCharacterStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -211,6 +233,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setRef(int var1, Ref var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setRef(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -219,6 +242,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBlob(int var1, Blob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -227,6 +251,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setClob(int var1, Clob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -235,6 +260,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setArray(int var1, Array var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setArray(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -243,6 +269,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public ResultSetMetaData getMetaData() throws SQLException {
         try {
+            this.checkOpen();
             return ((PreparedStatement) super.delegate).getMetaData();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -251,6 +278,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setDate(int var1, Date var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setDate(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -259,6 +287,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setTime(int var1, Time var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setTime(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -267,6 +296,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setTimestamp(int var1, Timestamp var2, Calendar var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setTimestamp(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -275,6 +305,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNull(int var1, int var2, String var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNull(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -283,6 +314,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setURL(int var1, URL var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setURL(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -291,6 +323,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public ParameterMetaData getParameterMetaData() throws SQLException {
         try {
+            this.checkOpen();
             return ((PreparedStatement) super.delegate).getParameterMetaData();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -299,6 +332,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setRowId(int var1, RowId var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setRowId(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -307,6 +341,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNString(int var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -315,6 +350,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNCharacterStream(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -323,6 +359,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNClob(int var1, NClob var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -331,6 +368,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setClob(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -339,6 +377,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBlob(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBlob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -347,6 +386,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNClob(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -355,6 +395,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setSQLXML(int var1, SQLXML var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setSQLXML(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -363,6 +404,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setObject(int var1, Object var2, int var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -371,6 +413,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setAsciiStream(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setAsciiStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -379,6 +422,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBinaryStream(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBinaryStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -387,6 +431,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setCharacterStream(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -395,6 +440,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setAsciiStream(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setAsciiStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -403,6 +449,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBinaryStream(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBinaryStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -411,6 +458,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setCharacterStream(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -419,6 +467,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNCharacterStream(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -427,6 +476,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setClob(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -435,6 +485,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setBlob(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -443,6 +494,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setNClob(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -451,6 +503,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setObject(int var1, Object var2, SQLType var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -459,6 +512,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setObject(int var1, Object var2, SQLType var3) throws SQLException {
         try {
+            this.checkOpen();
             ((PreparedStatement) super.delegate).setObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -467,6 +521,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long executeLargeUpdate() throws SQLException {
         try {
+            this.checkOpen();
             return ((PreparedStatement) super.delegate).executeLargeUpdate();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -491,6 +546,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getMaxFieldSize() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMaxFieldSize();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -499,7 +555,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setMaxFieldSize(int var1) throws SQLException {
         try {
-            super.delegate.setMaxFieldSize(var1);
+            super.setMaxFieldSize(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -507,6 +563,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getMaxRows() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMaxRows();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -515,7 +572,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setMaxRows(int var1) throws SQLException {
         try {
-            super.delegate.setMaxRows(var1);
+            super.setMaxRows(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -523,6 +580,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setEscapeProcessing(boolean var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setEscapeProcessing(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -531,6 +589,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getQueryTimeout() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getQueryTimeout();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -539,7 +598,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setQueryTimeout(int var1) throws SQLException {
         try {
-            super.delegate.setQueryTimeout(var1);
+            super.setQueryTimeout(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -547,6 +606,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void cancel() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.cancel();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -555,6 +615,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public SQLWarning getWarnings() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -563,6 +624,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void clearWarnings() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.clearWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -571,6 +633,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setCursorName(String var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setCursorName(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -595,6 +658,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getUpdateCount() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getUpdateCount();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -603,6 +667,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public boolean getMoreResults() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMoreResults();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -611,7 +676,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setFetchDirection(int var1) throws SQLException {
         try {
-            super.delegate.setFetchDirection(var1);
+            super.setFetchDirection(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -619,6 +684,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getFetchDirection() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchDirection();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -627,7 +693,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setFetchSize(int var1) throws SQLException {
         try {
-            super.delegate.setFetchSize(var1);
+            super.setFetchSize(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -635,6 +701,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getFetchSize() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchSize();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -643,6 +710,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getResultSetConcurrency() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetConcurrency();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -651,6 +719,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getResultSetType() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetType();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -659,6 +728,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void addBatch(String var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.addBatch(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -667,6 +737,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void clearBatch() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.clearBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -691,6 +762,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public boolean getMoreResults(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMoreResults(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -755,6 +827,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public int getResultSetHoldability() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetHoldability();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -771,6 +844,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setPoolable(boolean var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setPoolable(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -779,6 +853,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public boolean isPoolable() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isPoolable();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -787,6 +862,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void closeOnCompletion() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.closeOnCompletion();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -795,6 +871,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public boolean isCloseOnCompletion() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isCloseOnCompletion();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -803,6 +880,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long getLargeUpdateCount() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLargeUpdateCount();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -811,7 +889,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public void setLargeMaxRows(long var1) throws SQLException {
         try {
-            super.delegate.setLargeMaxRows(var1);
+            super.setLargeMaxRows(var1);
         } catch (SQLException var4) {
             throw this.checkException(var4);
         }
@@ -819,6 +897,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long getLargeMaxRows() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLargeMaxRows();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -827,6 +906,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long[] executeLargeBatch() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -835,6 +915,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long executeLargeUpdate(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -843,6 +924,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long executeLargeUpdate(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -851,6 +933,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long executeLargeUpdate(String var1, int[] var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -859,6 +942,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public long executeLargeUpdate(String var1, String[] var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -867,6 +951,7 @@ public class LightProxyPreparedStatement extends ProxyPreparedStatement {
 
     public boolean isWrapperFor(Class var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isWrapperFor(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
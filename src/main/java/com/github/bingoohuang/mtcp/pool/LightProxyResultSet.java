@@ -12,22 +12,16 @@ import java.util.Map;
 public class LightProxyResultSet extends ProxyResultSet {
     public boolean next() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.next();
         } catch (SQLException var2) {
             throw this.checkException(var2);
         }
     }
 
-    public void close() throws SQLException {
-        try {
-            super.delegate.close();
-        } catch (SQLException var2) {
-            throw this.checkException(var2);
-        }
-    }
-
     public boolean wasNull() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.wasNull();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -36,6 +30,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public String getString(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -44,6 +39,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean getBoolean(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBoolean(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -52,6 +48,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public byte getByte(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getByte(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -60,6 +57,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public short getShort(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getShort(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -68,6 +66,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getInt(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getInt(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -76,6 +75,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public long getLong(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLong(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -84,6 +84,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public float getFloat(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFloat(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -92,6 +93,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public double getDouble(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getDouble(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -100,6 +102,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public BigDecimal getBigDecimal(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -108,6 +111,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public byte[] getBytes(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBytes(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -116,6 +120,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Date getDate(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getDate(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -124,6 +129,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Time getTime(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTime(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -132,6 +138,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Timestamp getTimestamp(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTimestamp(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -140,6 +147,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public InputStream getAsciiStream(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getAsciiStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -148,6 +156,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public InputStream getUnicodeStream(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getUnicodeStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -156,6 +165,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public InputStream getBinaryStream(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBinaryStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -164,6 +174,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public String getString(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -172,6 +183,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean getBoolean(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBoolean(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -180,6 +192,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public byte getByte(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getByte(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -188,6 +201,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public short getShort(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getShort(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -196,6 +210,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getInt(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getInt(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -204,6 +219,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public long getLong(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLong(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -212,6 +228,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public float getFloat(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFloat(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -220,6 +237,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public double getDouble(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getDouble(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -228,6 +246,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public BigDecimal getBigDecimal(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -236,6 +255,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public byte[] getBytes(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBytes(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -244,6 +264,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Date getDate(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getDate(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -252,6 +273,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Time getTime(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTime(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -260,6 +282,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Timestamp getTimestamp(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTimestamp(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -268,6 +291,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public InputStream getAsciiStream(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getAsciiStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -276,6 +300,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public InputStream getUnicodeStream(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getUnicodeStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -284,6 +309,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public InputStream getBinaryStream(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBinaryStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -292,6 +318,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public SQLWarning getWarnings() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -300,6 +327,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void clearWarnings() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.clearWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -308,6 +336,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public String getCursorName() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getCursorName();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -316,6 +345,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public ResultSetMetaData getMetaData() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMetaData();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -324,6 +354,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Object getObject(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getObject(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -332,6 +363,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Object getObject(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getObject(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -340,6 +372,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int findColumn(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.findColumn(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -348,6 +381,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Reader getCharacterStream(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -356,6 +390,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Reader getCharacterStream(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -364,6 +399,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public BigDecimal getBigDecimal(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBigDecimal(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -372,6 +408,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public BigDecimal getBigDecimal(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBigDecimal(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -380,6 +417,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean isBeforeFirst() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isBeforeFirst();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -388,6 +426,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean isAfterLast() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isAfterLast();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -396,6 +435,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean isFirst() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isFirst();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -404,6 +444,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean isLast() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isLast();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -412,6 +453,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void beforeFirst() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.beforeFirst();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -420,6 +462,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void afterLast() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.afterLast();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -428,6 +471,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean first() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.first();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -436,6 +480,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean last() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.last();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -444,6 +489,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getRow() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getRow();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -452,6 +498,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean absolute(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.absolute(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -460,6 +507,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean relative(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.relative(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -468,6 +516,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean previous() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.previous();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -476,6 +525,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void setFetchDirection(int var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setFetchDirection(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -484,6 +534,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getFetchDirection() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchDirection();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -492,6 +543,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void setFetchSize(int var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setFetchSize(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -500,6 +552,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getFetchSize() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchSize();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -508,6 +561,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getType() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getType();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -516,6 +570,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getConcurrency() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getConcurrency();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -524,6 +579,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean rowUpdated() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.rowUpdated();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -532,6 +588,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean rowInserted() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.rowInserted();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -540,6 +597,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean rowDeleted() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.rowDeleted();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -548,6 +606,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNull(int var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNull(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -556,6 +615,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBoolean(int var1, boolean var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBoolean(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -564,6 +624,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateByte(int var1, byte var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateByte(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -572,6 +633,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateShort(int var1, short var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateShort(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -580,6 +642,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateInt(int var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateInt(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -588,6 +651,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateLong(int var1, long var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateLong(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -596,6 +660,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateFloat(int var1, float var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateFloat(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -604,6 +669,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateDouble(int var1, double var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateDouble(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -612,6 +678,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBigDecimal(int var1, BigDecimal var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -620,6 +687,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateString(int var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -628,6 +696,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBytes(int var1, byte[] var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBytes(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -636,6 +705,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateDate(int var1, Date var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -644,6 +714,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateTime(int var1, Time var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -652,6 +723,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateTimestamp(int var1, Timestamp var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -660,6 +732,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateAsciiStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateAsciiStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -668,6 +741,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBinaryStream(int var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBinaryStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -676,6 +750,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateCharacterStream(int var1, Reader var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateCharacterStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -684,6 +759,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(int var1, Object var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -692,6 +768,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(int var1, Object var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -700,6 +777,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNull(String var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNull(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -708,6 +786,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBoolean(String var1, boolean var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBoolean(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -716,6 +795,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateByte(String var1, byte var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateByte(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -724,6 +804,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateShort(String var1, short var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateShort(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -732,6 +813,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateInt(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateInt(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -740,6 +822,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateLong(String var1, long var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateLong(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -748,6 +831,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateFloat(String var1, float var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateFloat(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -756,6 +840,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateDouble(String var1, double var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateDouble(var1, var2);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -764,6 +849,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBigDecimal(String var1, BigDecimal var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBigDecimal(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -772,6 +858,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateString(String var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -780,6 +867,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBytes(String var1, byte[] var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBytes(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -788,6 +876,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateDate(String var1, Date var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -796,6 +885,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateTime(String var1, Time var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -804,6 +894,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateTimestamp(String var1, Timestamp var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -812,6 +903,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateAsciiStream(String var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateAsciiStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -820,6 +912,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBinaryStream(String var1, InputStream var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBinaryStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -828,6 +921,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateCharacterStream(String var1, Reader var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateCharacterStream(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -836,6 +930,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(String var1, Object var2, int var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -844,6 +939,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(String var1, Object var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -876,6 +972,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void refreshRow() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.refreshRow();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -884,6 +981,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void cancelRowUpdates() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.cancelRowUpdates();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -892,6 +990,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void moveToInsertRow() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.moveToInsertRow();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -900,6 +999,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void moveToCurrentRow() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.moveToCurrentRow();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -908,6 +1008,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Object getObject(int var1, Map var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -916,6 +1017,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Ref getRef(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getRef(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -924,6 +1026,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Blob getBlob(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBlob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -932,6 +1035,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Clob getClob(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -940,6 +1044,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Array getArray(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getArray(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -948,6 +1053,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Object getObject(String var1, Map var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -956,6 +1062,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Ref getRef(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getRef(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -964,6 +1071,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Blob getBlob(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getBlob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -972,6 +1080,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Clob getClob(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -980,6 +1089,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Array getArray(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getArray(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -988,6 +1098,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Date getDate(int var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -996,6 +1107,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Date getDate(String var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getDate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1004,6 +1116,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Time getTime(int var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1012,6 +1125,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Time getTime(String var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTime(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1020,6 +1134,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Timestamp getTimestamp(int var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1028,6 +1143,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Timestamp getTimestamp(String var1, Calendar var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getTimestamp(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1036,6 +1152,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public URL getURL(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getURL(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1044,6 +1161,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public URL getURL(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getURL(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1052,6 +1170,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateRef(int var1, Ref var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateRef(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1060,6 +1179,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateRef(String var1, Ref var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateRef(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1068,6 +1188,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBlob(int var1, Blob var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1076,6 +1197,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBlob(String var1, Blob var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1084,6 +1206,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateClob(int var1, Clob var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1092,6 +1215,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateClob(String var1, Clob var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1100,6 +1224,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateArray(int var1, Array var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateArray(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1108,6 +1233,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateArray(String var1, Array var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateArray(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1116,6 +1242,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public RowId getRowId(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getRowId(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1124,6 +1251,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public RowId getRowId(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getRowId(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1132,6 +1260,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateRowId(int var1, RowId var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateRowId(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1140,6 +1269,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateRowId(String var1, RowId var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateRowId(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1148,6 +1278,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public int getHoldability() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getHoldability();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -1164,6 +1295,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNString(int var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1172,6 +1304,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNString(String var1, String var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNString(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1180,6 +1313,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNClob(int var1, NClob var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1188,6 +1322,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNClob(String var1, NClob var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1196,6 +1331,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public NClob getNClob(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getNClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1204,6 +1340,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public NClob getNClob(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getNClob(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1212,6 +1349,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public SQLXML getSQLXML(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getSQLXML(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1220,6 +1358,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public SQLXML getSQLXML(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getSQLXML(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1228,6 +1367,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateSQLXML(int var1, SQLXML var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateSQLXML(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1236,6 +1376,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateSQLXML(String var1, SQLXML var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateSQLXML(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1244,6 +1385,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public String getNString(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getNString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1252,6 +1394,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public String getNString(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getNString(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1260,6 +1403,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Reader getNCharacterStream(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getNCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1268,6 +1412,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Reader getNCharacterStream(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getNCharacterStream(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -1276,6 +1421,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNCharacterStream(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1284,6 +1430,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNCharacterStream(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1292,6 +1439,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateAsciiStream(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateAsciiStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1300,6 +1448,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBinaryStream(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBinaryStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1308,6 +1457,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateCharacterStream(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1316,6 +1466,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateAsciiStream(String var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateAsciiStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1324,6 +1475,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBinaryStream(String var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBinaryStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1332,6 +1484,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateCharacterStream(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateCharacterStream(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1340,6 +1493,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBlob(int var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBlob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1348,6 +1502,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBlob(String var1, InputStream var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBlob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1356,6 +1511,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateClob(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1364,6 +1520,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateClob(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1372,6 +1529,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNClob(int var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1380,6 +1538,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNClob(String var1, Reader var2, long var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNClob(var1, var2, var3);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1388,6 +1547,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNCharacterStream(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1396,6 +1556,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNCharacterStream(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1404,6 +1565,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateAsciiStream(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateAsciiStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1412,6 +1574,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBinaryStream(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBinaryStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1420,6 +1583,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateCharacterStream(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1428,6 +1592,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateAsciiStream(String var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateAsciiStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1436,6 +1601,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBinaryStream(String var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBinaryStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1444,6 +1610,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateCharacterStream(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateCharacterStream(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1452,6 +1619,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBlob(int var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1460,6 +1628,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateBlob(String var1, InputStream var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateBlob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1468,6 +1637,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateClob(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1476,6 +1646,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateClob(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1484,6 +1655,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNClob(int var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1492,6 +1664,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateNClob(String var1, Reader var2) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateNClob(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1500,6 +1673,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Object getObject(int var1, Class var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1508,6 +1682,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public Object getObject(String var1, Class var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getObject(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -1516,6 +1691,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(int var1, Object var2, SQLType var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1524,6 +1700,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(String var1, Object var2, SQLType var3, int var4) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2, var3, var4);
         } catch (SQLException var6) {
             throw this.checkException(var6);
@@ -1532,6 +1709,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(int var1, Object var2, SQLType var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1540,6 +1718,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public void updateObject(String var1, Object var2, SQLType var3) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.updateObject(var1, var2, var3);
         } catch (SQLException var5) {
             throw this.checkException(var5);
@@ -1548,6 +1727,7 @@ public class LightProxyResultSet extends ProxyResultSet {
 
     public boolean isWrapperFor(Class var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isWrapperFor(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -22,6 +22,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getMaxFieldSize() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMaxFieldSize();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -30,7 +31,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setMaxFieldSize(int var1) throws SQLException {
         try {
-            super.delegate.setMaxFieldSize(var1);
+            super.setMaxFieldSize(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -38,6 +39,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getMaxRows() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMaxRows();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -46,7 +48,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setMaxRows(int var1) throws SQLException {
         try {
-            super.delegate.setMaxRows(var1);
+            super.setMaxRows(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -54,6 +56,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setEscapeProcessing(boolean var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setEscapeProcessing(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -62,6 +65,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getQueryTimeout() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getQueryTimeout();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -70,7 +74,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setQueryTimeout(int var1) throws SQLException {
         try {
-            super.delegate.setQueryTimeout(var1);
+            super.setQueryTimeout(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -78,6 +82,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void cancel() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.cancel();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -86,6 +91,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public SQLWarning getWarnings() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -94,6 +100,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void clearWarnings() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.clearWarnings();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -102,6 +109,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setCursorName(String var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setCursorName(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -126,6 +134,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getUpdateCount() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getUpdateCount();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -134,6 +143,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public boolean getMoreResults() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMoreResults();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -142,7 +152,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setFetchDirection(int var1) throws SQLException {
         try {
-            super.delegate.setFetchDirection(var1);
+            super.setFetchDirection(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -150,6 +160,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getFetchDirection() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchDirection();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -158,7 +169,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setFetchSize(int var1) throws SQLException {
         try {
-            super.delegate.setFetchSize(var1);
+            super.setFetchSize(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
         }
@@ -166,6 +177,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getFetchSize() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getFetchSize();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -174,6 +186,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getResultSetConcurrency() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetConcurrency();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -182,6 +195,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getResultSetType() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetType();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -190,6 +204,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void addBatch(String var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.addBatch(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -198,6 +213,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void clearBatch() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.clearBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -222,6 +238,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public boolean getMoreResults(int var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getMoreResults(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -286,6 +303,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public int getResultSetHoldability() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getResultSetHoldability();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -302,6 +320,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setPoolable(boolean var1) throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.setPoolable(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -310,6 +329,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public boolean isPoolable() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isPoolable();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -318,6 +338,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void closeOnCompletion() throws SQLException {
         try {
+            this.checkOpen();
             super.delegate.closeOnCompletion();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -326,6 +347,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public boolean isCloseOnCompletion() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isCloseOnCompletion();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -334,6 +356,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public long getLargeUpdateCount() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLargeUpdateCount();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -342,7 +365,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public void setLargeMaxRows(long var1) throws SQLException {
         try {
-            super.delegate.setLargeMaxRows(var1);
+            super.setLargeMaxRows(var1);
         } catch (SQLException var4) {
             throw this.checkException(var4);
         }
@@ -350,6 +373,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public long getLargeMaxRows() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.getLargeMaxRows();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -358,6 +382,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public long[] executeLargeBatch() throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeBatch();
         } catch (SQLException var2) {
             throw this.checkException(var2);
@@ -366,6 +391,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public long executeLargeUpdate(String var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -374,6 +400,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public long executeLargeUpdate(String var1, int var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -382,6 +409,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public long executeLargeUpdate(String var1, int[] var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -390,6 +418,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public long executeLargeUpdate(String var1, String[] var2) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.executeLargeUpdate(var1, var2);
         } catch (SQLException var4) {
             throw this.checkException(var4);
@@ -398,6 +427,7 @@ public class LightProxyStatement extends ProxyStatement {
 
     public boolean isWrapperFor(Class var1) throws SQLException {
         try {
+            this.checkOpen();
             return super.delegate.isWrapperFor(var1);
         } catch (SQLException var3) {
             throw this.checkException(var3);
@@ -7,10 +7,22 @@ public interface MetricsTrackerDelegatable extends AutoCloseable {
     default void recordConnectionCreated(long connectionCreatedMillis) {
     }
 
+    default void recordConnectionBatchCreated(final int connections, final long elapsedCreatedMillis) {
+    }
+
+    default void recordPoolStarted(final long elapsedStartMillis) {
+    }
+
     default void recordBorrowTimeoutStats(long startTime) {
     }
 
-    default void recordBorrowStats(final PoolEntry poolEntry, final long startTime) {
+    default void recordBorrowStats(final PoolEntry poolEntry, final String tenantId, final long startTime) {
+    }
+
+    default void recordTenantSwitch(final String tenantId, final long startTime) {
+    }
+
+    default void recordTenantAffinityHit(final String tenantId) {
     }
 
     default void recordConnectionTimeout() {
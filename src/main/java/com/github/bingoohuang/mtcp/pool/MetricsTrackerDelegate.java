@@ -17,7 +17,13 @@ class MetricsTrackerDelegate implements MetricsTrackerDelegatable {
 
     @Override
     public void recordConnectionUsage(final PoolEntry poolEntry) {
-        tracker.recordConnectionUsageMillis(poolEntry.getMillisSinceBorrowed());
+        final long elapsedBorrowedMillis = poolEntry.getMillisSinceBorrowed();
+        tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+
+        final String tenantId = poolEntry.getTenantId();
+        if (tenantId != null) {
+            tracker.recordTenantConnectionUsageMillis(tenantId, elapsedBorrowedMillis);
+        }
     }
 
     @Override
@@ -25,16 +31,41 @@ class MetricsTrackerDelegate implements MetricsTrackerDelegatable {
         tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
     }
 
+    @Override
+    public void recordConnectionBatchCreated(final int connections, final long elapsedCreatedMillis) {
+        tracker.recordConnectionBatchCreatedMillis(connections, elapsedCreatedMillis);
+    }
+
+    @Override
+    public void recordPoolStarted(final long elapsedStartMillis) {
+        tracker.recordPoolStartedMillis(elapsedStartMillis);
+    }
+
     @Override
     public void recordBorrowTimeoutStats(long startTime) {
         tracker.recordConnectionAcquiredNanos(ClockSource.elapsedNanos(startTime));
     }
 
     @Override
-    public void recordBorrowStats(final PoolEntry poolEntry, final long startTime) {
+    public void recordBorrowStats(final PoolEntry poolEntry, final String tenantId, final long startTime) {
         final long now = ClockSource.currentTime();
         poolEntry.lastBorrowed = now;
-        tracker.recordConnectionAcquiredNanos(ClockSource.elapsedNanos(startTime, now));
+        final long elapsedAcquiredNanos = ClockSource.elapsedNanos(startTime, now);
+        tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+
+        if (tenantId != null) {
+            tracker.recordTenantConnectionAcquiredNanos(tenantId, elapsedAcquiredNanos);
+        }
+    }
+
+    @Override
+    public void recordTenantSwitch(final String tenantId, final long startTime) {
+        tracker.recordTenantSwitchNanos(tenantId, ClockSource.elapsedNanos(startTime));
+    }
+
+    @Override
+    public void recordTenantAffinityHit(final String tenantId) {
+        tracker.recordTenantAffinityHit(tenantId);
     }
 
     @Override
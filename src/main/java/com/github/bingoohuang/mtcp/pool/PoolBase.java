@@ -1,6 +1,7 @@
 package com.github.bingoohuang.mtcp.pool;
 
 import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.TenantSwitchStrategy;
 import com.github.bingoohuang.mtcp.util.ClockSource;
 import com.github.bingoohuang.mtcp.util.DriverDataSource;
 import com.github.bingoohuang.mtcp.util.PropertyElf;
@@ -24,6 +25,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.github.bingoohuang.mtcp.pool.ProxyConnection.*;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -52,8 +54,10 @@ abstract class PoolBase {
 
     private final String catalog;
     private final String schema;
+    private final TenantSwitchStrategy tenantSwitchStrategy;
     private final boolean isReadOnly;
     private final boolean isAutoCommit;
+    private final boolean isRecycleProxies;
 
     private final boolean isUseJdbc4Validation;
     private final boolean isIsolateInternalQueries;
@@ -63,6 +67,12 @@ abstract class PoolBase {
 
     private final AtomicInteger connectionSeq = new AtomicInteger();
 
+    private final int statementCacheSize;
+    private final int statementCacheMaxTotal;
+    final AtomicInteger cachedStatements = new AtomicInteger();
+    final LongAdder statementCacheHits = new LongAdder();
+    final LongAdder statementCacheMisses = new LongAdder();
+
 
     PoolBase(final LightConfig config) {
         this.config = config;
@@ -70,8 +80,12 @@ abstract class PoolBase {
         this.networkTimeout = UNINITIALIZED;
         this.catalog = config.getCatalog();
         this.schema = config.getSchema();
+        this.tenantSwitchStrategy = config.getTenantSwitchStrategy();
         this.isReadOnly = config.isReadOnly();
         this.isAutoCommit = config.isAutoCommit();
+        this.isRecycleProxies = config.isRecycleProxies();
+        this.statementCacheSize = config.getPreparedStatementCacheSize();
+        this.statementCacheMaxTotal = config.getPreparedStatementCacheMaxTotal();
         this.transactionIsolation = UtilityElf.getTransactionIsolation(config.getTransactionIsolation());
 
         this.isQueryTimeoutSupported = UNINITIALIZED;
@@ -99,6 +113,8 @@ abstract class PoolBase {
 
     abstract void closeConnection(final PoolEntry poolEntry, final String closureReason);
 
+    abstract void switchTenant(final PoolEntry poolEntry, final String tenantId) throws SQLException;
+
     // ***********************************************************************
     //                           JDBC methods
     // ***********************************************************************
@@ -165,12 +181,40 @@ abstract class PoolBase {
     //                         PoolEntry methods
     // ***********************************************************************
     PoolEntry newPoolEntry() throws Exception {
-        return new PoolEntry(newConnection(), this, isReadOnly, isAutoCommit, connectionSeq.incrementAndGet());
+        return new PoolEntry(newConnection(), this, isReadOnly, isAutoCommit, isRecycleProxies, connectionSeq.incrementAndGet());
+    }
+
+    StatementCache newStatementCache() {
+        return statementCacheSize > 0 ? new StatementCache(this, statementCacheSize) : null;
+    }
+
+    /**
+     * Count one more cached statement against the pool-wide limit, if there is one.
+     *
+     * @return true if the statement may be cached, false if the pool caches the maximum number of statements
+     */
+    boolean reserveCachedStatement() {
+        if (statementCacheMaxTotal == 0) {
+            cachedStatements.incrementAndGet();
+            return true;
+        }
+
+        for (int cached = cachedStatements.get(); cached < statementCacheMaxTotal; cached = cachedStatements.get()) {
+            if (cachedStatements.compareAndSet(cached, cached + 1)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     void resetConnectionState(final Connection connection, final ProxyConnection proxyConnection, final int dirtyBits) throws SQLException {
         int resetBits = 0;
 
+        // a catalog or schema that carries the tenant is reset to the tenant of the connection, not switched back on the next borrow
+        val tenantId = proxyConnection.getPoolEntry().getTenantId();
+        val catalog = tenantSwitchStrategy == TenantSwitchStrategy.CATALOG && tenantId != null ? tenantId : this.catalog;
+        val schema = tenantSwitchStrategy == TenantSwitchStrategy.SCHEMA && tenantId != null ? tenantId : this.schema;
+
         if ((dirtyBits & DIRTY_BIT_READONLY) != 0 && proxyConnection.getReadOnlyState() != isReadOnly) {
             connection.setReadOnly(isReadOnly);
             resetBits |= DIRTY_BIT_READONLY;
@@ -187,6 +231,7 @@ abstract class PoolBase {
         }
 
         if ((dirtyBits & DIRTY_BIT_CATALOG) != 0 && catalog != null && !catalog.equals(proxyConnection.getCatalogState())) {
+            proxyConnection.getPoolEntry().invalidateStatementCache();
             connection.setCatalog(catalog);
             resetBits |= DIRTY_BIT_CATALOG;
         }
@@ -197,6 +242,7 @@ abstract class PoolBase {
         }
 
         if ((dirtyBits & DIRTY_BIT_SCHEMA) != 0 && schema != null && !schema.equals(proxyConnection.getSchemaState())) {
+            proxyConnection.getPoolEntry().invalidateStatementCache();
             connection.setSchema(schema);
             resetBits |= DIRTY_BIT_SCHEMA;
         }
@@ -207,7 +253,8 @@ abstract class PoolBase {
     }
 
     void shutdownNetworkTimeoutExecutor() {
-        if (netTimeoutExecutor instanceof ThreadPoolExecutor) {
+        // the network timeout executor of a PoolRuntime is shared with other pools
+        if (netTimeoutExecutor instanceof ThreadPoolExecutor && config.getPoolRuntime() == null) {
             ((ThreadPoolExecutor) netTimeoutExecutor).shutdownNow();
         }
     }
@@ -521,6 +568,8 @@ abstract class PoolBase {
         // Temporary hack for MySQL issue: http://bugs.mysql.com/bug.php?id=75615
         if (isMySQL(dataSource, dsClassName, jdbcUrl)) {
             netTimeoutExecutor = SameThreadExecutor.INSTANCE;
+        } else if (config.getPoolRuntime() != null) {
+            netTimeoutExecutor = config.getPoolRuntime().getNetworkTimeoutExecutor();
         } else {
             ThreadFactory threadFactory = config.getThreadFactory();
             threadFactory = threadFactory != null ? threadFactory : new UtilityElf.DefaultThreadFactory(poolName + " network timeout executor", true);
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.concurrent.ScheduledFuture;
@@ -22,27 +23,47 @@ import java.util.concurrent.ScheduledFuture;
     Connection connection;
     long lastAccessed;
     long lastBorrowed;
+    long lastValidated;
 
     @SuppressWarnings("FieldCanBeLocal")
     private volatile boolean evict;
 
     private volatile ScheduledFuture<?> endOfLife;
+    private PreparedStatement tenantSwitchStatement;
 
     private final FastList<Statement> openStatements;
     private final PoolBase pool;
 
     private final boolean isReadOnly;
     private final boolean isAutoCommit;
+    private final boolean isRecycleProxies;
+
+    // the proxy reissued on every borrow, if recycling proxies
+    private ProxyConnection proxyConnection;
+
+    // the proxies closed during the current borrow, to reissue in the same borrow, null unless recycling proxies
+    @Getter private final FastList<LightProxyStatement> freeStatements;
+    @Getter private final FastList<LightProxyPreparedStatement> freePreparedStatements;
+    @Getter private final FastList<LightProxyResultSet> freeResultSets;
+
+    // null unless prepared statements are cached
+    @Getter private final StatementCache statementCache;
 
     @Getter private final int connectionSeq;
 
-    PoolEntry(Connection connection, PoolBase pool, boolean isReadOnly, boolean isAutoCommit,  int connectionSeq) {
+    PoolEntry(Connection connection, PoolBase pool, boolean isReadOnly, boolean isAutoCommit, boolean isRecycleProxies, int connectionSeq) {
         this.connection = connection;
         this.pool = pool;
         this.isReadOnly = isReadOnly;
         this.isAutoCommit = isAutoCommit;
+        this.isRecycleProxies = isRecycleProxies;
+        this.freeStatements = isRecycleProxies ? new FastList<>(LightProxyStatement.class, ProxyConnection.FREE_LIST_SIZE) : null;
+        this.freePreparedStatements = isRecycleProxies ? new FastList<>(LightProxyPreparedStatement.class, ProxyConnection.FREE_LIST_SIZE) : null;
+        this.freeResultSets = isRecycleProxies ? new FastList<>(LightProxyResultSet.class, ProxyConnection.FREE_LIST_SIZE) : null;
         this.lastAccessed = ClockSource.currentTime();
+        this.lastValidated = lastAccessed;
         this.openStatements = new FastList<>(Statement.class, 16);
+        this.statementCache = pool.newStatementCache();
         this.connectionSeq  = connectionSeq;
     }
 
@@ -67,8 +88,48 @@ import java.util.concurrent.ScheduledFuture;
         this.endOfLife = endOfLife;
     }
 
-    LightProxyConnection createProxyConnection(ProxyLeakTask leakTask, long now) {
-        return ProxyFactory.getProxyConnection(this, connection, openStatements, leakTask, now, isReadOnly, isAutoCommit);
+    ProxyConnection createProxyConnection(ProxyLeakTask leakTask, long now) {
+        if (!isRecycleProxies) {
+            return ProxyFactory.getProxyConnection(this, connection, openStatements, leakTask, now, isReadOnly, isAutoCommit);
+        }
+
+        // only the thread holding the entry gets here, and the previous borrower closed the proxy
+        if (proxyConnection == null) {
+            proxyConnection = ProxyFactory.getProxyConnection(this, connection, openStatements, leakTask, now, isReadOnly, isAutoCommit);
+        } else {
+            proxyConnection.reuse(connection, leakTask, now, isReadOnly, isAutoCommit);
+        }
+        proxyConnection.stampBorrow();
+        return proxyConnection;
+    }
+
+    void switchTenant(final String tenantId) throws SQLException {
+        pool.switchTenant(this, tenantId);
+    }
+
+    /**
+     * Get the tenant switch statement of this connection, preparing it on first use.  It is only used by the
+     * thread that holds the entry, and is closed together with the connection.
+     *
+     * @param sql the parameterized tenant switch SQL
+     * @return the prepared tenant switch statement
+     * @throws SQLException thrown if the statement cannot be prepared
+     */
+    PreparedStatement getTenantSwitchStatement(final String sql) throws SQLException {
+        if (tenantSwitchStatement == null) {
+            tenantSwitchStatement = connection.prepareStatement(sql);
+        }
+        return tenantSwitchStatement;
+    }
+
+    /**
+     * Close the cached prepared statements of the connection, before it switches tenants or changes its catalog
+     * or schema.
+     */
+    void invalidateStatementCache() {
+        if (statementCache != null) {
+            statementCache.invalidate();
+        }
     }
 
     void resetConnectionState(final ProxyConnection proxyConnection, final int dirtyBits) throws SQLException {
@@ -122,6 +183,11 @@ import java.util.concurrent.ScheduledFuture;
         val con = connection;
         connection = null;
         endOfLife = null;
+        tenantSwitchStatement = null;
+        proxyConnection = null;
+        if (statementCache != null) {
+            statementCache.clear();
+        }
         return con;
     }
 }
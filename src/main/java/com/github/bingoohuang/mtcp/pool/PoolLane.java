@@ -0,0 +1,187 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.unmodifiableCollection;
+
+/**
+ * The share of one pool in a worker pool of a {@link PoolRuntime}.  The tasks of the pool are queued here,
+ * in a queue bounded like the queue of the executor it replaces, and run one at a time on the shared workers,
+ * or up to the parallelism of the lane at a time.  After each task the lane goes back to the end of the worker
+ * queue, so the pools of a runtime are served round robin and a pool whose database is slow holds at most as
+ * many workers as its parallelism.
+ */
+@Slf4j
+final class PoolLane extends AbstractExecutorService {
+    private final Executor workers;
+    private final LinkedBlockingQueue<Runnable> queue;
+    private final boolean isCallerRunsWhenFull;
+    private final int parallelism;
+    private final AtomicInteger running = new AtomicInteger();
+    private final Object termination = new Object();
+    private volatile boolean isShutdown;
+
+    /**
+     * Construct a PoolLane.
+     *
+     * @param workers              the shared workers
+     * @param queueSize            the maximum number of queued tasks
+     * @param isCallerRunsWhenFull true to run a task that does not fit in the calling thread, false to discard it
+     */
+    PoolLane(final Executor workers, final int queueSize, final boolean isCallerRunsWhenFull) {
+        this(workers, queueSize, 1, isCallerRunsWhenFull);
+    }
+
+    /**
+     * Construct a PoolLane running up to the specified number of tasks at a time.
+     *
+     * @param workers              the shared workers
+     * @param queueSize            the maximum number of queued tasks
+     * @param parallelism          the maximum number of tasks running at a time
+     * @param isCallerRunsWhenFull true to run a task that does not fit in the calling thread, false to discard it
+     */
+    PoolLane(final Executor workers, final int queueSize, final int parallelism, final boolean isCallerRunsWhenFull) {
+        this.workers = workers;
+        this.parallelism = parallelism;
+        this.queue = new LinkedBlockingQueue<>(queueSize);
+        this.isCallerRunsWhenFull = isCallerRunsWhenFull;
+    }
+
+    /**
+     * Get the tasks waiting to run.
+     *
+     * @return an unmodifiable view of the queued tasks
+     */
+    Collection<Runnable> getQueue() {
+        return unmodifiableCollection(queue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final Runnable command) {
+        if (isShutdown) {
+            return; // like the DiscardPolicy and CallerRunsPolicy of a shut down ThreadPoolExecutor
+        }
+
+        if (!queue.offer(command)) {
+            if (isCallerRunsWhenFull) {
+                command.run();
+            }
+            return;
+        }
+
+        schedule();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        isShutdown = true;
+        signalIfTerminated();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        val pending = new ArrayList<Runnable>();
+        queue.drainTo(pending);
+        signalIfTerminated();
+        return pending;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isShutdown() {
+        return isShutdown;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTerminated() {
+        return isShutdown && queue.isEmpty() && running.get() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        val deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (termination) {
+            while (!isTerminated()) {
+                val remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(termination, remaining);
+            }
+            return true;
+        }
+    }
+
+    private void schedule() {
+        int scheduled;
+        while (!queue.isEmpty() && (scheduled = running.get()) < parallelism) {
+            if (!running.compareAndSet(scheduled, scheduled + 1)) {
+                continue;
+            }
+
+            try {
+                workers.execute(this::runNext);
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                log.debug("Shared workers rejected a pool task, the runtime has been closed", e);
+                queue.clear();
+                signalIfTerminated();
+            }
+            return; // one worker for the task offered, the other tasks are picked up as the running ones finish
+        }
+    }
+
+    private void runNext() {
+        try {
+            val task = queue.poll();
+            if (task != null) {
+                task.run();
+            }
+        } catch (Throwable t) {
+            log.warn("Unexpected exception in pool task", t);
+        } finally {
+            running.decrementAndGet();
+        }
+
+        // a task offered while we held the lane is picked up here, otherwise we are done
+        schedule();
+        signalIfTerminated();
+    }
+
+    private void signalIfTerminated() {
+        if (isTerminated()) {
+            synchronized (termination) {
+                termination.notifyAll();
+            }
+        }
+    }
+}
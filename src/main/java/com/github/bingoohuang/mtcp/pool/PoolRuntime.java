@@ -0,0 +1,178 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.util.HashedWheelScheduler;
+import com.github.bingoohuang.mtcp.util.UtilityElf;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Closeable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Threads shared by many pools, for applications that run a pool per tenant or per database server.
+ * <p>
+ * Without a runtime, every pool starts a housekeeping scheduler, a connection adder, a connection closer and,
+ * for most drivers, a network timeout executor of its own.  Pools configured with the same runtime through
+ * {@link com.github.bingoohuang.mtcp.LightConfig#setPoolRuntime(PoolRuntime)} instead share one
+ * {@link HashedWheelScheduler} for housekeeping, leak detection and max lifetime, and bounded worker pools for
+ * creating connections, and for closing connections and the other background work of the pools.  Each pool keeps its own bounded queue of work and runs at most one task
+ * at a time on each worker pool, or as many connection creations as its
+ * {@link com.github.bingoohuang.mtcp.LightConfig#setConnectionCreationParallelism(int)}, so one pool cannot
+ * monopolize the workers, and its metrics are unaffected.
+ * <p>
+ * The runtime outlives its pools and must be closed by the application once they are all shut down.
+ */
+@Slf4j
+public final class PoolRuntime implements Closeable {
+    private static final long TICK_MS = Long.getLong("com.github.bingoohuang.mtcp.runtime.tickMs", 100L);
+    private static final int WHEEL_SIZE = Integer.getInteger("com.github.bingoohuang.mtcp.runtime.wheelSize", 512);
+
+    private final String name;
+    private final HashedWheelScheduler scheduler;
+    private final ThreadPoolExecutor connectionCreators;
+    private final ThreadPoolExecutor connectionClosers;
+    private final ThreadPoolExecutor networkTimeoutExecutor;
+    private final AtomicInteger attachedPools = new AtomicInteger();
+
+    /**
+     * Construct a PoolRuntime with as many connection creators and closers as there are processors, at least 2.
+     */
+    public PoolRuntime() {
+        this("LightCP runtime", Math.max(2, Runtime.getRuntime().availableProcessors()), Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Construct a PoolRuntime.  A pool retrying to connect to an unreachable database holds a connection creator
+     * until it succeeds, so there should be more creators than servers that are expected to be down at once.
+     *
+     * @param name               the prefix of the thread names
+     * @param connectionCreators the maximum number of threads creating connections
+     * @param connectionClosers  the maximum number of threads closing connections
+     */
+    public PoolRuntime(final String name, final int connectionCreators, final int connectionClosers) {
+        if (connectionCreators < 1 || connectionClosers < 1) {
+            throw new IllegalArgumentException("connectionCreators and connectionClosers must be at least 1");
+        }
+
+        this.name = name;
+        this.scheduler = new HashedWheelScheduler(new UtilityElf.DefaultThreadFactory(name + " housekeeper", true), TICK_MS, WHEEL_SIZE);
+        this.connectionCreators = createWorkers(connectionCreators, name + " connection adder");
+        this.connectionClosers = createWorkers(connectionClosers, name + " connection closer");
+
+        val executor = (ThreadPoolExecutor) Executors.newCachedThreadPool(new UtilityElf.DefaultThreadFactory(name + " network timeout executor", true));
+        executor.setKeepAliveTime(15, SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        this.networkTimeoutExecutor = executor;
+    }
+
+    /**
+     * Get the number of pools using this runtime.
+     *
+     * @return the number of pools that are started and not yet shut down
+     */
+    public int getAttachedPoolCount() {
+        return attachedPools.get();
+    }
+
+    /**
+     * Get the number of tasks on the housekeeping scheduler.
+     *
+     * @return the number of scheduled tasks
+     */
+    public int getScheduledTaskCount() {
+        return scheduler.getTaskCount();
+    }
+
+    /**
+     * Get the number of connection creators and closers currently alive.
+     *
+     * @return the number of worker threads
+     */
+    public int getWorkerThreadCount() {
+        return connectionCreators.getPoolSize() + connectionClosers.getPoolSize();
+    }
+
+    /**
+     * Shutdown the shared threads.  Pools still using the runtime can no longer create or close connections.
+     */
+    @Override
+    public void close() {
+        if (attachedPools.get() > 0) {
+            log.warn("{} - Closing the runtime while {} pools are still using it.", name, attachedPools.get());
+        }
+
+        scheduler.shutdownNow();
+        connectionCreators.shutdown();
+        connectionClosers.shutdown();
+        networkTimeoutExecutor.shutdownNow();
+        try {
+            connectionCreators.awaitTermination(10L, SECONDS);
+            connectionClosers.awaitTermination(10L, SECONDS);
+        } catch (InterruptedException e) {
+            log.warn("{} - Interrupted during closing", name, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    // ***********************************************************************
+    //                          Package methods
+    // ***********************************************************************
+
+    void attach() {
+        if (scheduler.isShutdown()) {
+            throw new IllegalStateException(name + " has been closed.");
+        }
+        attachedPools.incrementAndGet();
+    }
+
+    void detach() {
+        attachedPools.decrementAndGet();
+    }
+
+    ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    Executor getNetworkTimeoutExecutor() {
+        return networkTimeoutExecutor;
+    }
+
+    PoolLane newConnectionAdder(final int queueSize, final int parallelism) {
+        return new PoolLane(connectionCreators, queueSize, parallelism, false);
+    }
+
+    PoolLane newConnectionCloser(final int queueSize) {
+        return new PoolLane(connectionClosers, queueSize, true);
+    }
+
+    /**
+     * Create a lane for the background work of a pool other than opening connections, such as keepalive
+     * validations, delivering active connection tags or pre-switching idle connections to tenants.  It runs on the connection closers, which are idle most of the time, and a full
+     * lane discards the task, as the work is retried on the next housekeeping cycle.
+     */
+    PoolLane newMaintenanceLane(final int queueSize, final int parallelism) {
+        return new PoolLane(connectionClosers, queueSize, parallelism, false);
+    }
+
+    private static ThreadPoolExecutor createWorkers(final int threads, final String threadName) {
+        val executor = new ThreadPoolExecutor(threads, threads, 5, SECONDS, new LinkedBlockingQueue<>(),
+                new UtilityElf.DefaultThreadFactory(threadName, true), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
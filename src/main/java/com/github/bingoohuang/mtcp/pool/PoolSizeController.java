@@ -0,0 +1,151 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import lombok.val;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sizes the pool to its load, between minimumIdle and maximumPoolSize, once per housekeeping cycle.
+ * <p>
+ * By Little's law, the connections in use on average are the borrow rate times the mean usage time of a
+ * connection, the offered load {@code R}.  Like the square-root staffing rule of a call center, the controller
+ * targets {@code R + β·√R} connections, the spare {@code √R} keeping borrowers from queuing behind the random
+ * bursts of the load.  A connection opened on demand only helps a waiting borrower if it is opened before
+ * another borrower returns one, so the slower the connections are to open relative to their usage time, the
+ * more spare connections the controller keeps open, up to twice as many.
+ * <p>
+ * The pool grows as soon as the target is above its size, and by a quarter at least while borrowers wait or
+ * time out.  It only shrinks once the target stayed below three quarters of its size for three cycles in a row,
+ * by a quarter at most, so that a lull between two bursts does not close the connections the next burst needs.
+ */
+final class PoolSizeController {
+    private static final double SHRINK_THRESHOLD = 0.75;
+    private static final int SHRINK_CYCLES = 3;
+    // a mean acquire time above this means borrowers queued, and did not just take an idle connection
+    private static final long WAIT_PRESSURE_NANOS = 1_000_000L;
+    private static final int MAX_DECISIONS = 32;
+
+    private final LongAdder acquires = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder usages = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder creationMillis = new LongAdder();
+    private final ArrayDeque<String> decisions = new ArrayDeque<>(MAX_DECISIONS);
+
+    private volatile int size;
+    private double meanCreationMillis;
+    private int shrinkCycles;
+
+    /**
+     * Construct a PoolSizeController.
+     *
+     * @param size the initial size of the pool
+     */
+    PoolSizeController(final int size) {
+        this.size = size;
+    }
+
+    /**
+     * Get the size the pool may grow to.
+     *
+     * @return the current size
+     */
+    int getSize() {
+        return size;
+    }
+
+    void recordAcquire(final long elapsedNanos) {
+        acquires.increment();
+        acquireNanos.add(elapsedNanos);
+    }
+
+    void recordUsage(final long elapsedMillis) {
+        usages.increment();
+        usageMillis.add(elapsedMillis);
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    void recordCreation(final long elapsedMillis) {
+        creations.increment();
+        creationMillis.add(elapsedMillis);
+    }
+
+    /**
+     * Resize the pool to the load of the cycle that just ended.  Only called by the housekeeper.
+     *
+     * @param cycleMillis the length of the cycle
+     * @param waiting     the number of borrowers waiting for a connection now
+     * @param minSize     the lower bound of the size
+     * @param maxSize     the upper bound of the size
+     * @return the decision if the size changed, otherwise null
+     */
+    String adjust(final long cycleMillis, final int waiting, final int minSize, final int maxSize) {
+        val acquired = acquires.sumThenReset();
+        val totalAcquireNanos = acquireNanos.sumThenReset();
+        val used = usages.sumThenReset();
+        val totalUsageMillis = usageMillis.sumThenReset();
+        val timedOut = timeouts.sumThenReset();
+        val created = creations.sumThenReset();
+        val totalCreationMillis = creationMillis.sumThenReset();
+
+        val meanAcquireNanos = acquired > 0 ? totalAcquireNanos / acquired : 0L;
+        val meanUsageMillis = used > 0 ? (double) totalUsageMillis / used : 0d;
+        if (created > 0) {
+            // keep the latency of the last connections opened, no connection is opened in a steady state
+            meanCreationMillis = (double) totalCreationMillis / created;
+        }
+
+        val borrowsPerSecond = (acquired + timedOut) * 1000d / Math.max(1L, cycleMillis);
+        val load = borrowsPerSecond * meanUsageMillis / 1000d;
+        val spareFactor = 1d + (meanUsageMillis > 0d ? Math.min(1d, meanCreationMillis / meanUsageMillis) : 0d);
+        val target = Math.max(1, (int) Math.ceil(load + spareFactor * Math.sqrt(load)));
+        val isUnderPressure = timedOut > 0 || waiting > 0 || meanAcquireNanos > WAIT_PRESSURE_NANOS;
+
+        val current = Math.max(minSize, Math.min(maxSize, size));
+        int next = current;
+        if (isUnderPressure || target > current) {
+            shrinkCycles = 0;
+            next = Math.max(target, isUnderPressure ? current + Math.max(1, current / 4) : current);
+        } else if (target < current * SHRINK_THRESHOLD && ++shrinkCycles >= SHRINK_CYCLES) {
+            shrinkCycles = 0;
+            next = Math.max(target, current - Math.max(1, current / 4));
+        } else if (target >= current * SHRINK_THRESHOLD) {
+            shrinkCycles = 0;
+        }
+        next = Math.max(minSize, Math.min(maxSize, next));
+
+        val previous = size;
+        size = next;
+        if (next == previous) {
+            return null;
+        }
+
+        val decision = String.format("%tFT%<tT %s %d -> %d (target=%d, borrows/s=%.1f, acquire=%.2fms, usage=%.1fms, creation=%.1fms, utilization=%.2f, timeouts=%d, waiting=%d)",
+                System.currentTimeMillis(), next > previous ? "grow" : "shrink", previous, next, target, borrowsPerSecond,
+                meanAcquireNanos / 1_000_000d, meanUsageMillis, meanCreationMillis, load / current, timedOut, waiting);
+        synchronized (decisions) {
+            if (decisions.size() == MAX_DECISIONS) {
+                decisions.removeFirst();
+            }
+            decisions.addLast(decision);
+        }
+        return decision;
+    }
+
+    /**
+     * Get the last resizing decisions, oldest first.
+     *
+     * @return the decisions
+     */
+    String[] getDecisions() {
+        synchronized (decisions) {
+            return decisions.toArray(new String[0]);
+        }
+    }
+}
@@ -27,6 +27,8 @@ public abstract class ProxyConnection implements Connection {
     static final int DIRTY_BIT_NETTIMEOUT = 0b010000;
     static final int DIRTY_BIT_SCHEMA = 0b100000;
 
+    static final int FREE_LIST_SIZE = 8;
+
     private static final Set<String> ERROR_STATES;
     private static final Set<Integer> ERROR_CODES;
 
@@ -34,8 +36,24 @@ public abstract class ProxyConnection implements Connection {
     protected Connection delegate;
 
     private final PoolEntry poolEntry;
-    private final ProxyLeakTask leakTask;
+    private ProxyLeakTask leakTask;
     private final FastList<Statement> openStatements;
+    private final StatementCache statementCache;
+
+    /**
+     * Bumped when the connection is closed, the borrow stamp of the proxy.  The statements and result sets of the
+     * borrow, and the {@link BorrowedConnection} of a recycled proxy, see it changed and fail fast, instead of
+     * reaching a cached statement or a connection that another borrower may hold meanwhile.
+     */
+    volatile int generation;
+
+    // the connection handed to the borrower, this proxy unless its pool entry recycles it across borrows
+    private Connection borrowedConnection;
+
+    // proxies of the statements and result sets closed by the application during this borrow, if recycling
+    private final FastList<LightProxyStatement> freeStatements;
+    private final FastList<LightProxyPreparedStatement> freePreparedStatements;
+    private final FastList<LightProxyResultSet> freeResultSets;
 
     private int dirtyBits;
     private long lastAccess;
@@ -48,6 +66,9 @@ public abstract class ProxyConnection implements Connection {
     private String dbcatalog;
     private String dbschema;
 
+    private boolean isTenantSwitchPending;
+    private String pendingTenantId;
+
     // static initializer
     static {
         ERROR_STATES = new HashSet<>();
@@ -68,10 +89,15 @@ public abstract class ProxyConnection implements Connection {
         this.poolEntry = poolEntry;
         this.delegate = connection;
         this.openStatements = openStatements;
+        this.statementCache = poolEntry.getStatementCache();
+        this.freeStatements = poolEntry.getFreeStatements();
+        this.freePreparedStatements = poolEntry.getFreePreparedStatements();
+        this.freeResultSets = poolEntry.getFreeResultSets();
         this.leakTask = leakTask;
         this.lastAccess = now;
         this.isReadOnly = isReadOnly;
         this.isAutoCommit = isAutoCommit;
+        this.borrowedConnection = this;
     }
 
     /**
@@ -118,6 +144,42 @@ public abstract class ProxyConnection implements Connection {
         return poolEntry;
     }
 
+    /**
+     * Reset this proxy, closed by its previous borrower, for a new borrow of its pool entry.
+     */
+    final void reuse(final Connection connection, final ProxyLeakTask leakTask, final long now, final boolean isReadOnly, final boolean isAutoCommit) {
+        this.delegate = connection;
+        this.leakTask = leakTask;
+        this.lastAccess = now;
+        this.isReadOnly = isReadOnly;
+        this.isAutoCommit = isAutoCommit;
+        this.dirtyBits = 0;
+        this.isCommitStateDirty = false;
+        this.networkTimeout = 0;
+        this.transactionIsolation = 0;
+        this.dbcatalog = null;
+        this.dbschema = null;
+        this.isTenantSwitchPending = false;
+        this.pendingTenantId = null;
+    }
+
+    /**
+     * Hand this proxy, which its pool entry recycles across borrows, to the borrower through a
+     * {@link BorrowedConnection} that captures the generation of the proxy as the stamp of this borrow.
+     */
+    final void stampBorrow() {
+        borrowedConnection = new BorrowedConnection(this, generation);
+    }
+
+    /**
+     * Get the connection handed to the borrower, for the pool and for {@link Statement#getConnection()}.
+     *
+     * @return this proxy, or the {@link BorrowedConnection} of the current borrow if the proxy is recycled
+     */
+    final Connection getBorrowedConnection() {
+        return borrowedConnection;
+    }
+
     final SQLException checkException(SQLException sqle) {
         SQLException nse = sqle;
         for (int depth = 0; delegate != ClosedConnection.CLOSED_CONNECTION && nse != null && depth < 10; depth++) {
@@ -153,6 +215,114 @@ public abstract class ProxyConnection implements Connection {
         leakTask.cancel();
     }
 
+    final LightProxyStatement pollFreeStatement() {
+        return freeStatements != null ? poll(freeStatements) : null;
+    }
+
+    final LightProxyPreparedStatement pollFreePreparedStatement() {
+        return freePreparedStatements != null ? poll(freePreparedStatements) : null;
+    }
+
+    final LightProxyResultSet pollFreeResultSet() {
+        return freeResultSets != null ? poll(freeResultSets) : null;
+    }
+
+    final void recycleStatement(final ProxyStatement statement) {
+        // callable statements are not recycled
+        if (freeStatements == null) {
+            return;
+        } else if (statement instanceof LightProxyPreparedStatement) {
+            offer(freePreparedStatements, (LightProxyPreparedStatement) statement);
+        } else if (statement instanceof LightProxyStatement) {
+            offer(freeStatements, (LightProxyStatement) statement);
+        }
+    }
+
+    final void recycleResultSet(final ProxyResultSet resultSet) {
+        if (freeResultSets != null && resultSet instanceof LightProxyResultSet) {
+            offer(freeResultSets, (LightProxyResultSet) resultSet);
+        }
+    }
+
+    /**
+     * Drop the proxies closed during this borrow, so that none of them is reissued to the next borrower, who
+     * could not tell a stale reference of the previous borrower from its own.
+     */
+    private void clearFreeProxies() {
+        if (freeStatements != null) {
+            synchronized (poolEntry) {
+                freeStatements.clear();
+                freePreparedStatements.clear();
+                freeResultSets.clear();
+            }
+        }
+    }
+
+    // the free lists are shared by the proxies of every borrow of the entry, a closed one must leave them alone
+    private <T> T poll(final FastList<T> freeList) {
+        synchronized (poolEntry) {
+            return delegate != ClosedConnection.CLOSED_CONNECTION && !freeList.isEmpty() ? freeList.removeLast() : null;
+        }
+    }
+
+    private <T> void offer(final FastList<T> freeList, final T proxy) {
+        synchronized (poolEntry) {
+            if (delegate != ClosedConnection.CLOSED_CONNECTION && freeList.size() < FREE_LIST_SIZE) {
+                freeList.add(proxy);
+            }
+        }
+    }
+
+    /**
+     * Defer the switch of the underlying connection to the specified tenant until the first statement
+     * is created, so that borrows that never touch the database pay no switch.
+     *
+     * @param tenantId the tenant to switch to
+     */
+    final void deferTenantSwitch(final String tenantId) {
+        isTenantSwitchPending = true;
+        pendingTenantId = tenantId;
+    }
+
+    private void switchTenantIfPending() throws SQLException {
+        if (isTenantSwitchPending) {
+            isTenantSwitchPending = false;
+            try {
+                poolEntry.switchTenant(pendingTenantId);
+            } catch (SQLException e) {
+                // like a failed switch at borrow time, the connection is left in an unknown tenant
+                log.warn("{} - Connection {} evicted because the tenant switch failed", poolEntry.getPoolName(), delegate, e);
+                leakTask.cancel();
+                poolEntry.evict("(tenant switch failed)");
+                delegate = ClosedConnection.CLOSED_CONNECTION;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Take the statement for the key from the statement cache of the connection, or prepare it.
+     */
+    private PreparedStatement prepareCached(final StatementCache.Key key) throws SQLException {
+        PreparedStatement statement = statementCache.take(key);
+        if (statement == null) {
+            statement = key.prepare(delegate);
+        }
+
+        final LightProxyPreparedStatement proxy = ProxyFactory.getProxyPreparedStatement(this, trackStatement(statement));
+        proxy.cacheKey = key;
+        return proxy;
+    }
+
+    /**
+     * Offer a statement the application closed back to the statement cache of the connection.
+     *
+     * @return true if the statement was cached, false if it has to be closed
+     */
+    final boolean cacheStatement(final StatementCache.Key key, final PreparedStatement statement) {
+        return delegate != ClosedConnection.CLOSED_CONNECTION && statementCache.offer(key, statement);
+    }
+
     private synchronized <T extends Statement> T trackStatement(final T statement) {
         openStatements.add(statement);
 
@@ -214,6 +384,8 @@ public abstract class ProxyConnection implements Connection {
                 }
             } finally {
                 delegate = ClosedConnection.CLOSED_CONNECTION;
+                generation++;
+                clearFreeProxies();
                 poolEntry.recycle(lastAccess);
             }
         }
@@ -232,6 +404,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public Statement createStatement() throws SQLException {
+        switchTenantIfPending();
         return ProxyFactory.getProxyStatement(this, trackStatement(delegate.createStatement()));
     }
 
@@ -240,6 +413,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public Statement createStatement(int resultSetType, int concurrency) throws SQLException {
+        switchTenantIfPending();
         return ProxyFactory.getProxyStatement(this, trackStatement(delegate.createStatement(resultSetType, concurrency)));
     }
 
@@ -248,6 +422,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public Statement createStatement(int resultSetType, int concurrency, int holdability) throws SQLException {
+        switchTenantIfPending();
         return ProxyFactory.getProxyStatement(this, trackStatement(delegate.createStatement(resultSetType, concurrency, holdability)));
     }
 
@@ -256,6 +431,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public CallableStatement prepareCall(String sql) throws SQLException {
+        switchTenantIfPending();
         return ProxyFactory.getProxyCallableStatement(this, trackStatement(delegate.prepareCall(sql)));
     }
 
@@ -264,6 +440,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public CallableStatement prepareCall(String sql, int resultSetType, int concurrency) throws SQLException {
+        switchTenantIfPending();
         return ProxyFactory.getProxyCallableStatement(this, trackStatement(delegate.prepareCall(sql, resultSetType, concurrency)));
     }
 
@@ -272,6 +449,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public CallableStatement prepareCall(String sql, int resultSetType, int concurrency, int holdability) throws SQLException {
+        switchTenantIfPending();
         return ProxyFactory.getProxyCallableStatement(this, trackStatement(delegate.prepareCall(sql, resultSetType, concurrency, holdability)));
     }
 
@@ -280,6 +458,10 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
+        switchTenantIfPending();
+        if (statementCache != null) {
+            return prepareCached(new StatementCache.Key(sql));
+        }
         return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql)));
     }
 
@@ -288,6 +470,10 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        switchTenantIfPending();
+        if (statementCache != null) {
+            return prepareCached(new StatementCache.Key(sql, autoGeneratedKeys));
+        }
         return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql, autoGeneratedKeys)));
     }
 
@@ -296,6 +482,10 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int concurrency) throws SQLException {
+        switchTenantIfPending();
+        if (statementCache != null) {
+            return prepareCached(new StatementCache.Key(sql, resultSetType, concurrency));
+        }
         return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql, resultSetType, concurrency)));
     }
 
@@ -304,6 +494,10 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int concurrency, int holdability) throws SQLException {
+        switchTenantIfPending();
+        if (statementCache != null) {
+            return prepareCached(new StatementCache.Key(sql, resultSetType, concurrency, holdability));
+        }
         return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql, resultSetType, concurrency, holdability)));
     }
 
@@ -312,6 +506,10 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        switchTenantIfPending();
+        if (statementCache != null) {
+            return prepareCached(new StatementCache.Key(sql, columnIndexes));
+        }
         return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql, columnIndexes)));
     }
 
@@ -320,6 +518,10 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        switchTenantIfPending();
+        if (statementCache != null) {
+            return prepareCached(new StatementCache.Key(sql, columnNames));
+        }
         return ProxyFactory.getProxyPreparedStatement(this, trackStatement(delegate.prepareStatement(sql, columnNames)));
     }
 
@@ -398,6 +600,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public void setCatalog(String catalog) throws SQLException {
+        poolEntry.invalidateStatementCache();
         delegate.setCatalog(catalog);
         dbcatalog = catalog;
         dirtyBits |= DIRTY_BIT_CATALOG;
@@ -418,6 +621,7 @@ public abstract class ProxyConnection implements Connection {
      */
     @Override
     public void setSchema(String schema) throws SQLException {
+        poolEntry.invalidateStatementCache();
         delegate.setSchema(schema);
         dbschema = schema;
         dirtyBits |= DIRTY_BIT_SCHEMA;
@@ -6,7 +6,9 @@ import java.sql.*;
 
 /**
  * A factory class that produces proxies around instances of the standard
- * JDBC interfaces.
+ * JDBC interfaces.  A pool that recycles proxies reissues the connection proxy
+ * of each pool entry on every borrow, and the statement and result set proxies
+ * closed during the same borrow, before allocating new ones.
  *
  * @author Brett Wooldridge
  */
@@ -28,6 +30,12 @@ public final class ProxyFactory {
     }
 
     static LightProxyStatement getProxyStatement(final ProxyConnection connection, final Statement statement) {
+        final LightProxyStatement proxy = connection.pollFreeStatement();
+        if (proxy != null) {
+            proxy.reuse(statement);
+            return proxy;
+        }
+
         return new LightProxyStatement(connection, statement);
     }
 
@@ -36,10 +44,22 @@ public final class ProxyFactory {
     }
 
     static LightProxyPreparedStatement getProxyPreparedStatement(final ProxyConnection connection, final PreparedStatement statement) {
+        final LightProxyPreparedStatement proxy = connection.pollFreePreparedStatement();
+        if (proxy != null) {
+            proxy.reuse(statement);
+            return proxy;
+        }
+
         return new LightProxyPreparedStatement(connection, statement);
     }
 
     static LightProxyResultSet getProxyResultSet(final ProxyConnection connection, final ProxyStatement statement, final ResultSet resultSet) {
+        final LightProxyResultSet proxy = connection.pollFreeResultSet();
+        if (proxy != null) {
+            proxy.reuse(statement, resultSet);
+            return proxy;
+        }
+
         return new LightProxyResultSet(connection, statement, resultSet);
     }
 }
@@ -23,6 +23,7 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
      */
     @Override
     public boolean execute() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return ((PreparedStatement) delegate).execute();
     }
@@ -32,9 +33,10 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
      */
     @Override
     public ResultSet executeQuery() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         ResultSet resultSet = ((PreparedStatement) delegate).executeQuery();
-        return ProxyFactory.getProxyResultSet(connection, this, resultSet);
+        return wrapResultSet(resultSet);
     }
 
     /**
@@ -42,6 +44,7 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
      */
     @Override
     public int executeUpdate() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return ((PreparedStatement) delegate).executeUpdate();
     }
@@ -51,6 +54,7 @@ public abstract class ProxyPreparedStatement extends ProxyStatement implements P
      */
     @Override
     public long executeLargeUpdate() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return ((PreparedStatement) delegate).executeLargeUpdate();
     }
@@ -11,13 +11,56 @@ import java.sql.Statement;
  */
 public abstract class ProxyResultSet implements ResultSet {
     protected final ProxyConnection connection;
-    protected final ProxyStatement statement;
-    final ResultSet delegate;
+    protected ProxyStatement statement;
+    ResultSet delegate;
+
+    private int generation;
+    private boolean isClosed;
+
+    // the issue of the statement this result set belongs to, see ProxyStatement#stamp
+    private int statementStamp;
 
     protected ProxyResultSet(ProxyConnection connection, ProxyStatement statement, ResultSet resultSet) {
         this.connection = connection;
         this.statement = statement;
         this.delegate = resultSet;
+        this.generation = connection.generation;
+        this.statementStamp = statement.stamp;
+    }
+
+    /**
+     * Reset this proxy, closed by the application, to wrap a new result set of its connection.
+     */
+    final void reuse(final ProxyStatement statement, final ResultSet resultSet) {
+        this.statement = statement;
+        this.delegate = resultSet;
+        this.generation = connection.generation;
+        this.statementStamp = statement.stamp;
+        this.isClosed = false;
+    }
+
+    /**
+     * Whether this proxy still wraps the specified result set of the specified statement, and was not
+     * closed and reissued since.
+     */
+    final boolean wraps(final ProxyStatement statement, final ResultSet resultSet) {
+        return this.statement == statement && statementStamp == statement.stamp && delegate == resultSet && !isClosed;
+    }
+
+    /**
+     * Fail a result set used after it was closed, after its statement was reissued or after its connection was
+     * closed, see {@link ProxyStatement#checkOpen()}.
+     */
+    final void checkOpen() throws SQLException {
+        if (isClosed) {
+            throw new SQLException("ResultSet is closed");
+        }
+        if (generation != connection.generation) {
+            throw new SQLException("ResultSet is closed, its connection was closed");
+        }
+        if (statementStamp != statement.stamp) {
+            throw new SQLException("ResultSet is closed, its statement was closed");
+        }
     }
 
     @SuppressWarnings("unused")
@@ -41,15 +84,44 @@ public abstract class ProxyResultSet implements ResultSet {
      * {@inheritDoc}
      */
     @Override
-    public final Statement getStatement() {
+    public final Statement getStatement() throws SQLException {
+        checkOpen();
         return statement;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void close() throws SQLException {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+        }
+
+        // closed together with its connection already
+        if (generation != connection.generation) {
+            return;
+        }
+
+        try {
+            delegate.close();
+        } catch (SQLException e) {
+            throw checkException(e);
+        }
+
+        connection.recycleResultSet(this);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void updateRow() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         delegate.updateRow();
     }
@@ -59,6 +131,7 @@ public abstract class ProxyResultSet implements ResultSet {
      */
     @Override
     public void insertRow() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         delegate.insertRow();
     }
@@ -68,6 +141,7 @@ public abstract class ProxyResultSet implements ResultSet {
      */
     @Override
     public void deleteRow() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         delegate.deleteRow();
     }
@@ -78,6 +152,7 @@ public abstract class ProxyResultSet implements ResultSet {
     @Override
     @SuppressWarnings("unchecked")
     public final <T> T unwrap(Class<T> iface) throws SQLException {
+        checkOpen();
         if (iface.isInstance(delegate)) {
             return (T) delegate;
         } else if (delegate != null) {
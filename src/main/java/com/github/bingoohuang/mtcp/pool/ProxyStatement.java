@@ -1,6 +1,10 @@
 package com.github.bingoohuang.mtcp.pool;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -11,15 +15,64 @@ import java.sql.Statement;
  * @author Brett Wooldridge
  */
 public abstract class ProxyStatement implements Statement {
+    static final int DIRTY_BIT_MAXROWS = 0b00001;
+    static final int DIRTY_BIT_QUERYTIMEOUT = 0b00010;
+    static final int DIRTY_BIT_FETCHSIZE = 0b00100;
+    static final int DIRTY_BIT_MAXFIELDSIZE = 0b01000;
+    static final int DIRTY_BIT_FETCHDIRECTION = 0b10000;
+
     protected final ProxyConnection connection;
-    final Statement delegate;
+    Statement delegate;
+
+    // the statement cache key, if the statement came from the statement cache of the connection
+    StatementCache.Key cacheKey;
 
+    private int generation;
     private boolean isClosed;
     private ResultSet proxyResultSet;
 
+    // bumped every time this proxy is reissued, the result sets of an earlier issue see it changed and fail fast
+    int stamp;
+
+    // the settings changed on a cached statement, and their values as the statement came from the cache
+    private int dirtyBits;
+    private long maxRows;
+    private int queryTimeout;
+    private int fetchSize;
+    private int maxFieldSize;
+    private int fetchDirection;
+
     ProxyStatement(ProxyConnection connection, Statement statement) {
         this.connection = connection;
         this.delegate = statement;
+        this.generation = connection.generation;
+    }
+
+    /**
+     * Reset this proxy, closed by the application, to wrap a new statement of its connection.
+     */
+    final void reuse(final Statement statement) {
+        this.delegate = statement;
+        this.generation = connection.generation;
+        this.stamp++;
+        this.isClosed = false;
+        this.proxyResultSet = null;
+        this.cacheKey = null;
+        this.dirtyBits = 0;
+    }
+
+    /**
+     * Fail a statement used after it was closed, rather than let it reach a cached statement that the connection
+     * may have reissued meanwhile, or after its connection was closed, rather than let it reach a connection that
+     * the pool entry may have handed to another borrower meanwhile.
+     */
+    final void checkOpen() throws SQLException {
+        if (isClosed) {
+            throw new SQLException("Statement is closed");
+        }
+        if (generation != connection.generation) {
+            throw new SQLException("Statement is closed, its connection was closed");
+        }
     }
 
     @SuppressWarnings("unused")
@@ -27,6 +80,79 @@ public abstract class ProxyStatement implements Statement {
         return connection.checkException(e);
     }
 
+    /**
+     * Wrap a result set of this statement, and remember it to be closed when the statement goes back to the
+     * statement cache.
+     */
+    final ResultSet wrapResultSet(final ResultSet resultSet) {
+        proxyResultSet = ProxyFactory.getProxyResultSet(connection, this, resultSet);
+        return proxyResultSet;
+    }
+
+    /**
+     * Whether the value of a setting has to be remembered before it is changed, to restore it when the statement
+     * goes back to the statement cache.
+     */
+    private boolean isFirstChange(final int dirtyBit) {
+        return cacheKey != null && (dirtyBits & dirtyBit) == 0;
+    }
+
+    /**
+     * Restore the settings changed on the statement to their values as it came from the statement cache.
+     */
+    private void resetStatementState() throws SQLException {
+        if ((dirtyBits & DIRTY_BIT_MAXROWS) != 0) {
+            if (maxRows > Integer.MAX_VALUE) {
+                delegate.setLargeMaxRows(maxRows);
+            } else {
+                delegate.setMaxRows((int) maxRows);
+            }
+        }
+
+        if ((dirtyBits & DIRTY_BIT_QUERYTIMEOUT) != 0) {
+            delegate.setQueryTimeout(queryTimeout);
+        }
+
+        if ((dirtyBits & DIRTY_BIT_FETCHSIZE) != 0) {
+            delegate.setFetchSize(fetchSize);
+        }
+
+        if ((dirtyBits & DIRTY_BIT_MAXFIELDSIZE) != 0) {
+            delegate.setMaxFieldSize(maxFieldSize);
+        }
+
+        if ((dirtyBits & DIRTY_BIT_FETCHDIRECTION) != 0) {
+            delegate.setFetchDirection(fetchDirection);
+        }
+
+        dirtyBits = 0;
+    }
+
+    /**
+     * Close the result set of the statement, clear its parameters and batch and restore the settings changed on
+     * it, so that the next borrower gets the statement as the driver would prepare it, and offer the statement
+     * back to the statement cache of the connection.
+     *
+     * @return true if the statement was cached, false if it has to be closed
+     */
+    private boolean returnToCache() {
+        try {
+            if (proxyResultSet != null && ((ProxyResultSet) proxyResultSet).statement == this) {
+                proxyResultSet.close();
+            }
+            proxyResultSet = null;
+            ((PreparedStatement) delegate).clearParameters();
+            delegate.clearBatch();
+            if (dirtyBits != 0) {
+                resetStatementState();
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+
+        return connection.cacheStatement(cacheKey, (PreparedStatement) delegate);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -53,13 +179,25 @@ public abstract class ProxyStatement implements Statement {
             isClosed = true;
         }
 
-        connection.untrackStatement(delegate);
-
         try {
-            delegate.close();
+            // closed together with its connection already
+            if (generation != connection.generation) {
+                return;
+            }
+
+            connection.untrackStatement(delegate);
+
+            if (cacheKey == null || !returnToCache()) {
+                delegate.close();
+            }
         } catch (SQLException e) {
             throw connection.checkException(e);
+        } finally {
+            // the cached statement may be reissued to another proxy, keep this one from reaching it
+            delegate = ClosedStatement.CLOSED_STATEMENT;
         }
+
+        connection.recycleStatement(this);
     }
 
     /**
@@ -67,7 +205,86 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public Connection getConnection() throws SQLException {
-        return connection;
+        checkOpen();
+        return connection.getBorrowedConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        checkOpen();
+        if (isFirstChange(DIRTY_BIT_MAXROWS)) {
+            maxRows = delegate.getMaxRows();
+            dirtyBits |= DIRTY_BIT_MAXROWS;
+        }
+        delegate.setMaxRows(max);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        checkOpen();
+        if (isFirstChange(DIRTY_BIT_MAXROWS)) {
+            maxRows = delegate.getLargeMaxRows();
+            dirtyBits |= DIRTY_BIT_MAXROWS;
+        }
+        delegate.setLargeMaxRows(max);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        checkOpen();
+        if (isFirstChange(DIRTY_BIT_QUERYTIMEOUT)) {
+            queryTimeout = delegate.getQueryTimeout();
+            dirtyBits |= DIRTY_BIT_QUERYTIMEOUT;
+        }
+        delegate.setQueryTimeout(seconds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        checkOpen();
+        if (isFirstChange(DIRTY_BIT_FETCHSIZE)) {
+            fetchSize = delegate.getFetchSize();
+            dirtyBits |= DIRTY_BIT_FETCHSIZE;
+        }
+        delegate.setFetchSize(rows);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        checkOpen();
+        if (isFirstChange(DIRTY_BIT_MAXFIELDSIZE)) {
+            maxFieldSize = delegate.getMaxFieldSize();
+            dirtyBits |= DIRTY_BIT_MAXFIELDSIZE;
+        }
+        delegate.setMaxFieldSize(max);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        checkOpen();
+        if (isFirstChange(DIRTY_BIT_FETCHDIRECTION)) {
+            fetchDirection = delegate.getFetchDirection();
+            dirtyBits |= DIRTY_BIT_FETCHDIRECTION;
+        }
+        delegate.setFetchDirection(direction);
     }
 
     /**
@@ -75,6 +292,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public boolean execute(String sql) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.execute(sql);
     }
@@ -84,6 +302,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.execute(sql, autoGeneratedKeys);
     }
@@ -93,9 +312,10 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public ResultSet executeQuery(String sql) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         ResultSet resultSet = delegate.executeQuery(sql);
-        return ProxyFactory.getProxyResultSet(connection, this, resultSet);
+        return wrapResultSet(resultSet);
     }
 
     /**
@@ -103,6 +323,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public int executeUpdate(String sql) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeUpdate(sql);
     }
@@ -112,6 +333,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public int[] executeBatch() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeBatch();
     }
@@ -121,6 +343,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeUpdate(sql, autoGeneratedKeys);
     }
@@ -130,6 +353,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeUpdate(sql, columnIndexes);
     }
@@ -139,6 +363,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeUpdate(sql, columnNames);
     }
@@ -148,6 +373,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.execute(sql, columnIndexes);
     }
@@ -157,6 +383,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public boolean execute(String sql, String[] columnNames) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.execute(sql, columnNames);
     }
@@ -166,6 +393,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public long[] executeLargeBatch() throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeLargeBatch();
     }
@@ -175,6 +403,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public long executeLargeUpdate(String sql) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeLargeUpdate(sql);
     }
@@ -184,6 +413,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeLargeUpdate(sql, autoGeneratedKeys);
     }
@@ -193,6 +423,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeLargeUpdate(sql, columnIndexes);
     }
@@ -202,6 +433,7 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        checkOpen();
         connection.markCommitStateDirty();
         return delegate.executeLargeUpdate(sql, columnNames);
     }
@@ -211,9 +443,10 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public ResultSet getResultSet() throws SQLException {
+        checkOpen();
         final ResultSet resultSet = delegate.getResultSet();
         if (resultSet != null) {
-            if (proxyResultSet == null || ((ProxyResultSet) proxyResultSet).delegate != resultSet) {
+            if (proxyResultSet == null || !((ProxyResultSet) proxyResultSet).wraps(this, resultSet)) {
                 proxyResultSet = ProxyFactory.getProxyResultSet(connection, this, resultSet);
             }
         } else {
@@ -227,9 +460,10 @@ public abstract class ProxyStatement implements Statement {
      */
     @Override
     public ResultSet getGeneratedKeys() throws SQLException {
+        checkOpen();
         ResultSet resultSet = delegate.getGeneratedKeys();
         if (resultSet != null) {
-            if (proxyResultSet == null || ((ProxyResultSet) proxyResultSet).delegate != resultSet) {
+            if (proxyResultSet == null || !((ProxyResultSet) proxyResultSet).wraps(this, resultSet)) {
                 proxyResultSet = ProxyFactory.getProxyResultSet(connection, this, resultSet);
             }
         } else {
@@ -244,6 +478,7 @@ public abstract class ProxyStatement implements Statement {
     @Override
     @SuppressWarnings("unchecked")
     public final <T> T unwrap(Class<T> iface) throws SQLException {
+        checkOpen();
         if (iface.isInstance(delegate)) {
             return (T) delegate;
         } else if (delegate != null) {
@@ -252,4 +487,29 @@ public abstract class ProxyStatement implements Statement {
 
         throw new SQLException("Wrapped statement is not an instance of " + iface);
     }
+
+    // **********************************************************************
+    //                         Private classes
+    // **********************************************************************
+
+    private static final class ClosedStatement {
+        static final Statement CLOSED_STATEMENT = getClosedStatement();
+
+        private static Statement getClosedStatement() {
+            InvocationHandler handler = (proxy, method, args) -> {
+                final String methodName = method.getName();
+                if ("close".equals(methodName)) {
+                    return Void.TYPE;
+                } else if ("isClosed".equals(methodName)) {
+                    return Boolean.TRUE;
+                } else if ("toString".equals(methodName)) {
+                    return ClosedStatement.class.getCanonicalName();
+                }
+
+                throw new SQLException("Statement is closed");
+            };
+
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class[]{CallableStatement.class}, handler);
+        }
+    }
 }
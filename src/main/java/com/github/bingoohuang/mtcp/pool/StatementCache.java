@@ -0,0 +1,228 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The prepared statements of one pooled connection that the application closed, kept open for reuse and closed
+ * least recently used first.  A statement leaves the cache while the application holds it, and only comes back
+ * on its logical close, so each cached statement is idle.
+ * <p>
+ * Invalidating the cache closes the cached statements, and keeps the statements held by the application from
+ * coming back, because they were prepared against the previous tenant, catalog or schema of the connection.
+ */
+@Slf4j
+final class StatementCache {
+    private final PoolBase pool;
+    private final int maxSize;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+    private int epoch;
+
+    StatementCache(final PoolBase pool, final int maxSize) {
+        this.pool = pool;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Take the cached statement for the key out of the cache.
+     *
+     * @param key the SQL and arguments of the {@code prepareStatement} call
+     * @return the cached statement, or null if the caller has to prepare it
+     */
+    synchronized PreparedStatement take(final Key key) {
+        key.epoch = epoch;
+        val statement = statements.remove(key);
+        if (statement != null) {
+            pool.cachedStatements.decrementAndGet();
+            pool.statementCacheHits.increment();
+        } else {
+            pool.statementCacheMisses.increment();
+        }
+        return statement;
+    }
+
+    /**
+     * Offer a statement the application closed back to the cache.
+     *
+     * @param key       the key the statement was taken or prepared with
+     * @param statement the statement
+     * @return true if the statement was cached, false if the caller has to close it
+     */
+    synchronized boolean offer(final Key key, final PreparedStatement statement) {
+        // prepared before an invalidation, or a duplicate of a statement cached meanwhile
+        if (key.epoch != epoch || statements.containsKey(key)) {
+            return false;
+        }
+
+        if (statements.size() >= maxSize) {
+            closeEldest();
+        }
+
+        while (!pool.reserveCachedStatement()) {
+            if (statements.isEmpty()) {
+                return false;
+            }
+            closeEldest();
+        }
+
+        statements.put(key, statement);
+        return true;
+    }
+
+    /**
+     * Close the cached statements, and keep the statements the application holds from being cached.
+     */
+    synchronized void invalidate() {
+        epoch++;
+        while (!statements.isEmpty()) {
+            closeEldest();
+        }
+    }
+
+    /**
+     * Forget the cached statements of a connection that is being closed, which closes them.
+     */
+    synchronized void clear() {
+        epoch++;
+        pool.cachedStatements.addAndGet(-statements.size());
+        statements.clear();
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    private void closeEldest() {
+        val iterator = statements.entrySet().iterator();
+        final Map.Entry<Key, PreparedStatement> eldest = iterator.next();
+        iterator.remove();
+        pool.cachedStatements.decrementAndGet();
+
+        try {
+            eldest.getValue().close();
+        } catch (SQLException e) {
+            log.debug("{} - Failed to close cached statement {}", pool, eldest.getKey().sql, e);
+        }
+    }
+
+    /**
+     * The SQL and the arguments of a {@code prepareStatement} call, which together identify a cacheable statement.
+     */
+    static final class Key {
+        private static final int UNSPECIFIED = Integer.MIN_VALUE;
+
+        private final String sql;
+        private final int resultSetType;
+        private final int concurrency;
+        private final int holdability;
+        private final int autoGeneratedKeys;
+        private final int[] columnIndexes;
+        private final String[] columnNames;
+        private final int hashCode;
+
+        // the invalidation epoch of the cache when the statement was taken, not part of the identity
+        int epoch;
+
+        Key(final String sql) {
+            this(sql, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED, null, null);
+        }
+
+        Key(final String sql, final int autoGeneratedKeys) {
+            this(sql, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED, autoGeneratedKeys, null, null);
+        }
+
+        Key(final String sql, final int resultSetType, final int concurrency) {
+            this(sql, resultSetType, concurrency, UNSPECIFIED, UNSPECIFIED, null, null);
+        }
+
+        Key(final String sql, final int resultSetType, final int concurrency, final int holdability) {
+            this(sql, resultSetType, concurrency, holdability, UNSPECIFIED, null, null);
+        }
+
+        Key(final String sql, final int[] columnIndexes) {
+            this(sql, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED, columnIndexes.clone(), null);
+        }
+
+        Key(final String sql, final String[] columnNames) {
+            this(sql, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED, UNSPECIFIED, null, columnNames.clone());
+        }
+
+        private Key(final String sql, final int resultSetType, final int concurrency, final int holdability, final int autoGeneratedKeys, final int[] columnIndexes, final String[] columnNames) {
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.concurrency = concurrency;
+            this.holdability = holdability;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+            this.columnIndexes = columnIndexes;
+            this.columnNames = columnNames;
+
+            int hash = sql.hashCode();
+            hash = 31 * hash + resultSetType;
+            hash = 31 * hash + concurrency;
+            hash = 31 * hash + holdability;
+            hash = 31 * hash + autoGeneratedKeys;
+            hash = 31 * hash + Arrays.hashCode(columnIndexes);
+            hash = 31 * hash + Arrays.hashCode(columnNames);
+            this.hashCode = hash;
+        }
+
+        /**
+         * Prepare the statement by the {@code prepareStatement} variant the key was created for.
+         *
+         * @param connection the connection to prepare the statement on
+         * @return the prepared statement
+         * @throws SQLException thrown if the driver fails to prepare the statement
+         */
+        PreparedStatement prepare(final Connection connection) throws SQLException {
+            if (columnIndexes != null) {
+                return connection.prepareStatement(sql, columnIndexes);
+            }
+            if (columnNames != null) {
+                return connection.prepareStatement(sql, columnNames);
+            }
+            if (autoGeneratedKeys != UNSPECIFIED) {
+                return connection.prepareStatement(sql, autoGeneratedKeys);
+            }
+            if (holdability != UNSPECIFIED) {
+                return connection.prepareStatement(sql, resultSetType, concurrency, holdability);
+            }
+            if (resultSetType != UNSPECIFIED) {
+                return connection.prepareStatement(sql, resultSetType, concurrency);
+            }
+            return connection.prepareStatement(sql);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            val other = (Key) o;
+            return hashCode == other.hashCode
+                    && resultSetType == other.resultSetType
+                    && concurrency == other.concurrency
+                    && holdability == other.holdability
+                    && autoGeneratedKeys == other.autoGeneratedKeys
+                    && sql.equals(other.sql)
+                    && Arrays.equals(columnIndexes, other.columnIndexes)
+                    && Arrays.equals(columnNames, other.columnNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
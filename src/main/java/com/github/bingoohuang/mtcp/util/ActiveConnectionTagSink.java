@@ -0,0 +1,224 @@
+package com.github.bingoohuang.mtcp.util;
+
+import com.github.bingoohuang.mtcp.ActiveConnectionTags;
+import com.github.bingoohuang.mtcp.BatchTenantEnvironmentAware;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A bounded, allocation-free multi-producer ring buffer of active connection tag events, drained in
+ * batches by a single thread at a time into a {@link BatchTenantEnvironmentAware}, either a drainer thread of
+ * its own or periodic drains on shared threads.
+ * <p>
+ * Borrowing threads claim a sequence with a CAS, write the event into parallel arrays and then publish
+ * the slot by storing its sequence.  When the buffer is full the event is dropped and counted instead of
+ * blocking the borrow.  The drainer hands out the published run of slots in place, and only frees the
+ * slots once the sink returns.
+ */
+@Slf4j
+public final class ActiveConnectionTagSink implements AutoCloseable {
+    private static final long DRAIN_INTERVAL_NANOS = MILLISECONDS.toNanos(Long.getLong("com.github.bingoohuang.mtcp.tagSink.drainIntervalMs", 10));
+
+    private final BatchTenantEnvironmentAware sink;
+    private final int mask;
+    private final int[] connectionSeqs;
+    private final String[] tenantIds;
+    private final long[] timestamps;
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+    private final LongAdder overflows = new LongAdder();
+    private final Batch batch = new Batch();
+    private final Thread drainer;
+    private final ScheduledFuture<?> drainTask;
+    private volatile boolean running = true;
+
+    /**
+     * Construct a sink and start its drainer thread.
+     *
+     * @param sink          the receiver of the batches
+     * @param bufferSize    the capacity of the ring buffer, rounded up to a power of two
+     * @param threadFactory the factory of the drainer thread
+     */
+    public ActiveConnectionTagSink(final BatchTenantEnvironmentAware sink, final int bufferSize, final ThreadFactory threadFactory) {
+        this(sink, bufferSize, threadFactory, null, null);
+    }
+
+    /**
+     * Construct a sink drained periodically on shared threads rather than on a thread of its own.  The scheduler
+     * only submits the drains, which run on the drain executor, so that a slow sink does not hold the scheduler.
+     * A drain submitted while the previous one is still queued may be discarded by the executor.
+     *
+     * @param sink          the receiver of the batches
+     * @param bufferSize    the capacity of the ring buffer, rounded up to a power of two
+     * @param scheduler     the scheduler of the drains
+     * @param drainExecutor the executor running the drains
+     */
+    public ActiveConnectionTagSink(final BatchTenantEnvironmentAware sink, final int bufferSize,
+                                   final ScheduledExecutorService scheduler, final Executor drainExecutor) {
+        this(sink, bufferSize, null, scheduler, drainExecutor);
+    }
+
+    private ActiveConnectionTagSink(final BatchTenantEnvironmentAware sink, final int bufferSize, final ThreadFactory threadFactory,
+                                    final ScheduledExecutorService scheduler, final Executor drainExecutor) {
+        val capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.sink = sink;
+        this.mask = capacity - 1;
+        this.connectionSeqs = new int[capacity];
+        this.tenantIds = new String[capacity];
+        this.timestamps = new long[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1L);
+        }
+
+        if (threadFactory != null) {
+            this.drainer = threadFactory.newThread(this::drainLoop);
+            this.drainTask = null;
+            this.drainer.start();
+        } else {
+            this.drainer = null;
+            this.drainTask = scheduler.scheduleWithFixedDelay(() -> drainExecutor.execute(this::drain),
+                    DRAIN_INTERVAL_NANOS, DRAIN_INTERVAL_NANOS, NANOSECONDS);
+        }
+    }
+
+    /**
+     * Record a tag event, or count it as an overflow if the buffer is full.
+     *
+     * @param connectionSeq the sequence of the borrowed connection
+     * @param tenantId      the tenant of the borrower, may be null
+     */
+    public void tag(final int connectionSeq, final String tenantId) {
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail > mask) {
+                overflows.increment();
+                return;
+            }
+        } while (!head.compareAndSet(seq, seq + 1));
+
+        val slot = (int) seq & mask;
+        connectionSeqs[slot] = connectionSeq;
+        tenantIds[slot] = tenantId;
+        timestamps[slot] = System.currentTimeMillis();
+        published.lazySet(slot, seq);
+    }
+
+    /**
+     * Get the number of tag events dropped because the buffer was full.
+     *
+     * @return the overflow count
+     */
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    /**
+     * Stop draining, after the events published so far are delivered.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (drainTask != null) {
+            drainTask.cancel(false);
+            drain();
+            return;
+        }
+
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(this, DRAIN_INTERVAL_NANOS);
+            }
+        }
+
+        drain();
+    }
+
+    /**
+     * Deliver the run of published events starting at the tail.  Synchronized for the final drain on close,
+     * which may overlap a periodic drain still running on the shared threads.
+     *
+     * @return the number of events delivered
+     */
+    synchronized int drain() {
+        val from = tail;
+        long to = from;
+        while (published.get((int) to & mask) == to) {
+            to++;
+        }
+
+        if (to == from) {
+            return 0;
+        }
+
+        batch.from = from;
+        batch.size = (int) (to - from);
+        try {
+            sink.tagActiveConnections(batch);
+        } catch (Exception e) {
+            log.warn("Failed to deliver {} active connection tags", batch.size, e);
+        }
+
+        for (long seq = from; seq < to; seq++) {
+            tenantIds[(int) seq & mask] = null;
+        }
+        tail = to;
+        return batch.size;
+    }
+
+    private final class Batch implements ActiveConnectionTags {
+        private long from;
+        private int size;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int getConnectionSeq(int index) {
+            return connectionSeqs[slot(index)];
+        }
+
+        @Override
+        public String getTenantId(int index) {
+            return tenantIds[slot(index)];
+        }
+
+        @Override
+        public long getTimestamp(int index) {
+            return timestamps[slot(index)];
+        }
+
+        private int slot(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return (int) (from + index) & mask;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.bingoohuang.mtcp.util;
+
+import com.github.bingoohuang.mtcp.BorrowCacheMode;
+
+/**
+ * The {@link BorrowCacheMode#AUTO} cache, choosing per call between a thread-local list for platform
+ * threads and a striped cache for virtual threads.
+ *
+ * @param <T> the templated type of the bag entries
+ */
+final class AutoBorrowCache<T extends BagEntry> implements BorrowCache<T> {
+    private final BorrowCache<T> platformCache;
+    private final BorrowCache<T> virtualCache;
+
+    AutoBorrowCache(final BorrowCache<T> platformCache, final BorrowCache<T> virtualCache) {
+        this.platformCache = platformCache;
+        this.virtualCache = virtualCache;
+    }
+
+    @Override
+    public void add(final T bagEntry) {
+        cacheOf(Thread.currentThread()).add(bagEntry);
+    }
+
+    @Override
+    public T get() {
+        return cacheOf(Thread.currentThread()).get();
+    }
+
+    @Override
+    public T get(final String tenantId) {
+        return cacheOf(Thread.currentThread()).get(tenantId);
+    }
+
+    private BorrowCache<T> cacheOf(final Thread thread) {
+        return VirtualThreadElf.isVirtual(thread) ? virtualCache : platformCache;
+    }
+}
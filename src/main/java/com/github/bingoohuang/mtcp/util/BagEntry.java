@@ -9,10 +9,33 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import static com.github.bingoohuang.mtcp.util.BagEntry.State.*;
 import static java.util.concurrent.atomic.AtomicIntegerFieldUpdater.newUpdater;
 
-public class BagEntry {
-    private static final AtomicIntegerFieldUpdater<BagEntry> stateUpdater
-            = newUpdater(BagEntry.class, "state");
-    private volatile int state;
+/**
+ * An entry of a {@link ConcurrentBag}.  The state field, which every borrower scanning the bag reads and
+ * CASes, is padded by cache lines on both sides through the superclasses below (the JVM lays out the
+ * fields of a superclass before those of its subclasses), so that a CAS on one entry does not invalidate
+ * the cache line of its neighbour or of the rarely written fields of the entry itself.
+ */
+public class BagEntry extends BagEntryStateRightPadding {
+    private static final AtomicIntegerFieldUpdater<BagEntryState> stateUpdater
+            = newUpdater(BagEntryState.class, "state");
+    private volatile int indexStamp;
+    /**
+     * The tenant whose {@link TenantFairQueue} permit this entry holds while in use, if any.
+     */
+    volatile String quotaTenantId;
+    /**
+     * The slot of this entry in the {@link ConcurrentSlotArray} of its bag, -1 if not in the bag.
+     */
+    volatile int slot = -1;
+    /**
+     * When the entry was last returned to its bag, from {@link System#nanoTime()}.  Written before the entry
+     * turns free and read after it was seen free, so the state field publishes it.
+     */
+    long freedAt;
+    /**
+     * The state counters of the bag holding this entry, null if not in a bag.
+     */
+    volatile BagStateCounters stateCounters;
 
     @Getter @Setter private volatile String tenantId;
 
@@ -27,32 +50,45 @@ public class BagEntry {
         return stateUpdater.get(this);
     }
 
-    private void setState(int newState) {
-        stateUpdater.set(this, newState);
+    // the counters are read before the transition, the entry may be removed from its bag right after it
+    private boolean compareAndSetState(int expectState, int newState) {
+        val counters = stateCounters;
+        if (stateUpdater.compareAndSet(this, expectState, newState)) {
+            if (counters != null) {
+                counters.moved(expectState, newState);
+            }
+            return true;
+        }
+
+        return false;
     }
 
     public final boolean stateFreeToUsing() {
-        return stateUpdater.compareAndSet(this, STATE_FREE, STATE_USING);
+        return compareAndSetState(STATE_FREE, STATE_USING);
     }
 
     public final boolean stateUsingToRemoved() {
-        return stateUpdater.compareAndSet(this, STATE_USING, STATE_REMOVED);
+        return compareAndSetState(STATE_USING, STATE_REMOVED);
     }
 
     public final boolean stateReservedToRemoved() {
-        return stateUpdater.compareAndSet(this, STATE_RESERVED, STATE_REMOVED);
+        return compareAndSetState(STATE_RESERVED, STATE_REMOVED);
     }
 
     public final boolean stateFreeToReserved() {
-        return stateUpdater.compareAndSet(this, STATE_FREE, STATE_RESERVED);
+        return compareAndSetState(STATE_FREE, STATE_RESERVED);
     }
 
     public final boolean stateReservedToFree() {
-        return stateUpdater.compareAndSet(this, STATE_RESERVED, STATE_FREE);
+        return compareAndSetState(STATE_RESERVED, STATE_FREE);
     }
 
     public final void stateToFree() {
-        setState(STATE_FREE);
+        val counters = stateCounters;
+        val previousState = stateUpdater.getAndSet(this, STATE_FREE);
+        if (counters != null) {
+            counters.moved(previousState, STATE_FREE);
+        }
     }
 
     public final boolean isStateFree() {
@@ -63,6 +99,20 @@ public class BagEntry {
         return getState() == STATE_USING;
     }
 
+    /**
+     * Bump the index stamp, invalidating any node previously pushed to a {@link TenantFreeIndex}.
+     * Only the thread owning the entry may call this.
+     *
+     * @return the new index stamp
+     */
+    final int nextIndexStamp() {
+        return ++indexStamp;
+    }
+
+    final int getIndexStamp() {
+        return indexStamp;
+    }
+
     public final String stateToString() {
         val currentState = this.state;
         switch (currentState) {
@@ -80,3 +130,26 @@ public class BagEntry {
     }
 
 }
+
+/**
+ * The cache line before the state of a {@link BagEntry}.
+ */
+@SuppressWarnings("unused")
+abstract class BagEntryStateLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The state of a {@link BagEntry}, alone on its cache line.
+ */
+abstract class BagEntryState extends BagEntryStateLeftPadding {
+    volatile int state;
+}
+
+/**
+ * The cache line after the state of a {@link BagEntry}.
+ */
+@SuppressWarnings("unused")
+abstract class BagEntryStateRightPadding extends BagEntryState {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
@@ -0,0 +1,56 @@
+package com.github.bingoohuang.mtcp.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.bingoohuang.mtcp.util.BagEntry.State.*;
+
+/**
+ * Per-state counts of the entries of a {@link ConcurrentBag}, updated by every successful state
+ * transition of a {@link BagEntry} so that reading them is O(1) in the size of the bag.
+ * <p>
+ * The counters are striped ({@link LongAdder}), so borrows and requites on many threads do not
+ * contend on a single cache line.  A transition and its count update are not atomic together,
+ * hence a read may momentarily disagree with the entries by the transitions in flight; that is
+ * good enough for metrics and sizing decisions, {@link ConcurrentBag#getExactStateCounts()} scans
+ * the bag when an exact snapshot is needed.
+ */
+final class BagStateCounters {
+    private final LongAdder free = new LongAdder();
+    private final LongAdder using = new LongAdder();
+    private final LongAdder reserved = new LongAdder();
+    private final LongAdder removed = new LongAdder();
+
+    void moved(final int from, final int to) {
+        if (from != to) {
+            counter(from).decrement();
+            counter(to).increment();
+        }
+    }
+
+    void added(final int state) {
+        counter(state).increment();
+    }
+
+    void removed(final int state) {
+        counter(state).decrement();
+    }
+
+    int get(final int state) {
+        return (int) Math.max(0L, counter(state).sum());
+    }
+
+    private LongAdder counter(final int state) {
+        switch (state) {
+            case STATE_FREE:
+                return free;
+            case STATE_USING:
+                return using;
+            case STATE_RESERVED:
+                return reserved;
+            case STATE_REMOVED:
+                return removed;
+            default:
+                throw new IllegalArgumentException("Invalid state " + state);
+        }
+    }
+}
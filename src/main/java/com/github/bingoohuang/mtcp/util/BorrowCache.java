@@ -0,0 +1,58 @@
+package com.github.bingoohuang.mtcp.util;
+
+import com.github.bingoohuang.mtcp.BorrowCacheMode;
+
+/**
+ * The cache of recently returned entries a {@link ConcurrentBag} looks into before scanning its shared
+ * list.  Entries stay in the shared list while cached, so a cache may drop or lose entries at will; it
+ * must only hand out an entry it CAS'ed from free to using.
+ *
+ * @param <T> the templated type of the bag entries
+ */
+public interface BorrowCache<T extends BagEntry> {
+    /**
+     * Remember an entry that was just returned to the bag.
+     *
+     * @param bagEntry the free entry
+     */
+    void add(T bagEntry);
+
+    /**
+     * Borrow any cached entry.
+     *
+     * @return an entry that was CAS'ed from free to using, or null if there is none
+     */
+    T get();
+
+    /**
+     * Borrow a cached entry that is already bound to the specified tenant.
+     *
+     * @param tenantId the tenant the caller is borrowing for
+     * @return an entry bound to the tenant that was CAS'ed from free to using, or null if there is none
+     */
+    T get(String tenantId);
+
+    /**
+     * Create the borrow cache for the specified mode.
+     *
+     * @param mode the borrow cache mode, null for {@link BorrowCacheMode#AUTO}
+     * @param <T>  the templated type of the bag entries
+     * @return a new borrow cache
+     */
+    static <T extends BagEntry> BorrowCache<T> create(final BorrowCacheMode mode) {
+        if (mode == null) {
+            return create(BorrowCacheMode.AUTO);
+        }
+
+        switch (mode) {
+            case THREAD_LOCAL:
+                return new ThreadLocalList<>(false);
+            case WEAK_THREAD_LOCAL:
+                return new ThreadLocalList<>(true);
+            case STRIPED:
+                return new StripedBorrowCache<>();
+            default:
+                return new AutoBorrowCache<>(new ThreadLocalList<>(), new StripedBorrowCache<>());
+        }
+    }
+}
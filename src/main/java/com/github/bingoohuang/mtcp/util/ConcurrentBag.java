@@ -1,32 +1,27 @@
 package com.github.bingoohuang.mtcp.util;
 
+import com.github.bingoohuang.mtcp.BorrowCacheMode;
+import com.github.bingoohuang.mtcp.BorrowOrder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
 
-import static com.github.bingoohuang.mtcp.util.ClockSource.currentTime;
-import static com.github.bingoohuang.mtcp.util.ClockSource.elapsedNanos;
-import static java.lang.Thread.yield;
-import static java.util.concurrent.TimeUnit.MICROSECONDS;
-import static java.util.concurrent.TimeUnit.NANOSECONDS;
-import static java.util.concurrent.locks.LockSupport.parkNanos;
 
 /**
  * This is a specialized concurrent bag that achieves superior performance
  * to LinkedBlockingQueue and LinkedTransferQueue for the purposes of a
  * connection pool.  It uses ThreadLocal storage when possible to avoid
- * locks, but resorts to scanning a common collection if there are no
- * available items in the ThreadLocal list.  Not-in-use items in the
- * ThreadLocal lists can be "stolen" when the borrowing thread has none
- * of its own.  It is a "lock-less" implementation using a specialized
- * AbstractQueuedLongSynchronizer to manage cross-thread signaling.
+ * locks, or a striped {@link BorrowCache} for virtual threads, but resorts
+ * to scanning a common collection if there are no available items in the
+ * cache.  Not-in-use items in the ThreadLocal lists can be "stolen" when
+ * the borrowing thread has none of its own.  It is a "lock-less" implementation that hands entries
+ * directly to parked borrowers through a {@link HandoffQueue}.
  * <p>
  * Note that items that are "borrowed" from the bag are not actually
  * removed from any collection, so garbage collection will not occur
@@ -39,18 +34,36 @@ import static java.util.concurrent.locks.LockSupport.parkNanos;
  */
 @Slf4j
 public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
-    private final CopyOnWriteArrayList<T> sharedList;
+    private static final int DEFAULT_CAPACITY = 10;
 
-    private final ThreadLocalList<T> threadLocalList;
+    private final ConcurrentSlotArray<T> sharedList;
+    private final BagStateCounters stateCounters = new BagStateCounters();
+    private final LongAdder sharedScans = new LongAdder();
+    private final LongAdder borrowCasFailures = new LongAdder();
+
+    private final BorrowCache<T> borrowCache;
     private final BagStateListener listener;
     private final AtomicInteger waiters;
 
     private volatile boolean closed;
 
-    private final SynchronousQueue<T> handoffQueue;
+    private final HandoffQueue<T> handoffQueue;
+    private final boolean tenantAffinity;
+    private final TenantFreeIndex<T> tenantIndex;
+    private final TenantFairQueue<T> fairQueue;
 
     public interface BagStateListener {
         void addBagItem(int waiting);
+
+        /**
+         * Get the order in which free entries are borrowed.  It is asked on every borrow, so that it can
+         * change at runtime.
+         *
+         * @return the borrow order
+         */
+        default BorrowOrder getBorrowOrder() {
+            return BorrowOrder.THREAD_AFFINITY;
+        }
     }
 
     /**
@@ -59,12 +72,68 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
      * @param listener the BagStateListener to attach to this bag
      */
     public ConcurrentBag(final BagStateListener listener) {
+        this(listener, false);
+    }
+
+    /**
+     * Construct a ConcurrentBag with the specified listener, optionally preferring entries bound
+     * to the borrower's tenant and maintaining a per-tenant index of free entries to make those
+     * borrows O(1).
+     *
+     * @param listener       the BagStateListener to attach to this bag
+     * @param tenantAffinity true to prefer entries bound to the borrower's tenant
+     */
+    public ConcurrentBag(final BagStateListener listener, final boolean tenantAffinity) {
+        this(listener, tenantAffinity, null);
+    }
+
+    /**
+     * Construct a ConcurrentBag with the specified listener, optionally enforcing per-tenant
+     * in-use quotas and serving waiters of different tenants by weighted fair queuing instead of
+     * a single FIFO handoff queue.
+     *
+     * @param listener       the BagStateListener to attach to this bag
+     * @param tenantAffinity true to prefer entries bound to the borrower's tenant
+     * @param tenantLimits   the per-tenant limits, or null to disable quotas and fair queuing
+     */
+    public ConcurrentBag(final BagStateListener listener, final boolean tenantAffinity, final TenantFairQueue.TenantLimits tenantLimits) {
+        this(listener, tenantAffinity, tenantLimits, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a ConcurrentBag sized for the expected number of entries, normally the maximum
+     * pool size.  The bag still grows beyond it if more entries are added.
+     *
+     * @param listener       the BagStateListener to attach to this bag
+     * @param tenantAffinity true to prefer entries bound to the borrower's tenant
+     * @param tenantLimits   the per-tenant limits, or null to disable quotas and fair queuing
+     * @param capacity       the expected number of entries
+     */
+    public ConcurrentBag(final BagStateListener listener, final boolean tenantAffinity, final TenantFairQueue.TenantLimits tenantLimits, final int capacity) {
+        this(listener, tenantAffinity, tenantLimits, capacity, BorrowCacheMode.AUTO);
+    }
+
+    /**
+     * Construct a ConcurrentBag sized for the expected number of entries, with the specified cache of
+     * recently returned entries.
+     *
+     * @param listener        the BagStateListener to attach to this bag
+     * @param tenantAffinity  true to prefer entries bound to the borrower's tenant
+     * @param tenantLimits    the per-tenant limits, or null to disable quotas and fair queuing
+     * @param capacity        the expected number of entries
+     * @param borrowCacheMode where returned entries are cached for the next borrow
+     */
+    public ConcurrentBag(final BagStateListener listener, final boolean tenantAffinity, final TenantFairQueue.TenantLimits tenantLimits, final int capacity,
+                         final BorrowCacheMode borrowCacheMode) {
         this.listener = listener;
+        this.tenantAffinity = tenantAffinity;
+        this.tenantIndex = tenantAffinity ? new TenantFreeIndex<>() : null;
+        this.fairQueue = tenantLimits != null ? new TenantFairQueue<>(tenantLimits) : null;
 
-        this.handoffQueue = new SynchronousQueue<>(true);
+        this.handoffQueue = new HandoffQueue<>();
         this.waiters = new AtomicInteger();
-        this.sharedList = new CopyOnWriteArrayList<>();
-        this.threadLocalList = new ThreadLocalList<>();
+        this.sharedList = new ConcurrentSlotArray<>(capacity);
+        this.borrowCache = BorrowCache.create(borrowCacheMode);
     }
 
     /**
@@ -77,8 +146,39 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
      * @throws InterruptedException if interrupted while waiting
      */
     public T borrow(long timeout, final TimeUnit timeUnit) throws InterruptedException {
-        // Try the thread-local list first
-        val entry = threadLocalList.get();
+        return borrow(null, timeout, timeUnit);
+    }
+
+    /**
+     * The method will borrow a BagEntry from the bag on behalf of the specified tenant,
+     * blocking for the specified timeout if none are available.
+     * <p>
+     * With tenant affinity, the borrow cache and then the shared list are searched
+     * for a free entry bound to that tenant first.  Only when no such entry exists does the
+     * borrow fall back to any free entry.  With tenant limits, a tenant that already has its
+     * quota of entries in use waits even if free entries exist, and waiters are served by
+     * weighted fair queuing across tenants.
+     * <p>
+     * The {@link BorrowOrder} of the listener may instead prefer entries bound to the tenant even
+     * without tenant affinity, or pick the most or least recently requited free entry, bypassing the
+     * borrow cache.
+     *
+     * @param tenantId the tenant borrowing, or null if unknown
+     * @param timeout  how long to wait before giving up, in units of unit
+     * @param timeUnit a <code>TimeUnit</code> determining how to interpret the timeout parameter
+     * @return a borrowed instance from the bag or null if a timeout occurs
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T borrow(final String tenantId, long timeout, final TimeUnit timeUnit) throws InterruptedException {
+        if (fairQueue != null) {
+            return borrowFair(tenantId, timeUnit.toNanos(timeout));
+        }
+
+        val order = listener.getBorrowOrder();
+        val affinityTenantId = tenantAffinity || order == BorrowOrder.TENANT_AFFINITY ? tenantId : null;
+
+        // Try the borrow cache first
+        val entry = borrowCached(order, affinityTenantId);
         if (entry != null) {
             return entry;
         }
@@ -86,40 +186,212 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
         // Otherwise, scan the shared list ... then poll the handoff queue
         val bagWaiting = waiters.incrementAndGet();
         try {
-            for (val bagEntry : sharedList) {
-                if (bagEntry.stateFreeToUsing()) {
-                    // If we may have stolen another waiter's connection, request another bag add.
-                    if (bagWaiting > 1) {
-                        listener.addBagItem(bagWaiting - 1);
-                    }
-
-                    return bagEntry;
+            val bagEntry = borrowFree(order, affinityTenantId);
+            if (bagEntry != null) {
+                // If we may have stolen another waiter's connection, request another bag add.
+                if (bagWaiting > 1) {
+                    listener.addBagItem(bagWaiting - 1);
                 }
+
+                return bagEntry;
             }
 
             listener.addBagItem(bagWaiting);
 
-            timeout = timeUnit.toNanos(timeout);
-            do {
-                val start = currentTime();
-                val bagEntry = handoffQueue.poll(timeout, NANOSECONDS);
-                if (bagEntry == null) {
-                    return bagEntry;
+            val waiter = handoffQueue.enqueue();
+
+            // Look again after publishing the waiter, an entry may have been requited in between
+            val lateEntry = borrowFree(order, affinityTenantId);
+            if (lateEntry != null) {
+                if (handoffQueue.cancel(waiter)) {
+                    return lateEntry;
                 }
 
-                if (bagEntry.stateFreeToUsing()) {
-                    return bagEntry;
+                // an entry was handed to the waiter meanwhile, keep that one
+                requite(lateEntry);
+            }
+
+            return handoffQueue.await(waiter, timeUnit.toNanos(timeout));
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private T borrowFair(final String tenantId, final long timeoutNanos) throws InterruptedException {
+        val bagWaiting = waiters.incrementAndGet();
+        try {
+            val bagEntry = borrowWithinQuota(tenantId);
+            if (bagEntry != null) {
+                // If we may have stolen another waiter's connection, request another bag add.
+                if (bagWaiting > 1) {
+                    listener.addBagItem(bagWaiting - 1);
                 }
 
-                timeout -= elapsedNanos(start);
-            } while (timeout > 10_000);
+                return bagEntry;
+            }
 
-            return null;
+            // A tenant over its quota waits for one of its own entries, a new one would not help
+            if (fairQueue.tryAcquire(tenantId)) {
+                fairQueue.release(tenantId);
+                listener.addBagItem(bagWaiting);
+            }
+
+            val waiter = fairQueue.enqueue(tenantId);
+
+            // Look again after publishing the waiter, an entry may have been requited in between
+            val lateEntry = borrowWithinQuota(tenantId);
+            if (lateEntry != null) {
+                if (fairQueue.cancel(waiter)) {
+                    return lateEntry;
+                }
+
+                // an entry was handed to the waiter meanwhile, keep that one
+                requite(lateEntry);
+            }
+
+            return fairQueue.await(waiter, timeoutNanos);
         } finally {
             waiters.decrementAndGet();
         }
     }
 
+    private T borrowWithinQuota(final String tenantId) {
+        if (!fairQueue.tryAcquire(tenantId)) {
+            return null;
+        }
+
+        val order = listener.getBorrowOrder();
+        val affinityTenantId = tenantAffinity || order == BorrowOrder.TENANT_AFFINITY ? tenantId : null;
+        T bagEntry = borrowCached(order, affinityTenantId);
+        if (bagEntry == null) {
+            bagEntry = borrowFree(order, affinityTenantId);
+        }
+
+        if (bagEntry != null) {
+            fairQueue.bind(bagEntry, tenantId);
+        } else {
+            fairQueue.release(tenantId);
+        }
+
+        return bagEntry;
+    }
+
+    private T borrowCached(final BorrowOrder order, final String affinityTenantId) {
+        if (order == BorrowOrder.LIFO || order == BorrowOrder.FIFO) {
+            // the cache serves the entries the thread requited itself, whatever their age
+            return null;
+        }
+
+        return affinityTenantId != null ? borrowCache.get(affinityTenantId) : borrowCache.get();
+    }
+
+    private T borrowFree(final BorrowOrder order, final String affinityTenantId) {
+        switch (order) {
+            case LIFO:
+                return scanOrdered(true, affinityTenantId);
+            case FIFO:
+                return scanOrdered(false, affinityTenantId);
+            default:
+                return affinityTenantId != null ? borrowAffinity(affinityTenantId) : borrowShared();
+        }
+    }
+
+    private T borrowShared() {
+        return scanShared(null);
+    }
+
+    private T borrowAffinity(final String tenantId) {
+        val bagEntry = tenantIndex != null ? tenantIndex.pop(tenantId) : scanAffinity(tenantId);
+        if (bagEntry != null) {
+            return bagEntry;
+        }
+
+        // No entry is bound to the tenant, fall back to any free entry
+        val entry = borrowCache.get();
+        return entry != null ? entry : borrowShared();
+    }
+
+    private T scanAffinity(final String tenantId) {
+        return scanShared(tenantId);
+    }
+
+    /**
+     * Scan the shared list for a free entry, optionally bound to a tenant.  Each thread starts at its own
+     * position, so concurrent borrowers fan out over the entries instead of all CASing the first few, and
+     * an entry is only CAS'ed after it was seen free.  The CASes lost to other borrowers are counted.
+     */
+    private T scanShared(final String tenantId) {
+        sharedScans.increment();
+
+        int casFailures = 0;
+        try {
+            for (Iterator<T> it = sharedList.iterator(UtilityElf.threadHash(Thread.currentThread())); it.hasNext(); ) {
+                val bagEntry = it.next();
+                if (bagEntry.isStateFree() && (tenantId == null || tenantId.equals(bagEntry.getTenantId()))) {
+                    if (bagEntry.stateFreeToUsing()) {
+                        return bagEntry;
+                    }
+                    casFailures++;
+                }
+            }
+
+            return null;
+        } finally {
+            if (casFailures > 0) {
+                borrowCasFailures.add(casFailures);
+            }
+        }
+    }
+
+    /**
+     * Scan the whole shared list for the most (LIFO) or least (FIFO) recently requited free entry,
+     * preferring those bound to the tenant if one is specified, and scan again if another borrower took
+     * it first.  This costs a pass over every entry per borrow, which is what ordering the borrows takes
+     * without a global structure that every requite would contend on.
+     */
+    private T scanOrdered(final boolean lifo, final String tenantId) {
+        sharedScans.increment();
+
+        int casFailures = 0;
+        try {
+            while (true) {
+                T first = null;
+                T firstOfTenant = null;
+                for (Iterator<T> it = sharedList.iterator(); it.hasNext(); ) {
+                    val bagEntry = it.next();
+                    if (!bagEntry.isStateFree()) {
+                        continue;
+                    }
+
+                    if (first == null || isBefore(bagEntry, first, lifo)) {
+                        first = bagEntry;
+                    }
+                    if (tenantId != null && tenantId.equals(bagEntry.getTenantId()) && (firstOfTenant == null || isBefore(bagEntry, firstOfTenant, lifo))) {
+                        firstOfTenant = bagEntry;
+                    }
+                }
+
+                val candidate = firstOfTenant != null ? firstOfTenant : first;
+                if (candidate == null) {
+                    return null;
+                }
+                if (candidate.stateFreeToUsing()) {
+                    return candidate;
+                }
+                casFailures++;
+            }
+        } finally {
+            if (casFailures > 0) {
+                borrowCasFailures.add(casFailures);
+            }
+        }
+    }
+
+    private static boolean isBefore(final BagEntry entry, final BagEntry other, final boolean lifo) {
+        val diff = entry.freedAt - other.freedAt;
+        return lifo ? diff > 0 : diff < 0;
+    }
+
     /**
      * This method will return a borrowed object to the bag.  Objects
      * that are borrowed from the bag but never "requited" will result
@@ -130,19 +402,28 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
      * @throws IllegalStateException if the bagEntry was not borrowed from the bag
      */
     public void requite(final T bagEntry) {
-        bagEntry.stateToFree();
-
-        for (int i = 0; waiters.get() > 0; i++) {
-            if (!bagEntry.isStateFree() || handoffQueue.offer(bagEntry)) {
+        if (fairQueue != null) {
+            fairQueue.release(bagEntry);
+            if (fairQueue.handoff(bagEntry)) {
                 return;
-            } else if ((i & 0xff) == 0xff) {
-                parkNanos(MICROSECONDS.toNanos(10));
-            } else {
-                yield();
             }
+        } else if (handoffQueue.handoff(bagEntry)) {
+            return;
+        }
+
+        if (tenantIndex != null) {
+            tenantIndex.push(bagEntry);
+        }
+
+        bagEntry.freedAt = System.nanoTime();
+        bagEntry.stateToFree();
+
+        // a borrower may have queued since the handoff above, after its last look at this entry
+        if (handoffFree(bagEntry)) {
+            return;
         }
 
-        threadLocalList.add(bagEntry);
+        borrowCache.add(bagEntry);
     }
 
     /**
@@ -156,12 +437,38 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
             throw new IllegalStateException("ConcurrentBag has been closed, ignoring add()");
         }
 
+        bagEntry.stateCounters = stateCounters;
+        bagEntry.freedAt = System.nanoTime();
+        stateCounters.added(bagEntry.getState());
         sharedList.add(bagEntry);
+        handoffFree(bagEntry);
+    }
 
-        // spin until a thread takes it or none are waiting
-        while (waiters.get() > 0 && !handoffQueue.offer(bagEntry)) {
-            yield();
+    /**
+     * Hand a free entry to a waiter, if there is an eligible one.
+     *
+     * @return true if a waiter took the entry
+     */
+    private boolean handoffFree(final T bagEntry) {
+        if (fairQueue != null) {
+            if (fairQueue.hasWaiters() && bagEntry.stateFreeToUsing()) {
+                if (fairQueue.handoff(bagEntry)) {
+                    return true;
+                }
+                bagEntry.stateToFree();
+            }
+            return false;
+        }
+
+        // the entry is free before waiters are checked, so a borrower queuing concurrently either
+        // is seen here or sees the free entry when it looks again after queuing
+        while (handoffQueue.hasWaiters() && bagEntry.stateFreeToUsing()) {
+            if (handoffQueue.handoff(bagEntry)) {
+                return true;
+            }
+            bagEntry.stateToFree();
         }
+        return false;
     }
 
     /**
@@ -174,13 +481,25 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
      *                               from the bag that was not borrowed or reserved first
      */
     public boolean remove(final T bagEntry) {
-        if (!bagEntry.stateUsingToRemoved() && !bagEntry.stateReservedToRemoved() && !closed) {
+        val wasUsing = bagEntry.stateUsingToRemoved();
+        if (!wasUsing && !bagEntry.stateReservedToRemoved() && !closed) {
             log.warn("Attempt to remove an object from the bag that was not borrowed or reserved: {}", bagEntry);
             return false;
         }
 
+        if (wasUsing && fairQueue != null) {
+            val tenantId = fairQueue.release(bagEntry);
+            if (tenantId != null && fairQueue.hasWaiters(tenantId)) {
+                // a waiter held back by the quota may now take an idle entry
+                values(BagEntry.State.STATE_FREE).forEach(this::handoffFree);
+            }
+        }
+
         val removed = sharedList.remove(bagEntry);
-        if (!removed && !closed) {
+        if (removed) {
+            bagEntry.stateCounters = null;
+            stateCounters.removed(bagEntry.getState());
+        } else if (!closed) {
             log.warn("Attempt to remove an object from the bag that does not exist: {}", bagEntry);
         }
 
@@ -205,19 +524,19 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
      * @return a possibly empty list of objects having the state specified
      */
     public List<T> values(final int state) {
-        val list = sharedList.stream().filter(e -> e.getState() == state).collect(Collectors.toList());
+        val list = sharedList.toList(e -> e.getState() == state);
         Collections.reverse(list);
         return list;
     }
 
     public List<T> valuesUsing() {
-        val list = sharedList.stream().filter(e -> e.isStateUsing()).collect(Collectors.toList());
+        val list = sharedList.toList(BagEntry::isStateUsing);
         Collections.reverse(list);
         return list;
     }
 
     public List<T> valuesFree() {
-        val list = sharedList.stream().filter(e -> e.isStateFree()).collect(Collectors.toList());
+        val list = sharedList.toList(BagEntry::isStateFree);
         Collections.reverse(list);
         return list;
     }
@@ -230,9 +549,8 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
      *
      * @return a possibly empty list of (all) bag items
      */
-    @SuppressWarnings("unchecked")
     public List<T> values() {
-        return (List<T>) sharedList.clone();
+        return sharedList.toList(null);
     }
 
     /**
@@ -258,16 +576,30 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
      * @param bagEntry the item to unreserve
      */
     public void unreserve(final T bagEntry) {
+        if (tenantIndex != null && bagEntry.getState() == BagEntry.State.STATE_RESERVED) {
+            tenantIndex.push(bagEntry);
+        }
+
         if (bagEntry.stateReservedToFree()) {
-            // spin until a thread takes it or none are waiting
-            while (waiters.get() > 0 && !handoffQueue.offer(bagEntry)) {
-                yield();
-            }
+            handoffFree(bagEntry);
         } else {
             log.warn("Attempt to relinquish an object to the bag that was not reserved: {}", bagEntry);
         }
     }
 
+    /**
+     * Compact the per-tenant free index and release the slots of tenants that went cold.
+     *
+     * @return the number of tenant slots reclaimed, 0 if the bag is not tenant indexed
+     */
+    public int reclaimColdTenants() {
+        if (fairQueue != null) {
+            fairQueue.purgeIdleTenants();
+        }
+
+        return tenantIndex != null ? tenantIndex.reclaimColdTenants() : 0;
+    }
+
     /**
      * Get the number of threads pending (waiting) for an item from the
      * bag to become available.
@@ -279,48 +611,98 @@ public class ConcurrentBag<T extends BagEntry> implements AutoCloseable {
     }
 
 
-    public int countStateUsing() {
-        int count = 0;
-        for (val e : sharedList) {
-            if (e.isStateUsing()) {
-                count++;
-            }
-        }
-        return count;
+    /**
+     * Get the number of borrows that scanned the shared list, having found nothing in the borrow cache.
+     *
+     * @return the number of shared list scans
+     */
+    public long getSharedScanCount() {
+        return sharedScans.sum();
     }
 
+    /**
+     * Get the number of CASes lost to other borrowers while scanning the shared list, a measure of
+     * contention between borrowers.
+     *
+     * @return the number of failed CASes on free entries
+     */
+    public long getBorrowCasFailureCount() {
+        return borrowCasFailures.sum();
+    }
+
+    /**
+     * Get the number of items in use, from the state counters.
+     *
+     * @return the number of items in use
+     */
+    public int countStateUsing() {
+        return stateCounters.get(BagEntry.State.STATE_USING);
+    }
 
+    /**
+     * Get the number of free items, from the state counters.
+     *
+     * @return the number of free items
+     */
     public int countStateFree() {
-        int count = 0;
-        for (val e : sharedList) {
-            if (e.isStateFree()) {
-                count++;
-            }
-        }
-        return count;
+        return stateCounters.get(BagEntry.State.STATE_FREE);
     }
 
     /**
-     * Get a count of the number of items in the specified state at the time of this call.
+     * Get a count of the number of items in the specified state, from the state counters.  The
+     * count may be off by the state transitions in flight, see {@link BagStateCounters}.
      *
      * @param state the state of the items to count
      * @return a count of how many items in the bag are in the specified state
      */
     public int getCount(final int state) {
-        int count = 0;
+        return stateCounters.get(state);
+    }
+
+    /**
+     * Get the counts of the items in each state, from the state counters.
+     *
+     * @return the counts of free, in use, reserved and removed items, followed by the total
+     * number of items and the number of waiting threads
+     */
+    public int[] getStateCounts() {
+        return toStateCounts(stateCounters.get(BagEntry.State.STATE_FREE), stateCounters.get(BagEntry.State.STATE_USING),
+                stateCounters.get(BagEntry.State.STATE_RESERVED), stateCounters.get(BagEntry.State.STATE_REMOVED));
+    }
+
+    /**
+     * Get the exact counts of the items in each state at the time of this call, by scanning all
+     * items in the bag.  Prefer {@link #getStateCounts()} unless exact counts are needed.
+     *
+     * @return the counts in the layout of {@link #getStateCounts()}
+     */
+    public int[] getExactStateCounts() {
+        int free = 0, using = 0, reserved = 0, removed = 0;
         for (val e : sharedList) {
-            if (e.getState() == state) {
-                count++;
+            switch (e.getState()) {
+                case BagEntry.State.STATE_FREE:
+                    free++;
+                    break;
+                case BagEntry.State.STATE_USING:
+                    using++;
+                    break;
+                case BagEntry.State.STATE_RESERVED:
+                    reserved++;
+                    break;
+                default:
+                    removed++;
             }
         }
-        return count;
+
+        return toStateCounts(free, using, reserved, removed);
     }
 
-    public int[] getStateCounts() {
+    private int[] toStateCounts(final int free, final int using, final int reserved, final int removed) {
         final int[] states = new int[6];
-        for (val e : sharedList) {
-            ++states[e.getState()];
-        }
+        states[0] = free;
+        states[1] = using;
+        states[2] = reserved;
+        states[3] = removed;
         states[4] = sharedList.size();
         states[5] = waiters.get();
 
@@ -0,0 +1,266 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * The shared list of a {@link ConcurrentBag}: an array of slots that entries are added to and
+ * removed from without copying, so that connection churn (short max lifetimes, idle timeouts,
+ * mass soft eviction) produces no garbage and takes no lock.
+ * <p>
+ * Free slot indices are kept on a lock-free (Treiber) stack whose head carries a stamp against
+ * ABA.  An entry remembers its slot, so {@link #remove(BagEntry)} is a single CAS.  Iteration reads
+ * the slots in order and skips empty ones; it never blocks and never fails, but like any weakly
+ * consistent iteration it may or may not see entries added or removed meanwhile.
+ * <p>
+ * The array is made of segments sized from the expected capacity, normally the maximum pool size.
+ * When every slot is taken another segment is appended; existing segments are never copied, so an
+ * add or a remove cannot be lost to a concurrent growth.
+ *
+ * @param <T> the templated type of the entries
+ */
+final class ConcurrentSlotArray<T extends BagEntry> implements Iterable<T> {
+    private static final int MIN_SEGMENT_SIZE = 16;
+    private static final int EMPTY = -1;
+
+    private final int segmentShift;
+    private final int segmentMask;
+    private final AtomicLong freeHead = new AtomicLong(pack(0, EMPTY));
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Segment<T>[] segments;
+
+    /**
+     * Construct a ConcurrentSlotArray.
+     *
+     * @param capacity the expected number of entries, the array grows beyond it if needed
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ConcurrentSlotArray(final int capacity) {
+        int segmentSize = MIN_SEGMENT_SIZE;
+        while (segmentSize < capacity) {
+            segmentSize <<= 1;
+        }
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.segmentMask = segmentSize - 1;
+        this.segments = new Segment[0];
+    }
+
+    /**
+     * Add an entry to a free slot, appending a segment if there is none.
+     *
+     * @param entry the entry to add, which must not be in the array already
+     */
+    void add(final T entry) {
+        int index;
+        while ((index = popFreeSlot()) == EMPTY) {
+            grow();
+        }
+
+        entry.slot = index;
+        segments[index >>> segmentShift].entries.set(index & segmentMask, entry);
+        size.incrementAndGet();
+    }
+
+    /**
+     * Remove an entry and free its slot.
+     *
+     * @param entry the entry to remove
+     * @return true if the entry was in the array, false otherwise
+     */
+    boolean remove(final T entry) {
+        val index = entry.slot;
+        if (index < 0 || index >= capacity() || !segments[index >>> segmentShift].entries.compareAndSet(index & segmentMask, entry, null)) {
+            return false;
+        }
+
+        entry.slot = EMPTY;
+        size.decrementAndGet();
+        pushFreeSlot(index);
+        return true;
+    }
+
+    /**
+     * Get the number of entries in the array.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Get a snapshot of the entries matching the specified filter.
+     *
+     * @param filter the filter, or null for all entries
+     * @return a new list of the matching entries, in slot order
+     */
+    List<T> toList(final Predicate<T> filter) {
+        val list = new ArrayList<T>(size.get());
+        for (val entry : this) {
+            if (filter == null || filter.test(entry)) {
+                list.add(entry);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new SlotIterator(0);
+    }
+
+    /**
+     * Get an iterator over the entries starting at the specified position and wrapping around, so that
+     * concurrent scans starting at different positions fan out over the entries.
+     *
+     * @param start the position to start at, any int
+     * @return an iterator visiting every slot once
+     */
+    Iterator<T> iterator(final int start) {
+        return new SlotIterator(start);
+    }
+
+    private int capacity() {
+        return segments.length << segmentShift;
+    }
+
+    private int popFreeSlot() {
+        while (true) {
+            val head = freeHead.get();
+            val index = index(head);
+            if (index == EMPTY) {
+                return EMPTY;
+            }
+
+            // a stale link read after a concurrent pop and push fails the stamped CAS below
+            val next = segments[index >>> segmentShift].nextFree.get(index & segmentMask);
+            if (freeHead.compareAndSet(head, pack(stamp(head) + 1, next))) {
+                return index;
+            }
+        }
+    }
+
+    private void pushFreeSlot(final int index) {
+        pushFreeSlots(index, index);
+    }
+
+    private void pushFreeSlots(final int first, final int last) {
+        val nextFree = segments[last >>> segmentShift].nextFree;
+        while (true) {
+            val head = freeHead.get();
+            nextFree.set(last & segmentMask, index(head));
+            if (freeHead.compareAndSet(head, pack(stamp(head) + 1, first))) {
+                return;
+            }
+        }
+    }
+
+    private synchronized void grow() {
+        if (index(freeHead.get()) != EMPTY) {
+            return; // another thread grew the array, or a slot was freed meanwhile
+        }
+
+        val current = segments;
+        val segmentSize = segmentMask + 1;
+        val base = current.length << segmentShift;
+        val segment = new Segment<T>(segmentSize);
+        for (int i = 0; i < segmentSize - 1; i++) {
+            segment.nextFree.set(i, base + i + 1);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Segment<T>[] grown = new Segment[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = segment;
+        segments = grown;
+
+        pushFreeSlots(base, base + segmentSize - 1);
+    }
+
+    private static long pack(final int stamp, final int index) {
+        return ((long) stamp << 32) | (index & 0xffffffffL);
+    }
+
+    private static int stamp(final long head) {
+        return (int) (head >>> 32);
+    }
+
+    private static int index(final long head) {
+        return (int) head;
+    }
+
+    private static final class Segment<T> {
+        private final AtomicReferenceArray<T> entries;
+        private final AtomicIntegerArray nextFree;
+
+        Segment(final int size) {
+            this.entries = new AtomicReferenceArray<>(size);
+            this.nextFree = new AtomicIntegerArray(size);
+        }
+    }
+
+    private final class SlotIterator implements Iterator<T> {
+        private final Segment<T>[] snapshot = segments;
+        private final int capacity = snapshot.length << segmentShift;
+        private int index;
+        private int remaining = capacity;
+        private T next;
+
+        SlotIterator(final int start) {
+            index = capacity == 0 ? 0 : Math.floorMod(start, capacity);
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            val entry = next;
+            if (entry == null) {
+                throw new NoSuchElementException();
+            }
+
+            next = advance();
+            return entry;
+        }
+
+        private T advance() {
+            while (remaining > 0) {
+                // walk the rest of the current segment without looking up the segment again
+                val entries = snapshot[index >>> segmentShift].entries;
+                val end = Math.min((index | segmentMask) + 1, index + remaining);
+                while (index < end) {
+                    val entry = entries.get(index++ & segmentMask);
+                    remaining--;
+                    if (entry != null) {
+                        wrap();
+                        return entry;
+                    }
+                }
+                wrap();
+            }
+            return null;
+        }
+
+        private void wrap() {
+            if (index == capacity) {
+                index = 0;
+            }
+        }
+    }
+}
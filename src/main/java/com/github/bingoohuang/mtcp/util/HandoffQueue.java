@@ -0,0 +1,150 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.github.bingoohuang.mtcp.util.ClockSource.currentTime;
+import static com.github.bingoohuang.mtcp.util.ClockSource.elapsedNanos;
+
+/**
+ * The FIFO queue of borrowers waiting on a {@link ConcurrentBag} without tenant limits.
+ * <p>
+ * Each waiting borrower publishes a waiter slot and parks.  A returned or added entry is CAS'ed
+ * straight into the slot of the oldest waiter, which is then unparked, so handing an entry over
+ * never spins however many borrowers are waiting, and the entry stays in use on the way so no
+ * other borrower can steal it.  A waiter that times out or is interrupted withdraws its slot with
+ * the same CAS, so each slot is settled exactly once.
+ *
+ * @param <T> the templated type of the bag entries
+ */
+public class HandoffQueue<T extends BagEntry> {
+    private final ConcurrentLinkedQueue<Waiter<T>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    /**
+     * Get whether any borrower is waiting.
+     *
+     * @return true if at least one waiter is queued
+     */
+    public boolean hasWaiters() {
+        return waiterCount.get() > 0;
+    }
+
+    /**
+     * Publish a waiter for the calling thread at the tail of the queue.
+     *
+     * @return the waiter to pass to {@link #await(Waiter, long)} or {@link #cancel(Waiter)}
+     */
+    public Waiter<T> enqueue() {
+        val waiter = new Waiter<T>(Thread.currentThread());
+        waiterCount.incrementAndGet();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Park until an entry is handed to the waiter or the timeout elapses.
+     *
+     * @param waiter       the waiter returned by {@link #enqueue()}
+     * @param timeoutNanos the maximum time to wait
+     * @return the entry handed to the waiter, or null on timeout
+     * @throws InterruptedException if interrupted while waiting and no entry was handed over
+     */
+    public T await(final Waiter<T> waiter, long timeoutNanos) throws InterruptedException {
+        while (waiter.item == null) {
+            if (Thread.interrupted()) {
+                if (cancel(waiter)) {
+                    throw new InterruptedException();
+                }
+
+                // an entry was handed over meanwhile, take it and keep the interrupt for the caller
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (timeoutNanos <= 0L) {
+                if (cancel(waiter)) {
+                    return null;
+                }
+                break;
+            }
+
+            val start = currentTime();
+            LockSupport.parkNanos(this, timeoutNanos);
+            timeoutNanos -= elapsedNanos(start);
+        }
+
+        return waiter.getEntry();
+    }
+
+    /**
+     * Withdraw the waiter from the queue.
+     *
+     * @param waiter the waiter returned by {@link #enqueue()}
+     * @return true if withdrawn, false if an entry was already handed to it
+     */
+    public boolean cancel(final Waiter<T> waiter) {
+        if (Waiter.ITEM.compareAndSet(waiter, null, waiter)) {
+            waiterCount.decrementAndGet();
+            waiters.remove(waiter);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Hand an in-use entry directly to the oldest waiter.  The entry stays in use, so no other
+     * borrower can steal it on the way.
+     *
+     * @param bagEntry the entry to hand over
+     * @return true if a waiter took the entry, false if nobody is waiting
+     */
+    public boolean handoff(final T bagEntry) {
+        while (hasWaiters()) {
+            val waiter = waiters.poll();
+            if (waiter == null) {
+                return false;
+            }
+
+            if (Waiter.ITEM.compareAndSet(waiter, null, bagEntry)) {
+                waiterCount.decrementAndGet();
+                LockSupport.unpark(waiter.thread);
+                return true;
+            }
+
+            // the waiter timed out concurrently, try the next one
+        }
+
+        return false;
+    }
+
+    /**
+     * A borrower parked in the queue.  The item slot is set exactly once, either to the
+     * handed-over entry or to the waiter itself when cancelled.
+     *
+     * @param <T> the templated type of the bag entries
+     */
+    public static final class Waiter<T extends BagEntry> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Waiter, Object> ITEM =
+                AtomicReferenceFieldUpdater.newUpdater(Waiter.class, Object.class, "item");
+
+        private final Thread thread;
+        private volatile Object item;
+
+        private Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T getEntry() {
+            val entry = item;
+            return entry == this ? null : (T) entry;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link ScheduledExecutorService} on a single timer thread, for the housekeeping of many pools.
+ * <p>
+ * Tasks are hashed by their deadline into the buckets of a wheel that advances one bucket per tick, so
+ * scheduling and cancelling are O(1) however many tasks are pending, and a cancelled task is unlinked at
+ * the next tick.  Deadlines are rounded up to the tick, so a task never runs early but may run up to one
+ * tick late.  The timer thread parks while no task is scheduled.
+ * <p>
+ * Tasks run on the timer thread itself and must therefore be short; blocking work should be handed to
+ * another executor.  Delayed tasks are cancelled on shutdown.
+ */
+public final class HashedWheelScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    private final long tickNanos;
+    private final WheelTask<?>[] wheel;
+    private final int mask;
+    private final long startNanos;
+    private final Queue<WheelTask<?>> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger taskCount = new AtomicInteger();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final Thread worker;
+    private volatile boolean shutdown;
+
+    // only accessed by the timer thread
+    private long lastTick;
+
+    /**
+     * Construct and start a HashedWheelScheduler.
+     *
+     * @param threadFactory the factory of the timer thread
+     * @param tickMillis    the duration of one tick, which is the resolution of the scheduler
+     * @param wheelSize     the number of buckets, rounded up to a power of two
+     */
+    public HashedWheelScheduler(final ThreadFactory threadFactory, final long tickMillis, final int wheelSize) {
+        this.tickNanos = MILLISECONDS.toNanos(Math.max(1L, tickMillis));
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new WheelTask<?>[size];
+        this.mask = size - 1;
+
+        this.startNanos = System.nanoTime();
+        this.worker = threadFactory.newThread(this::runWheel);
+        this.worker.start();
+    }
+
+    /**
+     * Get the number of scheduled tasks, including periodic tasks between two runs.
+     *
+     * @return the number of scheduled tasks
+     */
+    public int getTaskCount() {
+        return taskCount.get();
+    }
+
+    // ***********************************************************************
+    //                     ScheduledExecutorService methods
+    // ***********************************************************************
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        return enqueue(new WheelTask<Void>(command, triggerTime(delay, unit), 0L));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        return enqueue(new WheelTask<>(callable, triggerTime(delay, unit)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return enqueue(new WheelTask<Void>(command, triggerTime(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
+        if (delay <= 0L) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return enqueue(new WheelTask<Void>(command, triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final Runnable command) {
+        schedule(command, 0L, NANOSECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return new ArrayList<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    // ***********************************************************************
+    //                          Private methods
+    // ***********************************************************************
+
+    private long triggerTime(final long delay, final TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0L, delay));
+    }
+
+    private <V> WheelTask<V> enqueue(final WheelTask<V> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler has been shut down");
+        }
+
+        val wasIdle = taskCount.getAndIncrement() == 0;
+        additions.add(task);
+        if (wasIdle) {
+            // the timer thread may be parked without a timeout
+            LockSupport.unpark(worker);
+        }
+        return task;
+    }
+
+    private void runWheel() {
+        try {
+            while (!shutdown) {
+                val now = System.nanoTime();
+                val currentTick = (now - startNanos) / tickNanos;
+
+                transferAdditions(currentTick);
+                processCancellations();
+                if (currentTick > lastTick) {
+                    expire(currentTick);
+                    lastTick = currentTick;
+                }
+
+                if (taskCount.get() == 0) {
+                    LockSupport.park(this);
+                } else if (additions.isEmpty()) {
+                    LockSupport.parkNanos(this, startNanos + (lastTick + 1) * tickNanos - System.nanoTime());
+                }
+            }
+        } finally {
+            cancelAll();
+            terminated.countDown();
+        }
+    }
+
+    private void transferAdditions(final long currentTick) {
+        WheelTask<?> task;
+        while ((task = additions.poll()) != null) {
+            if (task.isCancelled()) {
+                taskCount.decrementAndGet();
+                continue;
+            }
+
+            // round up, so that the task never runs before its deadline
+            val deadlineTick = (task.deadline - startNanos + tickNanos - 1) / tickNanos;
+            if (deadlineTick <= currentTick) {
+                fire(task);
+            } else {
+                task.deadlineTick = deadlineTick;
+                link(task, (int) (deadlineTick & mask));
+            }
+        }
+    }
+
+    private void processCancellations() {
+        WheelTask<?> task;
+        while ((task = cancellations.poll()) != null) {
+            if (task.bucket >= 0) {
+                unlink(task);
+                taskCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void expire(final long currentTick) {
+        // after a long park, every bucket of the ticks we slept through is due, but each only once
+        for (long tick = Math.max(lastTick + 1, currentTick - mask); tick <= currentTick; tick++) {
+            WheelTask<?> task = wheel[(int) (tick & mask)];
+            while (task != null) {
+                val next = task.next;
+                if (task.deadlineTick <= currentTick) {
+                    unlink(task);
+                    fire(task);
+                }
+                task = next;
+            }
+        }
+    }
+
+    private void fire(final WheelTask<?> task) {
+        if (!task.isPeriodic()) {
+            taskCount.decrementAndGet();
+            task.run();
+        } else if (task.runPeriodic()) {
+            additions.add(task);
+        } else {
+            taskCount.decrementAndGet();
+        }
+    }
+
+    private void cancelAll() {
+        for (int i = 0; i < wheel.length; i++) {
+            WheelTask<?> task = wheel[i];
+            while (task != null) {
+                val next = task.next;
+                unlink(task);
+                task.cancel(false);
+                task = next;
+            }
+        }
+
+        WheelTask<?> task;
+        while ((task = additions.poll()) != null) {
+            task.cancel(false);
+        }
+        cancellations.clear();
+        taskCount.set(0);
+    }
+
+    private void link(final WheelTask<?> task, final int bucket) {
+        val head = wheel[bucket];
+        task.bucket = bucket;
+        task.prev = null;
+        task.next = head;
+        if (head != null) {
+            head.prev = task;
+        }
+        wheel[bucket] = task;
+    }
+
+    private void unlink(final WheelTask<?> task) {
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            wheel[task.bucket] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.prev = task.next = null;
+        task.bucket = -1;
+    }
+
+    /**
+     * A task in the wheel.  The links and the bucket are only accessed by the timer thread.
+     *
+     * @param <V> the result type of the task
+     */
+    private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        /**
+         * The period in nanoseconds: positive for a fixed rate, negative for a fixed delay, 0 for one shot.
+         */
+        private final long period;
+        private volatile long deadline;
+
+        private long deadlineTick;
+        private int bucket = -1;
+        private WheelTask<?> prev;
+        private WheelTask<?> next;
+
+        WheelTask(final Runnable runnable, final long deadline, final long period) {
+            super(runnable, null);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        WheelTask(final Callable<V> callable, final long deadline) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = 0L;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0L;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return other == this ? 0 : Long.compare(getDelay(NANOSECONDS), other.getDelay(NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            val cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                cancellations.add(this);
+            }
+            return cancelled;
+        }
+
+        /**
+         * Run a periodic task and compute its next deadline.
+         *
+         * @return true if the task is to be scheduled again
+         */
+        boolean runPeriodic() {
+            if (!runAndReset()) {
+                return false;
+            }
+
+            deadline = period > 0L ? deadline + period : System.nanoTime() - period;
+            return !shutdown;
+        }
+    }
+}
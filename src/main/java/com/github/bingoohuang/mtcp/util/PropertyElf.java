@@ -83,6 +83,11 @@ public final class PropertyElf {
         return copy;
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parseEnum(final Class<?> enumClass, final String name) {
+        return Enum.valueOf((Class<Enum>) enumClass, name.trim().toUpperCase(Locale.ENGLISH));
+    }
+
     private static void setProperty(final Object target, final String propName, final Object propValue, final List<Method> methods) {
         // use the english locale to avoid the infamous turkish locale bug
         String methodName = "set" + propName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propName.substring(1);
@@ -108,6 +113,8 @@ public final class PropertyElf {
                 writeMethod.invoke(target, Boolean.parseBoolean(propValue.toString()));
             } else if (paramClass == String.class) {
                 writeMethod.invoke(target, propValue.toString());
+            } else if (paramClass.isEnum() && propValue instanceof String) {
+                writeMethod.invoke(target, parseEnum(paramClass, propValue.toString()));
             } else {
                 writeMethod.invoke(target, propValue);
             }
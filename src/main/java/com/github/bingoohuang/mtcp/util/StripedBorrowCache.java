@@ -0,0 +1,93 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A borrow cache shared by all threads, for threads that borrow once and die, such as a virtual thread
+ * per request.  Nothing is allocated per thread: returned entries are parked in a few slots of one of as
+ * many stripes as there are processors, and a borrow probes the stripe of its thread first, then the
+ * others.  Java offers no portable way to find the carrier or the core a thread runs on, so the stripe
+ * is picked by hashing the thread id, which spreads concurrent borrowers over the stripes just as well.
+ * <p>
+ * A full stripe simply drops the entry, which stays borrowable from the shared list of the bag.
+ *
+ * @param <T> the templated type of the bag entries
+ */
+public class StripedBorrowCache<T extends BagEntry> implements BorrowCache<T> {
+    private static final int SLOTS_PER_STRIPE = 4;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int stripeMask;
+
+    /**
+     * Construct a StripedBorrowCache with a stripe per available processor.
+     */
+    public StripedBorrowCache() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct a StripedBorrowCache.
+     *
+     * @param stripes the number of stripes, rounded up to a power of two
+     */
+    public StripedBorrowCache(final int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripeMask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size * SLOTS_PER_STRIPE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(final T bagEntry) {
+        val base = stripeOf(Thread.currentThread()) * SLOTS_PER_STRIPE;
+        for (int i = base; i < base + SLOTS_PER_STRIPE; i++) {
+            val cached = slots.get(i);
+            if ((cached == null || !cached.isStateFree()) && slots.compareAndSet(i, cached, bagEntry)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get() {
+        return get(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(final String tenantId) {
+        val length = slots.length();
+        val base = stripeOf(Thread.currentThread()) * SLOTS_PER_STRIPE;
+        for (int n = 0; n < length; n++) {
+            val i = (base + n) & (length - 1);
+            val bagEntry = slots.get(i);
+            if (bagEntry == null || (tenantId != null && bagEntry.isStateFree() && !tenantId.equals(bagEntry.getTenantId()))) {
+                continue;
+            }
+
+            // take it out of the cache first, so that two borrowers never both try it
+            if (slots.compareAndSet(i, bagEntry, null) && bagEntry.stateFreeToUsing()) {
+                return bagEntry;
+            }
+        }
+
+        return null;
+    }
+
+    private int stripeOf(final Thread thread) {
+        return UtilityElf.threadHash(thread) & stripeMask;
+    }
+}
@@ -0,0 +1,360 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.github.bingoohuang.mtcp.util.ClockSource.currentTime;
+import static com.github.bingoohuang.mtcp.util.ClockSource.elapsedNanos;
+
+/**
+ * Per-tenant in-use quotas and weighted fair queuing of waiters for a {@link ConcurrentBag}.
+ * <p>
+ * Every borrow takes a permit of the borrower's tenant, which is given back when the entry is
+ * requited or removed, so a tenant never holds more than its quota of entries.  Borrowers that
+ * find no free entry, or that are over their quota, wait in a queue of their own tenant.  A
+ * returned entry is handed directly to the waiter of the eligible tenant with the smallest
+ * virtual finish time, where each grant advances the tenant's finish time by {@code 1 / weight}.
+ * A hot tenant therefore queues behind its own quota instead of starving everyone else.
+ *
+ * @param <T> the templated type of the bag entries
+ */
+public class TenantFairQueue<T extends BagEntry> {
+    private static final String NO_TENANT = "";
+
+    /**
+     * The source of the per-tenant limits, consulted on every decision so that runtime changes
+     * take effect immediately.
+     */
+    public interface TenantLimits {
+        /**
+         * @param tenantId the tenant id
+         * @return the maximum number of entries the tenant may have in use, 0 for unlimited
+         */
+        int getMaxInUse(String tenantId);
+
+        /**
+         * @param tenantId the tenant id
+         * @return the relative weight of the tenant when serving waiters, at least 1
+         */
+        int getWeight(String tenantId);
+    }
+
+    private final TenantLimits limits;
+    private final Map<String, Tenant<T>> tenants = new ConcurrentHashMap<>();
+    private final Set<Tenant<T>> waitingTenants = new LinkedHashSet<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+    private double virtualTime;
+
+    public TenantFairQueue(final TenantLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Take a permit of the tenant, unless it already has its quota of entries in use.
+     *
+     * @param tenantId the tenant id, may be null
+     * @return true if the permit was taken
+     */
+    public boolean tryAcquire(final String tenantId) {
+        for (; ; ) {
+            val tenant = tenantOf(tenantId);
+            if (!tenant.tryAcquire(limits.getMaxInUse(tenantId))) {
+                return false;
+            }
+
+            if (!tenant.retired) {
+                return true;
+            }
+
+            // raced with purgeIdleTenants(), retry against the live tenant
+            tenant.inUse.decrementAndGet();
+        }
+    }
+
+    /**
+     * Give back a permit taken by {@link #tryAcquire(String)} that was not bound to an entry.
+     *
+     * @param tenantId the tenant id, may be null
+     */
+    public void release(final String tenantId) {
+        tenantOf(tenantId).inUse.decrementAndGet();
+    }
+
+    /**
+     * Record that the entry holds a permit of the tenant.
+     *
+     * @param bagEntry the borrowed entry
+     * @param tenantId the tenant id, may be null
+     */
+    public void bind(final T bagEntry, final String tenantId) {
+        bagEntry.quotaTenantId = tenantId == null ? NO_TENANT : tenantId;
+    }
+
+    /**
+     * Give back the permit held by the entry, if any.
+     *
+     * @param bagEntry the entry being requited or removed
+     * @return the tenant whose permit was released, or null if the entry held none
+     */
+    public String release(final T bagEntry) {
+        val tenantId = bagEntry.quotaTenantId;
+        if (tenantId != null) {
+            bagEntry.quotaTenantId = null;
+            tenantOf(tenantId).inUse.decrementAndGet();
+        }
+
+        return tenantId;
+    }
+
+    /**
+     * Get whether any borrower is waiting.
+     *
+     * @return true if at least one waiter is queued
+     */
+    public boolean hasWaiters() {
+        return waiterCount.get() > 0;
+    }
+
+    /**
+     * Get whether the tenant has any borrower waiting.
+     *
+     * @param tenantId the tenant id, may be null
+     * @return true if at least one waiter of the tenant is queued
+     */
+    public boolean hasWaiters(final String tenantId) {
+        val tenant = tenants.get(tenantId == null ? NO_TENANT : tenantId);
+        return tenant != null && !tenant.waiters.isEmpty();
+    }
+
+    /**
+     * Publish a waiter for the calling thread in the queue of its tenant.
+     *
+     * @param tenantId the tenant id, may be null
+     * @return the waiter to pass to {@link #await(Waiter, long)} or {@link #cancel(Waiter)}
+     */
+    public Waiter<T> enqueue(final String tenantId) {
+        Tenant<T> tenant;
+        Waiter<T> waiter;
+        do {
+            tenant = tenantOf(tenantId);
+            waiter = new Waiter<>(tenant, Thread.currentThread());
+            tenant.waiters.add(waiter);
+        } while (tenant.retired && tenant.waiters.remove(waiter));
+
+        synchronized (this) {
+            // a tenant that becomes backlogged starts at the current virtual time, not with old credit
+            if (waitingTenants.add(tenant)) {
+                tenant.finish = Math.max(tenant.finish, virtualTime);
+            }
+        }
+        // counted last, so that a requiter seeing the count also finds the waiter in its tenant queue
+        waiterCount.incrementAndGet();
+
+        return waiter;
+    }
+
+    /**
+     * Park until an entry is handed to the waiter or the timeout elapses.
+     *
+     * @param waiter       the waiter returned by {@link #enqueue(String)}
+     * @param timeoutNanos the maximum time to wait
+     * @return the entry handed to the waiter, or null on timeout
+     * @throws InterruptedException if interrupted while waiting and no entry was handed over
+     */
+    public T await(final Waiter<T> waiter, long timeoutNanos) throws InterruptedException {
+        while (waiter.item == null) {
+            if (Thread.interrupted()) {
+                if (cancel(waiter)) {
+                    throw new InterruptedException();
+                }
+
+                // an entry was handed over meanwhile, take it and keep the interrupt for the caller
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (timeoutNanos <= 0L) {
+                if (cancel(waiter)) {
+                    return null;
+                }
+                break;
+            }
+
+            val start = currentTime();
+            LockSupport.parkNanos(this, timeoutNanos);
+            timeoutNanos -= elapsedNanos(start);
+        }
+
+        return waiter.getEntry();
+    }
+
+    /**
+     * Withdraw the waiter from its queue.
+     *
+     * @param waiter the waiter returned by {@link #enqueue(String)}
+     * @return true if withdrawn, false if an entry was already handed to it
+     */
+    public boolean cancel(final Waiter<T> waiter) {
+        if (Waiter.ITEM.compareAndSet(waiter, null, waiter)) {
+            waiter.tenant.waiters.remove(waiter);
+            waiterCount.decrementAndGet();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Hand an in-use entry directly to the waiter of the eligible tenant with the smallest
+     * virtual finish time, taking a permit of that tenant on its behalf.  The entry stays
+     * in use, so no other borrower can steal it on the way.
+     *
+     * @param bagEntry the entry to hand over
+     * @return true if a waiter took the entry, false if no eligible waiter exists
+     */
+    public boolean handoff(final T bagEntry) {
+        while (hasWaiters()) {
+            val waiter = pollEligible();
+            if (waiter == null) {
+                return false;
+            }
+
+            bagEntry.quotaTenantId = waiter.tenant.id;
+            if (Waiter.ITEM.compareAndSet(waiter, null, bagEntry)) {
+                waiterCount.decrementAndGet();
+                LockSupport.unpark(waiter.thread);
+                return true;
+            }
+
+            // the waiter timed out concurrently, give its permit back and try the next one
+            bagEntry.quotaTenantId = null;
+            waiter.tenant.inUse.decrementAndGet();
+        }
+
+        return false;
+    }
+
+    /**
+     * Forget tenants that have no entry in use and nobody waiting.
+     */
+    public void purgeIdleTenants() {
+        for (val tenant : tenants.values()) {
+            // retire first, so a concurrent acquire or enqueue either is seen here or sees the flag
+            tenant.retired = true;
+            if (tenant.inUse.get() == 0 && tenant.waiters.isEmpty()) {
+                tenants.remove(tenant.id, tenant);
+            } else {
+                tenant.retired = false;
+            }
+        }
+    }
+
+    private synchronized Waiter<T> pollEligible() {
+        Tenant<T> best = null;
+        double bestFinish = Double.MAX_VALUE;
+        for (Iterator<Tenant<T>> it = waitingTenants.iterator(); it.hasNext(); ) {
+            final Tenant<T> tenant = it.next();
+            if (tenant.waiters.isEmpty()) {
+                it.remove();
+                continue;
+            }
+
+            final double finish = tenant.finish + 1.0 / Math.max(1, limits.getWeight(tenant.key()));
+            if (finish < bestFinish && tenant.hasRoom(limits.getMaxInUse(tenant.key()))) {
+                best = tenant;
+                bestFinish = finish;
+            }
+        }
+
+        if (best == null || !best.tryAcquire(limits.getMaxInUse(best.key()))) {
+            return null;
+        }
+
+        virtualTime = Math.max(virtualTime, best.finish);
+        best.finish = bestFinish;
+
+        val waiter = best.waiters.poll();
+        if (waiter == null) {
+            best.inUse.decrementAndGet();
+        }
+        if (best.waiters.isEmpty()) {
+            waitingTenants.remove(best);
+        }
+        return waiter;
+    }
+
+    private Tenant<T> tenantOf(final String tenantId) {
+        val id = tenantId == null ? NO_TENANT : tenantId;
+        val tenant = tenants.get(id);
+        return tenant != null ? tenant : tenants.computeIfAbsent(id, Tenant::new);
+    }
+
+    private static final class Tenant<T extends BagEntry> {
+        final String id;
+        final AtomicInteger inUse = new AtomicInteger();
+        final ConcurrentLinkedQueue<Waiter<T>> waiters = new ConcurrentLinkedQueue<>();
+        volatile boolean retired;
+        double finish;
+
+        Tenant(String id) {
+            this.id = id;
+        }
+
+        String key() {
+            return id.isEmpty() ? null : id;
+        }
+
+        boolean hasRoom(int maxInUse) {
+            return maxInUse <= 0 || inUse.get() < maxInUse;
+        }
+
+        boolean tryAcquire(int maxInUse) {
+            for (; ; ) {
+                val current = inUse.get();
+                if (maxInUse > 0 && current >= maxInUse) {
+                    return false;
+                }
+
+                if (inUse.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * A borrower parked in the queue of its tenant.  The item slot is set exactly once, either to
+     * the handed-over entry or to the waiter itself when cancelled.
+     *
+     * @param <T> the templated type of the bag entries
+     */
+    public static final class Waiter<T extends BagEntry> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Waiter, Object> ITEM =
+                AtomicReferenceFieldUpdater.newUpdater(Waiter.class, Object.class, "item");
+
+        private final Tenant<T> tenant;
+        private final Thread thread;
+        private volatile Object item;
+
+        private Waiter(Tenant<T> tenant, Thread thread) {
+            this.tenant = tenant;
+            this.thread = thread;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T getEntry() {
+            val entry = item;
+            return entry == this ? null : (T) entry;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An index from tenant id to a lock-free (Treiber) stack of free bag entries bound to that
+ * tenant, so that a tenant-affinity borrow is O(1) instead of a scan of the shared list.
+ * <p>
+ * Tenant ids are interned to small int slots.  Each entry carries an index stamp that is bumped
+ * every time the entry is pushed, so at most one node per entry is current.  Entries borrowed
+ * through another path or reserved are skipped when popped, superseded and removed entries are
+ * dropped when the stack is compacted, and slots of tenants that went cold are reclaimed by
+ * {@link #reclaimColdTenants()}.
+ *
+ * @param <T> the templated type of the bag entries
+ */
+public class TenantFreeIndex<T extends BagEntry> {
+    private static final int COMPACT_THRESHOLD = 16;
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private volatile AtomicReferenceArray<TenantStack<T>> stacks = new AtomicReferenceArray<>(16);
+    private int nextSlot;
+
+    /**
+     * Index a free entry under its current tenant.  Must only be called by the thread owning
+     * the entry, right before it becomes free.
+     *
+     * @param bagEntry the entry to index
+     */
+    public void push(final T bagEntry) {
+        val stamp = bagEntry.nextIndexStamp();
+        val tenantId = bagEntry.getTenantId();
+        if (tenantId == null) {
+            return;
+        }
+
+        val stack = stackOf(intern(tenantId));
+        if (stack != null) {
+            stack.push(new Node<>(bagEntry, stamp));
+        }
+    }
+
+    /**
+     * Borrow a free entry bound to the specified tenant.
+     *
+     * @param tenantId the tenant to borrow for
+     * @return an entry that was CAS'ed from free to using, or null if there is none
+     */
+    public T pop(final String tenantId) {
+        val slot = slots.get(tenantId);
+        if (slot == null) {
+            return null;
+        }
+
+        val stack = stackOf(slot);
+        if (stack == null) {
+            return null;
+        }
+
+        for (Node<T> node = stack.pop(); node != null; node = stack.pop()) {
+            val bagEntry = node.entry;
+            if (node.isCurrent() && tenantId.equals(bagEntry.getTenantId()) && bagEntry.stateFreeToUsing()) {
+                return bagEntry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compact all stacks, and release the slots of tenants that had no free entry pushed since
+     * the previous call and no longer hold any current node.
+     *
+     * @return the number of tenant slots reclaimed
+     */
+    public int reclaimColdTenants() {
+        int reclaimed = 0;
+        for (val slot : slots.entrySet()) {
+            val stack = stackOf(slot.getValue());
+            if (stack == null) {
+                continue;
+            }
+
+            val touched = stack.touched;
+            stack.touched = false;
+            if (stack.compact() == 0 && !touched && slots.remove(slot.getKey(), slot.getValue())) {
+                releaseSlot(slot.getValue());
+                reclaimed++;
+            }
+        }
+
+        return reclaimed;
+    }
+
+    /**
+     * Get the number of tenants currently holding an interned slot.
+     *
+     * @return the number of interned tenants
+     */
+    public int getTenantCount() {
+        return slots.size();
+    }
+
+    private TenantStack<T> stackOf(final int slot) {
+        val array = stacks;
+        return slot < array.length() ? array.get(slot) : null;
+    }
+
+    private int intern(final String tenantId) {
+        val slot = slots.get(tenantId);
+        return slot != null ? slot : slots.computeIfAbsent(tenantId, k -> allocateSlot());
+    }
+
+    private synchronized int allocateSlot() {
+        val slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+
+        AtomicReferenceArray<TenantStack<T>> array = stacks;
+        if (slot >= array.length()) {
+            val grown = new AtomicReferenceArray<TenantStack<T>>(array.length() * 2);
+            for (int i = 0; i < array.length(); i++) {
+                grown.set(i, array.get(i));
+            }
+            stacks = array = grown;
+        }
+
+        array.set(slot, new TenantStack<>());
+        return slot;
+    }
+
+    private synchronized void releaseSlot(final int slot) {
+        freeSlots.push(slot);
+    }
+
+    private static final class Node<T extends BagEntry> {
+        final T entry;
+        final int stamp;
+        Node<T> next;
+
+        Node(T entry, int stamp) {
+            this.entry = entry;
+            this.stamp = stamp;
+        }
+
+        boolean isCurrent() {
+            return entry.getIndexStamp() == stamp && entry.getState() != BagEntry.State.STATE_REMOVED;
+        }
+    }
+
+    private static final class TenantStack<T extends BagEntry> {
+        private final AtomicReference<Node<T>> top = new AtomicReference<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private volatile int compactAt = COMPACT_THRESHOLD;
+        volatile boolean touched = true;
+
+        void push(final Node<T> node) {
+            touched = true;
+            pushNode(node);
+
+            // entries borrowed through the thread-local or shared lists leave stale nodes behind
+            if (size.get() > compactAt) {
+                compactAt = Math.max(COMPACT_THRESHOLD, 2 * compact());
+            }
+        }
+
+        Node<T> pop() {
+            for (; ; ) {
+                val node = top.get();
+                if (node == null) {
+                    return null;
+                }
+
+                if (top.compareAndSet(node, node.next)) {
+                    size.decrementAndGet();
+                    node.next = null;
+                    return node;
+                }
+            }
+        }
+
+        /**
+         * Detach the whole stack, and push back copies of the nodes that are still current.  Copies
+         * are pushed rather than the detached nodes, so that a concurrent pop can never see a node
+         * it read before the detach reappear at the top.
+         *
+         * @return the number of current nodes pushed back
+         */
+        int compact() {
+            Node<T> node = top.getAndSet(null);
+            int current = 0;
+            while (node != null) {
+                size.decrementAndGet();
+                val next = node.next;
+                node.next = null;
+                if (node.isCurrent()) {
+                    pushNode(new Node<>(node.entry, node.stamp));
+                    current++;
+                }
+                node = next;
+            }
+
+            return current;
+        }
+
+        private void pushNode(final Node<T> node) {
+            size.incrementAndGet();
+            for (; ; ) {
+                val head = top.get();
+                node.next = head;
+                if (top.compareAndSet(head, node)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the most frequently borrowing tenants with bounded memory, however many tenants there are.
+ * <p>
+ * Borrows are counted in a count-min sketch, whose estimate never under-counts, and the {@code k}
+ * tenants with the highest estimates are kept as the hot set.  The sketch is only updated for one in
+ * {@code sampleInterval} borrows, so that the counters of a hot tenant do not become a contended cache
+ * line.  {@link #decay()} halves all counts, so the hot set follows the recent load rather than the
+ * whole history of the pool.
+ */
+public final class TenantHeavyHitters {
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 1024;
+
+    private final int k;
+    private final int sampleInterval;
+    private final AtomicLongArray counters = new AtomicLongArray(DEPTH * WIDTH);
+    private final Map<String, Long> hot = new ConcurrentHashMap<>();
+    private volatile long floor;
+
+    /**
+     * Construct a tracker of the {@code k} most frequently borrowing tenants.
+     *
+     * @param k              the number of hot tenants to track
+     * @param sampleInterval count one in this many borrows, 1 to count every borrow
+     */
+    public TenantHeavyHitters(final int k, final int sampleInterval) {
+        this.k = k;
+        this.sampleInterval = Math.max(1, sampleInterval);
+    }
+
+    /**
+     * Record a borrow by the specified tenant.
+     *
+     * @param tenantId the borrowing tenant
+     */
+    public void record(final String tenantId) {
+        if (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) {
+            return;
+        }
+
+        val h1 = spread(tenantId.hashCode());
+        val h2 = (h1 >>> 16) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            val index = row * WIDTH + ((h1 + row * h2) & (WIDTH - 1));
+            estimate = Math.min(estimate, counters.incrementAndGet(index));
+        }
+
+        if (hot.containsKey(tenantId)) {
+            hot.put(tenantId, estimate);
+        } else if (estimate > floor || hot.size() < k) {
+            promote(tenantId, estimate);
+        }
+    }
+
+    /**
+     * Get whether the tenant is currently one of the hot tenants.
+     *
+     * @param tenantId the tenant id, may be null
+     * @return true if the tenant is hot
+     */
+    public boolean isHot(final String tenantId) {
+        return tenantId != null && hot.containsKey(tenantId);
+    }
+
+    /**
+     * Get the hot tenants, most frequent first.
+     *
+     * @return a snapshot of the hot tenants
+     */
+    public List<String> getHotTenants() {
+        val entries = new ArrayList<Map.Entry<String, Long>>(hot.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+        val tenants = new ArrayList<String>(entries.size());
+        entries.forEach(e -> tenants.add(e.getKey()));
+        return tenants;
+    }
+
+    /**
+     * Halve all counts, so that tenants that stopped borrowing eventually leave the hot set.
+     */
+    public synchronized void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, v -> v >> 1);
+        }
+
+        hot.replaceAll((tenantId, count) -> count >> 1);
+        hot.values().removeIf(count -> count == 0);
+        floor = minCount();
+    }
+
+    private synchronized void promote(final String tenantId, final long estimate) {
+        if (hot.size() >= k) {
+            String coldest = null;
+            long coldestCount = Long.MAX_VALUE;
+            for (val e : hot.entrySet()) {
+                if (e.getValue() < coldestCount) {
+                    coldest = e.getKey();
+                    coldestCount = e.getValue();
+                }
+            }
+
+            if (coldest == null || estimate <= coldestCount) {
+                floor = coldestCount;
+                return;
+            }
+            hot.remove(coldest);
+        }
+
+        hot.put(tenantId, estimate);
+        floor = hot.size() < k ? 0L : minCount();
+    }
+
+    private long minCount() {
+        long min = Long.MAX_VALUE;
+        for (val count : hot.values()) {
+            min = Math.min(min, count);
+        }
+        return min == Long.MAX_VALUE ? 0L : min;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
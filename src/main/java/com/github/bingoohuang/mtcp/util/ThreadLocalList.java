@@ -6,7 +6,13 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ThreadLocalList<T extends BagEntry> {
+/**
+ * The {@link BorrowCache} of the thread-local borrow cache modes: each thread keeps the entries it
+ * returned in a list of its own, which it takes them back from in LIFO order.
+ *
+ * @param <T> the templated type of the bag entries
+ */
+public class ThreadLocalList<T extends BagEntry> implements BorrowCache<T> {
     public interface Holder<T> {
         T get();
     }
@@ -42,9 +48,21 @@ public class ThreadLocalList<T extends BagEntry> {
     private final ThreadLocal<List<Holder<T>>> threadList;
     private final HolderFactory<T> holderFactory;
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Construct a ThreadLocalList holding entries weakly when the pool was loaded by a class loader other
+     * than the system class loader.
+     */
     public ThreadLocalList() {
-        val weakThreadLocals = useWeakThreadLocals();
+        this(useWeakThreadLocals());
+    }
+
+    /**
+     * Construct a ThreadLocalList.
+     *
+     * @param weakThreadLocals true to hold the entries through weak references
+     */
+    @SuppressWarnings("unchecked")
+    public ThreadLocalList(final boolean weakThreadLocals) {
         if (weakThreadLocals) {
             this.threadList = ThreadLocal.withInitial(() -> new ArrayList<>(16));
             this.holderFactory = (bagEntry) -> new WeakReferenceHolder(bagEntry);
@@ -54,10 +72,12 @@ public class ThreadLocalList<T extends BagEntry> {
         }
     }
 
+    @Override
     public void add(T bagEntry) {
         threadList.get().add(holderFactory.createHolder(bagEntry));
     }
 
+    @Override
     public T get() {
         val list = threadList.get();
         for (int i = list.size() - 1; i >= 0; i--) {
@@ -71,21 +91,47 @@ public class ThreadLocalList<T extends BagEntry> {
         return null;
     }
 
+    /**
+     * Get a free entry from the thread-local list that is already bound to the specified tenant.
+     * Entries bound to other tenants are left in the list so that a later fallback borrow can
+     * still use them.
+     *
+     * @param tenantId the tenant the caller is borrowing for
+     * @return a borrowed entry bound to the tenant, or null if there is none
+     */
+    @Override
+    public T get(String tenantId) {
+        val list = threadList.get();
+        for (int i = list.size() - 1; i >= 0; i--) {
+            val bagEntry = list.get(i).get();
+            if (bagEntry == null || !bagEntry.isStateFree()) {
+                list.remove(i);
+            } else if (tenantId.equals(bagEntry.getTenantId()) && bagEntry.stateFreeToUsing()) {
+                list.remove(i);
+                return bagEntry;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Determine whether to use WeakReferences based on whether there is a
      * custom ClassLoader implementation sitting between this class and the
-     * System ClassLoader.
+     * System ClassLoader.  The former manual override, the system property
+     * {@code com.github.bingoohuang.mtcp.useWeakReferences}, is still honored; prefer
+     * {@link com.github.bingoohuang.mtcp.LightConfig#setBorrowCacheMode}.
      *
      * @return true if we should use WeakReferences in our ThreadLocals, false otherwise
      */
-    private boolean useWeakThreadLocals() {
+    private static boolean useWeakThreadLocals() {
         try {
             val property = System.getProperty("com.github.bingoohuang.mtcp.useWeakReferences");
-            if (property != null) {   // undocumented manual override of WeakReference behavior
+            if (property != null) {
                 return Boolean.parseBoolean(property);
             }
 
-            return getClass().getClassLoader() != ClassLoader.getSystemClassLoader();
+            return ThreadLocalList.class.getClassLoader() != ClassLoader.getSystemClassLoader();
         } catch (SecurityException se) {
             return true;
         }
@@ -47,6 +47,18 @@ public final class UtilityElf {
         }
     }
 
+    /**
+     * Get a well-mixed hash of the id of a thread, to spread threads over stripes or start positions.
+     *
+     * @param thread the thread
+     * @return the hash of its id
+     */
+    public static int threadHash(final Thread thread) {
+        val id = thread.getId();
+        val hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
     /**
      * Checks whether an object is an instance of given type without throwing exception when the class is not loaded.
      *
@@ -133,6 +145,41 @@ public final class UtilityElf {
         return executor;
     }
 
+    /**
+     * Create a ThreadPoolExecutor with an unbounded queue, running up to the specified number of tasks at once on
+     * threads that time out when idle.
+     *
+     * @param threads       the maximum number of threads
+     * @param threadName    the thread name
+     * @param threadFactory an optional ThreadFactory
+     * @param policy        the RejectedExecutionHandler policy
+     * @return a ThreadPoolExecutor
+     */
+    public static ThreadPoolExecutor createFixedThreadPoolExecutor(final int threads, final String threadName, ThreadFactory threadFactory, final RejectedExecutionHandler policy) {
+        return createFixedThreadPoolExecutor(threads, new LinkedBlockingQueue<>(), threadName, threadFactory, policy);
+    }
+
+    /**
+     * Create a ThreadPoolExecutor running up to the specified number of tasks at once on threads that time out
+     * when idle.
+     *
+     * @param threads       the maximum number of threads
+     * @param queue         the BlockingQueue to use
+     * @param threadName    the thread name
+     * @param threadFactory an optional ThreadFactory
+     * @param policy        the RejectedExecutionHandler policy
+     * @return a ThreadPoolExecutor
+     */
+    public static ThreadPoolExecutor createFixedThreadPoolExecutor(final int threads, final BlockingQueue<Runnable> queue, final String threadName, ThreadFactory threadFactory, final RejectedExecutionHandler policy) {
+        if (threadFactory == null) {
+            threadFactory = new DefaultThreadFactory(threadName, true);
+        }
+
+        val executor = new ThreadPoolExecutor(threads, threads, 5 /*keepalive*/, SECONDS, queue, threadFactory, policy);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     // ***********************************************************************
     //                       Misc. public methods
     // ***********************************************************************
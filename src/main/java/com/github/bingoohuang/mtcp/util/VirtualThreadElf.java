@@ -0,0 +1,46 @@
+package com.github.bingoohuang.mtcp.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Detection of virtual threads on a pool compiled for Java 8.
+ * <p>
+ * This implementation looks up {@code Thread.isVirtual()} reflectively, and reports every thread as a
+ * platform thread on a JVM without virtual threads.  The multi-release jar replaces it on Java 21 and
+ * later by one calling {@code Thread.isVirtual()} directly.
+ */
+public final class VirtualThreadElf {
+    private static final MethodHandle IS_VIRTUAL = lookupIsVirtual();
+
+    private VirtualThreadElf() {
+        // utility class
+    }
+
+    /**
+     * Get whether the specified thread is a virtual thread.
+     *
+     * @param thread the thread
+     * @return true if the thread is virtual, false if it is a platform thread
+     */
+    public static boolean isVirtual(final Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle lookupIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
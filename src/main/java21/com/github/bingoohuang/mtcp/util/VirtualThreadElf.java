@@ -0,0 +1,21 @@
+package com.github.bingoohuang.mtcp.util;
+
+/**
+ * Detection of virtual threads on Java 21 and later, packaged in the multi-release jar in place of
+ * the reflective implementation for Java 8.
+ */
+public final class VirtualThreadElf {
+    private VirtualThreadElf() {
+        // utility class
+    }
+
+    /**
+     * Get whether the specified thread is a virtual thread.
+     *
+     * @param thread the thread
+     * @return true if the thread is virtual, false if it is a platform thread
+     */
+    public static boolean isVirtual(final Thread thread) {
+        return thread.isVirtual();
+    }
+}
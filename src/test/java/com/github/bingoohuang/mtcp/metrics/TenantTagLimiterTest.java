@@ -0,0 +1,29 @@
+package com.github.bingoohuang.mtcp.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TenantTagLimiterTest {
+    @Test
+    public void testCapsDistinctTags() {
+        TenantTagLimiter limiter = new TenantTagLimiter(2);
+
+        assertEquals("A", limiter.tag("A"));
+        assertEquals("B", limiter.tag("B"));
+        assertEquals(TenantTagLimiter.OTHER_TENANTS, limiter.tag("C"));
+        assertEquals(TenantTagLimiter.OTHER_TENANTS, limiter.tag("D"));
+
+        // tenants seen before the cap keep their own tag
+        assertEquals("A", limiter.tag("A"));
+        assertEquals("B", limiter.tag("B"));
+        assertEquals(TenantTagLimiter.NO_TENANT, limiter.tag(null));
+    }
+
+    @Test
+    public void testZeroReportsEveryTenantAsOther() {
+        TenantTagLimiter limiter = new TenantTagLimiter(0);
+
+        assertEquals(TenantTagLimiter.OTHER_TENANTS, limiter.tag("A"));
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
 public class MicrometerMetricsTrackerTest {
 
     private MeterRegistry mockMeterRegistry = new SimpleMeterRegistry();
@@ -36,4 +38,18 @@ public class MicrometerMetricsTrackerTest {
 
         testee.close();
     }
+
+    @Test
+    public void recordTenantMetrics() {
+        testee.recordTenantSwitchNanos("A", TimeUnit.MILLISECONDS.toNanos(3));
+        testee.recordTenantSwitchNanos("A", TimeUnit.MILLISECONDS.toNanos(5));
+        testee.recordTenantAffinityHit("A");
+        testee.recordTenantConnectionAcquiredNanos("B", 1000L);
+        testee.recordTenantConnectionUsageMillis("B", 7L);
+
+        Assert.assertEquals(2L, mockMeterRegistry.find("lightcp.tenant.switch").tags("tenant", "A").timer().count());
+        Assert.assertEquals(1.0, mockMeterRegistry.find("lightcp.tenant.affinity.hit").tags("tenant", "A").counter().count(), 0.0);
+        Assert.assertEquals(1L, mockMeterRegistry.find("lightcp.tenant.connections.acquire").tags("tenant", "B").timer().count());
+        Assert.assertEquals(7.0, mockMeterRegistry.find("lightcp.tenant.connections.usage").tags("tenant", "B").timer().totalTime(TimeUnit.MILLISECONDS), 0.0);
+    }
 }
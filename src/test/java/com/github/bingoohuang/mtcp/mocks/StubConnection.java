@@ -5,6 +5,8 @@ import com.github.bingoohuang.mtcp.util.UtilityElf;
 import java.sql.*;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -15,6 +17,8 @@ public class StubConnection extends StubBaseConnection implements Connection {
     public static final AtomicInteger count = new AtomicInteger();
     public static volatile boolean slowCreate;
     public static volatile boolean oldDriver;
+    public static final Queue<String> validatingThreads = new ConcurrentLinkedQueue<>();
+    public volatile Error validationError;
 
     private static long foo;
     private boolean autoCommit;
@@ -414,6 +418,10 @@ public class StubConnection extends StubBaseConnection implements Connection {
      */
     @Override
     public boolean isValid(int timeout) throws SQLException {
+        validatingThreads.add(Thread.currentThread().getName());
+        if (validationError != null) {
+            throw validationError;
+        }
         if (throwException) {
             throw new SQLException();
         }
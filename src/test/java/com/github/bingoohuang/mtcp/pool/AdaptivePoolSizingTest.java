@@ -0,0 +1,83 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.util.UtilityElf;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class AdaptivePoolSizingTest {
+    @Before
+    public void shortenHousekeeping() {
+        System.setProperty("com.github.bingoohuang.mtcp.housekeeping.periodMs", "100");
+    }
+
+    @After
+    public void restoreHousekeeping() {
+        System.clearProperty("com.github.bingoohuang.mtcp.housekeeping.periodMs");
+    }
+
+    private static LightDataSource newDataSource(final boolean isAdaptive) {
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(2);
+        config.setMaxPoolSize(10);
+        config.setConnectionTimeout(250);
+        config.setAdaptivePoolSizing(isAdaptive);
+        config.setDataSourceClassName("com.github.bingoohuang.mtcp.mocks.StubDataSource");
+        return new LightDataSource(config);
+    }
+
+    private static boolean await(final BooleanSupplier condition) {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            UtilityElf.quietlySleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+
+    @Test
+    public void testIdlePoolShrinksAndGrowsBackUnderLoad() throws SQLException {
+        try (LightDataSource ds = newDataSource(true)) {
+            final LightPool pool = TestElf.getPool(ds);
+            assertEquals(10, pool.getEffectiveMaxPoolSize());
+
+            assertTrue(await(() -> pool.getEffectiveMaxPoolSize() == 2));
+            assertTrue(pool.getPoolSizeDecisions().length > 0);
+            assertTrue(pool.getPoolSizeDecisions()[0], pool.getPoolSizeDecisions()[0].contains("shrink 10 -> 8"));
+
+            final List<Connection> held = new ArrayList<>();
+            try {
+                held.add(ds.getConnection());
+                held.add(ds.getConnection());
+
+                // the waiting borrower makes the pool grow at the next housekeeping cycle, within its timeout
+                held.add(ds.getConnection());
+                assertTrue(pool.getEffectiveMaxPoolSize() > 2);
+                final String[] decisions = pool.getPoolSizeDecisions();
+                assertTrue(decisions[decisions.length - 1], decisions[decisions.length - 1].contains("grow 2 -> "));
+            } finally {
+                for (Connection connection : held) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (LightDataSource ds = newDataSource(false)) {
+            final LightPool pool = TestElf.getPool(ds);
+            UtilityElf.quietlySleep(500);
+            assertEquals(10, pool.getEffectiveMaxPoolSize());
+            assertEquals(0, pool.getPoolSizeDecisions().length);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.mocks.StubDataSource;
+import lombok.val;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Bytes allocated per cycle on the hot paths, measured on the calling thread after the JIT warmed up, and
+ * checked against a budget so that an allocation regression fails the build.  The budgets leave about three
+ * times the headroom of what the cycles allocate today, for differences between JVMs and JIT decisions.
+ */
+public class AllocationBudgetTest {
+    private static final int WARMUP_CYCLES = 50_000;
+    private static final int MEASURED_CYCLES = 20_000;
+
+    // the proxy connection
+    private static final long CONNECTION_CYCLE_BUDGET = 256;
+    // plus the leak task, with the exception capturing the borrower's stack, and its scheduled future
+    private static final long LEAK_DETECTION_CYCLE_BUDGET = 5_120;
+    // the proxy statement
+    private static final long STATEMENT_CYCLE_BUDGET = 192;
+    // nothing but the stamped connection of the borrow, or the driver statement, when recycling proxies
+    private static final long RECYCLED_CYCLE_BUDGET = 64;
+
+    private interface Cycle {
+        void run() throws SQLException;
+    }
+
+    @Test
+    public void testGetConnectionClose() throws Exception {
+        try (val ds = newDataSource(0, false)) {
+            assertWithinBudget("getConnection()/close()", CONNECTION_CYCLE_BUDGET, () -> ds.getConnection().close());
+        }
+    }
+
+    @Test
+    public void testGetConnectionCloseWithLeakDetection() throws Exception {
+        try (val ds = newDataSource(60_000, false)) {
+            assertWithinBudget("getConnection()/close() with leak detection", LEAK_DETECTION_CYCLE_BUDGET, () -> ds.getConnection().close());
+        }
+    }
+
+    @Test
+    public void testStatementCreateClose() throws Exception {
+        try (val ds = newDataSource(0, false);
+             Connection connection = ds.getConnection()) {
+            assertWithinBudget("createStatement()/close()", STATEMENT_CYCLE_BUDGET, () -> connection.createStatement().close());
+            assertWithinBudget("prepareStatement()/close()", STATEMENT_CYCLE_BUDGET, () -> connection.prepareStatement("SELECT 1").close());
+        }
+    }
+
+    @Test
+    public void testRecycledGetConnectionClose() throws Exception {
+        try (val ds = newDataSource(0, true)) {
+            assertWithinBudget("recycled getConnection()/close()", RECYCLED_CYCLE_BUDGET, () -> ds.getConnection().close());
+        }
+    }
+
+    @Test
+    public void testRecycledStatementCreateClose() throws Exception {
+        try (val ds = newDataSource(0, true);
+             Connection connection = ds.getConnection()) {
+            assertWithinBudget("recycled createStatement()/close()", RECYCLED_CYCLE_BUDGET, () -> connection.createStatement().close());
+            assertWithinBudget("recycled prepareStatement()/close()", RECYCLED_CYCLE_BUDGET, () -> connection.prepareStatement("SELECT 1").close());
+        }
+    }
+
+    private static LightDataSource newDataSource(final long leakDetectionThreshold, final boolean recycleProxies) {
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(1);
+        config.setMaxPoolSize(1);
+        config.setDataSourceClassName(StubDataSource.class.getName());
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        config.setRecycleProxies(recycleProxies);
+        return new LightDataSource(config);
+    }
+
+    private static void assertWithinBudget(final String name, final long budget, final Cycle cycle) throws SQLException {
+        val bytes = bytesPerCycle(cycle);
+        assertTrue(name + " allocated " + bytes + " bytes per cycle, over its budget of " + budget, bytes <= budget);
+    }
+
+    private static long bytesPerCycle(final Cycle cycle) throws SQLException {
+        val threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        val allocation = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled());
+
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            cycle.run();
+        }
+
+        val threadId = Thread.currentThread().getId();
+        val before = allocation.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CYCLES; i++) {
+            cycle.run();
+        }
+        return (allocation.getThreadAllocatedBytes(threadId) - before) / MEASURED_CYCLES;
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class ConnectionCreationGateTest {
+    private final List<Integer> batches = new ArrayList<>();
+    private final ConnectionCreationGate gate = new ConnectionCreationGate(3, (connections, elapsedMillis) -> batches.add(connections));
+
+    private static final IntPredicate ALWAYS = inFlight -> true;
+
+    /**
+     * A connection is needed the first time only, so that a creator that does not fit the window gives up after
+     * waiting once instead of waiting forever.
+     */
+    private static IntPredicate once() {
+        final int[] calls = {0};
+        return inFlight -> calls[0]++ == 0;
+    }
+
+    @Test
+    public void testRampsUpToParallelism() {
+        assertTrue(gate.enter(ALWAYS));
+        assertFalse("one creator at first", gate.enter(once()));
+        gate.created(() -> {});
+
+        assertTrue(gate.enter(ALWAYS));
+        assertTrue(gate.enter(ALWAYS));
+        assertEquals(1, gate.othersInFlight());
+        assertFalse("two creators after one connection", gate.enter(once()));
+        gate.created(() -> {});
+        gate.created(() -> {});
+
+        assertTrue(gate.enter(ALWAYS));
+        assertTrue(gate.enter(ALWAYS));
+        assertTrue(gate.enter(ALWAYS));
+        assertFalse("never more than the parallelism", gate.enter(once()));
+        gate.created(() -> {});
+        gate.created(() -> {});
+        gate.abandoned();
+
+        assertEquals("a batch ends when the gate is idle", asList(1, 2, 2), batches);
+    }
+
+    @Test
+    public void testFailureFallsBackToOne() {
+        assertTrue(gate.enter(ALWAYS));
+        gate.created(() -> {});
+        assertTrue(gate.enter(ALWAYS));
+        assertTrue(gate.enter(ALWAYS));
+
+        gate.failed();
+        gate.abandoned();
+        assertFalse("one creator after a failure", gate.enter(once()));
+        gate.created(() -> {});
+
+        assertTrue(gate.enter(ALWAYS));
+        assertTrue(gate.enter(ALWAYS));
+        gate.abandoned();
+        gate.abandoned();
+        assertEquals(asList(1, 1), batches);
+    }
+
+    @Test
+    public void testNeedSeesConnectionsInFlight() {
+        final IntPredicate belowTwo = inFlight -> inFlight < 2;
+        assertTrue(gate.enter(ALWAYS));
+        gate.created(() -> {});
+        assertTrue(gate.enter(belowTwo));
+        assertTrue(gate.enter(belowTwo));
+        assertFalse(gate.enter(belowTwo));
+    }
+}
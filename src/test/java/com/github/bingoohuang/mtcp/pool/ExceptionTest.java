@@ -64,7 +64,7 @@ public class ExceptionTest {
 
             fail();
         } catch (SQLException e) {
-            assertSame("Connection is closed", e.getMessage());
+            assertSame("Statement is closed", e.getMessage());
         }
     }
 
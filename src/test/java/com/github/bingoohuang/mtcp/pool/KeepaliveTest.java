@@ -0,0 +1,144 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.mocks.StubConnection;
+import com.github.bingoohuang.mtcp.util.UtilityElf;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+
+public class KeepaliveTest {
+    @Before
+    public void setup() {
+        TestElf.setConfigUnitTest(true);
+    }
+
+    @After
+    public void teardown() {
+        TestElf.setConfigUnitTest(false);
+    }
+
+    private static LightDataSource newDataSource(final int poolSize, final long keepaliveTime) {
+        return newDataSource(poolSize, keepaliveTime, null);
+    }
+
+    private static LightDataSource newDataSource(final int poolSize, final long keepaliveTime, final PoolRuntime runtime) {
+        LightConfig config = TestElf.newLightConfig();
+        config.setPoolRuntime(runtime);
+        config.setMinIdle(poolSize);
+        config.setMaxPoolSize(poolSize);
+        config.setKeepaliveTime(keepaliveTime);
+        config.setDataSourceClassName("com.github.bingoohuang.mtcp.mocks.StubDataSource");
+        return new LightDataSource(config);
+    }
+
+    private static void awaitTotalConnections(final LightPool pool, final int total) {
+        for (int i = 0; i < 100 && pool.getTotalConnections() < total; i++) {
+            UtilityElf.quietlySleep(20);
+        }
+        assertEquals(total, pool.getTotalConnections());
+    }
+
+    @Test
+    public void testBorrowSkipsInlineValidation() throws SQLException {
+        try (LightDataSource ds = newDataSource(2, 1000)) {
+            awaitTotalConnections(TestElf.getPool(ds), 2);
+            // setting up the connections validates them on the creating thread
+            StubConnection.validatingThreads.clear();
+
+            UtilityElf.quietlySleep(1200);
+            assertFalse("idle connections are validated in the background", StubConnection.validatingThreads.isEmpty());
+            for (String thread : StubConnection.validatingThreads) {
+                assertTrue(thread, thread.contains("keepalive"));
+            }
+
+            // idle for longer than the alive bypass window, but validated within keepaliveTime
+            try (Connection ignored = ds.getConnection()) {
+                assertFalse(StubConnection.validatingThreads.contains(Thread.currentThread().getName()));
+            }
+        }
+    }
+
+    @Test
+    public void testDeadConnectionReplacedInBackground() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 1000)) {
+            LightPool pool = TestElf.getPool(ds);
+            awaitTotalConnections(pool, 1);
+
+            StubConnection dead;
+            try (Connection connection = ds.getConnection()) {
+                dead = connection.unwrap(StubConnection.class);
+            }
+            dead.throwException = true;
+
+            UtilityElf.quietlySleep(1200);
+            awaitTotalConnections(pool, 1);
+            try (Connection connection = ds.getConnection()) {
+                assertNotSame(dead, connection.unwrap(StubConnection.class));
+            }
+        }
+    }
+
+    @Test
+    public void testValidationErrorClosesConnection() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 1000)) {
+            LightPool pool = TestElf.getPool(ds);
+            awaitTotalConnections(pool, 1);
+
+            StubConnection failing;
+            try (Connection connection = ds.getConnection()) {
+                failing = connection.unwrap(StubConnection.class);
+            }
+            failing.validationError = new AssertionError("validation failed");
+
+            UtilityElf.quietlySleep(1200);
+            awaitTotalConnections(pool, 1);
+            try (Connection connection = ds.getConnection()) {
+                assertNotSame(failing, connection.unwrap(StubConnection.class));
+            }
+        }
+    }
+
+    @Test
+    public void testValidatedOnPoolRuntime() throws SQLException {
+        try (PoolRuntime runtime = new PoolRuntime("keepalive runtime", 2, 2)) {
+            try (LightDataSource ds = newDataSource(2, 1000, runtime)) {
+                awaitTotalConnections(TestElf.getPool(ds), 2);
+                StubConnection.validatingThreads.clear();
+
+                UtilityElf.quietlySleep(1200);
+                assertFalse("idle connections are validated in the background", StubConnection.validatingThreads.isEmpty());
+                for (String thread : StubConnection.validatingThreads) {
+                    assertTrue(thread, thread.startsWith("keepalive runtime connection closer"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBorrowValidatesInlineWithoutKeepalive() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 0)) {
+            awaitTotalConnections(TestElf.getPool(ds), 1);
+            StubConnection.validatingThreads.clear();
+
+            UtilityElf.quietlySleep(600);
+            try (Connection ignored = ds.getConnection()) {
+                assertTrue(StubConnection.validatingThreads.contains(Thread.currentThread().getName()));
+            }
+        }
+    }
+
+    @Test
+    public void testShortKeepaliveDisabled() {
+        TestElf.setConfigUnitTest(false);
+        try (LightDataSource ds = newDataSource(1, 1000)) {
+            assertEquals(0, ds.getKeepaliveTime());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.metrics.MetricsTracker;
+import com.github.bingoohuang.mtcp.mocks.StubDataSource;
+import com.github.bingoohuang.mtcp.util.ClockSource;
+import com.github.bingoohuang.mtcp.util.UtilityElf;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ParallelCreationTest {
+    private static final long CREATION_MILLIS = 200;
+
+    /**
+     * Tracks how many connections are being opened at once.
+     */
+    private static final class ConcurrencyTrackingDataSource extends StubDataSource {
+        private final AtomicInteger creating = new AtomicInteger();
+        private final AtomicInteger maxCreating = new AtomicInteger();
+
+        ConcurrencyTrackingDataSource() {
+            setConnectionAcquistionTime(CREATION_MILLIS);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            maxCreating.accumulateAndGet(creating.incrementAndGet(), Math::max);
+            try {
+                return super.getConnection();
+            } finally {
+                creating.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class BatchTracker implements MetricsTracker {
+        private final AtomicInteger batchConnections = new AtomicInteger();
+
+        @Override
+        public void recordConnectionBatchCreatedMillis(final int connections, final long elapsedCreatedMillis) {
+            batchConnections.addAndGet(connections);
+        }
+    }
+
+    private static LightDataSource newDataSource(final StubDataSource dataSource, final int poolSize, final int parallelism) {
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(poolSize);
+        config.setMaxPoolSize(poolSize);
+        config.setConnectionCreationParallelism(parallelism);
+        config.setDataSource(dataSource);
+        return new LightDataSource(config);
+    }
+
+    private static long millisToFill(final LightPool pool, final int total) {
+        final long start = ClockSource.currentTime();
+        while (pool.getTotalConnections() < total && ClockSource.elapsedMillis(start) < 10_000) {
+            UtilityElf.quietlySleep(10);
+        }
+        assertEquals(total, pool.getTotalConnections());
+        return ClockSource.elapsedMillis(start);
+    }
+
+    @Test
+    public void testParallelFillIsBounded() {
+        final ConcurrencyTrackingDataSource dataSource = new ConcurrencyTrackingDataSource();
+        try (LightDataSource ds = newDataSource(dataSource, 10, 4)) {
+            final long millis = millisToFill(TestElf.getPool(ds), 10);
+
+            // 9 connections after the one opened at start, in rounds of 1, 2, 4 and 2, instead of 9 in a row
+            assertTrue("filled in " + millis + "ms", millis < 8 * CREATION_MILLIS);
+            assertTrue(dataSource.maxCreating.get() > 1);
+            assertTrue(dataSource.maxCreating.get() <= 4);
+
+            UtilityElf.quietlySleep(2 * CREATION_MILLIS);
+            assertEquals("never more than maxPoolSize", 10, TestElf.getPool(ds).getTotalConnections());
+        }
+    }
+
+    @Test
+    public void testOneAtATimeByDefault() {
+        final ConcurrencyTrackingDataSource dataSource = new ConcurrencyTrackingDataSource();
+        try (LightDataSource ds = newDataSource(dataSource, 4, 1)) {
+            millisToFill(TestElf.getPool(ds), 4);
+            assertEquals(1, dataSource.maxCreating.get());
+        }
+    }
+
+    @Test
+    public void testBatchesRecorded() {
+        final BatchTracker tracker = new BatchTracker();
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(6);
+        config.setMaxPoolSize(6);
+        config.setConnectionCreationParallelism(3);
+        config.setDataSource(new ConcurrencyTrackingDataSource());
+        config.setMetricsTrackerFactory((poolName, poolStats) -> tracker);
+
+        try (LightDataSource ds = new LightDataSource(config)) {
+            millisToFill(TestElf.getPool(ds), 6);
+            UtilityElf.quietlySleep(100);
+
+            // the connection opened at start is not opened by the creators
+            assertEquals(5, tracker.batchConnections.get());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelismAtLeastOne() {
+        TestElf.newLightConfig().setConnectionCreationParallelism(0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class PoolRuntimeTest {
+    private PoolRuntime runtime;
+
+    @Before
+    public void before() {
+        runtime = new PoolRuntime("shared runtime", 2, 2);
+    }
+
+    @After
+    public void after() {
+        runtime.close();
+    }
+
+    private LightConfig newConfig() {
+        val config = TestElf.newLightConfig();
+        config.setMinIdle(3);
+        config.setMaxPoolSize(5);
+        config.setInitializationFailTimeout(Long.MAX_VALUE);
+        config.setConnectionTimeout(2500);
+        config.setDataSourceClassName("com.github.bingoohuang.mtcp.mocks.StubDataSource");
+        config.setPoolRuntime(runtime);
+        return config;
+    }
+
+    private static void awaitTrue(String message, java.util.function.BooleanSupplier condition) throws InterruptedException {
+        val deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(message, System.nanoTime() < deadline);
+            MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test
+    public void testPoolsShareRuntime() throws Exception {
+        val config = newConfig();
+        val config2 = TestElf.newLightConfig();
+        config.copyStateTo(config2);
+        config2.setPoolName(config.getPoolName() + "2");
+
+        try (val ds1 = new LightDataSource(config);
+             val ds2 = new LightDataSource(config2)) {
+            assertEquals(2, runtime.getAttachedPoolCount());
+
+            val pool1 = TestElf.getPool(ds1);
+            val pool2 = TestElf.getPool(ds2);
+            awaitTrue("both pools are filled by the shared connection adders",
+                    () -> pool1.getTotalConnections() == 3 && pool2.getTotalConnections() == 3);
+            assertTrue(runtime.getWorkerThreadCount() <= 4);
+
+            for (val thread : Thread.getAllStackTraces().keySet()) {
+                assertFalse("no housekeeper of the pool's own: " + thread.getName(), thread.getName().startsWith(config.getPoolName()));
+            }
+
+            try (val conn = ds1.getConnection()) {
+                assertFalse(conn.isClosed());
+            }
+
+            // connections are closed on the shared closers and replaced by the shared adders
+            pool1.softEvictConnections();
+            awaitTrue("the evicted connections are replaced", () -> pool1.getTotalConnections() == 3);
+        }
+
+        assertEquals(0, runtime.getAttachedPoolCount());
+        awaitTrue("the tasks of the pools are cancelled", () -> runtime.getScheduledTaskCount() == 0);
+    }
+
+    @Test
+    public void testClosedRuntimeRejectsPools() throws SQLException {
+        runtime.close();
+        try (val ignored = new LightDataSource(newConfig())) {
+            fail("the runtime is closed");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("has been closed"));
+        }
+    }
+}
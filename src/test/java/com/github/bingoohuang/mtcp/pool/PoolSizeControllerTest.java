@@ -0,0 +1,98 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PoolSizeControllerTest {
+    private static final long CYCLE_MILLIS = 1_000;
+
+    /**
+     * Borrows over one cycle, each returned after the usage time.
+     */
+    private static void load(final PoolSizeController controller, final int borrows, final long usageMillis) {
+        for (int i = 0; i < borrows; i++) {
+            controller.recordAcquire(1_000L);
+            controller.recordUsage(usageMillis);
+        }
+    }
+
+    @Test
+    public void testGrowsToLittlesLaw() {
+        final PoolSizeController controller = new PoolSizeController(2);
+        // 1000 borrows per second of 10ms each keep 10 connections busy, plus the square root of it spare
+        load(controller, 1_000, 10);
+        final String decision = controller.adjust(CYCLE_MILLIS, 0, 1, 50);
+
+        assertEquals(14, controller.getSize());
+        assertTrue(decision, decision.contains("grow 2 -> 14"));
+        assertArrayEquals(new String[]{decision}, controller.getDecisions());
+    }
+
+    @Test
+    public void testSlowCreationKeepsMoreSpares() {
+        final PoolSizeController fast = new PoolSizeController(1);
+        load(fast, 400, 10);
+        fast.adjust(CYCLE_MILLIS, 0, 1, 50);
+
+        final PoolSizeController slow = new PoolSizeController(1);
+        load(slow, 400, 10);
+        slow.recordCreation(200);
+        slow.adjust(CYCLE_MILLIS, 0, 1, 50);
+
+        assertEquals(6, fast.getSize());
+        assertEquals(8, slow.getSize());
+    }
+
+    @Test
+    public void testGrowsWhileBorrowersWait() {
+        final PoolSizeController controller = new PoolSizeController(8);
+        controller.recordTimeout();
+        controller.adjust(CYCLE_MILLIS, 0, 1, 50);
+        assertEquals(10, controller.getSize());
+
+        controller.adjust(CYCLE_MILLIS, 3, 1, 50);
+        assertEquals(12, controller.getSize());
+    }
+
+    @Test
+    public void testShrinksAfterThreeLowCycles() {
+        final PoolSizeController controller = new PoolSizeController(20);
+        assertNull(controller.adjust(CYCLE_MILLIS, 0, 1, 50));
+        assertNull(controller.adjust(CYCLE_MILLIS, 0, 1, 50));
+        assertEquals(20, controller.getSize());
+
+        final String decision = controller.adjust(CYCLE_MILLIS, 0, 1, 50);
+        assertEquals("by a quarter at most", 15, controller.getSize());
+        assertTrue(decision, decision.contains("shrink 20 -> 15"));
+    }
+
+    @Test
+    public void testLullDoesNotShrink() {
+        final PoolSizeController controller = new PoolSizeController(20);
+        controller.adjust(CYCLE_MILLIS, 0, 1, 50);
+        controller.adjust(CYCLE_MILLIS, 0, 1, 50);
+
+        // a target of 16, within the hysteresis band
+        load(controller, 1_200, 10);
+        assertNull(controller.adjust(CYCLE_MILLIS, 0, 1, 50));
+
+        controller.adjust(CYCLE_MILLIS, 0, 1, 50);
+        controller.adjust(CYCLE_MILLIS, 0, 1, 50);
+        assertEquals(20, controller.getSize());
+        assertEquals(0, controller.getDecisions().length);
+    }
+
+    @Test
+    public void testStaysWithinBounds() {
+        final PoolSizeController controller = new PoolSizeController(10);
+        load(controller, 10_000, 10);
+        controller.adjust(CYCLE_MILLIS, 0, 8, 12);
+        assertEquals(12, controller.getSize());
+
+        for (int i = 0; i < 12; i++) {
+            controller.adjust(CYCLE_MILLIS, 0, 8, 12);
+        }
+        assertEquals(8, controller.getSize());
+    }
+}
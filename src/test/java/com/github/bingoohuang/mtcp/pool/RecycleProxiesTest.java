@@ -0,0 +1,247 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.*;
+
+import static org.junit.Assert.*;
+
+public class RecycleProxiesTest {
+    private LightDataSource ds;
+
+    @Before
+    public void setup() {
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(1);
+        config.setMaxPoolSize(1);
+        config.setRecycleProxies(true);
+        config.setDataSourceClassName("com.github.bingoohuang.mtcp.mocks.StubDataSource");
+
+        ds = new LightDataSource(config);
+    }
+
+    @After
+    public void teardown() {
+        ds.close();
+    }
+
+    @Test
+    public void testStaleConnectionFailsFast() throws SQLException {
+        Connection connection1 = ds.getConnection();
+        connection1.close();
+
+        try (Connection connection2 = ds.getConnection()) {
+            assertNotSame(connection1, connection2);
+            assertTrue(connection1.isClosed());
+            assertFalse(connection1.isValid(1));
+            assertStaleConnection(connection1::createStatement);
+            assertStaleConnection(() -> connection1.prepareStatement("SELECT 1"));
+            assertStaleConnection(() -> connection1.setAutoCommit(false));
+            assertStaleConnection(connection1::commit);
+            assertStaleConnection(connection1::rollback);
+            assertStaleConnection(() -> connection1.unwrap(Connection.class));
+
+            // closing it again leaves the current borrow alone
+            connection1.close();
+            assertFalse(connection2.isClosed());
+            connection2.createStatement().execute("SELECT 1");
+        }
+    }
+
+    @Test
+    public void testConnectionProxyReused() throws SQLException {
+        ProxyConnection proxy;
+        try (Connection connection = ds.getConnection()) {
+            proxy = getProxy(connection);
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+        }
+
+        try (Connection connection = ds.getConnection()) {
+            assertSame(proxy, getProxy(connection));
+            // the state of the previous borrow was reset
+            assertTrue(connection.getAutoCommit());
+            assertFalse(connection.isReadOnly());
+            assertSame(connection, connection.createStatement().getConnection());
+        }
+    }
+
+    @Test
+    public void testResultSetOfEarlierIssueFailsFast() throws SQLException {
+        try (Connection connection = ds.getConnection()) {
+            Statement statement1 = connection.createStatement();
+            ResultSet resultSet = statement1.executeQuery("SELECT 1");
+            statement1.close();
+
+            Statement statement2 = connection.createStatement();
+            assertSame(statement1, statement2);
+            try {
+                resultSet.next();
+                fail("A result set of the earlier issue of its statement should fail");
+            } catch (SQLException e) {
+                assertEquals("ResultSet is closed, its statement was closed", e.getMessage());
+            }
+            try {
+                resultSet.getStatement();
+                fail("A result set of the earlier issue of its statement should not return the statement");
+            } catch (SQLException e) {
+                assertTrue(e.getMessage().contains("ResultSet is closed"));
+            }
+
+            ResultSet current = statement2.executeQuery("SELECT 1");
+            assertFalse(current.isClosed());
+            current.next();
+            assertSame(statement2, current.getStatement());
+        }
+    }
+
+    @Test
+    public void testClosedResultSetFailsFast() throws SQLException {
+        try (Connection connection = ds.getConnection();
+             Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT 1");
+            resultSet.close();
+            assertTrue(resultSet.isClosed());
+            try {
+                resultSet.next();
+                fail("A closed result set should fail");
+            } catch (SQLException e) {
+                assertEquals("ResultSet is closed", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testStatementProxiesReused() throws SQLException {
+        try (Connection connection = ds.getConnection()) {
+            Statement statement1 = connection.createStatement();
+            ResultSet resultSet1 = statement1.executeQuery("SELECT 1");
+            resultSet1.close();
+            statement1.close();
+
+            Statement statement2 = connection.createStatement();
+            assertSame(statement1, statement2);
+            assertFalse(statement2.isClosed());
+            assertSame(connection, statement2.getConnection());
+
+            ResultSet resultSet2 = statement2.executeQuery("SELECT 1");
+            assertSame(resultSet1, resultSet2);
+            assertSame(statement2, resultSet2.getStatement());
+
+            PreparedStatement prepared1 = connection.prepareStatement("SELECT 1");
+            prepared1.close();
+            PreparedStatement prepared2 = connection.prepareStatement("SELECT 1");
+            assertSame(prepared1, prepared2);
+        }
+    }
+
+    @Test
+    public void testStaleStatementFailsFast() throws SQLException {
+        Connection connection1 = ds.getConnection();
+        Statement statement = connection1.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT 1");
+        connection1.close();
+
+        try (Connection connection2 = ds.getConnection()) {
+            try {
+                statement.execute("SELECT 1");
+                fail("A statement of the previous borrow should fail");
+            } catch (SQLException e) {
+                assertTrue(e.getMessage().contains("Statement is closed"));
+            }
+
+            try {
+                statement.getConnection();
+                fail("A statement of the previous borrow should not return the connection");
+            } catch (SQLException e) {
+                assertTrue(e.getMessage().contains("Statement is closed"));
+            }
+
+            try {
+                resultSet.getStatement();
+                fail("A result set of the previous borrow should fail");
+            } catch (SQLException e) {
+                assertTrue(e.getMessage().contains("ResultSet is closed"));
+            }
+
+            // closing them late leaves the current borrow alone, and they are never reissued
+            resultSet.close();
+            statement.close();
+            Statement current = connection2.createStatement();
+            assertNotSame(statement, current);
+            assertFalse(current.isClosed());
+            current.execute("SELECT 1");
+        }
+    }
+
+    @Test
+    public void testClosedStatementNotReissuedToNextBorrow() throws SQLException {
+        Connection connection1 = ds.getConnection();
+        Statement statement = connection1.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT 1");
+        PreparedStatement prepared = connection1.prepareStatement("SELECT 1");
+        resultSet.close();
+        statement.close();
+        prepared.close();
+        connection1.close();
+
+        try (Connection connection2 = ds.getConnection()) {
+            Statement current = connection2.createStatement();
+            assertNotSame(statement, current);
+            assertNotSame(resultSet, current.executeQuery("SELECT 1"));
+            assertNotSame(prepared, connection2.prepareStatement("SELECT 1"));
+
+            try {
+                statement.execute("SELECT 1");
+                fail("A statement closed in the previous borrow should fail");
+            } catch (SQLException e) {
+                assertTrue(e.getMessage().contains("Statement is closed"));
+            }
+        }
+    }
+
+    @Test
+    public void testStaleStatementWithoutRecycling() throws SQLException {
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(1);
+        config.setMaxPoolSize(1);
+        config.setDataSourceClassName("com.github.bingoohuang.mtcp.mocks.StubDataSource");
+
+        try (LightDataSource plain = new LightDataSource(config)) {
+            Connection connection1 = plain.getConnection();
+            Statement statement = connection1.createStatement();
+            connection1.close();
+
+            try (Connection connection2 = plain.getConnection()) {
+                assertNotSame(connection1, connection2);
+                try {
+                    statement.getConnection();
+                    fail("A statement of the previous borrow should fail");
+                } catch (SQLException e) {
+                    assertTrue(e.getMessage().contains("Statement is closed"));
+                }
+            }
+        }
+    }
+
+    private interface ConnectionCall {
+        void run() throws SQLException;
+    }
+
+    private static void assertStaleConnection(final ConnectionCall call) {
+        try {
+            call.run();
+            fail("A connection of the previous borrow should fail");
+        } catch (SQLException e) {
+            assertEquals("Connection is closed", e.getMessage());
+        }
+    }
+
+    private static ProxyConnection getProxy(final Connection connection) throws SQLException {
+        return ((ProxyStatement) connection.createStatement()).connection;
+    }
+}
@@ -0,0 +1,247 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.mocks.StubPreparedStatement;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class StatementCacheTest {
+    private static LightDataSource newDataSource(final int maxPoolSize, final int cacheSize, final int cacheMaxTotal) {
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(1);
+        config.setMaxPoolSize(maxPoolSize);
+        config.setPreparedStatementCacheSize(cacheSize);
+        config.setPreparedStatementCacheMaxTotal(cacheMaxTotal);
+        config.setDataSourceClassName("com.github.bingoohuang.mtcp.mocks.StubDataSource");
+        return new LightDataSource(config);
+    }
+
+    private static LightDataSource newH2DataSource(final String database) {
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(1);
+        config.setMaxPoolSize(1);
+        config.setPreparedStatementCacheSize(8);
+        config.setDataSourceClassName("org.h2.jdbcx.JdbcDataSource");
+        config.addDataSourceProperty("url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE TABLE IF NOT EXISTS T_CACHED(ID INT)");
+        return new LightDataSource(config);
+    }
+
+    private static StubPreparedStatement prepare(final Connection connection, final String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        StubPreparedStatement stub = statement.unwrap(StubPreparedStatement.class);
+        statement.close();
+        return stub;
+    }
+
+    @Test
+    public void testStatementReusedAcrossBorrows() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 8, 0)) {
+            StubPreparedStatement stub;
+            try (Connection connection = ds.getConnection()) {
+                stub = prepare(connection, "SELECT 1");
+                assertFalse(stub.isClosed());
+                assertSame(stub, prepare(connection, "SELECT 1"));
+            }
+
+            try (Connection connection = ds.getConnection()) {
+                assertSame(stub, prepare(connection, "SELECT 1"));
+                assertNotSame(stub, prepare(connection, "SELECT 2"));
+
+                PreparedStatement keys = connection.prepareStatement("SELECT 1", Statement.RETURN_GENERATED_KEYS);
+                assertNotSame(stub, keys.unwrap(StubPreparedStatement.class));
+                keys.close();
+            }
+
+            LightPool pool = TestElf.getPool(ds);
+            assertEquals(2, pool.getPreparedStatementCacheHitCount());
+            assertEquals(3, pool.getPreparedStatementCacheMissCount());
+            assertEquals(3, pool.getCachedPreparedStatementCount());
+        }
+    }
+
+    @Test
+    public void testStatementHeldTwice() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 8, 0);
+             Connection connection = ds.getConnection()) {
+            PreparedStatement first = connection.prepareStatement("SELECT 1");
+            PreparedStatement second = connection.prepareStatement("SELECT 1");
+            StubPreparedStatement firstStub = first.unwrap(StubPreparedStatement.class);
+            StubPreparedStatement secondStub = second.unwrap(StubPreparedStatement.class);
+            assertNotSame(firstStub, secondStub);
+
+            first.close();
+            second.close();
+            assertFalse(firstStub.isClosed());
+            assertTrue("only one statement is cached per key", secondStub.isClosed());
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedClosedFirst() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 2, 0);
+             Connection connection = ds.getConnection()) {
+            StubPreparedStatement one = prepare(connection, "SELECT 1");
+            StubPreparedStatement two = prepare(connection, "SELECT 2");
+            assertSame(one, prepare(connection, "SELECT 1"));
+            StubPreparedStatement three = prepare(connection, "SELECT 3");
+
+            assertTrue(two.isClosed());
+            assertFalse(one.isClosed());
+            assertFalse(three.isClosed());
+            assertEquals(2, TestElf.getPool(ds).getCachedPreparedStatementCount());
+        }
+    }
+
+    @Test
+    public void testPoolWideLimit() throws SQLException {
+        try (LightDataSource ds = newDataSource(2, 8, 1);
+             Connection connection1 = ds.getConnection();
+             Connection connection2 = ds.getConnection()) {
+            StubPreparedStatement one = prepare(connection1, "SELECT 1");
+            StubPreparedStatement two = prepare(connection2, "SELECT 2");
+            assertFalse(one.isClosed());
+            assertTrue("the other connection holds the only cached statement", two.isClosed());
+
+            // a connection over the limit makes room in its own cache
+            StubPreparedStatement three = prepare(connection1, "SELECT 3");
+            assertTrue(one.isClosed());
+            assertFalse(three.isClosed());
+            assertEquals(1, TestElf.getPool(ds).getCachedPreparedStatementCount());
+        }
+    }
+
+    @Test
+    public void testSchemaChangeInvalidates() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 8, 0);
+             Connection connection = ds.getConnection()) {
+            StubPreparedStatement cached = prepare(connection, "SELECT 1");
+            PreparedStatement held = connection.prepareStatement("SELECT 2");
+            StubPreparedStatement heldStub = held.unwrap(StubPreparedStatement.class);
+
+            connection.setSchema("other");
+            assertTrue(cached.isClosed());
+
+            // prepared against the previous schema
+            held.close();
+            assertTrue(heldStub.isClosed());
+            assertEquals(0, TestElf.getPool(ds).getCachedPreparedStatementCount());
+        }
+    }
+
+    @Test
+    public void testStatementsLeftOpenAreClosed() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 8, 0)) {
+            StubPreparedStatement stub;
+            try (Connection connection = ds.getConnection()) {
+                stub = connection.prepareStatement("SELECT 1").unwrap(StubPreparedStatement.class);
+            }
+            assertTrue(stub.isClosed());
+            assertEquals(0, TestElf.getPool(ds).getCachedPreparedStatementCount());
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() throws SQLException {
+        try (LightDataSource ds = newDataSource(1, 0, 0);
+             Connection connection = ds.getConnection()) {
+            StubPreparedStatement stub = prepare(connection, "SELECT 1");
+            assertTrue(stub.isClosed());
+            assertEquals(0, TestElf.getPool(ds).getPreparedStatementCacheMissCount());
+        }
+    }
+
+    @Test
+    public void testBatchClearedBeforeCaching() throws SQLException {
+        try (LightDataSource ds = newH2DataSource("cachedbatch")) {
+            PreparedStatement h2Statement;
+            try (Connection connection = ds.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("INSERT INTO T_CACHED VALUES (?)")) {
+                h2Statement = statement.unwrap(PreparedStatement.class);
+                statement.setInt(1, 1);
+                statement.addBatch();
+            }
+
+            try (Connection connection = ds.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("INSERT INTO T_CACHED VALUES (?)")) {
+                assertSame(h2Statement, statement.unwrap(PreparedStatement.class));
+                assertEquals(0, statement.executeBatch().length);
+            }
+        }
+    }
+
+    @Test
+    public void testSettingsResetBeforeCaching() throws SQLException {
+        try (LightDataSource ds = newH2DataSource("cachedsettings")) {
+            PreparedStatement h2Statement;
+            int fetchSize;
+            try (Connection connection = ds.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT ID FROM T_CACHED")) {
+                h2Statement = statement.unwrap(PreparedStatement.class);
+                fetchSize = statement.getFetchSize();
+                assertNotEquals(1, fetchSize);
+                statement.setMaxRows(1);
+                statement.setQueryTimeout(7);
+                statement.setFetchSize(1);
+                statement.setMaxRows(2);
+            }
+
+            try (Connection connection = ds.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT ID FROM T_CACHED")) {
+                assertSame(h2Statement, statement.unwrap(PreparedStatement.class));
+                assertEquals(0, statement.getMaxRows());
+                assertEquals(0, statement.getQueryTimeout());
+                assertEquals(fetchSize, statement.getFetchSize());
+            }
+        }
+    }
+
+    @Test
+    public void testClosedStatementCannotReachReissuedStatement() throws SQLException {
+        try (LightDataSource ds = newH2DataSource("cachedstale");
+             Connection connection = ds.getConnection()) {
+            PreparedStatement stale = connection.prepareStatement("INSERT INTO T_CACHED VALUES (?)");
+            PreparedStatement h2Statement = stale.unwrap(PreparedStatement.class);
+            stale.close();
+            assertTrue(stale.isClosed());
+            assertClosed(() -> stale.setInt(1, 1));
+
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO T_CACHED VALUES (?)")) {
+                assertSame(h2Statement, statement.unwrap(PreparedStatement.class));
+                statement.setInt(1, 2);
+                statement.addBatch();
+
+                assertClosed(() -> stale.setInt(1, 3));
+                assertClosed(stale::clearParameters);
+                assertClosed(stale::addBatch);
+                assertClosed(stale::clearBatch);
+                assertClosed(() -> stale.setMaxRows(1));
+                assertClosed(stale::executeBatch);
+                assertClosed(() -> stale.unwrap(PreparedStatement.class));
+
+                assertArrayEquals(new int[]{1}, statement.executeBatch());
+                assertEquals(0, statement.getMaxRows());
+            }
+        }
+    }
+
+    private interface StatementCall {
+        void run() throws SQLException;
+    }
+
+    private static void assertClosed(final StatementCall call) {
+        try {
+            call.run();
+            fail("a closed statement was used");
+        } catch (SQLException e) {
+            assertEquals("Statement is closed", e.getMessage());
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.apache.logging.log4j.core.layout.CsvLogEventLayout;
 import org.apache.logging.slf4j.Log4jLogger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -164,8 +165,6 @@ public final class TestElf {
     }
 
     public static class FauxWebClassLoader extends ClassLoader {
-        static final byte[] classBytes = new byte[16_000];
-
         @Override
         public Class<?> loadClass(final String name) throws ClassNotFoundException {
             if (name.startsWith("java") || name.startsWith("org")) {
@@ -175,16 +174,14 @@ public final class TestElf {
             final String resourceName = "/" + name.replace('.', '/') + ".class";
             final URL resource = this.getClass().getResource(resourceName);
             try (DataInputStream is = new DataInputStream(resource.openStream())) {
-                int read = 0;
-                while (read < classBytes.length) {
-                    final int rc = is.read(classBytes, read, classBytes.length - read);
-                    if (rc == -1) {
-                        break;
-                    }
-                    read += rc;
+                final ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[4096];
+                int rc;
+                while ((rc = is.read(buffer)) != -1) {
+                    classBytes.write(buffer, 0, rc);
                 }
 
-                return defineClass(name, classBytes, 0, read);
+                return defineClass(name, classBytes.toByteArray(), 0, classBytes.size());
             } catch (IOException e) {
                 throw new ClassNotFoundException(name);
             }
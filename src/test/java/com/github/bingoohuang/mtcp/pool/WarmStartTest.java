@@ -0,0 +1,74 @@
+package com.github.bingoohuang.mtcp.pool;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.metrics.MetricsTracker;
+import com.github.bingoohuang.mtcp.mocks.StubDataSource;
+import com.github.bingoohuang.mtcp.util.ClockSource;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class WarmStartTest {
+    private static final long CREATION_MILLIS = 100;
+
+    private static LightConfig newConfig(final int minIdle, final long warmStartTimeout) {
+        final StubDataSource dataSource = new StubDataSource();
+        dataSource.setConnectionAcquistionTime(CREATION_MILLIS);
+
+        LightConfig config = TestElf.newLightConfig();
+        config.setMinIdle(minIdle);
+        config.setMaxPoolSize(minIdle);
+        config.setConnectionCreationParallelism(4);
+        config.setWarmStartTimeout(warmStartTimeout);
+        config.setDataSource(dataSource);
+        return config;
+    }
+
+    @Test
+    public void testStartBlocksUntilMinIdle() {
+        try (LightDataSource ds = new LightDataSource(newConfig(8, 5_000))) {
+            assertEquals(8, TestElf.getPool(ds).getTotalConnections());
+        }
+    }
+
+    @Test
+    public void testStartDoesNotBlockByDefault() {
+        try (LightDataSource ds = new LightDataSource(newConfig(8, 0))) {
+            assertTrue(TestElf.getPool(ds).getTotalConnections() < 8);
+        }
+    }
+
+    @Test
+    public void testStartGivesUpAfterTimeout() {
+        final long start = ClockSource.currentTime();
+        try (LightDataSource ds = new LightDataSource(newConfig(50, 300))) {
+            assertTrue(ClockSource.elapsedMillis(start) < 2_000);
+            assertTrue(TestElf.getPool(ds).getTotalConnections() < 50);
+        }
+    }
+
+    @Test
+    public void testStartupRecorded() {
+        final AtomicLong startupMillis = new AtomicLong(-1);
+        LightConfig config = newConfig(4, 5_000);
+        config.setMetricsTrackerFactory((poolName, poolStats) -> new MetricsTracker() {
+            @Override
+            public void recordPoolStartedMillis(final long elapsedStartMillis) {
+                startupMillis.set(elapsedStartMillis);
+            }
+        });
+
+        try (LightDataSource ignored = new LightDataSource(config)) {
+            // the connection of the initialization check, then the 3 others in rounds of 1 and 2
+            assertTrue(String.valueOf(startupMillis.get()), startupMillis.get() >= 3 * CREATION_MILLIS);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTimeout() {
+        TestElf.newLightConfig().setWarmStartTimeout(-1);
+    }
+}
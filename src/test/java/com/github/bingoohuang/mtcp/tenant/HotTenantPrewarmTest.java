@@ -0,0 +1,100 @@
+package com.github.bingoohuang.mtcp.tenant;
+
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.pool.PoolRuntime;
+import com.github.bingoohuang.mtcp.pool.TestElf;
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.github.bingoohuang.mtcp.util.UtilityElf.quietlySleep;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HotTenantPrewarmTest {
+    public static class RecordingTenantEnvironment extends LazyTenantSwitchTest.SqlTenantEnvironment {
+        static final Queue<String> switchingThreads = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String getSwitchTenantSql(String tenantId) {
+            switchingThreads.add(Thread.currentThread().getName());
+            return super.getSwitchTenantSql(tenantId);
+        }
+    }
+
+    @Before
+    public void shortenHousekeeping() {
+        System.setProperty("com.github.bingoohuang.mtcp.housekeeping.periodMs", "200");
+        System.setProperty("com.github.bingoohuang.mtcp.hotTenants.sampleInterval", "1");
+    }
+
+    @After
+    public void restoreHousekeeping() {
+        System.clearProperty("com.github.bingoohuang.mtcp.housekeeping.periodMs");
+        System.clearProperty("com.github.bingoohuang.mtcp.hotTenants.sampleInterval");
+        MyTenantContext.clearTenantId();
+    }
+
+    @Test
+    public void testIdleConnectionsPreSwitchedForHotTenant() throws SQLException {
+        assertPreSwitched(null, "prewarm", "tenant prewarmer");
+    }
+
+    @Test
+    public void testPreSwitchedOnPoolRuntime() throws SQLException {
+        try (val runtime = new PoolRuntime()) {
+            assertPreSwitched(runtime, "prewarmruntime", "connection closer");
+        }
+    }
+
+    private static void assertPreSwitched(PoolRuntime runtime, String db, String prewarmThread) throws SQLException {
+        RecordingTenantEnvironment.switchingThreads.clear();
+        val config = TestElf.newLightConfig();
+        config.setMinIdle(3);
+        config.setMaxPoolSize(3);
+        config.setTenantAffinity(true);
+        config.setHotTenantCount(1);
+        config.setHotTenantIdleConnections(2);
+        config.setPoolRuntime(runtime);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setDataSourceClassName("org.h2.jdbcx.JdbcDataSource");
+        config.addDataSourceProperty("url", "jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1");
+        config.setTenantEnvironmentAwareClassName(RecordingTenantEnvironment.class.getName());
+
+        try (val ds = new LightDataSource(config)) {
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+            }
+
+            MyTenantContext.setTenantId("H");
+            for (int i = 0; i < 20; i++) {
+                try (val conn = ds.getConnection()) {
+                    // borrow and return
+                }
+            }
+
+            val poolBean = ds.getLightPoolMXBean();
+            for (int i = 0; i < 50 && poolBean.getTenantPrewarmCount() < 1; i++) {
+                quietlySleep(100);
+            }
+            assertTrue(poolBean.getTenantPrewarmCount() >= 1);
+            // not on the housekeeper, which the switches would hold up
+            for (val thread : RecordingTenantEnvironment.switchingThreads) {
+                assertTrue(thread, thread.equals(Thread.currentThread().getName()) || thread.contains(prewarmThread));
+            }
+
+            // two connections are now bound to H, borrowing both at once needs no switch
+            val switches = poolBean.getTenantSwitchCount();
+            try (val conn1 = ds.getConnection();
+                 val conn2 = ds.getConnection()) {
+                assertEquals(switches, poolBean.getTenantSwitchCount());
+            }
+        }
+    }
+}
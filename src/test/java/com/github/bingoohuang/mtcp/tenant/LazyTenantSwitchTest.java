@@ -0,0 +1,188 @@
+package com.github.bingoohuang.mtcp.tenant;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.pool.TestElf;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+
+public class LazyTenantSwitchTest {
+    public static class SqlTenantEnvironment extends MyTenantEnvironment {
+        @Override
+        public String getSwitchTenantSql(String tenantId) {
+            return "INSERT INTO T_CURRENT_TENANT(TENANT_ID) VALUES('" + tenantId + "-sql')";
+        }
+    }
+
+    public static class ExplicitTenantEnvironment extends MyTenantEnvironment {
+        @Override
+        @SneakyThrows
+        public void switchTenantDatabase(Connection connection, String tenantId) {
+            try (val statement = connection.createStatement()) {
+                statement.execute("INSERT INTO T_CURRENT_TENANT(TENANT_ID) VALUES('" + tenantId + "-explicit')");
+            }
+        }
+    }
+
+    public static class FailingTenantEnvironment extends MyTenantEnvironment {
+        @Override
+        @SneakyThrows
+        public void switchTenantDatabase(Connection connection) {
+            if ("BAD".equals(MyTenantContext.getTenantId())) {
+                throw new SQLException("no such tenant database");
+            }
+            super.switchTenantDatabase(connection);
+        }
+    }
+
+    @After
+    public void clearTenant() {
+        MyTenantContext.clearTenantId();
+    }
+
+    private static LightConfig newConfig(String db, Class<?> tenantEnvironment) {
+        val config = TestElf.newLightConfig();
+        config.setMinIdle(0);
+        config.setMaxPoolSize(1);
+        config.setLazyTenantSwitch(true);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setDataSourceClassName("org.h2.jdbcx.JdbcDataSource");
+        config.addDataSourceProperty("url", "jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1");
+        config.setTenantEnvironmentAwareClassName(tenantEnvironment.getName());
+        return config;
+    }
+
+    private static int countSwitches(LightDataSource ds, String tenantId) throws SQLException {
+        MyTenantContext.clearTenantId();
+        try (val conn = ds.getConnection();
+             val stmt = conn.prepareStatement("SELECT COUNT(*) FROM T_CURRENT_TENANT WHERE TENANT_ID = ?")) {
+            stmt.setString(1, tenantId);
+            try (val rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    @Test
+    public void testSwitchDeferredToFirstStatement() throws SQLException {
+        try (val ds = new LightDataSource(newConfig("lazyswitch", MyTenantEnvironment.class))) {
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+            }
+
+            val poolBean = ds.getLightPoolMXBean();
+            val switches = poolBean.getTenantSwitchCount();
+
+            // a borrow that never creates a statement does not switch
+            MyTenantContext.setTenantId("A");
+            try (val conn = ds.getConnection()) {
+                conn.getAutoCommit();
+            }
+            assertEquals(switches, poolBean.getTenantSwitchCount());
+            assertEquals(0, countSwitches(ds, "A"));
+
+            // the first statement switches, later ones do not
+            MyTenantContext.setTenantId("A");
+            try (val conn = ds.getConnection()) {
+                conn.createStatement().close();
+                conn.prepareStatement("SELECT 1").close();
+            }
+            assertEquals(switches + 1, poolBean.getTenantSwitchCount());
+            assertEquals(1, countSwitches(ds, "A"));
+        }
+    }
+
+    @Test
+    public void testSwitchBySql() throws SQLException {
+        try (val ds = new LightDataSource(newConfig("lazyswitchsql", SqlTenantEnvironment.class))) {
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+            }
+
+            MyTenantContext.setTenantId("B");
+            try (val conn = ds.getConnection()) {
+                conn.prepareStatement("SELECT 1").close();
+            }
+
+            assertEquals(1, countSwitches(ds, "B-sql"));
+            assertEquals(0, countSwitches(ds, "B"));
+        }
+    }
+
+    private static void createSwitchTable(LightDataSource ds) throws SQLException {
+        try (val conn = ds.getConnection();
+             val stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+        }
+    }
+
+    @Test
+    public void testFailedSwitchEvictsConnection() throws SQLException {
+        try (val ds = new LightDataSource(newConfig("lazyswitchfail", FailingTenantEnvironment.class))) {
+            createSwitchTable(ds);
+            val poolBean = ds.getLightPoolMXBean();
+            assertEquals(1, poolBean.getTotalConnections());
+
+            MyTenantContext.setTenantId("BAD");
+            try (val conn = ds.getConnection()) {
+                try {
+                    conn.createStatement();
+                    fail("the tenant switch should have failed");
+                } catch (SQLException e) {
+                    assertEquals("no such tenant database", e.getMessage());
+                }
+                assertTrue(conn.isClosed());
+            }
+            assertEquals(0, poolBean.getTotalConnections());
+        }
+    }
+
+    @Test
+    public void testTenantChangedBeforeFirstStatement() throws SQLException {
+        try (val ds = new LightDataSource(newConfig("lazyswitchmoved", MyTenantEnvironment.class))) {
+            createSwitchTable(ds);
+            val poolBean = ds.getLightPoolMXBean();
+
+            // the callback only switches to the tenant of the thread, the connection is bound to that one
+            MyTenantContext.setTenantId("A");
+            try (val conn = ds.getConnection()) {
+                MyTenantContext.setTenantId("B");
+                conn.createStatement().close();
+            }
+            val switches = poolBean.getTenantSwitchCount();
+            try (val conn = ds.getConnection()) {
+                conn.createStatement().close();
+            }
+            assertEquals("B reuses the connection switched to B", switches, poolBean.getTenantSwitchCount());
+
+            assertEquals(1, countSwitches(ds, "B"));
+            assertEquals(0, countSwitches(ds, "A"));
+        }
+    }
+
+    @Test
+    public void testTenantOfBorrowSwitchedExplicitly() throws SQLException {
+        try (val ds = new LightDataSource(newConfig("lazyswitchexplicit", ExplicitTenantEnvironment.class))) {
+            createSwitchTable(ds);
+
+            MyTenantContext.setTenantId("A");
+            try (val conn = ds.getConnection()) {
+                MyTenantContext.setTenantId("B");
+                conn.createStatement().close();
+            }
+
+            assertEquals(1, countSwitches(ds, "A-explicit"));
+            assertEquals(0, countSwitches(ds, "B"));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.bingoohuang.mtcp.tenant;
+
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.pool.TestElf;
+import lombok.val;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TenantAffinityTest {
+    @Test
+    public void testAffinityAvoidsSwitch() throws SQLException {
+        val config = TestElf.newLightConfig();
+        config.setMinIdle(0);
+        config.setMaxPoolSize(2);
+        config.setTenantAffinity(true);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setDataSourceClassName("org.h2.jdbcx.JdbcDataSource");
+        config.addDataSourceProperty("url", "jdbc:h2:mem:affinity;DB_CLOSE_DELAY=-1");
+        config.setTenantEnvironmentAwareClassName(MyTenantEnvironment.class.getName());
+
+        try (val ds = new LightDataSource(config)) {
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+            }
+
+            // bind one connection to each tenant
+            MyTenantContext.setTenantId("A");
+            try (Connection connA = ds.getConnection()) {
+                MyTenantContext.setTenantId("B");
+                try (Connection connB = ds.getConnection()) {
+                    // both held at the same time so that each tenant gets its own connection
+                }
+            }
+
+            val poolBean = ds.getLightPoolMXBean();
+            val switches = poolBean.getTenantSwitchCount();
+            val hits = poolBean.getTenantAffinityHitCount();
+
+            for (int i = 0; i < 10; i++) {
+                for (val tenantId : new String[]{"A", "B"}) {
+                    MyTenantContext.setTenantId(tenantId);
+                    try (val conn = ds.getConnection()) {
+                        // borrow and return
+                    }
+                }
+            }
+            MyTenantContext.clearTenantId();
+
+            assertEquals(switches, poolBean.getTenantSwitchCount());
+            assertEquals(hits + 20, poolBean.getTenantAffinityHitCount());
+            assertTrue(poolBean.getTenantSwitchAvoidanceRatio() > 0.8);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.bingoohuang.mtcp.tenant;
+
+import com.github.bingoohuang.mtcp.TenantRoutingDataSource;
+import com.github.bingoohuang.mtcp.pool.TestElf;
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class TenantRoutingDataSourceTest {
+    private static final String SERVER_A = "jdbc:h2:mem:routeA;DB_CLOSE_DELAY=-1";
+    private static final String SERVER_B = "jdbc:h2:mem:routeB;DB_CLOSE_DELAY=-1";
+
+    @After
+    public void clearTenant() {
+        MyTenantContext.clearTenantId();
+    }
+
+    private static TenantRoutingDataSource newRoutingDataSource(long idlePoolTimeoutMs) {
+        val config = TestElf.newLightConfig();
+        config.setMinIdle(0);
+        config.setMaxPoolSize(1);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setConnectionInitSql("CREATE TABLE IF NOT EXISTS T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+        config.setTenantEnvironmentAwareClassName(MyTenantEnvironment.class.getName());
+        return new TenantRoutingDataSource(config, tenantId -> "A".equals(tenantId) ? SERVER_A : SERVER_B, idlePoolTimeoutMs);
+    }
+
+    private static String connectedUrl(TenantRoutingDataSource ds, String tenantId) throws SQLException {
+        MyTenantContext.setTenantId(tenantId);
+        try (val conn = ds.getConnection()) {
+            return conn.getMetaData().getURL() + ";DB_CLOSE_DELAY=-1";
+        }
+    }
+
+    @Test
+    public void testRoutesToPoolOfServer() throws SQLException {
+        try (val ds = newRoutingDataSource(0)) {
+            assertEquals(0, ds.getPoolCount());
+
+            assertEquals(SERVER_A, connectedUrl(ds, "A"));
+            assertEquals(1, ds.getPoolCount());
+
+            assertEquals(SERVER_B, connectedUrl(ds, "B"));
+            assertEquals(SERVER_B, connectedUrl(ds, "C"));
+            assertEquals(2, ds.getPoolCount());
+            assertNotNull(ds.getLightPoolMXBean(SERVER_B));
+        }
+    }
+
+    @Test
+    public void testClosesIdlePools() throws Exception {
+        try (val ds = newRoutingDataSource(200)) {
+            MyTenantContext.setTenantId("A");
+            val held = ds.getConnection();
+            assertEquals(SERVER_B, connectedUrl(ds, "B"));
+
+            val deadline = System.nanoTime() + SECONDS.toNanos(5);
+            while (ds.getPoolCount() > 1 && System.nanoTime() < deadline) {
+                MILLISECONDS.sleep(20);
+            }
+
+            // the pool of B is idle, the pool of A has a connection in use
+            assertEquals(1, ds.getPoolCount());
+            assertNull(ds.getLightPoolMXBean(SERVER_B));
+            assertNotNull(ds.getLightPoolMXBean(SERVER_A));
+            held.close();
+
+            // an idle pool is started again on its next use
+            assertEquals(SERVER_B, connectedUrl(ds, "B"));
+            assertNotNull(ds.getLightPoolMXBean(SERVER_B));
+        }
+    }
+
+    @Test
+    public void testClosed() {
+        val ds = newRoutingDataSource(0);
+        ds.close();
+        try {
+            connectedUrl(ds, "A");
+            fail("the data source is closed");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("has been closed"));
+        }
+    }
+}
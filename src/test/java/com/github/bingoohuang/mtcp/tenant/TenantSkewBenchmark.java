@@ -0,0 +1,391 @@
+package com.github.bingoohuang.mtcp.tenant;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.TenantEnvironmentAware;
+import com.github.bingoohuang.mtcp.util.PropertyElf;
+import lombok.val;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.io.FileWriter;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Drives a tenant-aware pool over an in-memory H2 database with a schema per tenant, the way a multi-tenant
+ * service does: each request picks a tenant by a Zipf distribution, borrows a connection, which the pool
+ * switches to the tenant's schema unless it is bound to it already, runs a query, and thinks before the
+ * next request.  It reports the throughput, the percentiles of the time {@code getConnection()} took, tenant
+ * switch included, the tenant switch rate and how fairly the waits were shared among tenants.  This is the
+ * baseline for tenant affinity and quota work.
+ * <p>
+ * Not a unit test, run its main method on the test classpath with the optional arguments: tenants, Zipf
+ * exponent (0 for uniform), threads, think time in microseconds, seconds per run and pool size, followed by
+ * any number of {@code property=value} pool settings such as {@code tenantAffinity=true} or
+ * {@code borrowOrder=LIFO}.  With the system property {@code resultFile}, the results are also written to
+ * that file as JSON.
+ */
+public class TenantSkewBenchmark {
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+    public static void main(String[] args) throws Exception {
+        val tenants = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        val skew = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+        val threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        val thinkMicros = args.length > 3 ? Long.parseLong(args[3]) : 100L;
+        val seconds = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        val poolSize = args.length > 5 ? Integer.parseInt(args[5]) : 8;
+        val poolProperties = new Properties();
+        for (int i = 6; i < args.length; i++) {
+            val pair = args[i].split("=", 2);
+            poolProperties.setProperty(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+
+        val url = "jdbc:h2:mem:tenant_skew;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0";
+        createTenantSchemas(url, tenants);
+
+        val config = new LightConfig();
+        config.setPoolName("tenant-skew");
+        config.setDataSourceClassName(JdbcDataSource.class.getName());
+        config.addDataSourceProperty("url", url);
+        config.setMinIdle(poolSize);
+        config.setMaxPoolSize(poolSize);
+        config.setTenantEnvironmentAware(new SchemaTenantEnvironment());
+        PropertyElf.setTargetFromProperties(config, poolProperties);
+
+        try (val dataSource = new LightDataSource(config)) {
+            val zipf = new Zipf(tenants, skew);
+            // the first fifth of the time warms up the pool and the JIT
+            val warmupSeconds = Math.max(1, seconds / 5);
+            run(dataSource, zipf, threads, thinkMicros, warmupSeconds);
+            val result = run(dataSource, zipf, threads, thinkMicros, seconds);
+
+            val settings = String.format(Locale.ROOT, "tenants=%d skew=%.2f threads=%d think=%dus pool=%d %s", tenants, skew, threads,
+                    thinkMicros, poolSize, poolProperties.isEmpty() ? "" : poolProperties.toString());
+            result.print(settings);
+
+            val resultFile = System.getProperty("resultFile");
+            if (resultFile != null) {
+                try (Writer writer = new FileWriter(resultFile)) {
+                    writer.write(result.toJson(settings));
+                }
+            }
+        }
+    }
+
+    private static void createTenantSchemas(final String url, final int tenants) throws SQLException {
+        val h2 = new JdbcDataSource();
+        h2.setURL(url);
+        try (val connection = h2.getConnection();
+             val statement = connection.createStatement()) {
+            for (int t = 0; t < tenants; t++) {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS " + tenantId(t));
+                statement.execute("CREATE TABLE IF NOT EXISTS " + tenantId(t) + ".T_DATA(ID INT PRIMARY KEY, V VARCHAR(32))");
+                statement.execute("MERGE INTO " + tenantId(t) + ".T_DATA VALUES(1, '" + tenantId(t) + "')");
+            }
+        }
+    }
+
+    private static String tenantId(final int tenant) {
+        return "T" + tenant;
+    }
+
+    private static Result run(final LightDataSource dataSource, final Zipf zipf, final int threads, final long thinkMicros,
+                              final int seconds) throws InterruptedException {
+        val pool = dataSource.getLightPoolMXBean();
+        val result = new Result(zipf.tenants);
+        val stop = new AtomicBoolean();
+        val start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Thread(() -> {
+                final Recorder recorder = new Recorder(zipf.tenants);
+                await(start);
+                while (!stop.get()) {
+                    request(dataSource, zipf.next(), recorder);
+                    if (thinkMicros > 0) {
+                        LockSupport.parkNanos(MICROSECONDS.toNanos(thinkMicros));
+                    }
+                }
+                result.merge(recorder);
+            }, "tenant-skew-" + i));
+        }
+
+        val switchesBefore = pool.getTenantSwitchCount();
+        val hitsBefore = pool.getTenantAffinityHitCount();
+        workers.forEach(Thread::start);
+        val startNanos = System.nanoTime();
+        start.countDown();
+        SECONDS.sleep(seconds);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        result.elapsedNanos = System.nanoTime() - startNanos;
+        result.switches = pool.getTenantSwitchCount() - switchesBefore;
+        result.affinityHits = pool.getTenantAffinityHitCount() - hitsBefore;
+        return result;
+    }
+
+    private static void request(final LightDataSource dataSource, final int tenant, final Recorder recorder) {
+        TENANT.set(tenantId(tenant));
+        val startNanos = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            recorder.acquired(tenant, System.nanoTime() - startNanos);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT V FROM T_DATA WHERE ID = 1");
+                 ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next() || !tenantId(tenant).equals(resultSet.getString(1))) {
+                    recorder.wrongTenant++;
+                }
+            }
+        } catch (SQLException e) {
+            recorder.failures++;
+        } finally {
+            TENANT.remove();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Switches a connection to a tenant by setting its H2 schema.
+     */
+    public static class SchemaTenantEnvironment implements TenantEnvironmentAware {
+        @Override
+        public String getTenantId() {
+            return TENANT.get();
+        }
+
+        @Override
+        public void tagActiveConnection(int connectionSeq) {
+            // not measured here
+        }
+
+        @Override
+        public void switchTenantDatabase(Connection connection) {
+            switchTenantDatabase(connection, getTenantId());
+        }
+
+        @Override
+        public void switchTenantDatabase(Connection connection, String tenantId) {
+            if (tenantId == null) {
+                return;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SCHEMA " + tenantId);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Cannot switch to tenant " + tenantId, e);
+            }
+        }
+    }
+
+    /**
+     * Samples tenant indexes with probabilities proportional to {@code 1 / (rank + 1)^exponent}.
+     */
+    static class Zipf {
+        final int tenants;
+        private final double[] cumulative;
+
+        Zipf(final int tenants, final double exponent) {
+            this.tenants = tenants;
+            this.cumulative = new double[tenants];
+            double sum = 0;
+            for (int t = 0; t < tenants; t++) {
+                sum += 1 / Math.pow(t + 1, exponent);
+                cumulative[t] = sum;
+            }
+            for (int t = 0; t < tenants; t++) {
+                cumulative[t] /= sum;
+            }
+        }
+
+        int next() {
+            val index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, tenants - 1);
+        }
+    }
+
+    /**
+     * A log-linear histogram of nanosecond latencies, 16 buckets per power of two, so within about 6%.
+     */
+    static class Histogram {
+        private static final int SUB_BUCKETS = 16;
+
+        final long[] counts = new long[64 * SUB_BUCKETS];
+        long total;
+
+        void record(final long nanos) {
+            counts[indexOf(Math.max(0, nanos))]++;
+            total++;
+        }
+
+        void merge(final Histogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+        }
+
+        long percentile(final double percentile) {
+            val rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return upperBoundOf(i);
+                }
+            }
+            return 0;
+        }
+
+        private static int indexOf(final long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            val magnitude = 63 - Long.numberOfLeadingZeros(value);
+            return (magnitude - 3) * SUB_BUCKETS + (int) ((value >>> (magnitude - 4)) & (SUB_BUCKETS - 1));
+        }
+
+        private static long upperBoundOf(final int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            val magnitude = index / SUB_BUCKETS + 3;
+            val sub = index % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (magnitude - 4)) - 1;
+        }
+    }
+
+    /**
+     * What a single worker thread saw, merged into the {@link Result} when it stops.
+     */
+    static class Recorder {
+        final Histogram acquire = new Histogram();
+        final long[] requests;
+        final long[] acquireNanos;
+        long failures;
+        long wrongTenant;
+
+        Recorder(final int tenants) {
+            requests = new long[tenants];
+            acquireNanos = new long[tenants];
+        }
+
+        void acquired(final int tenant, final long nanos) {
+            acquire.record(nanos);
+            requests[tenant]++;
+            acquireNanos[tenant] += nanos;
+        }
+    }
+
+    static class Result extends Recorder {
+        long elapsedNanos;
+        long switches;
+        long affinityHits;
+
+        Result(final int tenants) {
+            super(tenants);
+        }
+
+        synchronized void merge(final Recorder recorder) {
+            acquire.merge(recorder.acquire);
+            for (int t = 0; t < requests.length; t++) {
+                requests[t] += recorder.requests[t];
+                acquireNanos[t] += recorder.acquireNanos[t];
+            }
+            failures += recorder.failures;
+            wrongTenant += recorder.wrongTenant;
+        }
+
+        double throughput() {
+            return acquire.total / (elapsedNanos / 1e9);
+        }
+
+        double switchRate() {
+            return acquire.total > 0 ? (double) switches / acquire.total : 0;
+        }
+
+        /**
+         * Jain's fairness index of the mean acquire time of the tenants that were served: 1 when every
+         * tenant waited as long as any other, down to 1/n when a single tenant did all the waiting.
+         */
+        double fairness() {
+            double sum = 0;
+            double sumOfSquares = 0;
+            int served = 0;
+            for (int t = 0; t < requests.length; t++) {
+                if (requests[t] > 0) {
+                    val mean = (double) acquireNanos[t] / requests[t];
+                    sum += mean;
+                    sumOfSquares += mean * mean;
+                    served++;
+                }
+            }
+            return sumOfSquares > 0 ? sum * sum / (served * sumOfSquares) : 1;
+        }
+
+        private double meanMicros(final int tenant) {
+            return requests[tenant] > 0 ? NANOSECONDS.toMicros(acquireNanos[tenant] / requests[tenant]) : 0;
+        }
+
+        void print(final String settings) {
+            System.out.println(settings);
+            System.out.printf(Locale.ROOT, "throughput %,.0f requests/s, %d failures, %d on a wrong tenant%n", throughput(), failures, wrongTenant);
+            System.out.printf(Locale.ROOT, "acquire p50 %,d us, p90 %,d us, p99 %,d us, p99.9 %,d us, max %,d us%n",
+                    NANOSECONDS.toMicros(acquire.percentile(50)), NANOSECONDS.toMicros(acquire.percentile(90)),
+                    NANOSECONDS.toMicros(acquire.percentile(99)), NANOSECONDS.toMicros(acquire.percentile(99.9)),
+                    NANOSECONDS.toMicros(acquire.percentile(100)));
+            System.out.printf(Locale.ROOT, "tenant switches %,.0f/s, %.1f%% of borrows, affinity hits %.1f%%%n",
+                    switches / (elapsedNanos / 1e9), 100 * switchRate(), acquire.total > 0 ? 100.0 * affinityHits / acquire.total : 0);
+            System.out.printf(Locale.ROOT, "fairness of the mean acquire time across tenants %.3f%n", fairness());
+            for (int t = 0; t < Math.min(5, requests.length); t++) {
+                System.out.printf(Locale.ROOT, "  %-6s %5.1f%% of requests, mean acquire %,.0f us%n", tenantId(t),
+                        acquire.total > 0 ? 100.0 * requests[t] / acquire.total : 0, meanMicros(t));
+            }
+            val coldest = requests.length - 1;
+            System.out.printf(Locale.ROOT, "  %-6s %5.1f%% of requests, mean acquire %,.0f us%n", tenantId(coldest),
+                    acquire.total > 0 ? 100.0 * requests[coldest] / acquire.total : 0, meanMicros(coldest));
+        }
+
+        String toJson(final String settings) {
+            val json = new StringBuilder();
+            json.append(String.format(Locale.ROOT, "{\"settings\":\"%s\",\"throughput\":%.1f,\"failures\":%d,\"wrongTenant\":%d,", settings.trim(),
+                    throughput(), failures, wrongTenant));
+            json.append(String.format(Locale.ROOT, "\"acquireNanos\":{\"p50\":%d,\"p90\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d},",
+                    acquire.percentile(50), acquire.percentile(90), acquire.percentile(99), acquire.percentile(99.9), acquire.percentile(100)));
+            json.append(String.format(Locale.ROOT, "\"switchRate\":%.4f,\"affinityHits\":%d,\"fairness\":%.4f,\"tenants\":[", switchRate(),
+                    affinityHits, fairness()));
+            for (int t = 0; t < requests.length; t++) {
+                json.append(t > 0 ? "," : "").append(String.format(Locale.ROOT, "{\"id\":\"%s\",\"requests\":%d,\"meanAcquireNanos\":%d}",
+                        tenantId(t), requests[t], requests[t] > 0 ? acquireNanos[t] / requests[t] : 0));
+            }
+            return json.append("]}").toString();
+        }
+    }
+}
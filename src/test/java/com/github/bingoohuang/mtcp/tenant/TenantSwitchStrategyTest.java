@@ -0,0 +1,209 @@
+package com.github.bingoohuang.mtcp.tenant;
+
+import com.github.bingoohuang.mtcp.LightConfig;
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.TenantSwitchStrategy;
+import com.github.bingoohuang.mtcp.pool.TestElf;
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static com.github.bingoohuang.mtcp.util.UtilityElf.quietlySleep;
+import static org.junit.Assert.*;
+
+public class TenantSwitchStrategyTest {
+    @After
+    public void clearTenant() {
+        MyTenantContext.clearTenantId();
+    }
+
+    private static LightConfig newConfig(String db, TenantSwitchStrategy strategy) {
+        val config = TestElf.newLightConfig();
+        config.setMinIdle(0);
+        config.setMaxPoolSize(1);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setDataSourceClassName("org.h2.jdbcx.JdbcDataSource");
+        config.addDataSourceProperty("url", "jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0");
+        config.setTenantEnvironmentAwareClassName(MyTenantEnvironment.class.getName());
+        config.setTenantSwitchStrategy(strategy);
+        return config;
+    }
+
+    private static String queryName(Connection conn) throws SQLException {
+        try (val stmt = conn.createStatement();
+             val rs = stmt.executeQuery("SELECT NAME FROM T_NAME")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    @Test
+    public void testSchemaStrategy() throws SQLException {
+        try (val ds = new LightDataSource(newConfig("schemaswitch", TenantSwitchStrategy.SCHEMA))) {
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement()) {
+                for (val tenantId : new String[]{"A", "B"}) {
+                    stmt.executeUpdate("CREATE SCHEMA " + tenantId);
+                    stmt.executeUpdate("CREATE TABLE " + tenantId + ".T_NAME(NAME VARCHAR(128))");
+                    stmt.executeUpdate("INSERT INTO " + tenantId + ".T_NAME(NAME) VALUES('" + tenantId.toLowerCase() + "')");
+                }
+            }
+
+            MyTenantContext.setTenantId("A");
+            try (val conn = ds.getConnection()) {
+                assertEquals("a", queryName(conn));
+            }
+
+            MyTenantContext.setTenantId("B");
+            try (val conn = ds.getConnection()) {
+                assertEquals("b", queryName(conn));
+                conn.setSchema("A");
+            }
+
+            // the schema is reset to the tenant of the connection, so the next borrow of B needs no switch
+            val poolBean = ds.getLightPoolMXBean();
+            val switches = poolBean.getTenantSwitchCount();
+            try (val conn = ds.getConnection()) {
+                assertEquals("b", queryName(conn));
+            }
+            assertEquals(switches, poolBean.getTenantSwitchCount());
+        }
+    }
+
+    @Test
+    public void testSchemaStrategyWithStatementCache() throws SQLException {
+        val config = newConfig("schemacache", TenantSwitchStrategy.SCHEMA);
+        config.setPreparedStatementCacheSize(8);
+
+        try (val ds = new LightDataSource(config)) {
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement()) {
+                for (val tenantId : new String[]{"A", "B"}) {
+                    stmt.executeUpdate("CREATE SCHEMA " + tenantId);
+                    stmt.executeUpdate("CREATE TABLE " + tenantId + ".T_NAME(NAME VARCHAR(128))");
+                    stmt.executeUpdate("INSERT INTO " + tenantId + ".T_NAME(NAME) VALUES('" + tenantId.toLowerCase() + "')");
+                }
+            }
+
+            // a statement prepared for one tenant is never reused for another
+            for (val tenantId : new String[]{"A", "A", "B", "A"}) {
+                MyTenantContext.setTenantId(tenantId);
+                try (val conn = ds.getConnection();
+                     val ps = conn.prepareStatement("SELECT NAME FROM T_NAME");
+                     val rs = ps.executeQuery()) {
+                    rs.next();
+                    assertEquals(tenantId.toLowerCase(), rs.getString(1));
+                }
+            }
+
+            assertEquals(1, ds.getLightPoolMXBean().getPreparedStatementCacheHitCount());
+        }
+    }
+
+    @Test
+    public void testSqlStrategy() throws SQLException {
+        val config = newConfig("sqlswitch", TenantSwitchStrategy.SQL);
+        config.setTenantSwitchSql("INSERT INTO T_CURRENT_TENANT(TENANT_ID) VALUES(?)");
+
+        try (val ds = new LightDataSource(config)) {
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+            }
+
+            for (val tenantId : new String[]{"A", "B", "A"}) {
+                MyTenantContext.setTenantId(tenantId);
+                ds.getConnection().close();
+            }
+
+            MyTenantContext.clearTenantId();
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement();
+                 val rs = stmt.executeQuery("SELECT TENANT_ID FROM T_CURRENT_TENANT WHERE TENANT_ID IS NOT NULL ORDER BY 1")) {
+                val switched = new StringBuilder();
+                while (rs.next()) {
+                    switched.append(rs.getString(1));
+                }
+                assertEquals("AAB", switched.toString());
+            }
+        }
+    }
+
+    private static String queryTenantVariable(Connection conn) throws SQLException {
+        try (val stmt = conn.createStatement();
+             val rs = stmt.executeQuery("SELECT @TENANT_ID")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    @Test
+    public void testSqlStrategyWithoutTenant() throws SQLException {
+        val config = newConfig("sqlswitchnotenant", TenantSwitchStrategy.SQL);
+        config.setTenantSwitchSql("SET @TENANT_ID = ?");
+
+        try (val ds = new LightDataSource(config)) {
+            MyTenantContext.setTenantId("A");
+            Connection switched;
+            try (val conn = ds.getConnection()) {
+                assertEquals("A", queryTenantVariable(conn));
+                switched = conn.unwrap(Connection.class);
+            }
+
+            // without a reset SQL, the connection switched to A is closed rather than handed out
+            MyTenantContext.clearTenantId();
+            try (val conn = ds.getConnection()) {
+                assertNotSame(switched, conn.unwrap(Connection.class));
+                assertNull(queryTenantVariable(conn));
+            }
+            // closed on the connection closers, asynchronously
+            for (int i = 0; i < 50 && !switched.isClosed(); i++) {
+                quietlySleep(100);
+            }
+            assertTrue(switched.isClosed());
+        }
+    }
+
+    @Test
+    public void testSqlStrategyResetWithoutTenant() throws SQLException {
+        val config = newConfig("sqlswitchreset", TenantSwitchStrategy.SQL);
+        config.setTenantSwitchSql("SET @TENANT_ID = ?");
+        config.setTenantResetSql("SET @TENANT_ID = NULL");
+
+        try (val ds = new LightDataSource(config)) {
+            MyTenantContext.setTenantId("A");
+            Connection switched;
+            try (val conn = ds.getConnection()) {
+                switched = conn.unwrap(Connection.class);
+            }
+
+            val poolBean = ds.getLightPoolMXBean();
+            val switches = poolBean.getTenantSwitchCount();
+            MyTenantContext.clearTenantId();
+            try (val conn = ds.getConnection()) {
+                assertSame(switched, conn.unwrap(Connection.class));
+                assertNull(queryTenantVariable(conn));
+            }
+            assertEquals(switches + 1, poolBean.getTenantSwitchCount());
+
+            // reset, so the next borrower of A switches again
+            MyTenantContext.setTenantId("A");
+            try (val conn = ds.getConnection()) {
+                assertEquals("A", queryTenantVariable(conn));
+            }
+            assertEquals(switches + 2, poolBean.getTenantSwitchCount());
+        }
+    }
+
+    @Test
+    public void testSqlStrategyRequiresSql() {
+        try (val ignored = new LightDataSource(newConfig("sqlswitchmissing", TenantSwitchStrategy.SQL))) {
+            fail("tenantSwitchSql is required");
+        } catch (IllegalArgumentException e) {
+            assertEquals("tenantSwitchSql is required with tenantSwitchStrategy SQL.", e.getMessage());
+        }
+    }
+}
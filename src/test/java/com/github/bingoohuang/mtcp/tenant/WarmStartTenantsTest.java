@@ -0,0 +1,69 @@
+package com.github.bingoohuang.mtcp.tenant;
+
+import com.github.bingoohuang.mtcp.LightDataSource;
+import com.github.bingoohuang.mtcp.metrics.MetricsTracker;
+import com.github.bingoohuang.mtcp.pool.TestElf;
+import lombok.val;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class WarmStartTenantsTest {
+    @After
+    public void clearTenant() {
+        MyTenantContext.clearTenantId();
+    }
+
+    @Test
+    public void testTenantsPreSwitchedAtStart() throws SQLException {
+        val config = TestElf.newLightConfig();
+        config.setMinIdle(3);
+        config.setMaxPoolSize(3);
+        config.setTenantAffinity(true);
+        config.setWarmStartTimeout(5_000);
+        config.setWarmStartTenants("A, B");
+        config.setConnectionTestQuery("SELECT 1");
+        config.setDataSourceClassName("org.h2.jdbcx.JdbcDataSource");
+        config.addDataSourceProperty("url", "jdbc:h2:mem:warmstart;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE TABLE IF NOT EXISTS T_CURRENT_TENANT(TENANT_ID VARCHAR(128))");
+        config.setTenantEnvironmentAwareClassName(LazyTenantSwitchTest.SqlTenantEnvironment.class.getName());
+        final List<String> switchedTenants = new CopyOnWriteArrayList<>();
+        config.setMetricsTrackerFactory((poolName, poolStats) -> new MetricsTracker() {
+            @Override
+            public void recordTenantSwitchNanos(final String tenantId, final long elapsedSwitchNanos) {
+                switchedTenants.add(tenantId);
+            }
+        });
+
+        try (val ds = new LightDataSource(config)) {
+            // the pre-switches are counted like the switches on borrow
+            assertEquals(2, ds.getLightPoolMXBean().getTenantSwitchCount());
+            assertEquals(asList("A", "B"), switchedTenants);
+
+            try (val conn = ds.getConnection();
+                 val stmt = conn.createStatement();
+                 val rs = stmt.executeQuery("SELECT COUNT(*) FROM T_CURRENT_TENANT WHERE TENANT_ID IN ('A-sql', 'B-sql')")) {
+                rs.next();
+                assertEquals(2, rs.getInt(1));
+            }
+
+            // the first borrows of the pre-switched tenants need no switch
+            val poolBean = ds.getLightPoolMXBean();
+            val switches = poolBean.getTenantSwitchCount();
+            MyTenantContext.setTenantId("A");
+            try (val ignored = ds.getConnection()) {
+                assertEquals(switches, poolBean.getTenantSwitchCount());
+            }
+            MyTenantContext.setTenantId("B");
+            try (val ignored = ds.getConnection()) {
+                assertEquals(switches, poolBean.getTenantSwitchCount());
+            }
+        }
+    }
+}
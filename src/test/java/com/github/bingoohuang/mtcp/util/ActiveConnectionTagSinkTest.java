@@ -0,0 +1,119 @@
+package com.github.bingoohuang.mtcp.util;
+
+import com.github.bingoohuang.mtcp.ActiveConnectionTags;
+import com.github.bingoohuang.mtcp.BatchTenantEnvironmentAware;
+import lombok.val;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ActiveConnectionTagSinkTest {
+    private static class RecordingEnvironment implements BatchTenantEnvironmentAware {
+        final List<String> tags = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch firstBatch = new CountDownLatch(1);
+
+        @Override
+        public void tagActiveConnections(ActiveConnectionTags batch) {
+            for (int i = 0; i < batch.size(); i++) {
+                assertTrue(batch.getTimestamp(i) > 0);
+                tags.add(batch.getTenantId(i) + ":" + batch.getConnectionSeq(i));
+            }
+            firstBatch.countDown();
+            awaitRelease();
+        }
+
+        void awaitRelease() {
+        }
+
+        @Override
+        public String getTenantId() {
+            return null;
+        }
+
+        @Override
+        public void tagActiveConnection(int connectionSeq) {
+            fail("tags must be delivered in batches");
+        }
+
+        @Override
+        public void switchTenantDatabase(Connection connection) {
+        }
+    }
+
+    @Test
+    public void testDeliversInOrder() throws Exception {
+        val env = new RecordingEnvironment();
+        try (val sink = new ActiveConnectionTagSink(env, 8, new UtilityElf.DefaultThreadFactory("tag sink", true))) {
+            for (int i = 0; i < 5; i++) {
+                sink.tag(i, "T" + i);
+            }
+            assertTrue(env.firstBatch.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(5, env.tags.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("T" + i + ":" + i, env.tags.get(i));
+        }
+    }
+
+    @Test
+    public void testOverflowIsCountedNotBlocking() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        RecordingEnvironment env = new RecordingEnvironment() {
+            @Override
+            void awaitRelease() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        try (val sink = new ActiveConnectionTagSink(env, 4, new UtilityElf.DefaultThreadFactory("tag sink", true))) {
+            sink.tag(0, "A");
+            assertTrue(env.firstBatch.await(5, TimeUnit.SECONDS));
+
+            // the drainer is stuck in the sink, holding slot 0, so only 3 more fit
+            for (int i = 1; i <= 10; i++) {
+                sink.tag(i, "A");
+            }
+            assertEquals(7, sink.getOverflowCount());
+
+            release.countDown();
+        }
+
+        assertEquals(4, env.tags.size());
+    }
+
+    @Test
+    public void testDrainsOnSharedThreads() throws Exception {
+        val env = new RecordingEnvironment();
+        val scheduler = Executors.newSingleThreadScheduledExecutor();
+        val drainExecutor = Executors.newSingleThreadExecutor(new UtilityElf.DefaultThreadFactory("shared drainer", true));
+        try {
+            try (val sink = new ActiveConnectionTagSink(env, 8, scheduler, drainExecutor)) {
+                sink.tag(0, "A");
+                assertTrue(env.firstBatch.await(5, TimeUnit.SECONDS));
+
+                // delivered on close, even if no periodic drain runs in between
+                sink.tag(1, "B");
+            }
+        } finally {
+            scheduler.shutdownNow();
+            drainExecutor.shutdownNow();
+        }
+
+        assertEquals(2, env.tags.size());
+        assertEquals("A:0", env.tags.get(0));
+        assertEquals("B:1", env.tags.get(1));
+    }
+}
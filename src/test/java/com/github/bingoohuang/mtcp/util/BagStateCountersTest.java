@@ -0,0 +1,99 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class BagStateCountersTest {
+    private static ConcurrentBag<BagEntry> newBag() {
+        return new ConcurrentBag<>(waiting -> {
+        });
+    }
+
+    @Test
+    public void testCountsFollowTransitions() throws Exception {
+        val bag = newBag();
+        val entries = new ArrayList<BagEntry>();
+        for (int i = 0; i < 4; i++) {
+            val entry = new BagEntry();
+            entries.add(entry);
+            bag.add(entry);
+        }
+        assertArrayEquals(new int[]{4, 0, 0, 0, 4, 0}, bag.getStateCounts());
+
+        val borrowed = bag.borrow(100, MILLISECONDS);
+        assertEquals(1, bag.countStateUsing());
+        assertEquals(3, bag.countStateFree());
+
+        val reserved = bag.values(BagEntry.State.STATE_FREE).get(0);
+        assertTrue(bag.reserve(reserved));
+        assertEquals(1, bag.getCount(BagEntry.State.STATE_RESERVED));
+        assertEquals(2, bag.countStateFree());
+
+        assertTrue(bag.remove(reserved));
+        assertTrue(bag.remove(borrowed));
+        assertArrayEquals(new int[]{2, 0, 0, 0, 2, 0}, bag.getStateCounts());
+        assertArrayEquals(bag.getExactStateCounts(), bag.getStateCounts());
+
+        // transitions of entries no longer in the bag are not counted
+        borrowed.stateToFree();
+        assertEquals(2, bag.countStateFree());
+    }
+
+    @Test
+    public void testCountsAfterConcurrentChurn() throws Exception {
+        val bag = newBag();
+        for (int i = 0; i < 16; i++) {
+            bag.add(new BagEntry());
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            val futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        final BagEntry entry = bag.borrow(1, SECONDS);
+                        if (entry == null) {
+                            continue;
+                        }
+
+                        if (random.nextInt(100) == 0) {
+                            // retire and replace, like max lifetime does
+                            bag.remove(entry);
+                            bag.add(new BagEntry());
+                        } else {
+                            bag.requite(entry);
+                        }
+
+                        for (BagEntry free : bag.values(BagEntry.State.STATE_FREE)) {
+                            if (random.nextInt(50) == 0 && bag.reserve(free)) {
+                                bag.unreserve(free);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(60, SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertArrayEquals(bag.getExactStateCounts(), bag.getStateCounts());
+        assertEquals(16, bag.countStateFree());
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.bingoohuang.mtcp.util;
+
+import com.github.bingoohuang.mtcp.BorrowCacheMode;
+import com.github.bingoohuang.mtcp.LightConfig;
+import lombok.val;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class BorrowCacheTest {
+    private static BagEntry freeEntry(String tenantId) {
+        val entry = new BagEntry();
+        entry.setTenantId(tenantId);
+        return entry;
+    }
+
+    @Test
+    public void testStripedCacheIsSharedAcrossThreads() throws Exception {
+        val cache = new StripedBorrowCache<BagEntry>(4);
+        val entry = freeEntry(null);
+        cache.add(entry);
+
+        // a thread that never returned anything still finds it, unlike a thread-local list
+        val executor = Executors.newSingleThreadExecutor();
+        try {
+            assertSame(entry, executor.submit(() -> cache.get()).get(5, SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(entry.isStateUsing());
+        assertNull(cache.get());
+    }
+
+    @Test
+    public void testStripedCacheByTenant() {
+        val cache = new StripedBorrowCache<BagEntry>(1);
+        val a = freeEntry("A");
+        val b = freeEntry("B");
+        cache.add(a);
+        cache.add(b);
+
+        assertNull(cache.get("C"));
+        assertSame(b, cache.get("B"));
+        assertSame(a, cache.get());
+    }
+
+    @Test
+    public void testStripedCacheDropsWhatDoesNotFit() {
+        val cache = new StripedBorrowCache<BagEntry>(1);
+        for (int i = 0; i < 10; i++) {
+            cache.add(freeEntry(null));
+        }
+
+        int borrowed = 0;
+        while (cache.get() != null) {
+            borrowed++;
+        }
+        assertEquals(4, borrowed);
+    }
+
+    @Test
+    public void testStripedCacheSkipsBorrowedEntries() {
+        val cache = new StripedBorrowCache<BagEntry>(1);
+        val entry = freeEntry(null);
+        cache.add(entry);
+
+        // borrowed through the shared list meanwhile
+        assertTrue(entry.stateFreeToUsing());
+        assertNull(cache.get());
+    }
+
+    @Test
+    public void testCreateByMode() {
+        assertTrue(BorrowCache.create(BorrowCacheMode.THREAD_LOCAL) instanceof ThreadLocalList);
+        assertTrue(BorrowCache.create(BorrowCacheMode.WEAK_THREAD_LOCAL) instanceof ThreadLocalList);
+        assertTrue(BorrowCache.create(BorrowCacheMode.STRIPED) instanceof StripedBorrowCache);
+        assertTrue(BorrowCache.create(null) instanceof AutoBorrowCache);
+
+        // a platform thread uses the thread-local list in AUTO mode
+        val cache = BorrowCache.<BagEntry>create(BorrowCacheMode.AUTO);
+        val entry = freeEntry(null);
+        cache.add(entry);
+        assertFalse(VirtualThreadElf.isVirtual(Thread.currentThread()));
+        assertSame(entry, cache.get());
+    }
+
+    @Test
+    public void testBorrowCacheModeProperty() {
+        val properties = new Properties();
+        properties.setProperty("borrowCacheMode", "striped");
+        properties.setProperty("dataSourceClassName", "com.github.bingoohuang.mtcp.mocks.StubDataSource");
+        val config = new LightConfig(properties);
+        assertEquals(BorrowCacheMode.STRIPED, config.getBorrowCacheMode());
+        assertEquals(BorrowCacheMode.AUTO, new LightConfig().getBorrowCacheMode());
+    }
+}
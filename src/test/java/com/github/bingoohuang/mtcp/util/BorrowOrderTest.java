@@ -0,0 +1,133 @@
+package com.github.bingoohuang.mtcp.util;
+
+import com.github.bingoohuang.mtcp.BorrowOrder;
+import com.github.bingoohuang.mtcp.LightConfig;
+import lombok.val;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+public class BorrowOrderTest {
+    private static class OrderListener implements ConcurrentBag.BagStateListener {
+        volatile BorrowOrder order;
+
+        OrderListener(BorrowOrder order) {
+            this.order = order;
+        }
+
+        @Override
+        public void addBagItem(int waiting) {
+        }
+
+        @Override
+        public BorrowOrder getBorrowOrder() {
+            return order;
+        }
+    }
+
+    private static BagEntry[] fill(ConcurrentBag<BagEntry> bag, String... tenantIds) throws Exception {
+        val entries = new BagEntry[tenantIds.length];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new BagEntry();
+            entries[i].setTenantId(tenantIds[i]);
+            bag.add(entries[i]);
+        }
+
+        // borrow them all, then requite them in order, the last one being the most recently requited
+        for (int i = 0; i < entries.length; i++) {
+            assertNotNull(bag.borrow(0, MILLISECONDS));
+        }
+        for (val entry : entries) {
+            Thread.sleep(1);
+            bag.requite(entry);
+        }
+        return entries;
+    }
+
+    @Test
+    public void testLifoBorrowsTheMostRecentlyRequited() throws Exception {
+        val listener = new OrderListener(BorrowOrder.LIFO);
+        try (val bag = new ConcurrentBag<BagEntry>(listener)) {
+            val entries = fill(bag, null, null, null);
+
+            assertSame(entries[2], bag.borrow(0, MILLISECONDS));
+            assertSame(entries[1], bag.borrow(0, MILLISECONDS));
+            bag.requite(entries[2]);
+            assertSame(entries[2], bag.borrow(0, MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testFifoBorrowsTheLeastRecentlyRequited() throws Exception {
+        val listener = new OrderListener(BorrowOrder.FIFO);
+        try (val bag = new ConcurrentBag<BagEntry>(listener)) {
+            val entries = fill(bag, null, null, null);
+
+            // not the entry this thread requited last, which the borrow cache would serve
+            assertSame(entries[0], bag.borrow(0, MILLISECONDS));
+            assertSame(entries[1], bag.borrow(0, MILLISECONDS));
+            Thread.sleep(1);
+            bag.requite(entries[0]);
+            assertSame(entries[2], bag.borrow(0, MILLISECONDS));
+            assertSame(entries[0], bag.borrow(0, MILLISECONDS));
+            assertNull(bag.borrow(0, MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testOrderedBorrowPrefersTheTenantWithAffinity() throws Exception {
+        val listener = new OrderListener(BorrowOrder.LIFO);
+        try (val bag = new ConcurrentBag<BagEntry>(listener, true)) {
+            val entries = fill(bag, "A", "B", "A", "B");
+
+            assertSame(entries[2], bag.borrow("A", 0, MILLISECONDS));
+            assertSame(entries[0], bag.borrow("A", 0, MILLISECONDS));
+            assertSame(entries[3], bag.borrow("A", 0, MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testTenantAffinityWithoutTenantIndex() throws Exception {
+        val listener = new OrderListener(BorrowOrder.TENANT_AFFINITY);
+        try (val bag = new ConcurrentBag<BagEntry>(listener)) {
+            val entries = fill(bag, "A", "B", "C");
+
+            assertSame(entries[1], bag.borrow("B", 0, MILLISECONDS));
+            assertEquals("A", bag.borrow("A", 0, MILLISECONDS).getTenantId());
+            assertSame(entries[2], bag.borrow("D", 0, MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testOrderChangesAtRuntime() throws Exception {
+        val listener = new OrderListener(BorrowOrder.FIFO);
+        try (val bag = new ConcurrentBag<BagEntry>(listener)) {
+            val entries = fill(bag, null, null, null);
+
+            assertSame(entries[0], bag.borrow(0, MILLISECONDS));
+            listener.order = BorrowOrder.LIFO;
+            assertSame(entries[2], bag.borrow(0, MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testBorrowOrderConfig() {
+        assertEquals(BorrowOrder.THREAD_AFFINITY, new LightConfig().getBorrowOrder());
+
+        val properties = new Properties();
+        properties.setProperty("borrowOrder", "LIFO");
+        properties.setProperty("dataSourceClassName", "com.github.bingoohuang.mtcp.mocks.StubDataSource");
+        val config = new LightConfig(properties);
+        assertEquals(BorrowOrder.LIFO, config.getBorrowOrder());
+
+        try {
+            config.setBorrowOrder(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(BorrowOrder.LIFO, config.getBorrowOrder());
+        }
+    }
+}
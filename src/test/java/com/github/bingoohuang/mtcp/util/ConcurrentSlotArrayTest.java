@@ -0,0 +1,143 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class ConcurrentSlotArrayTest {
+    @Test
+    public void testAddRemoveReusesSlots() {
+        val array = new ConcurrentSlotArray<BagEntry>(4);
+        val a = new BagEntry();
+        val b = new BagEntry();
+        array.add(a);
+        array.add(b);
+        assertEquals(2, array.size());
+        assertEquals(2, array.toList(null).size());
+
+        val slotOfA = a.slot;
+        assertTrue(array.remove(a));
+        assertFalse("removed twice", array.remove(a));
+        assertEquals(1, array.size());
+
+        val c = new BagEntry();
+        array.add(c);
+        assertEquals("the freed slot is reused", slotOfA, c.slot);
+        assertTrue(array.toList(null).contains(b));
+        assertTrue(array.toList(null).contains(c));
+        assertFalse(array.toList(null).contains(a));
+    }
+
+    @Test
+    public void testGrowsBeyondCapacity() {
+        val array = new ConcurrentSlotArray<BagEntry>(2);
+        val entries = new ArrayList<BagEntry>();
+        for (int i = 0; i < 100; i++) {
+            val entry = new BagEntry();
+            entries.add(entry);
+            array.add(entry);
+        }
+
+        assertEquals(100, array.size());
+        assertEquals(new HashSet<>(entries), new HashSet<>(array.toList(null)));
+
+        for (BagEntry entry : entries) {
+            assertTrue(array.remove(entry));
+        }
+        assertEquals(0, array.size());
+        assertFalse(array.iterator().hasNext());
+    }
+
+    @Test
+    public void testIterationFromAnyStartVisitsEachEntryOnce() {
+        val array = new ConcurrentSlotArray<BagEntry>(16);
+        val entries = new ArrayList<BagEntry>();
+        for (int i = 0; i < 40; i++) {
+            val entry = new BagEntry();
+            entries.add(entry);
+            array.add(entry);
+        }
+        // leave holes, in more than one segment
+        for (int i = 0; i < 40; i += 3) {
+            assertTrue(array.remove(entries.get(i)));
+        }
+
+        for (int start : new int[]{0, 1, 15, 16, 17, 47, 48, -1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            final List<BagEntry> seen = new ArrayList<>();
+            array.iterator(start).forEachRemaining(seen::add);
+            assertEquals("start " + start, array.size(), seen.size());
+            assertEquals("start " + start, new HashSet<>(array.toList(null)), new HashSet<>(seen));
+        }
+
+        // a scan starting in the middle begins with the entry at that slot
+        val middle = entries.get(20);
+        assertSame(middle, array.iterator(middle.slot).next());
+    }
+
+    @Test
+    public void testConcurrentChurn() throws Exception {
+        val array = new ConcurrentSlotArray<BagEntry>(16);
+        val threads = 8;
+        val stable = new BagEntry();
+        array.add(stable);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            val start = new CountDownLatch(1);
+            val done = new AtomicBoolean();
+            val futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final List<BagEntry> own = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        final BagEntry entry = new BagEntry();
+                        array.add(entry);
+                        own.add(entry);
+                        if (own.size() > 4) {
+                            assertTrue(array.remove(own.remove(0)));
+                        }
+                    }
+                    for (BagEntry entry : own) {
+                        assertTrue(array.remove(entry));
+                    }
+                    return null;
+                }));
+            }
+
+            // iteration during churn always sees the entry that is never removed, and no entry twice
+            val scanner = executor.submit(() -> {
+                start.await();
+                while (!done.get()) {
+                    final List<BagEntry> seen = array.toList(null);
+                    assertTrue(seen.contains(stable));
+                    assertEquals(seen.size(), new HashSet<>(seen).size());
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, SECONDS);
+            }
+            done.set(true);
+            scanner.get(30, SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, array.size());
+        assertEquals(1, array.toList(null).size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class HandoffQueueTest {
+    private static ConcurrentBag<BagEntry> newBag(int entries) {
+        val bag = new ConcurrentBag<BagEntry>(waiting -> {
+        });
+        for (int i = 0; i < entries; i++) {
+            bag.add(new BagEntry());
+        }
+        return bag;
+    }
+
+    private static void awaitParked(List<Thread> threads, int count) throws InterruptedException {
+        while (true) {
+            int parked = 0;
+            synchronized (threads) {
+                for (Thread thread : threads) {
+                    if (LockSupport.getBlocker(thread) instanceof HandoffQueue) {
+                        parked++;
+                    }
+                }
+            }
+            if (parked >= count) {
+                return;
+            }
+            MILLISECONDS.sleep(1);
+        }
+    }
+
+    @Test
+    public void testFifoHandoff() throws Exception {
+        val bag = newBag(1);
+        val held = bag.borrow(100, MILLISECONDS);
+
+        val waiters = 5;
+        val grants = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final ExecutorService executor = Executors.newFixedThreadPool(waiters, r -> {
+            Thread thread = new Thread(r);
+            threads.add(thread);
+            return thread;
+        });
+        try {
+            val futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < waiters; i++) {
+                final int order = i;
+                futures.add(executor.submit(() -> {
+                    final BagEntry entry = bag.borrow(10, SECONDS);
+                    assertNotNull(entry);
+                    grants.add(order);
+                    bag.requite(entry);
+                    return null;
+                }));
+
+                // queue the borrowers one after the other
+                awaitParked(threads, i + 1);
+            }
+
+            bag.requite(held);
+            for (Future<?> future : futures) {
+                future.get(10, SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), grants);
+        assertEquals(1, bag.countStateFree());
+        assertEquals(0, bag.getWaitingThreadCount());
+    }
+
+    @Test
+    public void testTimeoutWithdrawsWaiter() throws Exception {
+        val bag = newBag(1);
+        val held = bag.borrow(100, MILLISECONDS);
+
+        val start = System.nanoTime();
+        assertNull(bag.borrow(50, MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= MILLISECONDS.toNanos(50));
+        assertEquals(0, bag.getWaitingThreadCount());
+
+        // nobody waits anymore, so the entry is simply freed
+        bag.requite(held);
+        assertTrue(held.isStateFree());
+        assertSame(held, bag.borrow(100, MILLISECONDS));
+    }
+
+    @Test
+    public void testInterruptWithdrawsWaiter() throws Exception {
+        val bag = newBag(1);
+        val held = bag.borrow(100, MILLISECONDS);
+
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r);
+            threads.add(thread);
+            return thread;
+        });
+        try {
+            val future = executor.submit(() -> {
+                try {
+                    bag.borrow(10, SECONDS);
+                    return false;
+                } catch (InterruptedException e) {
+                    return true;
+                }
+            });
+
+            awaitParked(threads, 1);
+            threads.get(0).interrupt();
+            assertTrue(future.get(10, SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        bag.requite(held);
+        assertTrue(held.isStateFree());
+    }
+}
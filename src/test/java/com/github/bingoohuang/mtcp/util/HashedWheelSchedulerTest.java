@@ -0,0 +1,77 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class HashedWheelSchedulerTest {
+    private HashedWheelScheduler scheduler;
+
+    @Before
+    public void before() {
+        scheduler = new HashedWheelScheduler(new UtilityElf.DefaultThreadFactory("wheel", true), 10, 8);
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, SECONDS));
+    }
+
+    @Test
+    public void testNeverRunsEarly() throws Exception {
+        val start = System.nanoTime();
+        val elapsed = scheduler.schedule(() -> System.nanoTime() - start, 150, MILLISECONDS).get(5, SECONDS);
+        assertTrue("ran after " + elapsed + "ns", elapsed >= MILLISECONDS.toNanos(150));
+
+        // longer than one rotation of the wheel
+        val rotation = System.nanoTime();
+        val later = scheduler.schedule(() -> System.nanoTime() - rotation, 250, MILLISECONDS).get(5, SECONDS);
+        assertTrue("ran after " + later + "ns", later >= MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    public void testCancelRemovesTask() throws Exception {
+        val runs = new AtomicInteger();
+        val future = scheduler.schedule(runs::incrementAndGet, 100, MILLISECONDS);
+        assertEquals(1, scheduler.getTaskCount());
+        assertTrue(future.cancel(false));
+
+        val deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (scheduler.getTaskCount() > 0 && System.nanoTime() < deadline) {
+            MILLISECONDS.sleep(5);
+        }
+        assertEquals(0, scheduler.getTaskCount());
+
+        MILLISECONDS.sleep(200);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testFixedDelay() throws Exception {
+        val runs = new CountDownLatch(3);
+        val future = scheduler.scheduleWithFixedDelay(runs::countDown, 0, 20, MILLISECONDS);
+        assertTrue(runs.await(5, SECONDS));
+
+        future.cancel(false);
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void testShutdownCancelsDelayedTasks() throws Exception {
+        val future = scheduler.schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, SECONDS));
+        assertTrue(future.isCancelled());
+    }
+}
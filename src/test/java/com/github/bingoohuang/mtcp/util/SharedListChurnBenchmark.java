@@ -0,0 +1,167 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the {@link ConcurrentSlotArray} behind the shared list of {@link ConcurrentBag} with the
+ * {@link CopyOnWriteArrayList} it replaced, under connection churn: some threads keep replacing
+ * entries, as max lifetime, idle timeout and soft eviction do, while others scan for a free entry
+ * like {@link ConcurrentBag#borrow(long, java.util.concurrent.TimeUnit)} does.
+ * <p>
+ * Not a unit test, run its main method on the test classpath with the optional arguments: pool size,
+ * churn threads, borrow threads and seconds per run.
+ */
+public class SharedListChurnBenchmark {
+    private interface SharedList {
+        void add(BagEntry entry);
+
+        void remove(BagEntry entry);
+
+        BagEntry borrow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        val poolSize = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        val churnThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        val borrowThreads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        val seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        for (int round = 0; round < 2; round++) {
+            val label = round == 0 ? "warm-up " : "";
+            run(label + "CopyOnWriteArrayList", copyOnWriteList(), poolSize, churnThreads, borrowThreads, seconds);
+            run(label + "ConcurrentSlotArray ", slotArray(poolSize), poolSize, churnThreads, borrowThreads, seconds);
+        }
+    }
+
+    private static SharedList copyOnWriteList() {
+        val list = new CopyOnWriteArrayList<BagEntry>();
+        return new SharedList() {
+            @Override
+            public void add(BagEntry entry) {
+                list.add(entry);
+            }
+
+            @Override
+            public void remove(BagEntry entry) {
+                list.remove(entry);
+            }
+
+            @Override
+            public BagEntry borrow() {
+                for (BagEntry entry : list) {
+                    if (entry.stateFreeToUsing()) {
+                        return entry;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private static SharedList slotArray(final int poolSize) {
+        final ConcurrentSlotArray<BagEntry> array = new ConcurrentSlotArray<>(poolSize);
+        return new SharedList() {
+            @Override
+            public void add(BagEntry entry) {
+                array.add(entry);
+            }
+
+            @Override
+            public void remove(BagEntry entry) {
+                array.remove(entry);
+            }
+
+            @Override
+            public BagEntry borrow() {
+                for (BagEntry entry : array) {
+                    if (entry.stateFreeToUsing()) {
+                        return entry;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private static void run(String name, SharedList list, int poolSize, int churnThreads, int borrowThreads, int seconds) throws Exception {
+        for (int i = 0; i < poolSize; i++) {
+            list.add(new BagEntry());
+        }
+
+        val stop = new AtomicBoolean();
+        val start = new CountDownLatch(1);
+        val churns = new LongAdder();
+        val borrows = new LongAdder();
+        val allocated = new LongAdder();
+        val threads = new ArrayList<Thread>();
+
+        for (int t = 0; t < churnThreads; t++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                final long allocatedBefore = allocatedBytes();
+                while (!stop.get()) {
+                    // retire a free entry and replace it, like a connection reaching its max lifetime
+                    final BagEntry entry = list.borrow();
+                    if (entry != null) {
+                        list.remove(entry);
+                        list.add(new BagEntry());
+                        churns.increment();
+                    }
+                }
+                allocated.add(allocatedBytes() - allocatedBefore);
+            }));
+        }
+
+        for (int t = 0; t < borrowThreads; t++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                final long allocatedBefore = allocatedBytes();
+                while (!stop.get()) {
+                    final BagEntry entry = list.borrow();
+                    if (entry != null) {
+                        entry.stateToFree();
+                        borrows.increment();
+                    }
+                }
+                allocated.add(allocatedBytes() - allocatedBefore);
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        SECONDS.sleep(seconds);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.printf("%s: %,12d replacements/s %,12d borrows/s %,10d KB allocated/s%n", name,
+                churns.sum() / seconds, borrows.sum() / seconds, allocated.sum() / 1024 / seconds);
+    }
+
+    private static long allocatedBytes() {
+        val threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return 0L;
+        }
+
+        return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
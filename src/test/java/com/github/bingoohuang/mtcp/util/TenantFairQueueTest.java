@@ -0,0 +1,178 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+public class TenantFairQueueTest {
+    private static final class Limits implements TenantFairQueue.TenantLimits {
+        private final Map<String, Integer> weights = new HashMap<>();
+        private volatile int maxInUse;
+
+        @Override
+        public int getMaxInUse(String tenantId) {
+            return maxInUse;
+        }
+
+        @Override
+        public int getWeight(String tenantId) {
+            return weights.getOrDefault(tenantId, 1);
+        }
+    }
+
+    private static ConcurrentBag<BagEntry> newBag(Limits limits, int size) {
+        val bag = new ConcurrentBag<BagEntry>(waiting -> {
+        }, false, limits);
+        for (int i = 0; i < size; i++) {
+            bag.add(new BagEntry());
+        }
+        return bag;
+    }
+
+    private static int parkedInFairQueue(List<Thread> threads) {
+        int parked = 0;
+        synchronized (threads) {
+            for (Thread thread : threads) {
+                if (LockSupport.getBlocker(thread) instanceof TenantFairQueue) {
+                    parked++;
+                }
+            }
+        }
+        return parked;
+    }
+
+    @Test
+    public void testQuotaHoldsBackHotTenant() throws Exception {
+        val limits = new Limits();
+        limits.maxInUse = 1;
+        val bag = newBag(limits, 3);
+
+        val a1 = bag.borrow("A", 100, MILLISECONDS);
+        assertNotNull(a1);
+        assertNull("A is at its quota although entries are free", bag.borrow("A", 50, MILLISECONDS));
+        assertNotNull(bag.borrow("B", 50, MILLISECONDS));
+
+        // raising the quota at runtime takes effect immediately
+        limits.maxInUse = 2;
+        val a2 = bag.borrow("A", 50, MILLISECONDS);
+        assertNotNull(a2);
+
+        limits.maxInUse = 1;
+        bag.requite(a2);
+        assertNull("A is still at its quota", bag.borrow("A", 50, MILLISECONDS));
+
+        // a requited entry goes straight to the waiting tenant once it is back under quota
+        val executor = Executors.newSingleThreadExecutor();
+        try {
+            val waiting = executor.submit(() -> bag.borrow("A", 5_000, MILLISECONDS));
+            while (bag.getWaitingThreadCount() == 0) {
+                MILLISECONDS.sleep(1);
+            }
+
+            bag.requite(a1);
+            assertSame(a1, waiting.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRemoveReleasesQuota() throws Exception {
+        val limits = new Limits();
+        limits.maxInUse = 1;
+        val bag = newBag(limits, 2);
+
+        val a1 = bag.borrow("A", 100, MILLISECONDS);
+        assertTrue(bag.remove(a1));
+        assertNotNull(bag.borrow("A", 50, MILLISECONDS));
+    }
+
+    @Test
+    public void testRequiteRacingQueuedBorrowerIsNotMissed() throws Exception {
+        val bag = newBag(new Limits(), 1);
+
+        // two borrowers passing a single entry back and forth, each requite racing the other's enqueue
+        val misses = Collections.synchronizedList(new ArrayList<String>());
+        val executor = Executors.newFixedThreadPool(2);
+        try {
+            val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            final List<Future<?>> borrowers = new ArrayList<>();
+            for (val tenantId : new String[]{"A", "B"}) {
+                borrowers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline && misses.isEmpty()) {
+                        val bagEntry = bag.borrow(tenantId, 500, MILLISECONDS);
+                        if (bagEntry == null) {
+                            misses.add(tenantId);
+                            return null;
+                        }
+                        bag.requite(bagEntry);
+                    }
+                    return null;
+                }));
+            }
+            for (val borrower : borrowers) {
+                borrower.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("a borrower timed out while the only entry was free", Collections.emptyList(), misses);
+    }
+
+    @Test
+    public void testWeightedFairHandoff() throws Exception {
+        val limits = new Limits();
+        limits.weights.put("A", 3);
+        val bag = newBag(limits, 1);
+        val held = bag.borrow("A", 100, MILLISECONDS);
+
+        val perTenant = 8;
+        val grants = Collections.synchronizedList(new ArrayList<String>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+        final ExecutorService executor = Executors.newFixedThreadPool(2 * perTenant, r -> {
+            Thread thread = new Thread(r);
+            threads.add(thread);
+            return thread;
+        });
+        try {
+            for (val tenantId : new String[]{"A", "B"}) {
+                for (int i = 0; i < perTenant; i++) {
+                    executor.submit(() -> {
+                        val entry = bag.borrow(tenantId, 10_000, MILLISECONDS);
+                        grants.add(tenantId);
+                        bag.requite(entry);
+                        return null;
+                    });
+                }
+                // queue all of A before any of B, parked in the fair queue rather than just counted as waiting
+                while (parkedInFairQueue(threads) < (tenantId.equals("A") ? perTenant : 2 * perTenant)) {
+                    MILLISECONDS.sleep(1);
+                }
+            }
+
+            bag.requite(held);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2 * perTenant, grants.size());
+        final List<String> first = grants.subList(0, 8);
+        assertEquals("A gets three grants for every one of B: " + grants, 6, Collections.frequency(first, "A"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TenantFreeIndexTest {
+    private static BagEntry freeEntry(TenantFreeIndex<BagEntry> index, String tenantId) {
+        val entry = new BagEntry();
+        entry.stateFreeToUsing();
+        entry.setTenantId(tenantId);
+        requite(index, entry);
+        return entry;
+    }
+
+    private static void requite(TenantFreeIndex<BagEntry> index, BagEntry entry) {
+        index.push(entry);
+        entry.stateToFree();
+    }
+
+    @Test
+    public void testPopByTenant() {
+        val index = new TenantFreeIndex<>();
+        val a1 = freeEntry(index, "A");
+        val b1 = freeEntry(index, "B");
+
+        assertSame(b1, index.pop("B"));
+        assertTrue(b1.isStateUsing());
+        assertNull(index.pop("B"));
+        assertNull(index.pop("C"));
+
+        assertSame(a1, index.pop("A"));
+        assertNull(index.pop("A"));
+    }
+
+    @Test
+    public void testSkipsEntriesBorrowedElsewhere() {
+        val index = new TenantFreeIndex<>();
+        val a1 = freeEntry(index, "A");
+
+        // borrowed through the shared list and rebound to another tenant
+        assertTrue(a1.stateFreeToUsing());
+        a1.setTenantId("B");
+        assertNull(index.pop("A"));
+
+        requite(index, a1);
+        assertNull(index.pop("A"));
+        assertSame(a1, index.pop("B"));
+    }
+
+    @Test
+    public void testReclaimColdTenants() {
+        val index = new TenantFreeIndex<>();
+        val a1 = freeEntry(index, "A");
+        freeEntry(index, "B");
+        assertEquals(2, index.getTenantCount());
+
+        assertSame(a1, index.pop("A"));
+
+        // first pass only clears the touched flags
+        assertEquals(0, index.reclaimColdTenants());
+        assertEquals(1, index.reclaimColdTenants());
+        assertEquals(1, index.getTenantCount());
+        assertNull(index.pop("A"));
+
+        // a reclaimed slot is reused by the next tenant
+        val c1 = freeEntry(index, "C");
+        assertEquals(2, index.getTenantCount());
+        assertSame(c1, index.pop("C"));
+    }
+
+    @Test
+    public void testCompactionKeepsCurrentNodes() {
+        val index = new TenantFreeIndex<>();
+        val entry = freeEntry(index, "A");
+        for (int i = 0; i < 100; i++) {
+            // borrowed through the thread-local list every time, leaving a superseded node behind
+            assertTrue(entry.stateFreeToUsing());
+            requite(index, entry);
+        }
+
+        assertSame(entry, index.pop("A"));
+        assertNull(index.pop("A"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.bingoohuang.mtcp.util;
+
+import lombok.val;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TenantHeavyHittersTest {
+    @Test
+    public void testFindsHotTenants() {
+        val hitters = new TenantHeavyHitters(2, 1);
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 5; i++) {
+                hitters.record("hot1");
+            }
+            for (int i = 0; i < 3; i++) {
+                hitters.record("hot2");
+            }
+            // a long tail of tenants borrowing once each
+            hitters.record("cold" + round);
+        }
+
+        assertEquals(Arrays.asList("hot1", "hot2"), hitters.getHotTenants());
+        assertTrue(hitters.isHot("hot1"));
+        assertFalse(hitters.isHot("cold99"));
+        assertFalse(hitters.isHot(null));
+    }
+
+    @Test
+    public void testDecayFollowsRecentLoad() {
+        val hitters = new TenantHeavyHitters(1, 1);
+        for (int i = 0; i < 64; i++) {
+            hitters.record("old");
+        }
+        assertTrue(hitters.isHot("old"));
+
+        for (int i = 0; i < 7; i++) {
+            hitters.decay();
+        }
+        for (int i = 0; i < 8; i++) {
+            hitters.record("new");
+        }
+
+        assertEquals(Arrays.asList("new"), hitters.getHotTenants());
+    }
+}